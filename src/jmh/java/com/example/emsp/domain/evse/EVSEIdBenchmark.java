@@ -0,0 +1,51 @@
+package com.example.emsp.domain.evse;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Cost of validating and parsing EVSE IDs, against a compiled regular expression as the baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class EVSEIdBenchmark {
+
+    private static final Pattern EVSE_ID_PATTERN = Pattern.compile("^[A-Z]{2}\\*[A-Z0-9]{3}\\*[A-Za-z0-9_-]{1,30}$");
+
+    @Param({"DE*ABC*E123456", "DE*ABC*LOCAL_ID_OF_THIRTY_CHARACTERS1", "de*abc*E1"})
+    private String text;
+
+    @Benchmark
+    public boolean isValid() {
+        return EVSEId.isValid(text);
+    }
+
+    @Benchmark
+    public boolean regexBaseline() {
+        return EVSE_ID_PATTERN.matcher(text).matches();
+    }
+
+    @Benchmark
+    public Object construct() {
+        try {
+            return new EVSEId(text);
+        } catch (RuntimeException e) {
+            return e; // Invalid IDs measure the cost of the rejection
+        }
+    }
+}
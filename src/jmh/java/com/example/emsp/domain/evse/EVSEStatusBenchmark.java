@@ -0,0 +1,40 @@
+package com.example.emsp.domain.evse;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of checking a status transition, averaged over every from/to pair including the initial null status.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class EVSEStatusBenchmark {
+
+    private static final EVSEStatus[] FROM = {null, EVSEStatus.AVAILABLE, EVSEStatus.BLOCKED, EVSEStatus.INOPERATIVE, EVSEStatus.REMOVED};
+    private static final EVSEStatus[] TO = EVSEStatus.values();
+
+    @Benchmark
+    @OperationsPerInvocation(20) // FROM.length * TO.length
+    public void isValidTransition(Blackhole blackhole) {
+        for (EVSEStatus from : FROM) {
+            for (EVSEStatus to : TO) {
+                blackhole.consume(EVSEStatus.isValidTransition(from, to));
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.emsp.interfaces.dtos;
+
+import com.example.emsp.application.readmodel.ConnectorView;
+import com.example.emsp.application.readmodel.EVSEView;
+import com.example.emsp.application.readmodel.LocationView;
+import com.example.emsp.domain.common.BusinessHours;
+import com.example.emsp.domain.common.Coordinates;
+import com.example.emsp.domain.evse.EVSE;
+import com.example.emsp.domain.evse.EVSEId;
+import com.example.emsp.domain.location.Connector;
+import com.example.emsp.domain.location.Location;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building the Location detail response from an entity graph or a read-model view, and of
+ * serializing it, by number of EVSEs per Location (two Connectors each).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class LocationResponseBenchmark {
+
+    @Param({"1", "16", "256"})
+    private int evses;
+
+    private Location location;
+    private LocationView view;
+    private LocationWithEVSEsResponseDto dto;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+        location = new Location("Benchmark Location", "1 Benchmark Street", new Coordinates(52.37, 4.89),
+                new BusinessHours(LocalTime.of(8, 0), LocalTime.of(22, 0)));
+        List<EVSEView> evseViews = new ArrayList<>();
+        for (int i = 0; i < evses; i++) {
+            EVSE evse = new EVSE(new EVSEId("DE*ABC*E" + i), location);
+            evse.addConnector(new Connector("IEC_62196_T2", 22.0, 400.0, evse));
+            evse.addConnector(new Connector("IEC_62196_T2_COMBO", 150.0, 800.0, evse));
+            location.addEVSE(evse);
+            evseViews.add(new EVSEView((long) i, evse.getEvseId().getText(), evse.getStatus(), 1L, List.of(
+                    new ConnectorView(2L * i, "IEC_62196_T2", 22.0, 400.0, (long) i, now),
+                    new ConnectorView(2L * i + 1, "IEC_62196_T2_COMBO", 150.0, 800.0, (long) i, now)), now));
+        }
+        view = new LocationView(1L, location.getName(), location.getAddress(), 52.37, 4.89,
+                LocalTime.of(8, 0), LocalTime.of(22, 0), evseViews, now, 1L);
+        dto = LocationWithEVSEsResponseDto.fromView(view);
+        objectMapper = Jackson2ObjectMapperBuilder.json().build(); // The same modules as the application's mapper
+    }
+
+    @Benchmark
+    public LocationWithEVSEsResponseDto fromEntity() {
+        return LocationWithEVSEsResponseDto.fromEntity(location);
+    }
+
+    @Benchmark
+    public LocationWithEVSEsResponseDto fromView() {
+        return LocationWithEVSEsResponseDto.fromView(view);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dto);
+    }
+
+    @Benchmark
+    public byte[] fromViewAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(LocationWithEVSEsResponseDto.fromView(view));
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.emsp.load;
+
+import com.example.emsp.infrastructure.jdbc.StatementListener;
+
+import java.time.Duration;
+
+/**
+ * Makes the in-memory database behave like one across a network: every statement execution and every commit
+ * first sleeps for a fixed latency, while holding its connection as a real round trip would.
+ * <p>
+ * Registered as a {@link StatementListener}, so statements issued through Hibernate and through JdbcTemplate are
+ * both delayed. A batch is delayed once, as it is one round trip. It is the last listener, nearest to the database,
+ * so the latency is part of the sql spans and of the times seen by the slow-query monitor.
+ */
+final class DatabaseLatencyInjector implements StatementListener {
+
+    private final Duration latency;
+
+    DatabaseLatencyInjector(Duration latency) {
+        this.latency = latency;
+    }
+
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE;
+    }
+
+    @Override
+    public Object beforeExecute(Execution execution) throws InterruptedException {
+        roundTrip();
+        return null;
+    }
+
+    @Override
+    public void beforeCommit() throws InterruptedException {
+        roundTrip();
+    }
+
+    private void roundTrip() throws InterruptedException {
+        Thread.sleep(latency); // Parks a virtual thread, blocks a platform one
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.emsp.load;
+
+import com.example.emsp.domain.evse.EVSEStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * What the load driver needs to know about the seeded dataset to address it.
+ * EVSEs are numbered from 0, grouped by Location in seeding order.
+ *
+ * @param locationIds  The generated IDs of the Locations, in seeding order.
+ * @param evseIds      The OCPI ID of each EVSE.
+ * @param statuses     The seeded status of each EVSE.
+ * @param oldestUpdate The earliest last-updated time of a seeded Location.
+ * @param seededAt     When seeding started; the latest last-updated time of a seeded Location.
+ */
+record Dataset(long[] locationIds, String[] evseIds, EVSEStatus[] statuses, LocalDateTime oldestUpdate, LocalDateTime seededAt) {
+
+    /**
+     * @return The OCPI ID of the EVSE with the given number.
+     */
+    String evseId(int evse) {
+        return evseIds[evse];
+    }
+
+    int evseCount() {
+        return statuses.length;
+    }
+}
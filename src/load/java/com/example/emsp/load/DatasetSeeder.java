@@ -0,0 +1,71 @@
+package com.example.emsp.load;
+
+import com.example.emsp.domain.evse.EVSE;
+import com.example.emsp.domain.evse.EVSEStatus;
+import com.example.emsp.domain.location.Location;
+import com.example.emsp.infrastructure.fleet.FleetGenerator;
+import com.example.emsp.infrastructure.fleet.FleetLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seeds a synthetic fleet with the {@link FleetGenerator} and bulk-loads it with the {@link FleetLoader},
+ * so a million EVSEs take seconds rather than hours. The schema must exist already.
+ */
+final class DatasetSeeder {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatasetSeeder.class);
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int OPERATORS_PER_COUNTRY = 20;
+    private static final Duration UPDATE_WINDOW = Duration.ofDays(30);
+
+    private final FleetLoader fleetLoader;
+    private final LoadOptions options;
+
+    DatasetSeeder(FleetLoader fleetLoader, LoadOptions options) {
+        this.fleetLoader = fleetLoader;
+        this.options = options;
+    }
+
+    /**
+     * Seeds the dataset, one batch of Locations with their EVSEs and Connectors at a time.
+     *
+     * @return The seeded dataset.
+     */
+    Dataset seed() {
+        LocalDateTime seededAt = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        FleetGenerator generator = new FleetGenerator(options.seed(), OPERATORS_PER_COUNTRY, options.evsesPerLocation(),
+                UPDATE_WINDOW, seededAt, fleetLoader.nextLocationNumber());
+        long[] locationIds = new long[options.locations()];
+        List<String> evseIds = new ArrayList<>();
+        List<EVSEStatus> statuses = new ArrayList<>();
+        long rows = 0;
+        long started = System.nanoTime();
+
+        for (int from = 0; from < locationIds.length; from += BATCH_SIZE) {
+            List<Location> batch = generator.next(Math.min(BATCH_SIZE, locationIds.length - from));
+            rows += fleetLoader.load(batch);
+            for (int i = 0; i < batch.size(); i++) {
+                locationIds[from + i] = batch.get(i).getId();
+                for (EVSE evse : batch.get(i).getEvses()) {
+                    evseIds.add(evse.getEvseId().getText());
+                    statuses.add(evse.getStatus());
+                }
+            }
+            if ((from / BATCH_SIZE) % 10 == 9) {
+                logger.info("Seeded {} of {} locations", from + batch.size(), locationIds.length);
+            }
+        }
+        logger.info("Seeded {} locations and {} EVSEs ({} rows) in {} ms", locationIds.length, evseIds.size(), rows,
+                (System.nanoTime() - started) / 1_000_000);
+        return new Dataset(locationIds, evseIds.toArray(String[]::new), statuses.toArray(EVSEStatus[]::new),
+                seededAt.minus(UPDATE_WINDOW), seededAt);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.emsp.load;
+
+/**
+ * The endpoints driven by the load test, each reported with a histogram of its own.
+ */
+enum Endpoint {
+
+    /**
+     * {@code GET /api/v1/locations?lastUpdated=...&page=...&size=...}, the incremental feed.
+     */
+    FEED("GET /api/v1/locations"),
+
+    /**
+     * {@code GET /api/v1/locations/{locationId}}, a Location with its EVSEs.
+     */
+    DETAIL("GET /api/v1/locations/{locationId}"),
+
+    /**
+     * {@code PATCH /api/v1/evses/{evseId}/status}, a valid transition from the last status the harness set.
+     */
+    STATUS("PATCH /api/v1/evses/{evseId}/status");
+
+    private final String route;
+
+    Endpoint(String route) {
+        this.route = route;
+    }
+
+    String route() {
+        return route;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.emsp.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and response counts per endpoint, recorded concurrently from response callbacks.
+ * Latencies are recorded in microseconds; anything slower than two minutes is recorded as two minutes.
+ */
+final class LatencyReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Map<Endpoint, Histogram> histograms = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, Map<Integer, LongAdder>> responses = new EnumMap<>(Endpoint.class);
+    private volatile long startedNanos;
+    private volatile long stoppedNanos;
+
+    LatencyReport() {
+        for (Endpoint endpoint : Endpoint.values()) {
+            histograms.put(endpoint, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+            responses.put(endpoint, new ConcurrentHashMap<>());
+        }
+    }
+
+    void start(long nanos) {
+        startedNanos = nanos;
+    }
+
+    void stop(long nanos) {
+        stoppedNanos = nanos;
+    }
+
+    /**
+     * Records one request.
+     *
+     * @param latencyNanos Time from when the request was due to be sent until its response was complete.
+     * @param statusCode   The HTTP status code, or 0 if the request failed without a response.
+     */
+    void record(Endpoint endpoint, long latencyNanos, int statusCode) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS);
+        histograms.get(endpoint).recordValue(Math.max(0, micros));
+        responses.get(endpoint).computeIfAbsent(statusCode, code -> new LongAdder()).increment();
+    }
+
+    /**
+     * Prints one line per endpoint with requests, throughput, latency percentiles in milliseconds and
+     * the count of each status code (0 for requests without a response).
+     */
+    void print(PrintStream out) {
+        double seconds = Math.max(1, stoppedNanos - startedNanos) / 1e9;
+        out.printf("%-38s %9s %9s %9s %9s %9s %9s %9s  %s%n",
+                "Endpoint", "Requests", "Req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "Responses");
+        long total = 0;
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram histogram = histograms.get(endpoint);
+            long count = histogram.getTotalCount();
+            if (count == 0) {
+                continue;
+            }
+            total += count;
+            Map<Integer, Long> codes = new TreeMap<>();
+            responses.get(endpoint).forEach((code, adder) -> codes.put(code, adder.sum()));
+            out.printf("%-38s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f  %s%n",
+                    endpoint.route(), count, count / seconds,
+                    millis(histogram, 50.0), millis(histogram, 90.0), millis(histogram, 99.0), millis(histogram, 99.9),
+                    histogram.getMaxValue() / MICROS_PER_MILLI, codes);
+        }
+        out.printf("%-38s %9d %9.1f%n", "Total", total, total / seconds);
+    }
+
+    /**
+     * Writes the percentile distribution of each endpoint, in milliseconds, to {@code <endpoint>.hgrm},
+     * the format read by the HdrHistogram plotter.
+     */
+    void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram histogram = histograms.get(endpoint);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(endpoint.name().toLowerCase() + ".hgrm")))) {
+                histogram.outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.emsp.load;
+
+import com.example.emsp.domain.evse.EVSEStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.SplittableRandom;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives requests against the application at a fixed rate with the JDK HTTP client.
+ * <p>
+ * Requests are sent on a schedule that does not depend on responses (an open model), so a slow server
+ * faces a growing backlog as it would in production. Latency is measured from when a request was due,
+ * not from when it was sent: when the in-flight limit holds sending back, the wait is part of the latency
+ * rather than silently lowering the rate (coordinated omission).
+ */
+final class LoadDriver {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadDriver.class);
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int FEED_PAGES = 5;
+
+    private final URI baseUri;
+    private final Dataset dataset;
+    private final LoadOptions options;
+    private final EVSEStatus[] statuses; // Last status sent per EVSE, so status changes are valid transitions
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    LoadDriver(URI baseUri, Dataset dataset, LoadOptions options) {
+        this.baseUri = baseUri;
+        this.dataset = dataset;
+        this.options = options;
+        this.statuses = dataset.statuses().clone();
+        this.endpoints = options.mix().keySet().toArray(Endpoint[]::new);
+        this.cumulativeWeights = new int[endpoints.length];
+        int total = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            total += options.mix().get(endpoints[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    /**
+     * Drives load for the warmup and then for the measured duration.
+     *
+     * @return The report of the requests due after the warmup.
+     */
+    LatencyReport run() throws InterruptedException {
+        long intervalNanos = Math.max(1, TimeUnit.SECONDS.toNanos(1) / options.rate());
+        long warmupRequests = options.warmup().toNanos() / intervalNanos;
+        long totalRequests = warmupRequests + options.duration().toNanos() / intervalNanos;
+        LatencyReport warmup = new LatencyReport();
+        LatencyReport measured = new LatencyReport();
+        Semaphore inFlight = new Semaphore(options.maxInFlight());
+        SplittableRandom random = new SplittableRandom(options.seed());
+
+        logger.info("Driving {} requests per second for {} after {} of warmup", options.rate(), options.duration(), options.warmup());
+        long start = System.nanoTime();
+        measured.start(start + warmupRequests * intervalNanos);
+        for (long i = 0; i < totalRequests; i++) {
+            long due = start + i * intervalNanos;
+            for (long wait = due - System.nanoTime(); wait > 0; wait = due - System.nanoTime()) {
+                LockSupport.parkNanos(wait);
+            }
+            inFlight.acquire();
+            Endpoint endpoint = nextEndpoint(random);
+            LatencyReport report = i < warmupRequests ? warmup : measured;
+            client.sendAsync(request(endpoint, random), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        report.record(endpoint, System.nanoTime() - due, failure == null ? response.statusCode() : 0);
+                        inFlight.release();
+                    });
+        }
+        if (!inFlight.tryAcquire(options.maxInFlight(), REQUEST_TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+            logger.warn("Requests still in flight after {}", REQUEST_TIMEOUT);
+        }
+        measured.stop(System.nanoTime());
+        return measured;
+    }
+
+    private Endpoint nextEndpoint(SplittableRandom random) {
+        int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int i = 0;
+        while (roll >= cumulativeWeights[i]) {
+            i++;
+        }
+        return endpoints[i];
+    }
+
+    private HttpRequest request(Endpoint endpoint, SplittableRandom random) {
+        return switch (endpoint) {
+            case FEED -> {
+                long window = Duration.between(dataset.oldestUpdate(), dataset.seededAt()).getSeconds();
+                LocalDateTime since = dataset.seededAt().minusSeconds(random.nextLong(window));
+                yield get("/api/v1/locations?lastUpdated=" + DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(since)
+                        + "&page=" + random.nextInt(FEED_PAGES) + "&size=" + options.feedPageSize());
+            }
+            case DETAIL -> get("/api/v1/locations/" + dataset.locationIds()[random.nextInt(dataset.locationIds().length)]);
+            case STATUS -> {
+                int evse = random.nextInt(dataset.evseCount());
+                EVSEStatus next = statuses[evse] != EVSEStatus.AVAILABLE ? EVSEStatus.AVAILABLE
+                        : random.nextInt(4) == 0 ? EVSEStatus.BLOCKED : EVSEStatus.INOPERATIVE;
+                statuses[evse] = next;
+                yield HttpRequest.newBuilder(baseUri.resolve("/api/v1/evses/" + dataset.evseId(evse) + "/status"))
+                        .timeout(REQUEST_TIMEOUT)
+                        .header("Content-Type", "application/json")
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"newStatus\":\"" + next + "\"}"))
+                        .build();
+            }
+        };
+    }
+
+    private HttpRequest get(String pathAndQuery) {
+        return HttpRequest.newBuilder(baseUri.resolve(pathAndQuery))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+    }
+}
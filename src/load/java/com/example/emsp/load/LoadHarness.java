@@ -0,0 +1,94 @@
+package com.example.emsp.load;
+
+import com.example.emsp.EmspApplication;
+import com.example.emsp.infrastructure.fleet.FleetLoader;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Macro load test of the whole application against a large seeded dataset.
+ * <p>
+ * First starts the application without a web server to create the schema and seed the dataset, then starts it
+ * again on a random port, so the read model loads the dataset as it would at a production startup, and drives
+ * the request mix against it. Prints throughput and latency percentiles per endpoint and writes their full
+ * distributions to the report directory.
+ * <p>
+ * With several thread modes, e.g. {@code threads=platform,virtual db-latency=PT0.02S}, both phases run once per mode
+ * and the reports follow each other, so virtual threads can be compared with the platform-thread pool while every
+ * statement waits on the database. Each mode gets the same dataset and the same request sequence, and writes its
+ * distributions to a subdirectory of the report directory named after it.
+ * <p>
+ * The database is an in-memory H2 that outlives the first application context unless
+ * {@code spring.datasource.url} points elsewhere; seeding recreates the schema there.
+ * Run with {@code ./mvnw -Pload-test -DskipTests verify}; see {@link LoadOptions} for the arguments.
+ */
+public final class LoadHarness {
+
+    private LoadHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options = LoadOptions.parse(args);
+
+        for (ThreadMode mode : options.threadModes()) {
+            Dataset dataset;
+            try (ConfigurableApplicationContext context = application(options, mode, WebApplicationType.NONE, "create")) {
+                dataset = new DatasetSeeder(context.getBean(FleetLoader.class), options).seed();
+            }
+
+            try (ConfigurableApplicationContext context = application(options, mode, WebApplicationType.SERVLET, "none")) {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                LatencyReport report = new LoadDriver(URI.create("http://localhost:" + port), dataset, options).run();
+                System.out.printf("%n%s threads, connection pool of %s, database latency %d ms%n",
+                        mode.name().toLowerCase(), context.getEnvironment().getProperty("spring.datasource.hikari.maximum-pool-size", "10"),
+                        options.dbLatency().toMillis());
+                System.out.printf("Target rate %d requests per second, %d locations, %d EVSEs%n%n",
+                        options.rate(), options.locations(), dataset.evseCount());
+                report.print(System.out);
+                report.write(options.threadModes().size() > 1
+                        ? options.reportDir().resolve(mode.name().toLowerCase())
+                        : options.reportDir());
+            }
+        }
+    }
+
+    /**
+     * Starts the application with the harness defaults, overridden by the application properties given as arguments.
+     * They are passed as command-line arguments so that they take precedence over {@code application.properties}.
+     * Database latency is only injected once the web server serves the load, not while seeding.
+     */
+    private static ConfigurableApplicationContext application(LoadOptions options, ThreadMode mode,
+                                                              WebApplicationType type, String ddlAuto) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.url", "jdbc:h2:mem:load;DB_CLOSE_DELAY=-1");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("server.port", "0");
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.com.example.emsp.load", "INFO");
+        properties.put("emsp.read-model.expected-locations", String.valueOf(options.locations()));
+        properties.put("emsp.read-model.snapshot.enabled", "false");
+        properties.put("emsp.outbox.sink", "memory");
+        properties.put("emsp.status-ingestion.journal.path", options.reportDir().resolve("data/status-journal.log").toString());
+        properties.put("emsp.status-history.path", options.reportDir().resolve("data/status-history").toString());
+        properties.putAll(mode.applicationProperties());
+        properties.putAll(options.applicationProperties());
+        properties.put("spring.jpa.hibernate.ddl-auto", ddlAuto); // The phases depend on it
+
+        String[] args = properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(EmspApplication.class).web(type);
+        if (type == WebApplicationType.SERVLET && !options.dbLatency().isZero()) {
+            builder.initializers(context -> context.getBeanFactory()
+                    .registerSingleton("databaseLatencyInjector", new DatabaseLatencyInjector(options.dbLatency())));
+        }
+        return builder.run(args);
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.emsp.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Options of a load test run, parsed from {@code name=value} arguments.
+ * Arguments whose name contains a dot are passed to the application as properties instead,
+ * e.g. {@code spring.datasource.url=jdbc:mysql://localhost/emsp_system}.
+ *
+ * @param locations             Number of Locations to seed.
+ * @param evsesPerLocation      Average number of EVSEs per Location; highway hubs get more than street sites.
+ * @param seed                  Seed of the random generator, for the dataset and the request sequence.
+ * @param rate                  Target request rate per second, across all endpoints.
+ * @param warmup                How long to drive load before measuring.
+ * @param duration              How long to measure.
+ * @param maxInFlight           Upper bound on concurrent requests; once reached, sending waits and the wait counts as latency.
+ * @param feedPageSize          Page size of feed reads.
+ * @param mix                   Relative weight of each endpoint.
+ * @param dbLatency             Latency added to every statement and commit, as if the database were across a network.
+ * @param threadModes           The thread modes to measure one after the other, each against a freshly seeded dataset.
+ * @param reportDir             Directory for percentile distributions and the application's local data files.
+ * @param applicationProperties Properties passed to the application, overriding the harness defaults.
+ */
+record LoadOptions(int locations,
+                   int evsesPerLocation,
+                   long seed,
+                   int rate,
+                   Duration warmup,
+                   Duration duration,
+                   int maxInFlight,
+                   int feedPageSize,
+                   Map<Endpoint, Integer> mix,
+                   Duration dbLatency,
+                   List<ThreadMode> threadModes,
+                   Path reportDir,
+                   Map<String, String> applicationProperties) {
+
+    /**
+     * Parses arguments, starting from the defaults: 100k Locations with ten EVSEs each on average,
+     * 1000 requests per second for a minute after ten seconds of warmup, and a 40/40/20 mix of
+     * feed reads, detail reads and status changes, on platform threads without added database latency.
+     * {@code threads=platform,virtual} compares virtual threads against the platform-thread pool.
+     *
+     * @throws IllegalArgumentException if an argument is not a known option or property.
+     */
+    static LoadOptions parse(String... args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("locations", "100000");
+        values.put("evses-per-location", "10");
+        values.put("seed", "42");
+        values.put("rate", "1000");
+        values.put("warmup", "PT10S");
+        values.put("duration", "PT60S");
+        values.put("max-in-flight", "256");
+        values.put("feed-page-size", "50");
+        values.put("mix", "feed:40,detail:40,status:20");
+        values.put("db-latency", "PT0S");
+        values.put("threads", "platform");
+        values.put("report-dir", "target/load");
+        Map<String, String> applicationProperties = new LinkedHashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected name=value but got: " + arg);
+            }
+            String name = arg.substring(0, separator);
+            String value = arg.substring(separator + 1);
+            if (name.indexOf('.') >= 0) {
+                applicationProperties.put(name, value);
+            } else if (values.containsKey(name)) {
+                values.put(name, value);
+            } else {
+                throw new IllegalArgumentException("Unknown option: " + name + "; known options are " + values.keySet());
+            }
+        }
+        LoadOptions options = new LoadOptions(
+                Integer.parseInt(values.get("locations")),
+                Integer.parseInt(values.get("evses-per-location")),
+                Long.parseLong(values.get("seed")),
+                Integer.parseInt(values.get("rate")),
+                Duration.parse(values.get("warmup")),
+                Duration.parse(values.get("duration")),
+                Integer.parseInt(values.get("max-in-flight")),
+                Integer.parseInt(values.get("feed-page-size")),
+                parseMix(values.get("mix")),
+                Duration.parse(values.get("db-latency")),
+                Arrays.stream(values.get("threads").split(","))
+                        .map(mode -> ThreadMode.valueOf(mode.trim().toUpperCase()))
+                        .distinct()
+                        .toList(),
+                Path.of(values.get("report-dir")),
+                Map.copyOf(applicationProperties));
+        if (options.locations < 1 || options.evsesPerLocation < 1 || options.rate < 1 || options.maxInFlight < 1) {
+            throw new IllegalArgumentException("locations, evses-per-location, rate and max-in-flight must be positive");
+        }
+        if (options.dbLatency.isNegative()) {
+            throw new IllegalArgumentException("db-latency must not be negative: " + options.dbLatency);
+        }
+        if (options.evses() > Integer.MAX_VALUE / 2) {
+            throw new IllegalArgumentException("Cannot seed more than about " + Integer.MAX_VALUE / 2 + " EVSEs");
+        }
+        return options;
+    }
+
+    private static Map<Endpoint, Integer> parseMix(String mix) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected endpoint:weight in mix but got: " + entry);
+            }
+            weights.put(Endpoint.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("Mix must have a positive total weight: " + mix);
+        }
+        return weights;
+    }
+
+    /**
+     * @return The number of EVSEs seeded in total, on average.
+     */
+    long evses() {
+        return (long) locations * evsesPerLocation;
+    }
+}
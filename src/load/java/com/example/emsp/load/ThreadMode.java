@@ -0,0 +1,32 @@
+package com.example.emsp.load;
+
+import java.util.Map;
+
+/**
+ * How the application under load runs request handling and domain event handlers.
+ */
+enum ThreadMode {
+
+    /**
+     * Tomcat's pool of platform threads and the default connection pool, as configured in {@code application.properties}.
+     */
+    PLATFORM(Map.of()),
+
+    /**
+     * Virtual threads with the connection pool sized for them, as configured by the {@code virtual-threads} profile.
+     */
+    VIRTUAL(Map.of("spring.profiles.active", "virtual-threads"));
+
+    private final Map<String, String> applicationProperties;
+
+    ThreadMode(Map<String, String> applicationProperties) {
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * @return The application properties selecting this mode.
+     */
+    Map<String, String> applicationProperties() {
+        return applicationProperties;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.emsp.application;
+
+import com.example.emsp.application.readmodel.CatalogReadModel;
+import com.example.emsp.application.readmodel.EVSEView;
+import com.example.emsp.application.readmodel.LocationView;
+import com.example.emsp.domain.evse.EVSEId;
+import com.example.emsp.domain.evse.EVSEStatus;
+import com.example.emsp.infrastructure.exception.InvalidQueryParameterException;
+import com.example.emsp.infrastructure.exception.ResourceNotFoundException;
+import com.example.emsp.infrastructure.jfr.FeedPageQueryEvent;
+import com.example.emsp.infrastructure.metrics.MetricsConfig;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Application Service answering catalog queries from the in-memory {@link CatalogReadModel}
+ * instead of the database. Commands keep going through the other application services;
+ * their committed changes reach the read model through domain events.
+ */
+@Service
+@Timed(value = MetricsConfig.APPLICATION_TIMER, histogram = true)
+@RequiredArgsConstructor
+public class CatalogQueryService {
+
+    private final CatalogReadModel readModel;
+
+    /**
+     * Finds a Location with its EVSEs and Connectors by its ID.
+     *
+     * @param locationId The ID of the location.
+     * @return The view of the Location.
+     * @throws ResourceNotFoundException if the location with the given ID is not found.
+     */
+    public LocationView findLocationById(Long locationId) {
+        LocationView location = readModel.findLocation(locationId);
+        if (location == null) {
+            throw new ResourceNotFoundException("Location not found with ID: " + locationId);
+        }
+        return location;
+    }
+
+    /**
+     * Queries locations that were last updated after a specific timestamp, ordered by last update.
+     *
+     * @param lastUpdated The timestamp to filter locations by.
+     * @param pageable    The pagination information (page number and size).
+     * @return A Page of Location views.
+     */
+    public Page<LocationView> queryLocationsByLastUpdated(LocalDateTime lastUpdated, Pageable pageable) {
+        FeedPageQueryEvent jfrEvent = new FeedPageQueryEvent();
+        jfrEvent.begin();
+        Page<LocationView> page = readModel.findLocationsUpdatedAfter(lastUpdated, pageable);
+        if (jfrEvent.shouldCommit()) {
+            int entityLoads = 0;
+            for (LocationView location : page.getContent()) {
+                entityLoads++;
+                for (EVSEView evse : location.evses()) {
+                    entityLoads += 1 + evse.connectors().size();
+                }
+            }
+            jfrEvent.complete(FeedPageQueryEvent.LOCATIONS, "lastUpdated>" + lastUpdated, page, entityLoads);
+        }
+        return page;
+    }
+
+    /**
+     * Lists the EVSEs of one operator ordered by EVSE ID, optionally only those in a given status.
+     *
+     * @param countryCode The country code of the operator, e.g. "DE".
+     * @param partyId     The party ID of the operator, e.g. "ABC".
+     * @param status      The status to filter by, or null for all statuses.
+     * @param pageable    Pagination information (page number and size).
+     * @return A Page of EVSE views.
+     * @throws InvalidQueryParameterException if the country code or party ID is malformed.
+     */
+    public Page<EVSEView> findEVSEsByOperator(String countryCode, String partyId, EVSEStatus status, Pageable pageable) {
+        if (!EVSEId.isValidOperator(countryCode, partyId)) {
+            throw new InvalidQueryParameterException("Invalid operator: " + countryCode + "*" + partyId + ". Expected format: CC*PID (e.g., DE*ABC).");
+        }
+        FeedPageQueryEvent jfrEvent = new FeedPageQueryEvent();
+        jfrEvent.begin();
+        Page<EVSEView> page = readModel.findEVSEsByPrefix(countryCode + "*" + partyId + "*", status, pageable);
+        if (jfrEvent.shouldCommit()) {
+            int entityLoads = 0;
+            for (EVSEView evse : page.getContent()) {
+                entityLoads += 1 + evse.connectors().size();
+            }
+            jfrEvent.complete(FeedPageQueryEvent.OPERATOR_EVSES, countryCode + "*" + partyId + (status != null ? " status=" + status : ""),
+                    page, entityLoads);
+        }
+        return page;
+    }
+}
@@ -1,25 +1,40 @@
 package com.example.emsp.application;
 
+import com.example.emsp.domain.events.ConnectorAddedEvent;
 import com.example.emsp.domain.evse.EVSERepository;
 import com.example.emsp.domain.location.Connector;
 import com.example.emsp.domain.location.ConnectorRepository;
 import com.example.emsp.domain.evse.EVSE;
 import com.example.emsp.infrastructure.exception.ResourceNotFoundException;
+import com.example.emsp.infrastructure.jfr.BulkOperationEvent;
+import com.example.emsp.infrastructure.jfr.TransactionCompletion;
+import com.example.emsp.infrastructure.metrics.MetricsConfig;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Application Service for managing Connector entities.
  * This service orchestrates domain logic and interacts with repositories.
  * It handles transactions and ensures data consistency.
  */
 @Service
+@Timed(value = MetricsConfig.APPLICATION_TIMER, histogram = true)
 @RequiredArgsConstructor
 public class ConnectorApplicationService {
 
     private final ConnectorRepository connectorRepository;
     private final EVSERepository evseRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Adds a new Connector to a specific EVSE.
@@ -40,4 +55,47 @@ public class ConnectorApplicationService {
         evse.addConnector(connector); // Add connector to EVSE's collection (managed by cascade)
         return connectorRepository.save(connector);
     }
+
+    /**
+     * Adds many Connectors to one or more EVSEs in a single transaction.
+     * All target EVSEs are loaded with one query and the connectors are written with batched inserts,
+     * without loading the EVSEs' existing connector collections. One ConnectorAddedEvent is published
+     * per created connector. If any EVSE is missing, nothing is created.
+     *
+     * @param commands The connectors to create, in order.
+     * @return The created Connector entities, in the order of the commands.
+     * @throws ResourceNotFoundException if any of the EVSEs is not found.
+     */
+    @Transactional
+    public List<Connector> addConnectorsToEVSEs(List<ConnectorCreateCommand> commands) {
+        BulkOperationEvent jfrEvent = new BulkOperationEvent();
+        jfrEvent.begin();
+        Set<String> evseIdTexts = new LinkedHashSet<>();
+        commands.forEach(command -> evseIdTexts.add(command.evseIdText()));
+
+        Map<String, EVSE> evsesById = new HashMap<>();
+        evseRepository.findByEvseIdTextIn(evseIdTexts)
+                .forEach(evse -> evsesById.put(evse.getEvseId().getText(), evse));
+        for (String evseIdText : evseIdTexts) {
+            if (!evsesById.containsKey(evseIdText)) {
+                throw new ResourceNotFoundException("EVSE not found with EVSE ID: " + evseIdText);
+            }
+        }
+
+        List<Connector> connectors = new ArrayList<>(commands.size());
+        for (ConnectorCreateCommand command : commands) {
+            connectors.add(new Connector(command.standard(), command.powerLevel(), command.voltage(),
+                    evsesById.get(command.evseIdText())));
+        }
+        connectorRepository.insertAll(connectors);
+
+        for (Connector connector : connectors) {
+            EVSE evse = connector.getEvse();
+            eventPublisher.publishEvent(new ConnectorAddedEvent(connector.getId(), evse.getId(), evse.getEvseId().getText(),
+                    connector.getStandard(), connector.getPowerLevel(), connector.getVoltage()));
+        }
+        TransactionCompletion.afterCompletion(committed -> jfrEvent.complete("addConnectorsToEVSEs", commands.size(),
+                committed ? connectors.size() : 0, committed ? connectors.size() : 0));
+        return connectors;
+    }
 }
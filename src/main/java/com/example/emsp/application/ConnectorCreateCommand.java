@@ -0,0 +1,11 @@
+package com.example.emsp.application;
+
+/**
+ * A request to add a new Connector to an EVSE, created as part of a batch.
+ *
+ * @param evseIdText The OCPI-compliant EVSE ID of the EVSE to which the connector will be added.
+ * @param standard   The technical standard of the connector.
+ * @param powerLevel The power level (in kW) of the connector.
+ * @param voltage    The voltage (in Volts) of the connector.
+ */
+public record ConnectorCreateCommand(String evseIdText, String standard, Double powerLevel, Double voltage) {}
@@ -6,12 +6,28 @@ import com.example.emsp.domain.evse.EVSEStatus;
 import com.example.emsp.domain.evse.EVSE;
 import com.example.emsp.domain.location.Location;
 import com.example.emsp.domain.location.LocationRepository;
+import com.example.emsp.infrastructure.cache.NegativeLookupCache;
+import com.example.emsp.infrastructure.exception.InvalidEVSEStatusTransitionException;
 import com.example.emsp.infrastructure.exception.ResourceNotFoundException;
+import com.example.emsp.infrastructure.jfr.BulkOperationEvent;
+import com.example.emsp.infrastructure.jfr.EVSEStatusChangeEvent;
+import com.example.emsp.infrastructure.jfr.TransactionCompletion;
+import com.example.emsp.infrastructure.metrics.EVSEStatusMetrics;
+import com.example.emsp.infrastructure.metrics.MetricsConfig;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Application Service for managing EVSE entities.
@@ -19,11 +35,16 @@ import java.util.Optional;
  * It handles transactions and ensures data consistency.
  */
 @Service
+@Timed(value = MetricsConfig.APPLICATION_TIMER, histogram = true)
 @RequiredArgsConstructor
 public class EVSEApplicationService {
 
+    private static final Logger logger = LoggerFactory.getLogger(EVSEApplicationService.class);
+
     private final EVSERepository evseRepository;
     private final LocationRepository locationRepository;
+    private final NegativeLookupCache negativeLookupCache; // EVSE IDs recently not found
+    private final EVSEStatusMetrics evseStatusMetrics;
 
     /**
      * Adds a new EVSE to a specific Location.
@@ -56,6 +77,7 @@ public class EVSEApplicationService {
 
     /**
      * Changes the status of an existing EVSE, enforcing state transition rules.
+     * EVSE IDs recently found not to exist are rejected without a database query.
      *
      * @param evseIdText The string value of the EVSE ID to update.
      * @param newStatus   The desired new status.
@@ -65,11 +87,77 @@ public class EVSEApplicationService {
      */
     @Transactional
     public EVSE changeEVSEStatus(String evseIdText, EVSEStatus newStatus) {
-        EVSE evse = evseRepository.findByEvseIdText(evseIdText)
-                .orElseThrow(() -> new ResourceNotFoundException("EVSE not found with EVSE ID: " + evseIdText));
+        EVSEStatusChangeEvent jfrEvent = new EVSEStatusChangeEvent();
+        jfrEvent.begin();
+        if (negativeLookupCache.isKnownMissing(evseIdText)) {
+            jfrEvent.complete(evseIdText, null, newStatus, EVSEStatusChangeEvent.NOT_FOUND);
+            throw new ResourceNotFoundException("EVSE not found with EVSE ID: " + evseIdText);
+        }
+        long lookup = negativeLookupCache.beginLookup();
+        EVSE evse = evseRepository.findByEvseIdText(evseIdText).orElse(null);
+        if (evse == null) {
+            negativeLookupCache.recordMiss(evseIdText, lookup);
+            jfrEvent.complete(evseIdText, null, newStatus, EVSEStatusChangeEvent.NOT_FOUND);
+            throw new ResourceNotFoundException("EVSE not found with EVSE ID: " + evseIdText);
+        }
 
-        evse.changeStatus(newStatus); // This method contains the domain logic for state transitions
-        return evseRepository.save(evse);
+        EVSEStatus oldStatus = evse.getStatus();
+        try {
+            evse.changeStatus(newStatus); // This method contains the domain logic for state transitions
+        } catch (InvalidEVSEStatusTransitionException ex) {
+            evseStatusMetrics.recordRejected(ex);
+            jfrEvent.complete(evseIdText, oldStatus, newStatus, EVSEStatusChangeEvent.REJECTED);
+            throw ex;
+        }
+        EVSE saved = evseRepository.save(evse);
+        TransactionCompletion.afterCompletion(committed -> jfrEvent.complete(evseIdText, oldStatus, newStatus,
+                committed ? EVSEStatusChangeEvent.APPLIED : EVSEStatusChangeEvent.ROLLED_BACK));
+        return saved;
+    }
+
+    /**
+     * Applies a batch of status changes in a single transaction.
+     * All affected EVSEs are loaded with one query, and commands are applied in order,
+     * so several changes to the same EVSE within a batch behave like consecutive calls.
+     * Commands that target an unknown EVSE or request an invalid transition are skipped and logged,
+     * so one bad command does not block the rest of the batch.
+     *
+     * @param commands The status changes to apply, in the order they were received.
+     * @return The number of commands that were applied.
+     */
+    @Transactional
+    public int applyStatusChanges(List<EVSEStatusChangeCommand> commands) {
+        BulkOperationEvent jfrEvent = new BulkOperationEvent();
+        jfrEvent.begin();
+        Set<String> evseIdTexts = new LinkedHashSet<>();
+        commands.forEach(command -> evseIdTexts.add(command.evseIdText()));
+
+        Map<String, EVSE> evsesById = new HashMap<>();
+        evseRepository.findByEvseIdTextIn(evseIdTexts)
+                .forEach(evse -> evsesById.put(evse.getEvseId().getText(), evse));
+
+        Map<String, EVSE> changed = new LinkedHashMap<>();
+        int applied = 0;
+        for (EVSEStatusChangeCommand command : commands) {
+            EVSE evse = evsesById.get(command.evseIdText());
+            if (evse == null) {
+                logger.warn("Skipping status change to {}: EVSE not found with EVSE ID: {}", command.newStatus(), command.evseIdText());
+                continue;
+            }
+            try {
+                evse.changeStatus(command.newStatus());
+                changed.put(command.evseIdText(), evse);
+                applied++;
+            } catch (InvalidEVSEStatusTransitionException ex) {
+                evseStatusMetrics.recordRejected(ex);
+                logger.warn("Skipping status change: {}", ex.getMessage());
+            }
+        }
+        evseRepository.saveAll(changed.values()); // Publishes the registered EVSEStatusChangedEvents
+        int appliedCount = applied;
+        TransactionCompletion.afterCompletion(committed -> jfrEvent.complete("applyStatusChanges", commands.size(),
+                committed ? appliedCount : 0, committed ? changed.size() : 0));
+        return applied;
     }
 
     /**
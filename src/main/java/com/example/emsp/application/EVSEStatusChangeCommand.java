@@ -0,0 +1,11 @@
+package com.example.emsp.application;
+
+import com.example.emsp.domain.evse.EVSEStatus;
+
+/**
+ * A request to move an EVSE to a new status, applied as part of a batch.
+ *
+ * @param evseIdText The OCPI-compliant EVSE ID of the EVSE to update.
+ * @param newStatus  The desired new status.
+ */
+public record EVSEStatusChangeCommand(String evseIdText, EVSEStatus newStatus) {}
@@ -0,0 +1,47 @@
+package com.example.emsp.application;
+
+import com.example.emsp.domain.evse.EVSE;
+import com.example.emsp.domain.evse.EVSERepository;
+import com.example.emsp.infrastructure.exception.InvalidQueryParameterException;
+import com.example.emsp.infrastructure.exception.ResourceNotFoundException;
+import com.example.emsp.infrastructure.history.StatusHistoryEntry;
+import com.example.emsp.infrastructure.history.StatusHistoryStore;
+import com.example.emsp.infrastructure.metrics.MetricsConfig;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Application Service for querying the recorded status history of EVSEs.
+ */
+@Service
+@Timed(value = MetricsConfig.APPLICATION_TIMER, histogram = true)
+@RequiredArgsConstructor
+public class EVSEStatusHistoryService {
+
+    private final EVSERepository evseRepository;
+    private final StatusHistoryStore statusHistoryStore;
+
+    /**
+     * Retrieves the status history of an EVSE within a time range.
+     * The first entry is the status in effect at {@code from}, if one was recorded before it.
+     *
+     * @param evseIdText The string value of the EVSE ID.
+     * @param from       The start of the range (inclusive).
+     * @param to         The end of the range (exclusive).
+     * @return The history entries, oldest first.
+     * @throws ResourceNotFoundException if the EVSE is not found.
+     * @throws InvalidQueryParameterException if the range is empty.
+     */
+    public List<StatusHistoryEntry> getStatusHistory(String evseIdText, Instant from, Instant to) {
+        if (!from.isBefore(to)) {
+            throw new InvalidQueryParameterException("'from' must be before 'to'");
+        }
+        EVSE evse = evseRepository.findByEvseIdText(evseIdText)
+                .orElseThrow(() -> new ResourceNotFoundException("EVSE not found with EVSE ID: " + evseIdText));
+        return statusHistoryStore.read(evse.getId(), from, to);
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.emsp.application;
+
+import com.example.emsp.domain.evse.EVSEId;
+import com.example.emsp.domain.evse.EVSEStatus;
+import com.example.emsp.infrastructure.journal.StatusJournal;
+import com.example.emsp.infrastructure.journal.StatusJournalEntry;
+import com.example.emsp.infrastructure.metrics.MetricsConfig;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Application Service for write-behind EVSE status ingestion.
+ * Status changes are appended to the durable {@link StatusJournal} and acknowledged immediately;
+ * a scheduled applier drains the journal into the database in batches, so ingestion latency
+ * does not depend on database latency. Active only when {@code emsp.status-ingestion.mode=write-behind}.
+ */
+@Service
+@Timed(value = MetricsConfig.APPLICATION_TIMER, histogram = true)
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "emsp.status-ingestion.mode", havingValue = "write-behind")
+public class EVSEStatusIngestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EVSEStatusIngestionService.class);
+
+    private final StatusJournal statusJournal;
+    private final EVSEApplicationService evseApplicationService;
+
+    @Value("${emsp.status-ingestion.apply-batch-size:500}")
+    private int applyBatchSize;
+
+    @Value("${emsp.status-ingestion.max-apply-attempts:3}")
+    private int maxApplyAttempts;
+
+    private long failingSequence = -1; // The command failing alone, and how many runs it failed in
+    private int failedAttempts;
+
+    /**
+     * Accepts a status change for asynchronous application.
+     * The EVSE ID format is validated up front, but existence and transition rules are
+     * checked when the command is applied.
+     *
+     * @param evseIdText The string value of the EVSE ID to update.
+     * @param newStatus  The desired new status.
+     * @return The journal entry describing the accepted command.
+     * @throws com.example.emsp.infrastructure.exception.EVSEIdFormatException if the EVSE ID format is invalid.
+     * @throws com.example.emsp.infrastructure.exception.StatusJournalFullException if the journal has no room left.
+     */
+    public StatusJournalEntry submitStatusChange(String evseIdText, EVSEStatus newStatus) {
+        new EVSEId(evseIdText); // Reject malformed IDs before they reach the journal
+        Instant acceptedAt = Instant.now();
+        long sequence = statusJournal.append(evseIdText, newStatus, acceptedAt);
+        statusJournal.awaitDurable(sequence);
+        return new StatusJournalEntry(sequence, evseIdText, newStatus, acceptedAt, -1);
+    }
+
+    /**
+     * Drains pending journal entries into the database, one transaction per batch.
+     * Progress is committed only after the batch transaction succeeds, so a failure or crash
+     * causes the batch to be replayed on the next run. A batch failing for any other reason than
+     * the database being unavailable is retried one command at a time, to isolate the poison command.
+     */
+    @Scheduled(fixedDelayString = "${emsp.status-ingestion.apply-interval-ms:100}")
+    public void applyPendingStatusChanges() {
+        List<StatusJournalEntry> batch;
+        while (!(batch = statusJournal.readPending(applyBatchSize)).isEmpty()) {
+            try {
+                int applied = evseApplicationService.applyStatusChanges(commands(batch));
+                logger.debug("Applied {} of {} journaled status change(s)", applied, batch.size());
+            } catch (RuntimeException ex) {
+                if (isTransient(ex)) {
+                    logger.error("Failed to apply journaled status changes; will retry from sequence {}", batch.get(0).sequence(), ex);
+                    return;
+                }
+                logger.warn("Failed to apply {} journaled status change(s) from sequence {}; applying them one at a time",
+                        batch.size(), batch.get(0).sequence(), ex);
+                if (!applyOneAtATime(batch)) {
+                    return;
+                }
+                continue;
+            }
+            statusJournal.commitApplied(batch.get(batch.size() - 1));
+        }
+    }
+
+    /**
+     * Applies and commits the commands of a failed batch one by one. A command that still fails, after
+     * {@code emsp.status-ingestion.max-apply-attempts} runs, is dead-lettered so the ones after it can proceed.
+     *
+     * @return Whether the whole batch was applied or dead-lettered; false if a command is left to retry.
+     */
+    private boolean applyOneAtATime(List<StatusJournalEntry> batch) {
+        for (StatusJournalEntry entry : batch) {
+            try {
+                evseApplicationService.applyStatusChanges(commands(List.of(entry)));
+            } catch (RuntimeException ex) {
+                if (isTransient(ex) || !attemptsExhausted(entry)) {
+                    logger.error("Failed to apply journaled status change {}; will retry", entry.sequence(), ex);
+                    return false;
+                }
+                statusJournal.deadLetter(entry, ex.toString());
+                continue;
+            }
+            statusJournal.commitApplied(entry);
+        }
+        return true;
+    }
+
+    /**
+     * Counts a failed attempt of a command. Only the first pending command can fail alone, so one counter is enough.
+     *
+     * @return Whether the command has failed as often as allowed.
+     */
+    private boolean attemptsExhausted(StatusJournalEntry entry) {
+        if (entry.sequence() != failingSequence) {
+            failingSequence = entry.sequence();
+            failedAttempts = 0;
+        }
+        return ++failedAttempts >= maxApplyAttempts;
+    }
+
+    /**
+     * @return Whether the failure is likely to go away on retry, such as an unreachable database or a lock timeout,
+     * rather than caused by the commands.
+     */
+    private static boolean isTransient(RuntimeException ex) {
+        return ex instanceof TransientDataAccessException || ex instanceof RecoverableDataAccessException
+                || ex instanceof DataAccessResourceFailureException || ex instanceof CannotCreateTransactionException;
+    }
+
+    private static List<EVSEStatusChangeCommand> commands(List<StatusJournalEntry> entries) {
+        return entries.stream()
+                .map(entry -> new EVSEStatusChangeCommand(entry.evseIdText(), entry.newStatus()))
+                .toList();
+    }
+}
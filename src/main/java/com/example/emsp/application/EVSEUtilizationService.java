@@ -0,0 +1,143 @@
+package com.example.emsp.application;
+
+import com.example.emsp.domain.evse.EVSE;
+import com.example.emsp.domain.evse.EVSERepository;
+import com.example.emsp.domain.location.LocationRepository;
+import com.example.emsp.infrastructure.exception.InvalidQueryParameterException;
+import com.example.emsp.infrastructure.exception.ResourceNotFoundException;
+import com.example.emsp.infrastructure.history.StatusDurations;
+import com.example.emsp.infrastructure.history.StatusHistoryConfig;
+import com.example.emsp.infrastructure.history.StatusHistoryStore;
+import com.example.emsp.infrastructure.metrics.MetricsConfig;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Application Service for time-in-status (uptime and utilization) reports over the recorded status history.
+ * Reports over many EVSEs are aggregated in parallel on a dedicated fork-join pool.
+ */
+@Service
+@Timed(value = MetricsConfig.APPLICATION_TIMER, histogram = true)
+public class EVSEUtilizationService {
+
+    /**
+     * Number of EVSEs below which a task aggregates sequentially instead of splitting further.
+     */
+    static final int SEQUENTIAL_THRESHOLD = 16;
+
+    private final EVSERepository evseRepository;
+    private final LocationRepository locationRepository;
+    private final StatusHistoryStore statusHistoryStore;
+    private final ForkJoinPool analyticsPool;
+
+    public EVSEUtilizationService(EVSERepository evseRepository,
+                                  LocationRepository locationRepository,
+                                  StatusHistoryStore statusHistoryStore,
+                                  @Qualifier(StatusHistoryConfig.ANALYTICS_POOL) ForkJoinPool analyticsPool) {
+        this.evseRepository = evseRepository;
+        this.locationRepository = locationRepository;
+        this.statusHistoryStore = statusHistoryStore;
+        this.analyticsPool = analyticsPool;
+    }
+
+    /**
+     * Computes the time one EVSE spent in each status within a time range.
+     *
+     * @param evseIdText The string value of the EVSE ID.
+     * @param from       The start of the range (inclusive).
+     * @param to         The end of the range (exclusive); capped at the current time.
+     * @return The report, holding only the requested EVSE.
+     * @throws ResourceNotFoundException if the EVSE is not found.
+     * @throws InvalidQueryParameterException if the range is empty.
+     */
+    public UtilizationReport getEvseUtilization(String evseIdText, Instant from, Instant to) {
+        Instant until = validateRange(from, to);
+        EVSE evse = evseRepository.findByEvseIdText(evseIdText)
+                .orElseThrow(() -> new ResourceNotFoundException("EVSE not found with EVSE ID: " + evseIdText));
+        return new UtilizationReport(from, until, Map.of(evseIdText, statusHistoryStore.durations(evse.getId(), from, until)));
+    }
+
+    /**
+     * Computes the time each EVSE of a Location spent in each status within a time range.
+     *
+     * @param locationId The ID of the Location.
+     * @param from       The start of the range (inclusive).
+     * @param to         The end of the range (exclusive); capped at the current time.
+     * @return The report, holding every EVSE of the Location ordered by EVSE ID.
+     * @throws ResourceNotFoundException if the Location is not found.
+     * @throws InvalidQueryParameterException if the range is empty.
+     */
+    public UtilizationReport getLocationUtilization(Long locationId, Instant from, Instant to) {
+        Instant until = validateRange(from, to);
+        if (!locationRepository.existsById(locationId)) {
+            throw new ResourceNotFoundException("Location not found with ID: " + locationId);
+        }
+        List<EVSE> evses = evseRepository.findByLocationId(locationId).stream()
+                .sorted(Comparator.comparing(evse -> evse.getEvseId().getText()))
+                .toList();
+        long[] ids = evses.stream().mapToLong(EVSE::getId).toArray();
+        StatusDurations[] durations = new StatusDurations[ids.length];
+        analyticsPool.invoke(new DurationsTask(ids, durations, 0, ids.length, from, until));
+
+        Map<String, StatusDurations> byEvse = new LinkedHashMap<>();
+        for (int i = 0; i < evses.size(); i++) {
+            byEvse.put(evses.get(i).getEvseId().getText(), durations[i]);
+        }
+        return new UtilizationReport(from, until, byEvse);
+    }
+
+    /**
+     * @return The end of the range to evaluate: {@code to}, or now if that lies in the future.
+     */
+    private static Instant validateRange(Instant from, Instant to) {
+        if (!from.isBefore(to)) {
+            throw new InvalidQueryParameterException("'from' must be before 'to'");
+        }
+        Instant now = Instant.now();
+        return to.isAfter(now) ? now : to;
+    }
+
+    /**
+     * Fills {@code durations[start, end)} for the EVSEs at the same positions, splitting the range in halves
+     * until it is small enough to compute sequentially.
+     */
+    private final class DurationsTask extends RecursiveAction {
+        private final long[] evseIds;
+        private final StatusDurations[] durations;
+        private final int start;
+        private final int end;
+        private final Instant from;
+        private final Instant to;
+
+        DurationsTask(long[] evseIds, StatusDurations[] durations, int start, int end, Instant from, Instant to) {
+            this.evseIds = evseIds;
+            this.durations = durations;
+            this.start = start;
+            this.end = end;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= SEQUENTIAL_THRESHOLD) {
+                for (int i = start; i < end; i++) {
+                    durations[i] = statusHistoryStore.durations(evseIds[i], from, to);
+                }
+                return;
+            }
+            int middle = (start + end) >>> 1;
+            invokeAll(new DurationsTask(evseIds, durations, start, middle, from, to),
+                    new DurationsTask(evseIds, durations, middle, end, from, to));
+        }
+    }
+}
@@ -5,13 +5,14 @@ import com.example.emsp.domain.common.Coordinates;
 import com.example.emsp.domain.location.Location;
 import com.example.emsp.domain.location.LocationRepository;
 import com.example.emsp.infrastructure.exception.ResourceNotFoundException;
+import com.example.emsp.infrastructure.metrics.MetricsConfig;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * Application Service for managing Location entities.
@@ -19,6 +20,7 @@ import java.time.LocalDateTime;
  * It handles transactions and ensures data consistency.
  */
 @Service
+@Timed(value = MetricsConfig.APPLICATION_TIMER, histogram = true)
 @RequiredArgsConstructor
 public class LocationApplicationService {
 
@@ -60,25 +62,15 @@ public class LocationApplicationService {
     }
 
     /**
-     * Finds a Location by its ID.
+     * Finds the IDs of all locations within a bounding box.
      *
-     * @param locationId The ID of the location.
-     * @return The found Location entity.
-     * @throws ResourceNotFoundException if the location with the given ID is not found.
-     */
-    public Location findLocationById(Long locationId) {
-        return locationRepository.findById(locationId)
-                .orElseThrow(() -> new ResourceNotFoundException("Location not found with ID: " + locationId));
-    }
-
-    /**
-     * Queries locations that were last updated after a specific timestamp, with pagination.
-     *
-     * @param lastUpdated The timestamp to filter locations by.
-     * @param pageable    The pagination information (page number, page size, sort).
-     * @return A Page of Location entities.
+     * @param minLatitude  Southern edge of the box.
+     * @param minLongitude Western edge of the box.
+     * @param maxLatitude  Northern edge of the box.
+     * @param maxLongitude Eastern edge of the box.
+     * @return The IDs of the matching locations.
      */
-    public Page<Location> queryLocationsByLastUpdated(LocalDateTime lastUpdated, Pageable pageable) {
-        return locationRepository.findByLastUpdatedAfter(lastUpdated, pageable);
+    public Set<Long> findLocationIdsWithin(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+        return new HashSet<>(locationRepository.findIdsWithinBoundingBox(minLatitude, minLongitude, maxLatitude, maxLongitude));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,16 @@
+package com.example.emsp.application;
+
+import com.example.emsp.infrastructure.history.StatusHistoryStore;
+import com.example.emsp.infrastructure.history.StatusDurations;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Time each EVSE spent in each status within a time range, as computed from the {@link StatusHistoryStore}.
+ *
+ * @param from  The start of the evaluated range (inclusive).
+ * @param to    The end of the evaluated range (exclusive); the requested end, or now if that lies in the future.
+ * @param evses The durations per EVSE, keyed by EVSE ID string and ordered by it.
+ */
+public record UtilizationReport(Instant from, Instant to, Map<String, StatusDurations> evses) {}
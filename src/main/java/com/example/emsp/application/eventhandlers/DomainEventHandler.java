@@ -1,8 +1,10 @@
 package com.example.emsp.application.eventhandlers;
 
 import com.example.emsp.domain.events.*; // Import all domain events
-import org.springframework.context.event.EventListener;
+import com.example.emsp.infrastructure.events.EventDispatchConfig;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -11,6 +13,11 @@ import org.slf4j.LoggerFactory;
  * This class demonstrates how different domain events can be consumed
  * and acted upon. In a real application, these might trigger side effects,
  * update read models, send notifications, or publish integration events.
+ * <p>
+ * Handlers run after the publishing transaction commits, on a bounded executor per event type
+ * (see {@link EventDispatchConfig}), so they never add to request latency or see uncommitted data.
+ * Events published outside a transaction are dispatched immediately.
+ * Durable delivery to other systems goes through the transactional outbox instead.
  */
 @Component
 public class DomainEventHandler {
@@ -22,7 +29,8 @@ public class DomainEventHandler {
      *
      * @param event The LocationCreatedEvent that occurred.
      */
-    @EventListener
+    @Async(EventDispatchConfig.LOCATION_CREATED_EXECUTOR)
+    @TransactionalEventListener(fallbackExecution = true)
     public void handleLocationCreated(LocationCreatedEvent event) {
         logger.info("Received LocationCreatedEvent: Location ID: {}, Name: {}, Address: {}, Occurred On: {}",
                 event.getLocationId(), event.getLocationName(), event.getLocationAddress(), event.getOccurredOn());
@@ -35,7 +43,8 @@ public class DomainEventHandler {
      *
      * @param event The LocationUpdatedEvent that occurred.
      */
-    @EventListener
+    @Async(EventDispatchConfig.LOCATION_UPDATED_EXECUTOR)
+    @TransactionalEventListener(fallbackExecution = true)
     public void handleLocationUpdated(LocationUpdatedEvent event) {
         logger.info("Received LocationUpdatedEvent: Location ID: {}, New Name: {}, New Address: {}, Occurred On: {}",
                 event.getLocationId(), event.getNewLocationName(), event.getNewLocationAddress(), event.getOccurredOn());
@@ -47,7 +56,8 @@ public class DomainEventHandler {
      *
      * @param event The EVSEAddedEvent that occurred.
      */
-    @EventListener
+    @Async(EventDispatchConfig.EVSE_ADDED_EXECUTOR)
+    @TransactionalEventListener(fallbackExecution = true)
     public void handleEVSEAdded(EVSEAddedEvent event) {
         logger.info("Received EVSEAddedEvent: EVSE ID: {} (OCPI: {}), Location ID: {}, Initial Status: {}, Occurred On: {}",
                 event.getEvseId(), event.getEvseOcpiId(), event.getLocationId(), event.getInitialStatus(), event.getOccurredOn());
@@ -59,7 +69,8 @@ public class DomainEventHandler {
      *
      * @param event The EVSEStatusChangedEvent that occurred.
      */
-    @EventListener
+    @Async(EventDispatchConfig.EVSE_STATUS_CHANGED_EXECUTOR)
+    @TransactionalEventListener(fallbackExecution = true)
     public void handleEVSEStatusChanged(EVSEStatusChangedEvent event) {
         logger.info("Received EVSEStatusChangedEvent: EVSE ID: {} (OCPI: {}), Status Changed from {} to {}, Occurred On: {}",
                 event.getEvseId(), event.getEvseOcpiId(), event.getOldStatus(), event.getNewStatus(), event.getOccurredOn());
@@ -71,7 +82,8 @@ public class DomainEventHandler {
      *
      * @param event The ConnectorAddedEvent that occurred.
      */
-    @EventListener
+    @Async(EventDispatchConfig.CONNECTOR_ADDED_EXECUTOR)
+    @TransactionalEventListener(fallbackExecution = true)
     public void handleConnectorAdded(ConnectorAddedEvent event) {
         logger.info("Received ConnectorAddedEvent: Connector ID: {}, EVSE ID: {} (OCPI: {}), Standard: {}, Power: {}kW, Voltage: {}V, Occurred On: {}",
                 event.getConnectorId(), event.getEvseId(), event.getEvseOcpiId(), event.getStandard(), event.getPowerLevel(), event.getVoltage(), event.getOccurredOn());
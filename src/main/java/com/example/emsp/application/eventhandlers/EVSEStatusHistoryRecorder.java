@@ -0,0 +1,44 @@
+package com.example.emsp.application.eventhandlers;
+
+import com.example.emsp.domain.events.EVSEAddedEvent;
+import com.example.emsp.domain.events.EVSEStatusChangedEvent;
+import com.example.emsp.infrastructure.history.StatusHistoryStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.ZoneId;
+
+/**
+ * Records committed EVSE status changes in the {@link StatusHistoryStore}.
+ * Runs synchronously after commit so the history of each EVSE is appended in order;
+ * an append only encodes a few bytes into a buffer.
+ */
+@Component
+@RequiredArgsConstructor
+public class EVSEStatusHistoryRecorder {
+
+    private final StatusHistoryStore statusHistoryStore;
+
+    /**
+     * Listens for EVSEAddedEvent and records the initial status.
+     *
+     * @param event The EVSEAddedEvent that occurred.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleEVSEAdded(EVSEAddedEvent event) {
+        statusHistoryStore.append(event.getEvseId(), event.getInitialStatus(),
+                event.getOccurredOn().atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    /**
+     * Listens for EVSEStatusChangedEvent and records the new status.
+     *
+     * @param event The EVSEStatusChangedEvent that occurred.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleEVSEStatusChanged(EVSEStatusChangedEvent event) {
+        statusHistoryStore.append(event.getEvseId(), event.getNewStatus(),
+                event.getOccurredOn().atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.emsp.application.eventhandlers;
+
+import com.example.emsp.domain.events.EVSEStatusChangedEvent;
+import com.example.emsp.infrastructure.streaming.EVSEStatusStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Feeds committed EVSE status changes into the {@link EVSEStatusStream}.
+ * Runs synchronously after commit; publishing is a single ring buffer write and never blocks.
+ */
+@Component
+@RequiredArgsConstructor
+public class EVSEStatusStreamPublisher {
+
+    private final EVSEStatusStream evseStatusStream;
+
+    /**
+     * Listens for EVSEStatusChangedEvent.
+     *
+     * @param event The EVSEStatusChangedEvent that occurred.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleEVSEStatusChanged(EVSEStatusChangedEvent event) {
+        evseStatusStream.publish(event);
+    }
+}
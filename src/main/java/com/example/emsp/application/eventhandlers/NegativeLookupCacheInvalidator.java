@@ -0,0 +1,29 @@
+package com.example.emsp.application.eventhandlers;
+
+import com.example.emsp.domain.events.EVSEAddedEvent;
+import com.example.emsp.infrastructure.cache.NegativeLookupCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Removes created EVSEs from the {@link NegativeLookupCache}.
+ * Runs synchronously after commit, so the request that created the EVSE does not complete before its ID
+ * can be found again.
+ */
+@Component
+@RequiredArgsConstructor
+public class NegativeLookupCacheInvalidator {
+
+    private final NegativeLookupCache negativeLookupCache;
+
+    /**
+     * Listens for EVSEAddedEvent.
+     *
+     * @param event The EVSEAddedEvent that occurred.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleEVSEAdded(EVSEAddedEvent event) {
+        negativeLookupCache.invalidate(event.getEvseOcpiId());
+    }
+}
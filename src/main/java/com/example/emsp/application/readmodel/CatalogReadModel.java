@@ -0,0 +1,463 @@
+package com.example.emsp.application.readmodel;
+
+import com.example.emsp.domain.events.ConnectorAddedEvent;
+import com.example.emsp.domain.events.EVSEAddedEvent;
+import com.example.emsp.domain.events.EVSEStatusChangedEvent;
+import com.example.emsp.domain.events.LocationCreatedEvent;
+import com.example.emsp.domain.events.LocationUpdatedEvent;
+import com.example.emsp.domain.evse.EVSE;
+import com.example.emsp.domain.evse.EVSERepository;
+import com.example.emsp.domain.evse.EVSEStatus;
+import com.example.emsp.domain.location.Connector;
+import com.example.emsp.domain.location.ConnectorRepository;
+import com.example.emsp.domain.location.Location;
+import com.example.emsp.domain.location.LocationRepository;
+import com.example.emsp.infrastructure.events.EventDispatchConfig;
+import com.example.emsp.infrastructure.outbox.OutboxMessageRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory read model of the whole catalog of Locations, EVSEs and Connectors, serving the query side.
+ * <p>
+ * Built from the database before the application starts serving requests, then kept in sync by the
+ * domain events: every Location touched by a transaction is marked while the transaction runs and
+ * reloaded once after it commits, so a batch of changes to one Location costs a single reload and
+ * rolled-back changes are never seen. Reloads run on the catalog refresh executor, so a write does not
+ * wait for them or hold a second connection for them; the read model is eventually consistent, and a
+ * client reading right after its own write may briefly see the previous state.
+ * <p>
+ * The catalog is held off-heap in an {@link OffHeapCatalog}, so its size does not add to garbage collection
+ * work; each read decodes a short-lived {@link LocationView}. A reloaded Location is replaced as a whole, so
+ * readers never see a half-applied change. Reloads of the same Location are serialized, so an older state
+ * can never overwrite a newer one.
+ * <p>
+ * With {@code emsp.read-model.snapshot.enabled}, the catalog is also written to a local snapshot file
+ * periodically and on shutdown. A restart maps the snapshot and reloads only the Locations that the outbox
+ * shows changed since, instead of the whole catalog; if the outbox no longer reaches back to the snapshot,
+ * or the snapshot cannot be read, the catalog is loaded from the database as usual.
+ */
+@Component
+public class CatalogReadModel implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogReadModel.class);
+
+    private static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+    private static final int LOCK_STRIPES = 64;
+
+    private final LocationRepository locationRepository;
+    private final EVSERepository evseRepository;
+    private final ConnectorRepository connectorRepository;
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final TransactionTemplate readTransaction;
+    private final Executor refreshExecutor;
+    private final AtomicInteger pendingRefreshes = new AtomicInteger();
+    private final int loadBatchSize;
+    private final boolean snapshotEnabled;
+    private final Path snapshotPath;
+    private final Duration replayOverlap;
+
+    private volatile OffHeapCatalog catalog; // Replaced only at startup, by a restored snapshot
+    private final AtomicLong version = new AtomicLong();
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES]; // Not monitors: a refresh holding one waits on JDBC, which would pin a virtual thread
+
+    public CatalogReadModel(LocationRepository locationRepository,
+                            EVSERepository evseRepository,
+                            ConnectorRepository connectorRepository,
+                            OutboxMessageRepository outboxMessageRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Qualifier(EventDispatchConfig.CATALOG_REFRESH_EXECUTOR) Executor refreshExecutor,
+                            @Value("${emsp.read-model.load-batch-size:1000}") int loadBatchSize,
+                            @Value("${emsp.read-model.expected-locations:10000}") int expectedLocations,
+                            @Value("${emsp.read-model.snapshot.enabled:false}") boolean snapshotEnabled,
+                            @Value("${emsp.read-model.snapshot.path:data/catalog.snapshot}") Path snapshotPath,
+                            @Value("${emsp.read-model.snapshot.replay-overlap:PT5M}") Duration replayOverlap) {
+        this.locationRepository = locationRepository;
+        this.evseRepository = evseRepository;
+        this.connectorRepository = connectorRepository;
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW); // Also runs after commit, when the committing thread reloads itself
+        this.readTransaction.setReadOnly(true);
+        this.refreshExecutor = refreshExecutor;
+        this.loadBatchSize = loadBatchSize;
+        this.snapshotEnabled = snapshotEnabled;
+        this.snapshotPath = snapshotPath;
+        this.replayOverlap = replayOverlap;
+        this.catalog = new OffHeapCatalog(expectedLocations, expectedLocations * 4);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Restores the catalog from the snapshot if possible, and loads it from the database otherwise.
+     * Runs once all singletons exist, before the web server accepts requests.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!snapshotEnabled || !restoreFromSnapshot()) {
+            loadAll();
+        }
+    }
+
+    /**
+     * Loads the whole catalog, one batch of Locations per read-only transaction.
+     */
+    private void loadAll() {
+        long started = System.nanoTime();
+        int loaded = 0;
+        for (int page = 0; ; page++) {
+            PageRequest pageRequest = PageRequest.of(page, loadBatchSize, Sort.by("id"));
+            List<LocationView> views = readTransaction.execute(status -> buildViews(locationRepository.findAll(pageRequest).getContent()));
+            views.forEach(view -> publish(view.id(), view));
+            loaded += views.size();
+            if (views.size() < loadBatchSize) {
+                break;
+            }
+        }
+        logger.info("Catalog read model loaded {} locations and {} EVSEs ({} KB off-heap) in {} ms",
+                loaded, catalog.evseCount(), catalog.offHeapBytes() / 1024, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Maps the snapshot and reloads the Locations changed after it was taken.
+     *
+     * @return Whether the catalog was restored; false if it still has to be loaded from the database.
+     */
+    private boolean restoreFromSnapshot() {
+        if (!Files.exists(snapshotPath)) {
+            logger.info("No catalog snapshot at {}", snapshotPath);
+            return false;
+        }
+        long started = System.nanoTime();
+        CatalogSnapshot.Contents snapshot;
+        try {
+            snapshot = CatalogSnapshot.read(snapshotPath);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Ignoring unreadable catalog snapshot {}", snapshotPath, e);
+            return false;
+        }
+        // Every change after the watermark must still be in the outbox, and the outbox must be the one the snapshot was taken against
+        Long oldest = outboxMessageRepository.findMinId();
+        Long newest = outboxMessageRepository.findMaxId();
+        if (oldest == null || oldest > snapshot.watermark() + 1 || newest < snapshot.watermark()) {
+            logger.info("Catalog snapshot {} at outbox ID {} does not match outbox IDs {} to {}; loading from the database",
+                    snapshotPath, snapshot.watermark(), oldest, newest);
+            return false;
+        }
+        catalog = snapshot.catalog();
+        version.set(snapshot.version());
+        int replayed = replay(snapshot.watermark(), snapshot.takenAt().minus(replayOverlap));
+        logger.info("Catalog read model restored {} locations and {} EVSEs from snapshot taken at {}, reloaded {} changed locations, in {} ms",
+                catalog.locationCount(), catalog.evseCount(), snapshot.takenAt(), replayed, (System.nanoTime() - started) / 1_000_000);
+        return true;
+    }
+
+    /**
+     * Reloads the Locations of all aggregates with outbox messages after the watermark, or that occurred after
+     * {@code since}. The latter covers changes whose outbox ID was below the watermark but which committed,
+     * or were not yet reloaded, when the snapshot was taken.
+     *
+     * @return The number of reloaded Locations.
+     */
+    private int replay(long watermark, LocalDateTime since) {
+        Set<Long> locationIds = new LinkedHashSet<>();
+        readTransaction.executeWithoutResult(status -> {
+            Map<String, List<Long>> idsByType = new HashMap<>();
+            for (Object[] aggregate : outboxMessageRepository.findAggregatesChangedAfter(watermark, since)) {
+                if (aggregate[1] != null) {
+                    idsByType.computeIfAbsent((String) aggregate[0], type -> new ArrayList<>()).add((Long) aggregate[1]);
+                }
+            }
+            locationIds.addAll(idsByType.getOrDefault("Location", List.of()));
+            for (List<Long> ids : chunks(idsByType.getOrDefault("EVSE", List.of()))) {
+                locationIds.addAll(evseRepository.findLocationIdsByIdIn(ids));
+            }
+            for (List<Long> ids : chunks(idsByType.getOrDefault("Connector", List.of()))) {
+                locationIds.addAll(connectorRepository.findLocationIdsByIdIn(ids));
+            }
+        });
+        for (List<Long> ids : chunks(new ArrayList<>(locationIds))) {
+            List<LocationView> views = readTransaction.execute(status -> buildViews(locationRepository.findAllById(ids)));
+            Set<Long> missing = new HashSet<>(ids);
+            for (LocationView view : views) {
+                publish(view.id(), view);
+                missing.remove(view.id());
+            }
+            missing.forEach(id -> publish(id, null));
+        }
+        return locationIds.size();
+    }
+
+    /**
+     * Writes the catalog to the snapshot file, if snapshots are enabled. The watermark is read before the
+     * catalog is copied, so a change is either in the snapshot or replayed after a restart.
+     */
+    @Scheduled(fixedDelayString = "${emsp.read-model.snapshot.interval-ms:600000}",
+            initialDelayString = "${emsp.read-model.snapshot.interval-ms:600000}")
+    public synchronized void writeSnapshot() {
+        if (!snapshotEnabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        try {
+            LocalDateTime takenAt = LocalDateTime.now();
+            Long watermark = outboxMessageRepository.findMaxId();
+            CatalogSnapshot.write(snapshotPath, catalog, watermark == null ? 0 : watermark, takenAt, version.get());
+            logger.info("Wrote catalog snapshot {} at outbox ID {} in {} ms", snapshotPath, watermark, (System.nanoTime() - started) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            // The previous snapshot stays in place; a restart replays more changes or loads from the database
+            logger.warn("Failed to write catalog snapshot {}", snapshotPath, e);
+        }
+    }
+
+    /**
+     * Writes a last snapshot on shutdown, so the next start has little to replay.
+     */
+    @PreDestroy
+    public void writeSnapshotOnShutdown() {
+        writeSnapshot();
+    }
+
+    @EventListener
+    public void on(LocationCreatedEvent event) {
+        markDirty(event.getLocationId(), null);
+    }
+
+    @EventListener
+    public void on(LocationUpdatedEvent event) {
+        markDirty(event.getLocationId(), null);
+    }
+
+    @EventListener
+    public void on(EVSEAddedEvent event) {
+        markDirty(event.getLocationId(), null);
+    }
+
+    @EventListener
+    public void on(EVSEStatusChangedEvent event) {
+        markDirty(event.getLocationId(), null);
+    }
+
+    @EventListener
+    public void on(ConnectorAddedEvent event) {
+        markDirty(catalog.locationIdOfEvse(event.getEvseId()), event.getEvseId()); // Unknown if the EVSE was added in the same transaction
+    }
+
+    /**
+     * @return The number of committed transactions whose Locations are still to be reloaded.
+     */
+    public int pendingRefreshes() {
+        return pendingRefreshes.get();
+    }
+
+    /**
+     * Records that a Location changed. Within a transaction the reload is deferred until after commit,
+     * handed to the refresh executor and shared by all changes of the transaction; outside of one it
+     * happens immediately.
+     *
+     * @param locationId The changed Location, or null if only its EVSE is known.
+     * @param evseId     The EVSE through which the Location changed, used when the Location is not known.
+     */
+    private void markDirty(Long locationId, Long evseId) {
+        PendingRefresh pending = new PendingRefresh();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            PendingRefresh bound = (PendingRefresh) TransactionSynchronizationManager.getResource(this);
+            if (bound == null) {
+                TransactionSynchronizationManager.bindResource(this, pending);
+                TransactionSynchronizationManager.registerSynchronization(pending);
+            } else {
+                pending = bound;
+            }
+            pending.add(locationId, evseId);
+            return;
+        }
+        pending.add(locationId, evseId);
+        pending.run();
+    }
+
+    /**
+     * Locations (and EVSEs of unknown Location) changed by one transaction.
+     */
+    private final class PendingRefresh implements TransactionSynchronization {
+        private final Set<Long> locationIds = new LinkedHashSet<>();
+        private final Set<Long> evseIds = new LinkedHashSet<>();
+
+        void add(Long locationId, Long evseId) {
+            if (locationId != null) {
+                locationIds.add(locationId);
+            } else if (evseId != null) {
+                evseIds.add(evseId);
+            }
+        }
+
+        void run() {
+            try {
+                if (!evseIds.isEmpty()) {
+                    readTransaction.executeWithoutResult(status -> evseRepository.findAllById(evseIds)
+                            .forEach(evse -> locationIds.add(evse.getLocation().getId())));
+                }
+                locationIds.forEach(CatalogReadModel.this::refresh);
+            } catch (RuntimeException e) {
+                // The write has committed; a failed reload must not fail the request
+                logger.error("Failed to refresh catalog read model for locations {} and EVSEs {}", locationIds, evseIds, e);
+            }
+        }
+
+        @Override
+        public void afterCommit() {
+            pendingRefreshes.incrementAndGet();
+            refreshExecutor.execute(() -> {
+                try {
+                    run();
+                } finally {
+                    pendingRefreshes.decrementAndGet();
+                }
+            });
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(CatalogReadModel.this);
+        }
+    }
+
+    /**
+     * Reloads one Location from the database and replaces its view, or removes it if it no longer exists.
+     *
+     * @param locationId The ID of the Location.
+     */
+    public void refresh(Long locationId) {
+        ReentrantLock lock = locks[Math.floorMod(locationId.hashCode(), LOCK_STRIPES)];
+        lock.lock();
+        try {
+            List<LocationView> views = readTransaction.execute(status ->
+                    buildViews(locationRepository.findById(locationId).map(List::of).orElse(List.of())));
+            publish(locationId, views.isEmpty() ? null : views.get(0));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Builds views of the given Locations, loading their EVSEs and Connectors with one query per chunk
+     * instead of one per Location or EVSE. Must run in a transaction.
+     */
+    private List<LocationView> buildViews(List<Location> batch) {
+        if (batch.isEmpty()) {
+            return List.of();
+        }
+        List<EVSE> evses = new ArrayList<>();
+        for (List<Long> ids : chunks(batch.stream().map(Location::getId).toList())) {
+            evses.addAll(evseRepository.findByLocationIdIn(ids));
+        }
+        Map<Long, List<ConnectorView>> connectorsByEvse = new HashMap<>();
+        for (List<Long> ids : chunks(evses.stream().map(EVSE::getId).toList())) {
+            for (Connector connector : connectorRepository.findByEvseIdIn(ids)) {
+                connectorsByEvse.computeIfAbsent(connector.getEvse().getId(), id -> new ArrayList<>()).add(ConnectorView.of(connector));
+            }
+        }
+        Map<Long, List<EVSEView>> evsesByLocation = new HashMap<>();
+        for (EVSE evse : evses) {
+            List<ConnectorView> connectors = connectorsByEvse.getOrDefault(evse.getId(), List.of()).stream()
+                    .sorted(Comparator.comparing(ConnectorView::id))
+                    .toList();
+            evsesByLocation.computeIfAbsent(evse.getLocation().getId(), id -> new ArrayList<>()).add(EVSEView.of(evse, connectors));
+        }
+        List<LocationView> views = new ArrayList<>(batch.size());
+        for (Location location : batch) {
+            List<EVSEView> locationEvses = evsesByLocation.getOrDefault(location.getId(), List.of()).stream()
+                    .sorted(Comparator.comparing(EVSEView::id))
+                    .toList();
+            views.add(LocationView.of(location, locationEvses, version.incrementAndGet()));
+        }
+        return views;
+    }
+
+    private static List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            chunks.add(ids.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, ids.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * Replaces the encoded Location in the catalog, or removes it if the view is null.
+     */
+    private void publish(Long locationId, LocationView view) {
+        if (view == null) {
+            catalog.remove(locationId);
+        } else {
+            catalog.put(view);
+        }
+    }
+
+    /**
+     * @return The view of a Location, decoded from the catalog, or null if it does not exist.
+     */
+    public LocationView findLocation(Long locationId) {
+        return catalog.location(locationId);
+    }
+
+    /**
+     * Returns the Locations last updated strictly after a timestamp, ordered by last update (then ID).
+     *
+     * @param lastUpdated The exclusive lower bound.
+     * @param pageable    Pagination information; its sort is ignored.
+     * @return A Page of Location views.
+     */
+    public Page<LocationView> findLocationsUpdatedAfter(LocalDateTime lastUpdated, Pageable pageable) {
+        OffHeapCatalog.Range<LocationView> range = catalog.locationsUpdatedAfter(lastUpdated, pageable.getOffset(), pageable.getPageSize());
+        return new PageImpl<>(range.content(), pageable, range.total());
+    }
+
+    /**
+     * Returns the EVSEs whose EVSE ID starts with a prefix, ordered by EVSE ID.
+     *
+     * @param evseIdPrefix The prefix, e.g. "DE*ABC*" for one operator.
+     * @param status       The status the EVSEs must be in, or null for all statuses.
+     * @param pageable     Pagination information; its sort is ignored.
+     * @return A Page of EVSE views.
+     */
+    public Page<EVSEView> findEVSEsByPrefix(String evseIdPrefix, EVSEStatus status, Pageable pageable) {
+        OffHeapCatalog.Range<EVSEView> range = catalog.evsesByPrefix(evseIdPrefix, status, pageable.getOffset(), pageable.getPageSize());
+        return new PageImpl<>(range.content(), pageable, range.total());
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.emsp.application.readmodel;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Binary snapshot of an {@link OffHeapCatalog} on local disk, so a restart can map the catalog instead of
+ * reloading it from the database.
+ * <p>
+ * Layout, in native byte order: {@code [int magic][int version][int byteOrderMark][long watermark]
+ * [long takenAtEpochSecond][int takenAtNano][long readModelVersion]}, then the sections written by
+ * {@link OffHeapCatalog#writeTo}, then {@code [int magic]} again as a trailer. A snapshot without the trailer
+ * was not written completely, one with a different byte order mark comes from another platform; both are rejected.
+ * <p>
+ * The watermark is the highest outbox message ID when the snapshot was taken: every change recorded up to
+ * it is assumed to be in the snapshot, apart from changes recorded shortly before {@code takenAt}, which may
+ * still have been in flight and are replayed too.
+ */
+final class CatalogSnapshot {
+
+    private static final int MAGIC = 0x45435331; // "ECS1"
+    private static final int VERSION = 1;
+    private static final int BYTE_ORDER_MARK = 0x01020304;
+
+    /**
+     * The contents of a snapshot.
+     *
+     * @param catalog   The catalog, backed by a private mapping of the snapshot file.
+     * @param watermark The highest outbox message ID when the snapshot was taken.
+     * @param takenAt   When the snapshot was taken, in the local time of the application.
+     * @param version   The read-model version when the snapshot was taken.
+     */
+    record Contents(OffHeapCatalog catalog, long watermark, LocalDateTime takenAt, long version) {
+    }
+
+    private CatalogSnapshot() {
+    }
+
+    /**
+     * Writes a snapshot to a temporary file next to the target and moves it into place, so a crash never
+     * leaves a partial snapshot behind. The catalog is copied into memory first, so changes to it wait for
+     * the copy but not for the disk.
+     */
+    static void write(Path path, OffHeapCatalog catalog, long watermark, LocalDateTime takenAt, long version) throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        Output out = new Output(catalog.offHeapBytes() + (1 << 20));
+        out.putInt(MAGIC);
+        out.putInt(VERSION);
+        out.putInt(BYTE_ORDER_MARK);
+        out.putLong(watermark);
+        out.putLong(takenAt.toEpochSecond(ZoneOffset.UTC));
+        out.putInt(takenAt.getNano());
+        out.putLong(version);
+        catalog.writeTo(out);
+        out.putInt(MAGIC);
+        ByteBuffer contents = out.contents();
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (contents.hasRemaining()) {
+                channel.write(contents);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Maps a snapshot privately: pages are loaded on first access, and later changes to the catalog are
+     * copied on write instead of reaching the file.
+     *
+     * @throws IOException           if the file cannot be read.
+     * @throws IllegalStateException if the file is not a complete snapshot of this format.
+     */
+    static Contents read(Path path) throws IOException {
+        MappedByteBuffer mapped;
+        // A private mapping needs a writable channel, although nothing is ever written to the file
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Catalog snapshot exceeds 2 GB");
+            }
+            mapped = channel.map(FileChannel.MapMode.PRIVATE, 0, channel.size());
+        }
+        ByteBuffer in = mapped.order(ByteOrder.nativeOrder());
+        if (in.limit() < 48 || in.getInt() != MAGIC || in.getInt() != VERSION || in.getInt() != BYTE_ORDER_MARK
+                || in.getInt(in.limit() - 4) != MAGIC) {
+            throw new IllegalStateException("Not a complete catalog snapshot of version " + VERSION);
+        }
+        long watermark = in.getLong();
+        LocalDateTime takenAt = LocalDateTime.ofEpochSecond(in.getLong(), in.getInt(), ZoneOffset.UTC);
+        long version = in.getLong();
+        OffHeapCatalog catalog = OffHeapCatalog.readFrom(in);
+        if (in.position() != in.limit() - 4) {
+            throw new IllegalStateException("Catalog snapshot has unexpected trailing data");
+        }
+        return new Contents(catalog, watermark, takenAt, version);
+    }
+
+    static int[] getInts(ByteBuffer in, int count) {
+        int[] values = new int[count];
+        in.asIntBuffer().get(values);
+        in.position(in.position() + count * 4);
+        return values;
+    }
+
+    static long[] getLongs(ByteBuffer in, int count) {
+        long[] values = new long[count];
+        in.asLongBuffer().get(values);
+        in.position(in.position() + count * 8);
+        return values;
+    }
+
+    /**
+     * @return The next {@code length} bytes as a buffer of their own, sharing the content.
+     */
+    static ByteBuffer getSlice(ByteBuffer in, int length) {
+        ByteBuffer slice = in.slice(in.position(), length).order(ByteOrder.nativeOrder());
+        in.position(in.position() + length);
+        return slice;
+    }
+
+    /**
+     * In-memory writer of snapshot sections, in native byte order. Arrays and buffers are copied in bulk.
+     */
+    static final class Output {
+
+        private ByteBuffer buffer;
+
+        private Output(long expectedSize) {
+            this.buffer = ByteBuffer.allocateDirect((int) Math.min(expectedSize, Integer.MAX_VALUE - 8)).order(ByteOrder.nativeOrder());
+        }
+
+        void putInt(int value) {
+            ensure(4);
+            buffer.putInt(value);
+        }
+
+        void putLong(long value) {
+            ensure(8);
+            buffer.putLong(value);
+        }
+
+        void putInts(int[] values, int count) {
+            ensure(count * 4L);
+            buffer.asIntBuffer().put(values, 0, count);
+            buffer.position(buffer.position() + count * 4);
+        }
+
+        void putLongs(long[] values, int count) {
+            ensure(count * 8L);
+            buffer.asLongBuffer().put(values, 0, count);
+            buffer.position(buffer.position() + count * 8);
+        }
+
+        /**
+         * Copies the first {@code length} bytes of a buffer.
+         */
+        void putBytes(ByteBuffer source, int length) {
+            ensure(length);
+            buffer.put(source.slice(0, length));
+        }
+
+        /**
+         * @return The bytes written so far, ready to be read.
+         */
+        ByteBuffer contents() {
+            return buffer.duplicate().flip();
+        }
+
+        private void ensure(long bytes) {
+            if (buffer.remaining() >= bytes) {
+                return;
+            }
+            long required = buffer.position() + bytes;
+            if (required > Integer.MAX_VALUE - 8) {
+                throw new IllegalStateException("Catalog snapshot exceeds 2 GB");
+            }
+            ByteBuffer grown = ByteBuffer.allocateDirect((int) Math.min(Math.max(required, buffer.capacity() * 2L), Integer.MAX_VALUE - 8))
+                    .order(ByteOrder.nativeOrder());
+            grown.put(buffer.flip());
+            buffer = grown;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.emsp.application.readmodel;
+
+import com.example.emsp.domain.location.Connector;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable read-model view of a Connector.
+ *
+ * @param id          The internal database ID of the Connector.
+ * @param standard    The technical standard of the connector.
+ * @param powerLevel  The power level in kW.
+ * @param voltage     The voltage in Volts.
+ * @param evseId      The internal database ID of the parent EVSE.
+ * @param lastUpdated The last modification time.
+ */
+public record ConnectorView(Long id, String standard, double powerLevel, double voltage, Long evseId, LocalDateTime lastUpdated) {
+
+    static ConnectorView of(Connector connector) {
+        return new ConnectorView(connector.getId(), connector.getStandard(), connector.getPowerLevel(), connector.getVoltage(),
+                connector.getEvse().getId(), connector.getLastUpdated());
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.emsp.application.readmodel;
+
+import com.example.emsp.domain.evse.EVSE;
+import com.example.emsp.domain.evse.EVSEStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Immutable read-model view of an EVSE and its Connectors.
+ *
+ * @param id          The internal database ID of the EVSE.
+ * @param evseId      The OCPI-compliant EVSE ID string.
+ * @param status      The current status.
+ * @param locationId  The internal database ID of the parent Location.
+ * @param connectors  The connectors, in ID order.
+ * @param lastUpdated The last modification time.
+ */
+public record EVSEView(Long id, String evseId, EVSEStatus status, Long locationId, List<ConnectorView> connectors, LocalDateTime lastUpdated) {
+
+    public EVSEView {
+        connectors = List.copyOf(connectors);
+    }
+
+    static EVSEView of(EVSE evse, List<ConnectorView> connectors) {
+        return new EVSEView(evse.getId(), evse.getEvseId().getText(), evse.getStatus(), evse.getLocation().getId(),
+                connectors, evse.getLastUpdated());
+    }
+}
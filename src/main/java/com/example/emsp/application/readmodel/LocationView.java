@@ -0,0 +1,39 @@
+package com.example.emsp.application.readmodel;
+
+import com.example.emsp.domain.location.Location;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Immutable read-model view of a Location with its EVSEs and Connectors.
+ * A changed Location is replaced by a new view as a whole, so a reader holding a view always sees
+ * one consistent state of the aggregate.
+ *
+ * @param id          The internal database ID of the Location.
+ * @param name        The name.
+ * @param address     The address.
+ * @param latitude    The latitude of its coordinates.
+ * @param longitude   The longitude of its coordinates.
+ * @param opensAt     The opening time of its business hours.
+ * @param closesAt    The closing time of its business hours.
+ * @param evses       The EVSEs, in ID order.
+ * @param lastUpdated The last modification time.
+ * @param version     The read-model version at which this view was built; increases with every rebuilt view.
+ */
+public record LocationView(Long id, String name, String address, double latitude, double longitude,
+                           LocalTime opensAt, LocalTime closesAt, List<EVSEView> evses,
+                           LocalDateTime lastUpdated, long version) {
+
+    public LocationView {
+        evses = List.copyOf(evses);
+    }
+
+    static LocationView of(Location location, List<EVSEView> evses, long version) {
+        return new LocationView(location.getId(), location.getName(), location.getAddress(),
+                location.getCoordinates().getLatitude(), location.getCoordinates().getLongitude(),
+                location.getBusinessHours().getOpensAt(), location.getBusinessHours().getClosesAt(),
+                evses, location.getLastUpdated(), version);
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.emsp.application.readmodel;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from {@code long} keys to non-negative {@code int} values, backed by two
+ * primitive arrays so that an index over millions of entries is two objects for the garbage collector.
+ * Linear probing with backward-shift deletion; kept at most half full.
+ * <p>
+ * Not thread-safe. Lookups never loop forever or fail on an inconsistent state, so they may run under an
+ * optimistic read that is validated afterwards.
+ */
+final class LongIntHashMap {
+
+    static final int NO_VALUE = -1;
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private int[] values; // NO_VALUE marks an empty bucket
+    private int size;
+
+    LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(MIN_CAPACITY, expectedSize * 2 - 1)) << 1;
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, NO_VALUE);
+    }
+
+    private LongIntHashMap(long[] keys, int[] values, int size) {
+        this.keys = keys;
+        this.values = values;
+        this.size = size;
+    }
+
+    /**
+     * Writes {@code [int size][int capacity][long keys...][int values...]}.
+     */
+    void writeTo(CatalogSnapshot.Output out) {
+        out.putInt(size);
+        out.putInt(values.length);
+        out.putLongs(keys, keys.length);
+        out.putInts(values, values.length);
+    }
+
+    /**
+     * Reads a map written by {@link #writeTo}.
+     */
+    static LongIntHashMap readFrom(ByteBuffer in) {
+        int size = in.getInt();
+        int capacity = in.getInt();
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalStateException("Snapshot hash map capacity is not a power of two: " + capacity);
+        }
+        long[] keys = CatalogSnapshot.getLongs(in, capacity);
+        int[] values = CatalogSnapshot.getInts(in, capacity);
+        return new LongIntHashMap(keys, values, size);
+    }
+
+    private static int bucket(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L; // Fibonacci hashing spreads sequential IDs
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    /**
+     * @return The value mapped to the key, or {@link #NO_VALUE} if there is none.
+     */
+    int get(long key) {
+        long[] keys = this.keys;
+        int[] values = this.values;
+        int mask = values.length - 1;
+        int index = bucket(key, mask);
+        for (int probes = 0; probes < values.length; probes++) {
+            int value = values[index];
+            if (value == NO_VALUE) {
+                return NO_VALUE;
+            }
+            if (keys[index] == key) {
+                return value;
+            }
+            index = (index + 1) & mask;
+        }
+        return NO_VALUE;
+    }
+
+    /**
+     * Maps a key to a value, replacing any previous value.
+     *
+     * @param value A non-negative value.
+     */
+    void put(long key, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Value must not be negative: " + value);
+        }
+        if ((size + 1) * 2 > values.length) {
+            resize(values.length * 2);
+        }
+        int mask = values.length - 1;
+        int index = bucket(key, mask);
+        while (values[index] != NO_VALUE) {
+            if (keys[index] == key) {
+                values[index] = value;
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = value;
+        size++;
+    }
+
+    /**
+     * Removes the mapping of a key, shifting later entries of its probe sequence back so no tombstones are needed.
+     *
+     * @return The removed value, or {@link #NO_VALUE} if the key was not mapped.
+     */
+    int remove(long key) {
+        int mask = values.length - 1;
+        int index = bucket(key, mask);
+        while (values[index] != NO_VALUE && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        int removed = values[index];
+        if (removed == NO_VALUE) {
+            return NO_VALUE;
+        }
+        int gap = index;
+        for (int next = (gap + 1) & mask; values[next] != NO_VALUE; next = (next + 1) & mask) {
+            int home = bucket(keys[next], mask);
+            // Move the entry into the gap unless its home bucket lies cyclically in (gap, next]
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+        values[gap] = NO_VALUE;
+        size--;
+        return removed;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        long[] newKeys = new long[capacity];
+        int[] newValues = new int[capacity];
+        Arrays.fill(newValues, NO_VALUE);
+        int mask = capacity - 1;
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != NO_VALUE) {
+                int index = bucket(oldKeys[i], mask);
+                while (newValues[index] != NO_VALUE) {
+                    index = (index + 1) & mask;
+                }
+                newKeys[index] = oldKeys[i];
+                newValues[index] = oldValues[i];
+            }
+        }
+        keys = newKeys;
+        values = newValues;
+    }
+}
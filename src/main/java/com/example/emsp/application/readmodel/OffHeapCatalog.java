@@ -0,0 +1,598 @@
+package com.example.emsp.application.readmodel;
+
+import com.example.emsp.domain.evse.EVSEStatus;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+/**
+ * Flat, off-heap encoding of the catalog. Locations, EVSEs and Connectors are fixed-width records in direct
+ * buffers ({@link RecordTable}), strings are references into a {@link StringDictionary}, and the indexes are
+ * primitive arrays, so the garbage collector sees a few dozen objects however large the catalog is.
+ * Views are decoded on demand and are garbage right after the response is written.
+ * <p>
+ * Record layouts (byte offsets):
+ * <ul>
+ *     <li>Location, 72 bytes: {@code [0 long id][8 int nameRef][12 int addressRef][16 double latitude]
+ *     [24 double longitude][32 long opensAtNanoOfDay][40 long closesAtNanoOfDay][48 long lastUpdated]
+ *     [56 long version][64 int firstEvseSlot][68 int evseCount]}</li>
+ *     <li>EVSE, 48 bytes: {@code [0 long id][8 long locationId][16 long lastUpdated][24 int evseIdRef]
+ *     [28 int statusOrdinal][32 int nextEvseSlot][36 int firstConnectorSlot][40 int connectorCount]}</li>
+ *     <li>Connector, 40 bytes: {@code [0 long id][8 long lastUpdated][16 double powerLevel][24 double voltage]
+ *     [32 int standardRef][36 int nextConnectorSlot]}</li>
+ * </ul>
+ * The EVSEs of a Location and the Connectors of an EVSE are chained through their next-slot fields, in ID order.
+ * Timestamps are stored as nanoseconds since the epoch in UTC, which covers the years 1677 to 2262.
+ * <p>
+ * Thread-safe. Writers take a {@link StampedLock} write lock; readers decode optimistically and retry under the
+ * read lock if a write intervened, so reads take no lock in the common case.
+ */
+final class OffHeapCatalog {
+
+    private static final int NONE = -1;
+    private static final long NULL_TIME = Long.MIN_VALUE;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long MIN_EPOCH_SECOND = Long.MIN_VALUE / NANOS_PER_SECOND + 1;
+    private static final long MAX_EPOCH_SECOND = Long.MAX_VALUE / NANOS_PER_SECOND - 1;
+
+    private static final int L_ID = 0;
+    private static final int L_NAME = 8;
+    private static final int L_ADDRESS = 12;
+    private static final int L_LATITUDE = 16;
+    private static final int L_LONGITUDE = 24;
+    private static final int L_OPENS_AT = 32;
+    private static final int L_CLOSES_AT = 40;
+    private static final int L_LAST_UPDATED = 48;
+    private static final int L_VERSION = 56;
+    private static final int L_FIRST_EVSE = 64;
+    private static final int L_EVSE_COUNT = 68;
+    private static final int LOCATION_SIZE = 72;
+
+    private static final int E_ID = 0;
+    private static final int E_LOCATION_ID = 8;
+    private static final int E_LAST_UPDATED = 16;
+    private static final int E_EVSE_ID = 24;
+    private static final int E_STATUS = 28;
+    private static final int E_NEXT = 32;
+    private static final int E_FIRST_CONNECTOR = 36;
+    private static final int E_CONNECTOR_COUNT = 40;
+    private static final int EVSE_SIZE = 48;
+
+    private static final int C_ID = 0;
+    private static final int C_LAST_UPDATED = 8;
+    private static final int C_POWER_LEVEL = 16;
+    private static final int C_VOLTAGE = 24;
+    private static final int C_STANDARD = 32;
+    private static final int C_NEXT = 36;
+    private static final int CONNECTOR_SIZE = 40;
+
+    private static final EVSEStatus[] STATUSES = EVSEStatus.values();
+
+    private final StampedLock lock = new StampedLock();
+    private final RecordTable locationTable;
+    private final RecordTable evseTable;
+    private final RecordTable connectorTable;
+    private final StringDictionary strings;
+    private final LongIntHashMap locationSlots; // Location ID -> slot
+    private final LongIntHashMap evseSlots; // EVSE ID -> slot
+
+    // Location IDs ordered by (lastUpdated, id), as parallel arrays
+    private long[] updatedTimes = new long[16];
+    private long[] updatedIds = new long[16];
+    private int updatedCount;
+
+    // EVSE slots ordered by EVSE ID text
+    private int[] evsesByText = new int[16];
+    private int evsesByTextCount;
+
+    /**
+     * A page of decoded views.
+     *
+     * @param content The views of the requested page.
+     * @param total   The number of matches across all pages.
+     */
+    record Range<T>(List<T> content, long total) {
+    }
+
+    OffHeapCatalog(int expectedLocations, int expectedEvses) {
+        locationTable = new RecordTable(LOCATION_SIZE, expectedLocations);
+        evseTable = new RecordTable(EVSE_SIZE, expectedEvses);
+        connectorTable = new RecordTable(CONNECTOR_SIZE, expectedEvses * 2);
+        strings = new StringDictionary(expectedLocations * 64 + expectedEvses * 16);
+        locationSlots = new LongIntHashMap(expectedLocations);
+        evseSlots = new LongIntHashMap(expectedEvses);
+    }
+
+    private OffHeapCatalog(RecordTable locationTable, RecordTable evseTable, RecordTable connectorTable, StringDictionary strings,
+                           LongIntHashMap locationSlots, LongIntHashMap evseSlots,
+                           long[] updatedTimes, long[] updatedIds, int updatedCount, int[] evsesByText, int evsesByTextCount) {
+        this.locationTable = locationTable;
+        this.evseTable = evseTable;
+        this.connectorTable = connectorTable;
+        this.strings = strings;
+        this.locationSlots = locationSlots;
+        this.evseSlots = evseSlots;
+        this.updatedTimes = updatedTimes;
+        this.updatedIds = updatedIds;
+        this.updatedCount = updatedCount;
+        this.evsesByText = evsesByText;
+        this.evsesByTextCount = evsesByTextCount;
+    }
+
+    // ---- Snapshots ----
+
+    /**
+     * Copies the tables, strings and indexes as they are into an in-memory output, under the read lock so writers
+     * wait for a consistent copy. Writing the copy to disk is left to the caller, outside the lock.
+     */
+    void writeTo(CatalogSnapshot.Output out) {
+        long stamp = lock.readLock();
+        try {
+            locationTable.writeTo(out);
+            evseTable.writeTo(out);
+            connectorTable.writeTo(out);
+            strings.writeTo(out);
+            locationSlots.writeTo(out);
+            evseSlots.writeTo(out);
+            out.putInt(updatedCount);
+            out.putLongs(updatedTimes, updatedCount);
+            out.putLongs(updatedIds, updatedCount);
+            out.putInt(evsesByTextCount);
+            out.putInts(evsesByText, evsesByTextCount);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Reads a catalog written by {@link #writeTo}. Records and strings stay in the buffer they were read from.
+     */
+    static OffHeapCatalog readFrom(ByteBuffer in) {
+        RecordTable locationTable = RecordTable.readFrom(in, LOCATION_SIZE);
+        RecordTable evseTable = RecordTable.readFrom(in, EVSE_SIZE);
+        RecordTable connectorTable = RecordTable.readFrom(in, CONNECTOR_SIZE);
+        StringDictionary strings = StringDictionary.readFrom(in);
+        LongIntHashMap locationSlots = LongIntHashMap.readFrom(in);
+        LongIntHashMap evseSlots = LongIntHashMap.readFrom(in);
+        int updatedCount = in.getInt();
+        long[] updatedTimes = Arrays.copyOf(CatalogSnapshot.getLongs(in, updatedCount), Math.max(16, updatedCount));
+        long[] updatedIds = Arrays.copyOf(CatalogSnapshot.getLongs(in, updatedCount), Math.max(16, updatedCount));
+        int evsesByTextCount = in.getInt();
+        int[] evsesByText = Arrays.copyOf(CatalogSnapshot.getInts(in, evsesByTextCount), Math.max(16, evsesByTextCount));
+        return new OffHeapCatalog(locationTable, evseTable, connectorTable, strings, locationSlots, evseSlots,
+                updatedTimes, updatedIds, updatedCount, evsesByText, evsesByTextCount);
+    }
+
+    // ---- Writes ----
+
+    /**
+     * Adds a Location or replaces all of its data, including its EVSEs and Connectors.
+     */
+    void put(LocationView view) {
+        long stamp = lock.writeLock();
+        try {
+            long lastUpdated = toEpochNanos(view.lastUpdated());
+            int slot = locationSlots.get(view.id());
+            if (slot == NONE) {
+                slot = locationTable.allocate();
+                locationSlots.put(view.id(), slot);
+                insertUpdated(lastUpdated, view.id());
+            } else {
+                long previousUpdated = locationTable.buffer().getLong(locationTable.offset(slot) + L_LAST_UPDATED);
+                if (previousUpdated != lastUpdated) {
+                    removeUpdated(previousUpdated, view.id());
+                    insertUpdated(lastUpdated, view.id());
+                }
+                releaseEvses(slot, view);
+            }
+            int nameRef = strings.intern(view.name());
+            int addressRef = strings.intern(view.address());
+            int firstEvse = writeEvses(view);
+
+            ByteBuffer b = locationTable.buffer();
+            int o = locationTable.offset(slot);
+            b.putLong(o + L_ID, view.id());
+            b.putInt(o + L_NAME, nameRef);
+            b.putInt(o + L_ADDRESS, addressRef);
+            b.putDouble(o + L_LATITUDE, view.latitude());
+            b.putDouble(o + L_LONGITUDE, view.longitude());
+            b.putLong(o + L_OPENS_AT, view.opensAt() == null ? NONE : view.opensAt().toNanoOfDay());
+            b.putLong(o + L_CLOSES_AT, view.closesAt() == null ? NONE : view.closesAt().toNanoOfDay());
+            b.putLong(o + L_LAST_UPDATED, lastUpdated);
+            b.putLong(o + L_VERSION, view.version());
+            b.putInt(o + L_FIRST_EVSE, firstEvse);
+            b.putInt(o + L_EVSE_COUNT, view.evses().size());
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes a Location with its EVSEs and Connectors, if present.
+     */
+    void remove(long locationId) {
+        long stamp = lock.writeLock();
+        try {
+            int slot = locationSlots.remove(locationId);
+            if (slot == NONE) {
+                return;
+            }
+            removeUpdated(locationTable.buffer().getLong(locationTable.offset(slot) + L_LAST_UPDATED), locationId);
+            releaseEvses(slot, null);
+            locationTable.free(slot);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Frees the Connectors of every current EVSE of a Location, and the EVSEs that are not part of its new view.
+     *
+     * @param kept The new view, whose EVSEs keep their slots; null to free all of them.
+     */
+    private void releaseEvses(int locationSlot, LocationView kept) {
+        ByteBuffer l = locationTable.buffer();
+        int lo = locationTable.offset(locationSlot);
+        int evseSlot = l.getInt(lo + L_FIRST_EVSE);
+        int count = l.getInt(lo + L_EVSE_COUNT);
+        for (int i = 0; i < count; i++) {
+            ByteBuffer e = evseTable.buffer();
+            int eo = evseTable.offset(evseSlot);
+            int next = e.getInt(eo + E_NEXT);
+            releaseConnectors(e.getInt(eo + E_FIRST_CONNECTOR), e.getInt(eo + E_CONNECTOR_COUNT));
+            long evseId = e.getLong(eo + E_ID);
+            if (kept == null || kept.evses().stream().noneMatch(evse -> evse.id() == evseId)) {
+                removeFromTextIndex(evseSlot);
+                evseSlots.remove(evseId);
+                evseTable.free(evseSlot);
+            }
+            evseSlot = next;
+        }
+    }
+
+    private void releaseConnectors(int connectorSlot, int count) {
+        for (int i = 0; i < count; i++) {
+            int next = connectorTable.buffer().getInt(connectorTable.offset(connectorSlot) + C_NEXT);
+            connectorTable.free(connectorSlot);
+            connectorSlot = next;
+        }
+    }
+
+    /**
+     * Writes the EVSEs of a Location, reusing the slots of EVSEs it already had.
+     *
+     * @return The slot of the first EVSE, or {@link #NONE}.
+     */
+    private int writeEvses(LocationView view) {
+        int first = NONE;
+        int previous = NONE;
+        for (EVSEView evse : view.evses()) {
+            int evseIdRef = strings.intern(evse.evseId());
+            int slot = evseSlots.get(evse.id());
+            boolean indexed = slot != NONE;
+            if (slot == NONE) {
+                slot = evseTable.allocate();
+                evseSlots.put(evse.id(), slot);
+            } else if (evseTable.buffer().getInt(evseTable.offset(slot) + E_EVSE_ID) != evseIdRef) {
+                removeFromTextIndex(slot);
+                indexed = false;
+            }
+            int firstConnector = writeConnectors(evse.connectors());
+
+            ByteBuffer b = evseTable.buffer();
+            int o = evseTable.offset(slot);
+            b.putLong(o + E_ID, evse.id());
+            b.putLong(o + E_LOCATION_ID, view.id());
+            b.putLong(o + E_LAST_UPDATED, toEpochNanos(evse.lastUpdated()));
+            b.putInt(o + E_EVSE_ID, evseIdRef);
+            b.putInt(o + E_STATUS, evse.status().ordinal());
+            b.putInt(o + E_NEXT, NONE);
+            b.putInt(o + E_FIRST_CONNECTOR, firstConnector);
+            b.putInt(o + E_CONNECTOR_COUNT, evse.connectors().size());
+            if (previous == NONE) {
+                first = slot;
+            } else {
+                b.putInt(evseTable.offset(previous) + E_NEXT, slot);
+            }
+            previous = slot;
+            if (!indexed) {
+                insertIntoTextIndex(slot, evse.evseId().getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return first;
+    }
+
+    /**
+     * @return The slot of the first Connector, or {@link #NONE}.
+     */
+    private int writeConnectors(List<ConnectorView> connectors) {
+        int first = NONE;
+        int previous = NONE;
+        for (ConnectorView connector : connectors) {
+            int standardRef = strings.intern(connector.standard());
+            int slot = connectorTable.allocate();
+            ByteBuffer b = connectorTable.buffer();
+            int o = connectorTable.offset(slot);
+            b.putLong(o + C_ID, connector.id());
+            b.putLong(o + C_LAST_UPDATED, toEpochNanos(connector.lastUpdated()));
+            b.putDouble(o + C_POWER_LEVEL, connector.powerLevel());
+            b.putDouble(o + C_VOLTAGE, connector.voltage());
+            b.putInt(o + C_STANDARD, standardRef);
+            b.putInt(o + C_NEXT, NONE);
+            if (previous == NONE) {
+                first = slot;
+            } else {
+                b.putInt(connectorTable.offset(previous) + C_NEXT, slot);
+            }
+            previous = slot;
+        }
+        return first;
+    }
+
+    // ---- Sorted indexes ----
+
+    /**
+     * @return The first position in the last-updated index whose key is greater than or equal to {@code (time, id)}.
+     */
+    private int updatedLowerBound(long time, long id) {
+        int low = 0;
+        int high = updatedCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int byTime = Long.compare(updatedTimes[mid], time);
+            if (byTime < 0 || (byTime == 0 && updatedIds[mid] < id)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void insertUpdated(long time, long id) {
+        if (updatedCount == updatedTimes.length) {
+            updatedTimes = Arrays.copyOf(updatedTimes, updatedCount * 2);
+            updatedIds = Arrays.copyOf(updatedIds, updatedCount * 2);
+        }
+        int position = updatedLowerBound(time, id); // Usually the end: updates carry the current time
+        System.arraycopy(updatedTimes, position, updatedTimes, position + 1, updatedCount - position);
+        System.arraycopy(updatedIds, position, updatedIds, position + 1, updatedCount - position);
+        updatedTimes[position] = time;
+        updatedIds[position] = id;
+        updatedCount++;
+    }
+
+    private void removeUpdated(long time, long id) {
+        int position = updatedLowerBound(time, id);
+        if (position < updatedCount && updatedTimes[position] == time && updatedIds[position] == id) {
+            System.arraycopy(updatedTimes, position + 1, updatedTimes, position, updatedCount - position - 1);
+            System.arraycopy(updatedIds, position + 1, updatedIds, position, updatedCount - position - 1);
+            updatedCount--;
+        }
+    }
+
+    /**
+     * @return The first position in the EVSE ID index whose text is greater than or equal to the given bytes.
+     */
+    private int textLowerBound(byte[] text) {
+        int low = 0;
+        int high = evsesByTextCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (strings.compare(evseTextRef(evsesByText[mid]), text) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int evseTextRef(int evseSlot) {
+        return evseTable.buffer().getInt(evseTable.offset(evseSlot) + E_EVSE_ID);
+    }
+
+    private void insertIntoTextIndex(int evseSlot, byte[] text) {
+        if (evsesByTextCount == evsesByText.length) {
+            evsesByText = Arrays.copyOf(evsesByText, evsesByTextCount * 2);
+        }
+        int position = textLowerBound(text);
+        System.arraycopy(evsesByText, position, evsesByText, position + 1, evsesByTextCount - position);
+        evsesByText[position] = evseSlot;
+        evsesByTextCount++;
+    }
+
+    private void removeFromTextIndex(int evseSlot) {
+        byte[] text = strings.get(evseTextRef(evseSlot)).getBytes(StandardCharsets.UTF_8);
+        for (int position = textLowerBound(text); position < evsesByTextCount; position++) {
+            if (evsesByText[position] == evseSlot) {
+                System.arraycopy(evsesByText, position + 1, evsesByText, position, evsesByTextCount - position - 1);
+                evsesByTextCount--;
+                return;
+            }
+        }
+    }
+
+    // ---- Reads ----
+
+    /**
+     * Runs a read optimistically, without locking, and again under the read lock if a write intervened.
+     * An optimistic read may see a half-written state and fail; such failures are treated as interference.
+     */
+    private <T> T read(Supplier<T> reader) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                T result = reader.get();
+                if (lock.validate(stamp)) {
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                // Torn read; retried under the read lock
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return reader.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @return The decoded Location, or null if it is not in the catalog.
+     */
+    LocationView location(long locationId) {
+        return read(() -> {
+            int slot = locationSlots.get(locationId);
+            return slot == NONE ? null : decodeLocation(slot);
+        });
+    }
+
+    /**
+     * @return The ID of the Location of an EVSE, or null if the EVSE is not in the catalog.
+     */
+    Long locationIdOfEvse(long evseId) {
+        return read(() -> {
+            int slot = evseSlots.get(evseId);
+            return slot == NONE ? null : evseTable.buffer().getLong(evseTable.offset(slot) + E_LOCATION_ID);
+        });
+    }
+
+    /**
+     * Returns a page of the Locations last updated strictly after a timestamp, ordered by last update, then ID.
+     */
+    Range<LocationView> locationsUpdatedAfter(LocalDateTime after, long offset, int limit) {
+        long afterNanos = toEpochNanos(after);
+        return read(() -> {
+            int from = updatedLowerBound(afterNanos, Long.MAX_VALUE);
+            while (from < updatedCount && updatedTimes[from] == afterNanos) {
+                from++;
+            }
+            List<LocationView> content = new ArrayList<>(Math.min(limit, 64));
+            for (long i = from + offset; i < updatedCount && content.size() < limit; i++) {
+                content.add(decodeLocation(locationSlots.get(updatedIds[(int) i])));
+            }
+            return new Range<>(content, updatedCount - from);
+        });
+    }
+
+    /**
+     * Returns a page of the EVSEs whose EVSE ID starts with a prefix, ordered by EVSE ID.
+     *
+     * @param status Only EVSEs in this status, or null for all.
+     */
+    Range<EVSEView> evsesByPrefix(String prefix, EVSEStatus status, long offset, int limit) {
+        byte[] prefixBytes = prefix.getBytes(StandardCharsets.UTF_8);
+        return read(() -> {
+            List<EVSEView> content = new ArrayList<>(Math.min(limit, 64));
+            long matched = 0;
+            for (int i = textLowerBound(prefixBytes); i < evsesByTextCount; i++) {
+                int slot = evsesByText[i];
+                ByteBuffer b = evseTable.buffer();
+                int o = evseTable.offset(slot);
+                if (!strings.startsWith(b.getInt(o + E_EVSE_ID), prefixBytes)) {
+                    break;
+                }
+                if (status != null && b.getInt(o + E_STATUS) != status.ordinal()) {
+                    continue;
+                }
+                if (matched >= offset && content.size() < limit) {
+                    content.add(decodeEvse(slot));
+                }
+                matched++;
+            }
+            return new Range<>(content, matched);
+        });
+    }
+
+    int locationCount() {
+        return read(locationSlots::size);
+    }
+
+    int evseCount() {
+        return read(evseSlots::size);
+    }
+
+    /**
+     * @return The number of bytes held off-heap by the records and strings.
+     */
+    long offHeapBytes() {
+        return read(() -> locationTable.offHeapBytes() + evseTable.offHeapBytes() + connectorTable.offHeapBytes() + strings.offHeapBytes());
+    }
+
+    private LocationView decodeLocation(int slot) {
+        ByteBuffer b = locationTable.buffer();
+        int o = locationTable.offset(slot);
+        int evseCount = checkedCount(b.getInt(o + L_EVSE_COUNT), evseTable);
+        List<EVSEView> evses = new ArrayList<>(evseCount);
+        int evseSlot = b.getInt(o + L_FIRST_EVSE);
+        for (int i = 0; i < evseCount; i++) {
+            evses.add(decodeEvse(evseSlot));
+            evseSlot = evseTable.buffer().getInt(evseTable.offset(evseSlot) + E_NEXT);
+        }
+        long opensAt = b.getLong(o + L_OPENS_AT);
+        long closesAt = b.getLong(o + L_CLOSES_AT);
+        return new LocationView(b.getLong(o + L_ID), strings.get(b.getInt(o + L_NAME)), strings.get(b.getInt(o + L_ADDRESS)),
+                b.getDouble(o + L_LATITUDE), b.getDouble(o + L_LONGITUDE),
+                opensAt == NONE ? null : LocalTime.ofNanoOfDay(opensAt), closesAt == NONE ? null : LocalTime.ofNanoOfDay(closesAt),
+                evses, fromEpochNanos(b.getLong(o + L_LAST_UPDATED)), b.getLong(o + L_VERSION));
+    }
+
+    private EVSEView decodeEvse(int slot) {
+        ByteBuffer b = evseTable.buffer();
+        int o = evseTable.offset(slot);
+        int connectorCount = checkedCount(b.getInt(o + E_CONNECTOR_COUNT), connectorTable);
+        List<ConnectorView> connectors = new ArrayList<>(connectorCount);
+        long evseId = b.getLong(o + E_ID);
+        int connectorSlot = b.getInt(o + E_FIRST_CONNECTOR);
+        for (int i = 0; i < connectorCount; i++) {
+            ByteBuffer c = connectorTable.buffer();
+            int co = connectorTable.offset(connectorSlot);
+            connectors.add(new ConnectorView(c.getLong(co + C_ID), strings.get(c.getInt(co + C_STANDARD)),
+                    c.getDouble(co + C_POWER_LEVEL), c.getDouble(co + C_VOLTAGE), evseId, fromEpochNanos(c.getLong(co + C_LAST_UPDATED))));
+            connectorSlot = c.getInt(co + C_NEXT);
+        }
+        return new EVSEView(evseId, strings.get(b.getInt(o + E_EVSE_ID)), STATUSES[b.getInt(o + E_STATUS)],
+                b.getLong(o + E_LOCATION_ID), connectors, fromEpochNanos(b.getLong(o + E_LAST_UPDATED)));
+    }
+
+    /**
+     * Guards optimistic reads against allocating for a count read from a half-written record.
+     */
+    private static int checkedCount(int count, RecordTable table) {
+        if (count < 0 || count > table.liveCount()) {
+            throw new IllegalStateException("Invalid record count: " + count);
+        }
+        return count;
+    }
+
+    private static long toEpochNanos(LocalDateTime time) {
+        if (time == null) {
+            return NULL_TIME;
+        }
+        long seconds = time.toEpochSecond(ZoneOffset.UTC);
+        if (seconds < MIN_EPOCH_SECOND) {
+            return NULL_TIME;
+        }
+        if (seconds > MAX_EPOCH_SECOND) {
+            return Long.MAX_VALUE;
+        }
+        return seconds * NANOS_PER_SECOND + time.getNano();
+    }
+
+    private static LocalDateTime fromEpochNanos(long nanos) {
+        if (nanos == NULL_TIME) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, NANOS_PER_SECOND), (int) Math.floorMod(nanos, NANOS_PER_SECOND), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.emsp.application.readmodel;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Fixed-width records in a direct buffer, addressed by slot number. Freed slots are reused before the table
+ * grows; growing doubles the buffer and copies the records. A table read from a snapshot uses the mapped file
+ * until it first grows.
+ * <p>
+ * Not thread-safe.
+ */
+final class RecordTable {
+
+    private final int recordSize;
+    private ByteBuffer buffer;
+    private int allocated; // Slots ever handed out; slots below this are live or free
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+
+    RecordTable(int recordSize, int initialSlots) {
+        this.recordSize = recordSize;
+        this.buffer = ByteBuffer.allocateDirect(Math.max(16, initialSlots) * recordSize).order(ByteOrder.nativeOrder());
+    }
+
+    private RecordTable(int recordSize, ByteBuffer buffer, int allocated, int[] freeSlots, int freeCount) {
+        this.recordSize = recordSize;
+        this.buffer = buffer;
+        this.allocated = allocated;
+        this.freeSlots = freeSlots;
+        this.freeCount = freeCount;
+    }
+
+    /**
+     * Writes {@code [int recordSize][int allocated][int freeCount][int freeSlots...][records]}.
+     */
+    void writeTo(CatalogSnapshot.Output out) {
+        out.putInt(recordSize);
+        out.putInt(allocated);
+        out.putInt(freeCount);
+        out.putInts(freeSlots, freeCount);
+        out.putBytes(buffer, allocated * recordSize);
+    }
+
+    /**
+     * Reads a table written by {@link #writeTo}, using the records in place; they are copied only when the table grows.
+     */
+    static RecordTable readFrom(ByteBuffer in, int recordSize) {
+        if (in.getInt() != recordSize) {
+            throw new IllegalStateException("Snapshot record size does not match " + recordSize);
+        }
+        int allocated = in.getInt();
+        int freeCount = in.getInt();
+        int[] freeSlots = Arrays.copyOf(CatalogSnapshot.getInts(in, freeCount), Math.max(16, freeCount));
+        ByteBuffer buffer = allocated == 0
+                ? ByteBuffer.allocateDirect(16 * recordSize).order(ByteOrder.nativeOrder())
+                : CatalogSnapshot.getSlice(in, allocated * recordSize);
+        return new RecordTable(recordSize, buffer, allocated, freeSlots, freeCount);
+    }
+
+    /**
+     * @return A slot for a new record; its previous content is undefined.
+     */
+    int allocate() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if ((long) (allocated + 1) * recordSize > buffer.capacity()) {
+            long capacity = (long) buffer.capacity() * 2;
+            if (capacity > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Record table exceeds 2 GB");
+            }
+            ByteBuffer grown = ByteBuffer.allocateDirect((int) capacity).order(ByteOrder.nativeOrder());
+            grown.put(0, buffer, 0, allocated * recordSize);
+            buffer = grown;
+        }
+        return allocated++;
+    }
+
+    void free(int slot) {
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    /**
+     * @return The buffer holding the records. Replaced when the table grows, so it must be fetched again after any allocation.
+     */
+    ByteBuffer buffer() {
+        return buffer;
+    }
+
+    /**
+     * @return The byte offset of a slot, checked against the slots handed out so far.
+     */
+    int offset(int slot) {
+        if (slot < 0 || slot >= allocated) {
+            throw new IllegalStateException("Invalid slot: " + slot);
+        }
+        return slot * recordSize;
+    }
+
+    /**
+     * @return The number of slots in use.
+     */
+    int liveCount() {
+        return allocated - freeCount;
+    }
+
+    /**
+     * @return The number of bytes held off-heap.
+     */
+    long offHeapBytes() {
+        return buffer.capacity();
+    }
+}
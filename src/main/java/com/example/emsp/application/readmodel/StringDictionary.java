@@ -0,0 +1,188 @@
+package com.example.emsp.application.readmodel;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Append-only dictionary of strings held off-heap as {@code [int length][UTF-8 bytes]} entries in a direct buffer.
+ * A string is referred to by the offset of its entry; equal strings share one entry, so repeated values such as
+ * connector standards cost four bytes per use. Strings that are no longer referenced are not reclaimed.
+ * <p>
+ * Not thread-safe. Reads check every offset and length against the written size, so they may run under an
+ * optimistic read that is validated afterwards.
+ */
+final class StringDictionary {
+
+    static final int NULL_REF = -1;
+
+    private ByteBuffer bytes;
+    private int size; // Bytes written
+    private int[] table; // Open-addressing index of entry offsets by content; NULL_REF marks an empty bucket
+    private int count;
+
+    StringDictionary(int initialBytes) {
+        bytes = ByteBuffer.allocateDirect(Math.max(1024, initialBytes)).order(ByteOrder.nativeOrder());
+        table = new int[1024];
+        Arrays.fill(table, NULL_REF);
+    }
+
+    private StringDictionary(ByteBuffer bytes, int size, int[] table, int count) {
+        this.bytes = bytes;
+        this.size = size;
+        this.table = table;
+        this.count = count;
+    }
+
+    /**
+     * Writes {@code [int size][int count][int tableLength][int table...][entries]}.
+     */
+    void writeTo(CatalogSnapshot.Output out) {
+        out.putInt(size);
+        out.putInt(count);
+        out.putInt(table.length);
+        out.putInts(table, table.length);
+        out.putBytes(bytes, size);
+    }
+
+    /**
+     * Reads a dictionary written by {@link #writeTo}, using the entries in place.
+     */
+    static StringDictionary readFrom(ByteBuffer in) {
+        int size = in.getInt();
+        int count = in.getInt();
+        int[] table = CatalogSnapshot.getInts(in, in.getInt());
+        ByteBuffer bytes = size == 0
+                ? ByteBuffer.allocateDirect(1024).order(ByteOrder.nativeOrder())
+                : CatalogSnapshot.getSlice(in, size);
+        return new StringDictionary(bytes, size, table, count);
+    }
+
+    /**
+     * Returns the reference of a string, adding it if it is not in the dictionary yet.
+     *
+     * @param value The string; may be null.
+     * @return The reference, or {@link #NULL_REF} for null.
+     */
+    int intern(String value) {
+        if (value == null) {
+            return NULL_REF;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        int mask = table.length - 1;
+        int index = Arrays.hashCode(utf8) & mask;
+        while (table[index] != NULL_REF) {
+            if (compare(table[index], utf8) == 0) {
+                return table[index];
+            }
+            index = (index + 1) & mask;
+        }
+        int ref = append(utf8);
+        table[index] = ref;
+        if (++count * 2 > table.length) {
+            rehash(table.length * 2);
+        }
+        return ref;
+    }
+
+    private int append(byte[] utf8) {
+        int needed = 4 + utf8.length;
+        if (size + needed > bytes.capacity()) {
+            long capacity = Math.max((long) bytes.capacity() * 2, (long) size + needed);
+            if (capacity > Integer.MAX_VALUE) {
+                throw new IllegalStateException("String dictionary exceeds 2 GB");
+            }
+            ByteBuffer grown = ByteBuffer.allocateDirect((int) capacity).order(ByteOrder.nativeOrder());
+            grown.put(0, bytes, 0, size);
+            bytes = grown;
+        }
+        int ref = size;
+        bytes.putInt(ref, utf8.length);
+        bytes.put(ref + 4, utf8);
+        size += needed;
+        return ref;
+    }
+
+    private void rehash(int capacity) {
+        int[] rehashed = new int[capacity];
+        Arrays.fill(rehashed, NULL_REF);
+        int mask = capacity - 1;
+        for (int ref : table) {
+            if (ref != NULL_REF) {
+                int index = Arrays.hashCode(utf8At(ref)) & mask;
+                while (rehashed[index] != NULL_REF) {
+                    index = (index + 1) & mask;
+                }
+                rehashed[index] = ref;
+            }
+        }
+        table = rehashed;
+    }
+
+    /**
+     * @return The string with the given reference, or null for {@link #NULL_REF}.
+     */
+    String get(int ref) {
+        return ref == NULL_REF ? null : new String(utf8At(ref), StandardCharsets.UTF_8);
+    }
+
+    private byte[] utf8At(int ref) {
+        ByteBuffer bytes = this.bytes;
+        int length = lengthAt(bytes, ref);
+        byte[] utf8 = new byte[length];
+        bytes.get(ref + 4, utf8);
+        return utf8;
+    }
+
+    private int lengthAt(ByteBuffer bytes, int ref) {
+        int length = ref < 0 || ref > size - 4 ? -1 : bytes.getInt(ref);
+        if (length < 0 || ref + 4 + length > size) {
+            throw new IllegalStateException("Invalid string reference: " + ref);
+        }
+        return length;
+    }
+
+    /**
+     * Compares the UTF-8 bytes of a string with other bytes, as unsigned bytes.
+     * For ASCII text this is the same order as {@link String#compareTo}.
+     *
+     * @return A negative number, zero or a positive number as the string is less than, equal to or greater than the bytes.
+     */
+    int compare(int ref, byte[] other) {
+        ByteBuffer bytes = this.bytes;
+        int length = lengthAt(bytes, ref);
+        int common = Math.min(length, other.length);
+        for (int i = 0; i < common; i++) {
+            int difference = Byte.toUnsignedInt(bytes.get(ref + 4 + i)) - Byte.toUnsignedInt(other[i]);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return length - other.length;
+    }
+
+    /**
+     * @return Whether the string with the given reference starts with the given bytes.
+     */
+    boolean startsWith(int ref, byte[] prefix) {
+        ByteBuffer bytes = this.bytes;
+        int length = lengthAt(bytes, ref);
+        if (length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (bytes.get(ref + 4 + i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The number of bytes held off-heap.
+     */
+    long offHeapBytes() {
+        return bytes.capacity();
+    }
+}
@@ -9,7 +9,7 @@ import java.time.LocalDateTime;
  * This event carries essential information about the newly added Connector.
  */
 @Value // Generates immutable class with getters, equals, hashCode, toString
-public class ConnectorAddedEvent {
+public class ConnectorAddedEvent implements DomainEvent {
     Long connectorId;
     Long evseId; // Internal DB ID of the parent EVSE
     String evseOcpiId; // OCPI-compliant EVSE ID of the parent EVSE
@@ -37,4 +37,14 @@ public class ConnectorAddedEvent {
         this.voltage = voltage;
         this.occurredOn = LocalDateTime.now(); // Timestamp of when the event occurred
     }
-}
\ No newline at end of file
+
+    @Override
+    public String aggregateType() {
+        return "Connector";
+    }
+
+    @Override
+    public Long aggregateId() {
+        return connectorId;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.emsp.domain.events;
+
+import java.time.LocalDateTime;
+
+/**
+ * Common contract of all domain events.
+ * Identifies the aggregate an event belongs to, so events can be recorded and relayed uniformly.
+ */
+public interface DomainEvent {
+
+    /**
+     * @return The type of the aggregate the event belongs to, e.g. "Location" or "EVSE".
+     */
+    String aggregateType();
+
+    /**
+     * @return The internal database ID of the aggregate the event belongs to.
+     */
+    Long aggregateId();
+
+    /**
+     * @return The timestamp of when the event occurred.
+     */
+    LocalDateTime getOccurredOn();
+}
@@ -10,7 +10,7 @@ import java.time.LocalDateTime;
  * This event carries essential information about the newly added EVSE.
  */
 @Value // Generates immutable class with getters, equals, hashCode, toString
-public class EVSEAddedEvent {
+public class EVSEAddedEvent implements DomainEvent {
     Long evseId; // Internal DB ID
     String evseOcpiId; // OCPI-compliant EVSE ID
     Long locationId;
@@ -32,4 +32,14 @@ public class EVSEAddedEvent {
         this.initialStatus = initialStatus;
         this.occurredOn = LocalDateTime.now(); // Timestamp of when the event occurred
     }
-}
\ No newline at end of file
+
+    @Override
+    public String aggregateType() {
+        return "EVSE";
+    }
+
+    @Override
+    public Long aggregateId() {
+        return evseId;
+    }
+}
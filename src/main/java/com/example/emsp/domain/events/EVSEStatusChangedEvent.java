@@ -10,9 +10,10 @@ import java.time.LocalDateTime;
  * This event carries information about the EVSE and its status transition.
  */
 @Value // Generates immutable class with getters, equals, hashCode, toString
-public class EVSEStatusChangedEvent {
+public class EVSEStatusChangedEvent implements DomainEvent {
     Long evseId; // Internal DB ID
     String evseOcpiId; // OCPI-compliant EVSE ID
+    Long locationId;
     EVSEStatus oldStatus;
     EVSEStatus newStatus;
     LocalDateTime occurredOn;
@@ -22,14 +23,26 @@ public class EVSEStatusChangedEvent {
      *
      * @param evseId       The internal database ID of the EVSE whose status changed.
      * @param evseOcpiId   The OCPI-compliant ID of the EVSE.
+     * @param locationId   The ID of the Location the EVSE belongs to.
      * @param oldStatus    The previous status of the EVSE.
      * @param newStatus    The new status of the EVSE.
      */
-    public EVSEStatusChangedEvent(Long evseId, String evseOcpiId, EVSEStatus oldStatus, EVSEStatus newStatus) {
+    public EVSEStatusChangedEvent(Long evseId, String evseOcpiId, Long locationId, EVSEStatus oldStatus, EVSEStatus newStatus) {
         this.evseId = evseId;
         this.evseOcpiId = evseOcpiId;
+        this.locationId = locationId;
         this.oldStatus = oldStatus;
         this.newStatus = newStatus;
         this.occurredOn = LocalDateTime.now(); // Timestamp of when the event occurred
     }
-}
\ No newline at end of file
+
+    @Override
+    public String aggregateType() {
+        return "EVSE";
+    }
+
+    @Override
+    public Long aggregateId() {
+        return evseId;
+    }
+}
@@ -9,7 +9,7 @@ import java.time.LocalDateTime;
  * This event carries essential information about the newly created location.
  */
 @Value // Generates immutable class with getters, equals, hashCode, toString
-public class LocationCreatedEvent {
+public class LocationCreatedEvent implements DomainEvent {
     Long locationId;
     String locationName;
     String locationAddress;
@@ -28,4 +28,14 @@ public class LocationCreatedEvent {
         this.locationAddress = locationAddress;
         this.occurredOn = LocalDateTime.now(); // Timestamp of when the event occurred
     }
-}
\ No newline at end of file
+
+    @Override
+    public String aggregateType() {
+        return "Location";
+    }
+
+    @Override
+    public Long aggregateId() {
+        return locationId;
+    }
+}
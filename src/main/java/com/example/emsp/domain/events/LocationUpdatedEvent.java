@@ -9,7 +9,7 @@ import java.time.LocalDateTime;
  * This event carries essential information about the updated location.
  */
 @Value // Generates immutable class with getters, equals, hashCode, toString
-public class LocationUpdatedEvent {
+public class LocationUpdatedEvent implements DomainEvent {
     Long locationId;
     String newLocationName;
     String newLocationAddress;
@@ -28,4 +28,14 @@ public class LocationUpdatedEvent {
         this.newLocationAddress = newLocationAddress;
         this.occurredOn = LocalDateTime.now(); // Timestamp of when the event occurred
     }
-}
\ No newline at end of file
+
+    @Override
+    public String aggregateType() {
+        return "Location";
+    }
+
+    @Override
+    public Long aggregateId() {
+        return locationId;
+    }
+}
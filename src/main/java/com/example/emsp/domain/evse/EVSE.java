@@ -5,6 +5,7 @@ import com.example.emsp.domain.events.EVSEStatusChangedEvent;
 import com.example.emsp.domain.location.Connector;
 import com.example.emsp.domain.location.Location;
 import com.example.emsp.infrastructure.exception.InvalidEVSEStatusTransitionException;
+import com.example.emsp.infrastructure.persistence.EVSEStatusConverter;
 import jakarta.persistence.*;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
@@ -25,7 +26,7 @@ import java.util.List;
  * This entity is part of the Location aggregate.
  */
 @Entity
-@Table(name = "evses")
+@Table(name = "evses", indexes = @Index(name = "idx_evses_operator", columnList = "evse_country_code, evse_party_id, evse_local_id"))
 @Data
 @NoArgsConstructor(access = AccessLevel.PROTECTED) // Protected constructor for JPA
 @EntityListeners(AuditingEntityListener.class) // For automatic 'lastUpdated'
@@ -38,10 +39,15 @@ public class EVSE extends AbstractAggregateRoot<EVSE> {
     @Embedded
     @Valid // Validates the embedded EVSEId value object
     @NotNull(message = "EVSE ID cannot be null")
-    @Column(name = "evse_id_value", unique = true) // Map the EVSEId value to a column and ensure uniqueness
+    @AttributeOverrides({
+            @AttributeOverride(name = "text", column = @Column(name = "evse_id_value", unique = true)), // Ensure uniqueness
+            @AttributeOverride(name = "countryCode", column = @Column(name = "evse_country_code", length = 2)),
+            @AttributeOverride(name = "partyId", column = @Column(name = "evse_party_id", length = 3)),
+            @AttributeOverride(name = "localId", column = @Column(name = "evse_local_id", length = 30))
+    })
     private EVSEId evseId;
 
-    @Enumerated(EnumType.STRING)
+    @Convert(converter = EVSEStatusConverter.class) // Stored as a one-byte code
     @NotNull(message = "EVSE status cannot be null")
     private EVSEStatus status;
 
@@ -67,9 +73,14 @@ public class EVSE extends AbstractAggregateRoot<EVSE> {
         this.location = location;
         this.status = EVSEStatus.AVAILABLE; // Initial state is AVAILABLE
         this.lastUpdated = LocalDateTime.now();
+    }
 
-        // Register the event. This will be published after transaction commit.
-        // Note: this.id might be null here if not yet persisted, but will be populated by JPA before event publishing.
+    /**
+     * Registers the EVSEAddedEvent once the database has assigned the ID,
+     * so the event carries the real ID. Published by the repository save that persisted this EVSE.
+     */
+    @PostPersist
+    void registerAddedEvent() {
         registerEvent(new EVSEAddedEvent(this.id, this.evseId.getText(), this.location.getId(), this.status));
     }
 
@@ -81,7 +92,7 @@ public class EVSE extends AbstractAggregateRoot<EVSE> {
      */
     public void changeStatus(EVSEStatus newStatus) {
         if (!EVSEStatus.isValidTransition(this.status, newStatus)) {
-            throw new InvalidEVSEStatusTransitionException(
+            throw new InvalidEVSEStatusTransitionException(this.status, newStatus,
                     String.format("Invalid EVSE status transition from %s to %s for EVSE ID %s",
                             this.status, newStatus, this.evseId.getText()));
         }
@@ -90,7 +101,7 @@ public class EVSE extends AbstractAggregateRoot<EVSE> {
         this.lastUpdated = LocalDateTime.now();
 
         // Register the event. This will be published after transaction commit.
-        registerEvent(new EVSEStatusChangedEvent(this.id, this.evseId.getText(), oldStatus, newStatus));
+        registerEvent(new EVSEStatusChangedEvent(this.id, this.evseId.getText(), this.location.getId(), oldStatus, newStatus));
     }
 
     /**
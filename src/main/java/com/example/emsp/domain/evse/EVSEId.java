@@ -13,7 +13,8 @@ import java.util.Objects;
 /**
  * Value Object representing the unique identifier for an EVSE.
  * This ID must comply with the OCPI-compliant EVSE ID format: <CountryCode>*<PartyID>*<LocalEVSEID>
- * Validation is performed during object construction.
+ * The ID is parsed once during construction into its country code, party ID and local ID,
+ * which are stored alongside the full text so EVSEs can be queried per operator.
  * This class is immutable and its equality is based on its string value.
  * It is embeddable, meaning it can be directly embedded into an entity's table.
  */
@@ -26,22 +27,99 @@ public class EVSEId {
     // CountryCode: 2-letter ISO 3166 alpha-2 code (e.g., "US", "NL", "CN")
     // PartyID: 3-character alphanumeric code (e.g., "ABC")
     // LocalEVSEID: unique string (up to 30 characters) scoped within the operator
+    // Construction uses the hand-written parser below; the regex only backs bean validation.
     private static final String EVSE_ID_REGEX = "^[A-Z]{2}\\*[A-Z0-9]{3}\\*[A-Za-z0-9_-]{1,30}$";
 
+    private static final int PARTY_ID_START = 3;
+    private static final int LOCAL_ID_START = 7;
+    private static final int MAX_LOCAL_ID_LENGTH = 30;
+
     @Pattern(regexp = EVSE_ID_REGEX, message = "EVSE ID does not match OCPI format: CountryCode*PartyID*LocalEVSEID")
     private String text;
 
+    private String countryCode; // ISO 3166 alpha-2 country code of the operator, e.g. "DE"
+
+    private String partyId; // Party ID of the operator within its country, e.g. "ABC"
+
+    private String localId; // EVSE ID scoped within the operator
+
     /**
-     * Constructs an EVSEId object and validates its format.
+     * Constructs an EVSEId object, validating its format and splitting it into its components.
      *
      * @param text The string representation of the EVSE ID.
      * @throws EVSEIdFormatException if the provided value does not match the OCPI format.
      */
     public EVSEId(String text) {
-        if (text == null || !text.matches(EVSE_ID_REGEX)) {
+        if (!isValid(text)) {
             throw new EVSEIdFormatException("Invalid EVSE ID format: " + text + ". Expected format: CC*PID*LocalID (e.g., US*ABC*EVSE123).");
         }
         this.text = text;
+        this.countryCode = text.substring(0, 2);
+        this.partyId = text.substring(PARTY_ID_START, PARTY_ID_START + 3);
+        this.localId = text.substring(LOCAL_ID_START);
+    }
+
+    /**
+     * Checks whether a string is a valid EVSE ID, equivalent to matching {@code EVSE_ID_REGEX}
+     * but in a single pass without compiling a pattern or allocating.
+     *
+     * @param text The string to check; may be null.
+     * @return true if the string matches the OCPI format.
+     */
+    public static boolean isValid(String text) {
+        if (text == null || text.length() <= LOCAL_ID_START || text.length() > LOCAL_ID_START + MAX_LOCAL_ID_LENGTH) {
+            return false;
+        }
+        if (!isUpperCaseLetter(text.charAt(0)) || !isUpperCaseLetter(text.charAt(1)) || text.charAt(2) != '*') {
+            return false;
+        }
+        for (int i = PARTY_ID_START; i < PARTY_ID_START + 3; i++) {
+            char c = text.charAt(i);
+            if (!isUpperCaseLetter(c) && !isDigit(c)) {
+                return false;
+            }
+        }
+        if (text.charAt(LOCAL_ID_START - 1) != '*') {
+            return false;
+        }
+        for (int i = LOCAL_ID_START; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!isUpperCaseLetter(c) && !(c >= 'a' && c <= 'z') && !isDigit(c) && c != '_' && c != '-') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a country code and party ID can identify an operator, i.e. form the prefix of a valid EVSE ID.
+     *
+     * @param countryCode The country code to check; may be null.
+     * @param partyId     The party ID to check; may be null.
+     * @return true if both components are well-formed.
+     */
+    public static boolean isValidOperator(String countryCode, String partyId) {
+        if (countryCode == null || countryCode.length() != 2 || partyId == null || partyId.length() != 3) {
+            return false;
+        }
+        if (!isUpperCaseLetter(countryCode.charAt(0)) || !isUpperCaseLetter(countryCode.charAt(1))) {
+            return false;
+        }
+        for (int i = 0; i < 3; i++) {
+            char c = partyId.charAt(i);
+            if (!isUpperCaseLetter(c) && !isDigit(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isUpperCaseLetter(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
     }
 
     @Override
@@ -1,8 +1,11 @@
 package com.example.emsp.domain.evse;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -20,4 +23,37 @@ public interface EVSERepository extends JpaRepository<EVSE, Long> {
      * @return An Optional containing the EVSE if found, or empty otherwise.
      */
     Optional<EVSE> findByEvseIdText(String text);
-}
\ No newline at end of file
+
+    /**
+     * Finds all EVSEs whose EVSE ID string value is in the given collection.
+     *
+     * @param texts The string values of the EVSE IDs.
+     * @return The EVSEs found; IDs without a matching EVSE are simply absent.
+     */
+    List<EVSE> findByEvseIdTextIn(Collection<String> texts);
+
+    /**
+     * Finds all EVSEs of a Location.
+     *
+     * @param locationId The ID of the Location.
+     * @return The EVSEs of the Location, in no particular order.
+     */
+    List<EVSE> findByLocationId(Long locationId);
+
+    /**
+     * Finds all EVSEs of several Locations in one query.
+     *
+     * @param locationIds The IDs of the Locations.
+     * @return The EVSEs of the Locations, in no particular order.
+     */
+    List<EVSE> findByLocationIdIn(Collection<Long> locationIds);
+
+    /**
+     * Finds the Locations of several EVSEs without loading the EVSEs.
+     *
+     * @param ids The internal IDs of the EVSEs.
+     * @return The distinct IDs of their Locations; EVSEs that do not exist are skipped.
+     */
+    @Query("SELECT DISTINCT e.location.id FROM EVSE e WHERE e.id IN :ids")
+    List<Long> findLocationIdsByIdIn(Collection<Long> ids);
+}
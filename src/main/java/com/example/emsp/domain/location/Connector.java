@@ -2,9 +2,10 @@ package com.example.emsp.domain.location;
 
 import com.example.emsp.domain.events.ConnectorAddedEvent;
 import com.example.emsp.domain.evse.EVSE;
+import com.example.emsp.infrastructure.exception.InvalidConnectorValueException;
+import com.example.emsp.infrastructure.persistence.ConnectorStandardConverter;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.AccessLevel;
 import lombok.Data;
@@ -17,6 +18,8 @@ import java.time.LocalDateTime;
 /**
  * Entity representing a physical charging port on an EVSE.
  * It belongs to exactly one EVSE.
+ * The standard is stored as a key into the connector_standards dictionary, and electrical values
+ * as integers scaled by 1000 (watts and millivolts) on primitive fields.
  * This entity is part of the EVSE aggregate.
  */
 @Entity
@@ -26,20 +29,27 @@ import java.time.LocalDateTime;
 @EntityListeners(AuditingEntityListener.class) // For automatic 'lastUpdated'
 public class Connector extends AbstractAggregateRoot<Connector> {
 
+    /** Smallest power level (kW) or voltage (V) that survives scaling by 1000. */
+    public static final double MIN_VALUE = 0.001;
+    /** Largest power level (kW) or voltage (V); its scaled value stays well inside an int. */
+    public static final double MAX_VALUE = 1_000_000;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     @NotBlank(message = "Standard cannot be blank")
+    @Convert(converter = ConnectorStandardConverter.class)
+    @Column(name = "standard_id", nullable = false)
     private String standard; // e.g., "IEC_62196_T2", "CHADEMO", "CCS_TYPE_2"
 
-    @NotNull(message = "Power level cannot be null")
     @Positive(message = "Power level must be positive")
-    private Double powerLevel; // in kW
+    @Column(name = "power_level_w", nullable = false)
+    private int powerLevelWatts; // kW scaled by 1000
 
-    @NotNull(message = "Voltage cannot be null")
     @Positive(message = "Voltage must be positive")
-    private Double voltage; // in Volts
+    @Column(name = "voltage_mv", nullable = false)
+    private int voltageMillivolts; // Volts scaled by 1000
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "evse_id", nullable = false)
@@ -55,23 +65,53 @@ public class Connector extends AbstractAggregateRoot<Connector> {
      * @param powerLevel The power level (in kW) of the connector.
      * @param voltage    The voltage (in Volts) of the connector.
      * @param evse       The EVSE to which this connector belongs.
+     * @throws InvalidConnectorValueException if the power level or voltage is outside [MIN_VALUE, MAX_VALUE].
      */
-    public Connector(String standard, Double powerLevel, Double voltage, EVSE evse) {
+    public Connector(String standard, double powerLevel, double voltage, EVSE evse) {
         this.standard = standard;
-        this.powerLevel = powerLevel;
-        this.voltage = voltage;
+        this.powerLevelWatts = toMilli("Power level", powerLevel);
+        this.voltageMillivolts = toMilli("Voltage", voltage);
         this.evse = evse;
         this.lastUpdated = LocalDateTime.now();
+    }
+
+    /**
+     * Scales a value by 1000 for storage. Checked here as well as on the request DTOs,
+     * because the batch insert path writes Connectors without Bean Validation.
+     */
+    private static int toMilli(String name, double value) {
+        if (!(value >= MIN_VALUE && value <= MAX_VALUE)) { // Also rejects NaN
+            throw new InvalidConnectorValueException(name + " must be between " + MIN_VALUE + " and " + MAX_VALUE + ": " + value);
+        }
+        return (int) Math.round(value * 1000);
+    }
+
+    /**
+     * @return The power level in kW.
+     */
+    public double getPowerLevel() {
+        return powerLevelWatts / 1000.0;
+    }
+
+    /**
+     * @return The voltage in Volts.
+     */
+    public double getVoltage() {
+        return voltageMillivolts / 1000.0;
+    }
 
-        // Register the event. This will be published after transaction commit.
-        // Note: this.id might be null here if not yet persisted, but will be populated by
-        // JPA before event publishing.
+    /**
+     * Registers the ConnectorAddedEvent once the database has assigned the ID,
+     * so the event carries the real ID. Published by the repository save that persisted this Connector.
+     */
+    @PostPersist
+    void registerAddedEvent() {
         registerEvent(new ConnectorAddedEvent(this.id,
                 this.evse.getId(),
                 this.evse.getEvseId() == null ? "" : this.evse.getEvseId().getText(),
                 this.standard,
-                this.powerLevel,
-                this.voltage));
+                getPowerLevel(),
+                getVoltage()));
     }
 
     // Methods for domain behavior if needed
@@ -1,13 +1,34 @@
 package com.example.emsp.domain.location;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Repository interface for Connector entities.
- * Extends JpaRepository to provide standard CRUD operations.
+ * Extends JpaRepository to provide standard CRUD operations,
+ * and ConnectorRepositoryCustom for batched inserts.
  */
 @Repository
-public interface ConnectorRepository extends JpaRepository<Connector, Long> {
-    // No custom methods needed beyond what JpaRepository provides for now.
+public interface ConnectorRepository extends JpaRepository<Connector, Long>, ConnectorRepositoryCustom {
+
+    /**
+     * Finds all Connectors of several EVSEs in one query.
+     *
+     * @param evseIds The internal IDs of the EVSEs.
+     * @return The Connectors of the EVSEs, in no particular order.
+     */
+    List<Connector> findByEvseIdIn(Collection<Long> evseIds);
+
+    /**
+     * Finds the Locations of several Connectors without loading the Connectors.
+     *
+     * @param ids The IDs of the Connectors.
+     * @return The distinct IDs of their Locations; Connectors that do not exist are skipped.
+     */
+    @Query("SELECT DISTINCT c.evse.location.id FROM Connector c WHERE c.id IN :ids")
+    List<Long> findLocationIdsByIdIn(Collection<Long> ids);
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.example.emsp.domain.location;
+
+import java.util.List;
+
+/**
+ * Custom repository fragment for Connector entities that need bulk persistence.
+ */
+public interface ConnectorRepositoryCustom {
+
+    /**
+     * Inserts new connectors using batched JDBC statements and assigns the generated IDs
+     * to the given entities. The connectors are not attached to the persistence context,
+     * and no domain events are published.
+     *
+     * @param connectors New, not yet persisted connectors whose EVSEs are already persisted.
+     */
+    void insertAll(List<Connector> connectors);
+}
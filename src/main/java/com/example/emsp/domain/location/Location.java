@@ -72,8 +72,14 @@ public class Location extends AbstractAggregateRoot<Location> {
         this.coordinates = coordinates;
         this.businessHours = businessHours;
         this.lastUpdated = LocalDateTime.now();
+    }
 
-        // Register the event. This will be published after transaction commit.
+    /**
+     * Registers the LocationCreatedEvent once the database has assigned the ID,
+     * so the event carries the real ID. Published by the repository save that persisted this Location.
+     */
+    @PostPersist
+    void registerCreatedEvent() {
         registerEvent(new LocationCreatedEvent(this.id, this.name, this.address));
     }
 
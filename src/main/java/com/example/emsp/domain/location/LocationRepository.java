@@ -1,27 +1,28 @@
 package com.example.emsp.domain.location;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Repository interface for Location entities.
  * Extends JpaRepository to provide standard CRUD operations.
- * Allows querying locations based on lastUpdated timestamp with pagination.
  */
 @Repository
 public interface LocationRepository extends JpaRepository<Location, Long> {
 
     /**
-     * Finds all Locations that were last updated after a given timestamp.
-     * The results are paginated.
+     * Finds the IDs of all Locations whose coordinates lie within a bounding box (inclusive).
      *
-     * @param lastUpdated Timestamp to filter locations by.
-     * @param pageable    Pagination information.
-     * @return A Page of Location entities.
+     * @param minLatitude  Southern edge of the box.
+     * @param minLongitude Western edge of the box.
+     * @param maxLatitude  Northern edge of the box.
+     * @param maxLongitude Eastern edge of the box.
+     * @return The IDs of the matching Locations.
      */
-    Page<Location> findByLastUpdatedAfter(LocalDateTime lastUpdated, Pageable pageable);
+    @Query("SELECT l.id FROM Location l WHERE l.coordinates.latitude BETWEEN :minLatitude AND :maxLatitude " +
+            "AND l.coordinates.longitude BETWEEN :minLongitude AND :maxLongitude")
+    List<Long> findIdsWithinBoundingBox(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude);
 }
\ No newline at end of file
@@ -0,0 +1,89 @@
+package com.example.emsp.infrastructure.cache;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers recent lookups of IDs that do not exist, so repeated requests for them are answered without
+ * a database query. Entries expire after a time-to-live and the cache is bounded, evicting the least
+ * recently used entry.
+ * <p>
+ * A key is invalidated when the entity it names is created. To keep a lookup that raced with the creation
+ * from recording a stale miss, a miss is only recorded if no key was invalidated since the lookup began:
+ * <pre>{@code
+ * long lookup = cache.beginLookup();
+ * Optional<EVSE> evse = repository.find(key);
+ * if (evse.isEmpty()) cache.recordMiss(key, lookup);
+ * }</pre>
+ * <p>
+ * The cache is local to one instance and so is invalidation: an entity created through another instance is
+ * still reported missing here until the entry expires. With several instances, keep the time-to-live as
+ * short as such a delay may be.
+ */
+public class NegativeLookupCache {
+
+    private final Map<String, Long> misses; // Key -> expiry in System.nanoTime() terms
+    private final long ttlNanos;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public NegativeLookupCache(int size, Duration ttl) {
+        this.ttlNanos = ttl.toNanos();
+        this.misses = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > size;
+            }
+        });
+    }
+
+    /**
+     * @return Whether the key was recently looked up and not found.
+     */
+    public boolean isKnownMissing(String key) {
+        Long expiresAt = misses.get(key);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (expiresAt - System.nanoTime() > 0) {
+            return true;
+        }
+        misses.remove(key, expiresAt);
+        return false;
+    }
+
+    /**
+     * Marks the start of a lookup whose miss may be recorded.
+     *
+     * @return The token to pass to {@link #recordMiss}.
+     */
+    public long beginLookup() {
+        return invalidations.get();
+    }
+
+    /**
+     * Records that a key was not found, unless a key was invalidated since the lookup began.
+     *
+     * @param lookup The token returned by {@link #beginLookup} before the lookup.
+     */
+    public void recordMiss(String key, long lookup) {
+        synchronized (misses) {
+            if (invalidations.get() == lookup) {
+                misses.put(key, System.nanoTime() + ttlNanos);
+            }
+        }
+    }
+
+    /**
+     * Forgets a key, typically because the entity it names now exists.
+     * Only this instance's cache forgets it; see the class documentation.
+     */
+    public void invalidate(String key) {
+        synchronized (misses) {
+            invalidations.incrementAndGet();
+            misses.remove(key);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.emsp.infrastructure.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the cache of unknown EVSE IDs.
+ */
+@Configuration
+public class NegativeLookupCacheConfig {
+
+    @Bean
+    public NegativeLookupCache negativeLookupCache(@Value("${emsp.negative-cache.size:10000}") int size,
+                                                   @Value("${emsp.negative-cache.ttl:PT1M}") Duration ttl) {
+        return new NegativeLookupCache(size, ttl);
+    }
+}
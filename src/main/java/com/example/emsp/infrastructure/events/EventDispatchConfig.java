@@ -0,0 +1,71 @@
+package com.example.emsp.infrastructure.events;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Configuration for asynchronous domain event dispatch.
+ * Defines one bounded executor per event type; handlers in
+ * {@link com.example.emsp.application.eventhandlers.DomainEventHandler} select theirs by bean name.
+ * Their workers are virtual threads when {@code spring.threads.virtual.enabled} is set, like Tomcat's request threads.
+ * The catalog read model reloads changed Locations on an executor of its own, made the same way.
+ */
+@Configuration
+@EnableAsync
+public class EventDispatchConfig {
+
+    public static final String LOCATION_CREATED_EXECUTOR = "locationCreatedEventExecutor";
+    public static final String LOCATION_UPDATED_EXECUTOR = "locationUpdatedEventExecutor";
+    public static final String EVSE_ADDED_EXECUTOR = "evseAddedEventExecutor";
+    public static final String EVSE_STATUS_CHANGED_EXECUTOR = "evseStatusChangedEventExecutor";
+    public static final String CONNECTOR_ADDED_EXECUTOR = "connectorAddedEventExecutor";
+    public static final String CATALOG_REFRESH_EXECUTOR = "catalogRefreshExecutor";
+
+    @Bean
+    public EventExecutorFactory eventExecutorFactory(
+            MeterRegistry meterRegistry,
+            @Value("${emsp.events.dispatch.threads:1}") int threads,
+            @Value("${emsp.events.dispatch.queue-capacity:10000}") int queueCapacity,
+            @Value("${emsp.events.dispatch.rejection-policy:DROP_OLDEST}") EventRejectionPolicy rejectionPolicy,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        return new EventExecutorFactory(meterRegistry, threads, queueCapacity, rejectionPolicy, virtualThreads);
+    }
+
+    @Bean(name = LOCATION_CREATED_EXECUTOR)
+    public ThreadPoolTaskExecutor locationCreatedEventExecutor(EventExecutorFactory factory) {
+        return factory.create("LocationCreatedEvent");
+    }
+
+    @Bean(name = LOCATION_UPDATED_EXECUTOR)
+    public ThreadPoolTaskExecutor locationUpdatedEventExecutor(EventExecutorFactory factory) {
+        return factory.create("LocationUpdatedEvent");
+    }
+
+    @Bean(name = EVSE_ADDED_EXECUTOR)
+    public ThreadPoolTaskExecutor evseAddedEventExecutor(EventExecutorFactory factory) {
+        return factory.create("EVSEAddedEvent");
+    }
+
+    @Bean(name = EVSE_STATUS_CHANGED_EXECUTOR)
+    public ThreadPoolTaskExecutor evseStatusChangedEventExecutor(EventExecutorFactory factory) {
+        return factory.create("EVSEStatusChangedEvent");
+    }
+
+    @Bean(name = CONNECTOR_ADDED_EXECUTOR)
+    public ThreadPoolTaskExecutor connectorAddedEventExecutor(EventExecutorFactory factory) {
+        return factory.create("ConnectorAddedEvent");
+    }
+
+    /**
+     * Runs the catalog read model's reloads after commit. A full queue makes the committing thread reload
+     * itself instead of dropping the reload, which would leave the Location stale until its next change.
+     */
+    @Bean(name = CATALOG_REFRESH_EXECUTOR)
+    public ThreadPoolTaskExecutor catalogRefreshExecutor(EventExecutorFactory factory) {
+        return factory.create("CatalogRefresh", EventRejectionPolicy.CALLER_RUNS);
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.emsp.infrastructure.events;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Creates the bounded executors that run domain event handlers.
+ * Each event type gets its own executor and queue, so a slow consumer of one event type cannot
+ * delay the others. Executors publish the following meters, tagged with the event type:
+ * <ul>
+ *     <li>{@code emsp.events.queue.depth} - events waiting to be handled</li>
+ *     <li>{@code emsp.events.handler.latency} - time spent running a handler</li>
+ *     <li>{@code emsp.events.rejected} - events that hit a full queue, tagged with the applied policy</li>
+ * </ul>
+ * With virtual threads the executors keep their fixed number of workers and their bounded queues, so handlers
+ * of one event type still run in order and back pressure is unchanged; only the workers are virtual threads,
+ * which release their carrier while a handler waits on the database.
+ */
+public class EventExecutorFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventExecutorFactory.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int threads;
+    private final int queueCapacity;
+    private final EventRejectionPolicy rejectionPolicy;
+    private final boolean virtualThreads;
+
+    public EventExecutorFactory(MeterRegistry meterRegistry, int threads, int queueCapacity,
+                                EventRejectionPolicy rejectionPolicy, boolean virtualThreads) {
+        this.meterRegistry = meterRegistry;
+        this.threads = threads;
+        this.queueCapacity = queueCapacity;
+        this.rejectionPolicy = rejectionPolicy;
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * Creates and initializes the executor for one event type.
+     *
+     * @param eventType The simple class name of the event, used for thread names and meter tags.
+     * @return An initialized executor.
+     */
+    public ThreadPoolTaskExecutor create(String eventType) {
+        return create(eventType, rejectionPolicy);
+    }
+
+    /**
+     * Creates and initializes an executor with its own rejection policy, for work that must not be dropped.
+     *
+     * @param eventType       The name of the work, used for thread names and meter tags.
+     * @param rejectionPolicy What to do when its queue is full, instead of the configured policy.
+     * @return An initialized executor.
+     */
+    public ThreadPoolTaskExecutor create(String eventType, EventRejectionPolicy rejectionPolicy) {
+        Timer handlerLatency = Timer.builder("emsp.events.handler.latency")
+                .description("Time spent running a domain event handler")
+                .tag("event", eventType)
+                .register(meterRegistry);
+        Counter rejected = Counter.builder("emsp.events.rejected")
+                .description("Domain events that found the handler queue full")
+                .tag("event", eventType)
+                .tag("policy", rejectionPolicy.name())
+                .register(meterRegistry);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(eventType + "-");
+        if (virtualThreads) {
+            executor.setThreadFactory(Thread.ofVirtual().name(eventType + "-", 1).factory());
+        }
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(countingHandler(eventType, rejectionPolicy, rejected));
+        executor.setTaskDecorator(task -> () -> handlerLatency.record(task));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        executor.initialize();
+
+        Gauge.builder("emsp.events.queue.depth", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .description("Domain events waiting to be handled")
+                .tag("event", eventType)
+                .register(meterRegistry);
+        return executor;
+    }
+
+    private static RejectedExecutionHandler countingHandler(String eventType, EventRejectionPolicy rejectionPolicy, Counter rejected) {
+        RejectedExecutionHandler policy = switch (rejectionPolicy) {
+            case BLOCK -> EventExecutorFactory::blockUntilQueued;
+            case DROP_OLDEST -> new ThreadPoolExecutor.DiscardOldestPolicy();
+            case CALLER_RUNS -> new ThreadPoolExecutor.CallerRunsPolicy();
+        };
+        return (task, executor) -> {
+            rejected.increment();
+            if (rejectionPolicy == EventRejectionPolicy.DROP_OLDEST) {
+                logger.warn("Event queue for {} is full; dropping the oldest queued event", eventType);
+            }
+            policy.rejectedExecution(task, executor);
+        };
+    }
+
+    private static void blockUntilQueued(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("Event executor has been shut down");
+        }
+        try {
+            executor.getQueue().put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for room in the event queue", e);
+        }
+    }
+}
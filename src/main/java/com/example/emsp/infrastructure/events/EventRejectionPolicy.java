@@ -0,0 +1,13 @@
+package com.example.emsp.infrastructure.events;
+
+/**
+ * What an event executor does when its queue is full.
+ */
+public enum EventRejectionPolicy {
+    /** The publishing thread waits until the queue has room. No events are lost. */
+    BLOCK,
+    /** The oldest queued event is discarded to make room. Publishing never waits. */
+    DROP_OLDEST,
+    /** The publishing thread runs the handler itself. No events are lost. */
+    CALLER_RUNS
+}
@@ -10,6 +10,6 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 @ResponseStatus(HttpStatus.BAD_REQUEST) // Maps to HTTP 400
 public class EVSEIdFormatException extends RuntimeException {
     public EVSEIdFormatException(String message) {
-        super(message);
+        super(message, null, false, false); // Stackless: validation failure, the trace would only point at the EVSEId constructor
     }
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.example.emsp.infrastructure.exception;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Pre-rendered JSON bodies for the error responses that repeat in bulk, such as 404s for the same unknown ID.
+ * Everything of an {@link GlobalExceptionHandler.ErrorResponse} but its timestamp is serialized once per
+ * (status, error, message) and kept in a bounded LRU map; each response only appends its own timestamp.
+ * The bytes are identical to serializing the record with the application's ObjectMapper.
+ */
+class ErrorBodyCache {
+
+    private static final byte[] SUFFIX = "}".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, byte[]> prefixes; // "status error\0message" -> body up to the timestamp value
+
+    ErrorBodyCache(ObjectMapper objectMapper, int size) {
+        this.objectMapper = objectMapper;
+        this.prefixes = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+                return size() > size;
+            }
+        });
+    }
+
+    /**
+     * @return The JSON body of an ErrorResponse with the given fields and the current time as its timestamp.
+     */
+    byte[] render(int status, String error, String message) {
+        String key = status + " " + error + '\0' + message;
+        byte[] prefix = prefixes.get(key);
+        if (prefix == null) {
+            prefix = ("{\"status\":" + status + ",\"error\":" + quote(error) + ",\"message\":" + quote(message)
+                    + ",\"timestamp\":").getBytes(StandardCharsets.UTF_8);
+            prefixes.put(key, prefix);
+        }
+        byte[] timestamp = write(LocalDateTime.now());
+        byte[] body = new byte[prefix.length + timestamp.length + SUFFIX.length];
+        System.arraycopy(prefix, 0, body, 0, prefix.length);
+        System.arraycopy(timestamp, 0, body, prefix.length, timestamp.length);
+        System.arraycopy(SUFFIX, 0, body, prefix.length + timestamp.length, SUFFIX.length);
+        return body;
+    }
+
+    private String quote(String value) {
+        return new String(write(value), StandardCharsets.UTF_8);
+    }
+
+    private byte[] write(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
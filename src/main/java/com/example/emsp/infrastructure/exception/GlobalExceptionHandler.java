@@ -1,7 +1,13 @@
 package com.example.emsp.infrastructure.exception;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -19,6 +25,14 @@ import java.util.Map;
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    private final ErrorBodyCache errorBodies; // For the 404 and 400 responses that repeat in bulk
+
+    public GlobalExceptionHandler(ObjectMapper objectMapper) {
+        this.errorBodies = new ErrorBodyCache(objectMapper, 1024);
+    }
+
     /**
      * Handles MethodArgumentNotValidException, which occurs when @Valid annotation fails.
      * Returns a 400 Bad Request with validation error details.
@@ -40,26 +54,43 @@ public class GlobalExceptionHandler {
 
     /**
      * Handles ResourceNotFoundException, returning a 404 Not Found.
+     * The body is pre-rendered, as unknown IDs tend to be requested over and over.
      */
     @ExceptionHandler(ResourceNotFoundException.class)
-    public ResponseEntity<ErrorResponse> handleResourceNotFoundException(ResourceNotFoundException ex, WebRequest request) {
+    public ResponseEntity<byte[]> handleResourceNotFoundException(ResourceNotFoundException ex, WebRequest request) {
+        return preRendered(HttpStatus.NOT_FOUND, "Resource Not Found", ex.getMessage());
+    }
+
+    /**
+     * Handles EVSEIdFormatException, returning a 400 Bad Request with a pre-rendered body.
+     */
+    @ExceptionHandler(EVSEIdFormatException.class)
+    public ResponseEntity<byte[]> handleEVSEIdFormatException(EVSEIdFormatException ex, WebRequest request) {
+        return preRendered(HttpStatus.BAD_REQUEST, "Invalid EVSE ID Format", ex.getMessage());
+    }
+
+    /**
+     * Handles InvalidConnectorValueException, returning a 400 Bad Request.
+     */
+    @ExceptionHandler(InvalidConnectorValueException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidConnectorValueException(InvalidConnectorValueException ex, WebRequest request) {
         ErrorResponse errorResponse = new ErrorResponse(
-                HttpStatus.NOT_FOUND.value(),
-                "Resource Not Found",
+                HttpStatus.BAD_REQUEST.value(),
+                "Invalid Connector Value",
                 ex.getMessage(),
                 LocalDateTime.now()
         );
-        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
     /**
-     * Handles EVSEIdFormatException, returning a 400 Bad Request.
+     * Handles InvalidQueryParameterException, returning a 400 Bad Request.
      */
-    @ExceptionHandler(EVSEIdFormatException.class)
-    public ResponseEntity<ErrorResponse> handleEVSEIdFormatException(EVSEIdFormatException ex, WebRequest request) {
+    @ExceptionHandler(InvalidQueryParameterException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidQueryParameterException(InvalidQueryParameterException ex, WebRequest request) {
         ErrorResponse errorResponse = new ErrorResponse(
                 HttpStatus.BAD_REQUEST.value(),
-                "Invalid EVSE ID Format",
+                "Invalid Query Parameter",
                 ex.getMessage(),
                 LocalDateTime.now()
         );
@@ -80,6 +111,37 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
     }
 
+    /**
+     * Handles StatusJournalFullException, returning a 503 Service Unavailable.
+     */
+    @ExceptionHandler(StatusJournalFullException.class)
+    public ResponseEntity<ErrorResponse> handleStatusJournalFullException(StatusJournalFullException ex, WebRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * Handles failures to obtain a database connection, e.g. when every pooled connection stayed in use for the
+     * whole connection timeout, returning a 503 Service Unavailable instead of a 500.
+     * The cause is only logged, as its message names the connection pool and carries its statistics and driver text.
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<ErrorResponse> handleDatabaseUnavailableException(Exception ex, WebRequest request) {
+        logger.warn("Database unavailable for {}", request.getDescription(false), ex);
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                "The database is busy, please retry",
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     /**
      * Handles IllegalStateException, typically for business rule violations not covered by other specific exceptions.
      * Returns a 400 Bad Request.
@@ -109,6 +171,15 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    /**
+     * Builds a response whose body is the JSON of an ErrorResponse, taken from the pre-rendered bodies.
+     */
+    private ResponseEntity<byte[]> preRendered(HttpStatus status, String error, String message) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(errorBodies.render(status.value(), error, message));
+    }
+
     /**
      * Inner class to represent a standardized error response structure.
      */
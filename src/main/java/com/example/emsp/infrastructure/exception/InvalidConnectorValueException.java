@@ -0,0 +1,15 @@
+package com.example.emsp.infrastructure.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Custom exception indicating a Connector power level or voltage that cannot be stored.
+ * This exception maps to an HTTP 400 Bad Request status.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST) // Maps to HTTP 400
+public class InvalidConnectorValueException extends RuntimeException {
+    public InvalidConnectorValueException(String message) {
+        super(message, null, false, false); // Stackless: validation failure, the trace would only point at the Connector constructor
+    }
+}
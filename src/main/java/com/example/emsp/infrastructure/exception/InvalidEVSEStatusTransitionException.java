@@ -1,5 +1,7 @@
 package com.example.emsp.infrastructure.exception;
 
+import com.example.emsp.domain.evse.EVSEStatus;
+import lombok.Getter;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
@@ -8,8 +10,18 @@ import org.springframework.web.bind.annotation.ResponseStatus;
  * This exception maps to an HTTP 409 Conflict status.
  */
 @ResponseStatus(HttpStatus.CONFLICT) // Maps to HTTP 409
+@Getter
 public class InvalidEVSEStatusTransitionException extends RuntimeException {
+    private final EVSEStatus fromStatus; // Null if not known
+    private final EVSEStatus toStatus; // Null if not known
+
     public InvalidEVSEStatusTransitionException(String message) {
+        this(null, null, message);
+    }
+
+    public InvalidEVSEStatusTransitionException(EVSEStatus fromStatus, EVSEStatus toStatus, String message) {
         super(message);
+        this.fromStatus = fromStatus;
+        this.toStatus = toStatus;
     }
 }
\ No newline at end of file
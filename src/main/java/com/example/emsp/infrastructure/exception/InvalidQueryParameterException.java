@@ -0,0 +1,15 @@
+package com.example.emsp.infrastructure.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Custom exception indicating a malformed or out-of-range query parameter.
+ * This exception maps to an HTTP 400 Bad Request status.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST) // Maps to HTTP 400
+public class InvalidQueryParameterException extends RuntimeException {
+    public InvalidQueryParameterException(String message) {
+        super(message, null, false, false); // Stackless: a client error, rendered as 400 without logging
+    }
+}
@@ -10,6 +10,6 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 @ResponseStatus(HttpStatus.NOT_FOUND) // Maps to HTTP 404
 public class ResourceNotFoundException extends RuntimeException {
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false); // Stackless: unknown IDs arrive in bulk and the handler never logs a trace
     }
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.example.emsp.infrastructure.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Custom exception indicating that the status ingestion journal has no room for new commands
+ * because the background applier has not caught up yet.
+ * This exception maps to an HTTP 503 Service Unavailable status.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE) // Maps to HTTP 503
+public class StatusJournalFullException extends RuntimeException {
+    public StatusJournalFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.emsp.infrastructure.fleet;
+
+import com.example.emsp.domain.location.Location;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Generates a synthetic fleet into the configured database when the application runs with the {@code fleet} profile,
+ * then exits. See {@code application-fleet.properties} for the options and how to run it.
+ */
+@Component
+@Profile("fleet")
+public class FleetGenerationRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(FleetGenerationRunner.class);
+
+    private static final long PROGRESS_INTERVAL_NANOS = Duration.ofSeconds(10).toNanos();
+
+    private final FleetLoader fleetLoader;
+    private final ConfigurableApplicationContext context;
+    private final int locations;
+    private final long seed;
+    private final double evsesPerLocation;
+    private final int operatorsPerCountry;
+    private final Duration updateWindow;
+    private final int batchSize;
+    private final boolean exitWhenDone;
+
+    public FleetGenerationRunner(FleetLoader fleetLoader,
+                                 ConfigurableApplicationContext context,
+                                 @Value("${emsp.fleet.locations:10000}") int locations,
+                                 @Value("${emsp.fleet.seed:42}") long seed,
+                                 @Value("${emsp.fleet.evses-per-location:4}") double evsesPerLocation,
+                                 @Value("${emsp.fleet.operators-per-country:20}") int operatorsPerCountry,
+                                 @Value("${emsp.fleet.update-window:P30D}") Duration updateWindow,
+                                 @Value("${emsp.fleet.batch-size:1000}") int batchSize,
+                                 @Value("${emsp.fleet.exit-when-done:true}") boolean exitWhenDone) {
+        if (locations < 0 || batchSize < 1) {
+            throw new IllegalArgumentException("emsp.fleet.locations must not be negative and emsp.fleet.batch-size must be positive");
+        }
+        this.fleetLoader = fleetLoader;
+        this.context = context;
+        this.locations = locations;
+        this.seed = seed;
+        this.evsesPerLocation = evsesPerLocation;
+        this.operatorsPerCountry = operatorsPerCountry;
+        this.updateWindow = updateWindow;
+        this.batchSize = batchSize;
+        this.exitWhenDone = exitWhenDone;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        FleetGenerator generator = new FleetGenerator(seed, operatorsPerCountry, evsesPerLocation, updateWindow,
+                LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS), fleetLoader.nextLocationNumber());
+        logger.info("Generating {} locations with about {} EVSEs each, starting at location number {}",
+                locations, evsesPerLocation, generator.nextLocationNumber());
+
+        long started = System.nanoTime();
+        long lastProgress = started;
+        long rows = 0;
+        for (int loaded = 0; loaded < locations; ) {
+            List<Location> batch = generator.next(Math.min(batchSize, locations - loaded));
+            rows += fleetLoader.load(batch);
+            loaded += batch.size();
+            long now = System.nanoTime();
+            if (now - lastProgress >= PROGRESS_INTERVAL_NANOS) {
+                logger.info("Loaded {} of {} locations, {} rows per second", loaded, locations, rowsPerSecond(rows, now - started));
+                lastProgress = now;
+            }
+        }
+        long elapsed = System.nanoTime() - started;
+        logger.info("Loaded {} locations ({} rows) in {} s, {} rows per second",
+                locations, rows, elapsed / 1_000_000_000, rowsPerSecond(rows, elapsed));
+
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+
+    private static long rowsPerSecond(long rows, long nanos) {
+        return nanos > 0 ? rows * 1_000_000_000 / nanos : rows;
+    }
+}
@@ -0,0 +1,318 @@
+package com.example.emsp.infrastructure.fleet;
+
+import com.example.emsp.domain.common.BusinessHours;
+import com.example.emsp.domain.common.Coordinates;
+import com.example.emsp.domain.evse.EVSE;
+import com.example.emsp.domain.evse.EVSEId;
+import com.example.emsp.domain.evse.EVSEStatus;
+import com.example.emsp.domain.location.Connector;
+import com.example.emsp.domain.location.Location;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Generates a synthetic but realistic fleet of charging Locations as Location/EVSE/Connector graphs,
+ * deterministically for a given seed, one batch at a time so any scale fits in memory.
+ * <ul>
+ *     <li>Locations cluster around European cities weighted by size, with a share spread along the roads between them.</li>
+ *     <li>Each country has several operators with OCPI party IDs; a few large operators own most Locations.</li>
+ *     <li>Street sites have one or two AC EVSEs, destination sites a few more, and highway hubs the most,
+ *     with DC Connectors (CCS, sometimes also CHAdeMO).</li>
+ *     <li>Most EVSEs are AVAILABLE; some are BLOCKED (in use or reserved) or INOPERATIVE.</li>
+ *     <li>Last-updated times are spread over a window before the generation time.</li>
+ * </ul>
+ * EVSE IDs have the form {@code CC*PID*L<number>E<index>}, where the Location number starts at a given offset,
+ * so generating into a database that already holds an earlier fleet does not repeat IDs.
+ * <p>
+ * Not thread-safe.
+ */
+public class FleetGenerator {
+
+    /**
+     * A cluster of Locations.
+     *
+     * @param countryCode The ISO 3166 alpha-2 code of the country.
+     * @param name        The city name, used in Location names and addresses.
+     * @param latitude    The latitude of the center.
+     * @param longitude   The longitude of the center.
+     * @param weight      The relative number of Locations around the city.
+     */
+    record City(String countryCode, String name, double latitude, double longitude, int weight) {
+    }
+
+    static final List<City> CITIES = List.of(
+            new City("DE", "Berlin", 52.520, 13.405, 10),
+            new City("DE", "Hamburg", 53.551, 9.994, 6),
+            new City("DE", "Munich", 48.137, 11.575, 6),
+            new City("DE", "Cologne", 50.938, 6.960, 4),
+            new City("DE", "Frankfurt", 50.110, 8.682, 4),
+            new City("NL", "Amsterdam", 52.370, 4.895, 8),
+            new City("NL", "Rotterdam", 51.924, 4.478, 5),
+            new City("NL", "Utrecht", 52.091, 5.122, 4),
+            new City("FR", "Paris", 48.857, 2.352, 10),
+            new City("FR", "Lyon", 45.764, 4.836, 4),
+            new City("FR", "Marseille", 43.296, 5.370, 3),
+            new City("BE", "Brussels", 50.850, 4.352, 4),
+            new City("BE", "Antwerp", 51.219, 4.402, 3),
+            new City("AT", "Vienna", 48.208, 16.373, 4),
+            new City("CH", "Zurich", 47.377, 8.541, 3),
+            new City("GB", "London", 51.507, -0.128, 10),
+            new City("GB", "Manchester", 53.481, -2.243, 4),
+            new City("DK", "Copenhagen", 55.676, 12.568, 3),
+            new City("SE", "Stockholm", 59.329, 18.069, 3),
+            new City("NO", "Oslo", 59.914, 10.752, 5),
+            new City("IT", "Milan", 45.464, 9.190, 4),
+            new City("ES", "Madrid", 40.417, -3.704, 4));
+
+    static final String AC_TYPE_2 = "IEC_62196_T2";
+    static final String CCS_TYPE_2 = "IEC_62196_T2_COMBO";
+    static final String CHADEMO = "CHADEMO";
+    static final String DOMESTIC_F = "DOMESTIC_F";
+
+    private static final double URBAN_SPREAD_DEGREES = 0.08; // About 9 km
+    private static final double REGIONAL_SPREAD_DEGREES = 0.8;
+    private static final int REGIONAL_PERCENT = 20;
+    private static final String[] STREETS = {"Station Road", "Market Street", "Harbour Way", "Park Avenue", "Mill Lane", "Church Street", "Ring Road", "Airport Boulevard"};
+    private static final String PARTY_ID_CHARACTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+
+    /**
+     * Kinds of charging site, with their share of Locations and their EVSE count relative to the mean.
+     */
+    private enum SiteType {
+        STREET("Curbside", 50, 0.5),
+        DESTINATION("Car Park", 30, 1.0),
+        HIGHWAY_HUB("Charging Hub", 20, 2.0);
+
+        private final String label;
+        private final int percent;
+        private final double evseFactor;
+
+        SiteType(String label, int percent, double evseFactor) {
+            this.label = label;
+            this.percent = percent;
+            this.evseFactor = evseFactor;
+        }
+    }
+
+    private final SplittableRandom random;
+    private final double meanEvsesPerLocation;
+    private final long updateWindowSeconds;
+    private final LocalDateTime generatedAt;
+    private final int[] cityCumulativeWeights;
+    private final Map<String, String[]> partyIdsByCountry = new LinkedHashMap<>();
+    private final double[] operatorCumulativeWeights;
+    private long nextLocationNumber;
+
+    /**
+     * @param seed                 Seed of the random generator; the same seed and arguments generate the same fleet.
+     * @param operatorsPerCountry  Number of operators (party IDs) per country.
+     * @param meanEvsesPerLocation Average number of EVSEs per Location, at least 1.
+     * @param updateWindow         How far before {@code generatedAt} last-updated times may lie.
+     * @param generatedAt          The latest last-updated time.
+     * @param firstLocationNumber  The number of the first Location, used in its name and EVSE IDs.
+     */
+    public FleetGenerator(long seed, int operatorsPerCountry, double meanEvsesPerLocation, Duration updateWindow,
+                          LocalDateTime generatedAt, long firstLocationNumber) {
+        if (operatorsPerCountry < 1 || operatorsPerCountry > 1000) {
+            throw new IllegalArgumentException("Operators per country must be between 1 and 1000: " + operatorsPerCountry);
+        }
+        if (meanEvsesPerLocation < 1) {
+            throw new IllegalArgumentException("Mean EVSEs per location must be at least 1: " + meanEvsesPerLocation);
+        }
+        this.random = new SplittableRandom(seed);
+        this.meanEvsesPerLocation = meanEvsesPerLocation;
+        this.updateWindowSeconds = Math.max(1, updateWindow.getSeconds());
+        this.generatedAt = generatedAt;
+        this.nextLocationNumber = firstLocationNumber;
+
+        cityCumulativeWeights = new int[CITIES.size()];
+        int total = 0;
+        for (int i = 0; i < CITIES.size(); i++) {
+            total += CITIES.get(i).weight();
+            cityCumulativeWeights[i] = total;
+            partyIdsByCountry.computeIfAbsent(CITIES.get(i).countryCode(), country -> partyIds(operatorsPerCountry));
+        }
+        // Operator sizes follow Zipf's law: the k-th largest operator owns about 1/k as many Locations as the largest
+        operatorCumulativeWeights = new double[operatorsPerCountry];
+        double cumulative = 0;
+        for (int rank = 1; rank <= operatorsPerCountry; rank++) {
+            cumulative += 1.0 / rank;
+            operatorCumulativeWeights[rank - 1] = cumulative;
+        }
+    }
+
+    private String[] partyIds(int count) {
+        Set<String> partyIds = new HashSet<>();
+        String[] result = new String[count];
+        for (int i = 0; i < count; ) {
+            StringBuilder partyId = new StringBuilder(3);
+            partyId.append(PARTY_ID_CHARACTERS.charAt(random.nextInt(26))); // Party IDs start with a letter
+            for (int j = 0; j < 2; j++) {
+                partyId.append(PARTY_ID_CHARACTERS.charAt(random.nextInt(PARTY_ID_CHARACTERS.length())));
+            }
+            if (partyIds.add(partyId.toString())) {
+                result[i++] = partyId.toString();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Generates the next Locations with their EVSEs and Connectors. The entities are new and carry no IDs.
+     *
+     * @param count The number of Locations.
+     * @return The Locations, each with its EVSEs and their Connectors.
+     */
+    public List<Location> next(int count) {
+        List<Location> locations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            locations.add(nextLocation());
+        }
+        return locations;
+    }
+
+    private Location nextLocation() {
+        long number = nextLocationNumber++;
+        City city = CITIES.get(pick(cityCumulativeWeights, random.nextInt(cityCumulativeWeights[cityCumulativeWeights.length - 1])));
+        SiteType siteType = siteType();
+        String[] partyIds = partyIdsByCountry.get(city.countryCode());
+        String partyId = partyIds[pick(operatorCumulativeWeights, random.nextDouble() * operatorCumulativeWeights[operatorCumulativeWeights.length - 1])];
+
+        Location location = new Location(
+                city.name() + " " + siteType.label + " " + number,
+                (1 + random.nextInt(200)) + " " + STREETS[random.nextInt(STREETS.length)] + ", " + city.name(),
+                coordinates(city, siteType),
+                businessHours(siteType));
+        LocalDateTime lastUpdated = generatedAt.minusSeconds(random.nextLong(updateWindowSeconds));
+        location.setLastUpdated(lastUpdated);
+
+        int evses = evseCount(siteType);
+        for (int i = 1; i <= evses; i++) {
+            EVSE evse = new EVSE(new EVSEId(city.countryCode() + "*" + partyId + "*L" + number + "E" + i), location);
+            evse.setStatus(status()); // Generated state, not a transition
+            evse.setLastUpdated(lastUpdated);
+            location.addEVSE(evse);
+            addConnectors(evse, siteType, lastUpdated);
+        }
+        return location;
+    }
+
+    private SiteType siteType() {
+        int roll = random.nextInt(100);
+        for (SiteType siteType : SiteType.values()) {
+            roll -= siteType.percent;
+            if (roll < 0) {
+                return siteType;
+            }
+        }
+        return SiteType.STREET;
+    }
+
+    private Coordinates coordinates(City city, SiteType siteType) {
+        boolean regional = siteType == SiteType.HIGHWAY_HUB || random.nextInt(100) < REGIONAL_PERCENT;
+        double spread = regional ? REGIONAL_SPREAD_DEGREES : URBAN_SPREAD_DEGREES;
+        double latitude = Math.max(-90, Math.min(90, city.latitude() + gaussian() * spread));
+        double longitude = city.longitude() + gaussian() * spread / Math.cos(Math.toRadians(city.latitude()));
+        return new Coordinates(round(latitude), round(longitude));
+    }
+
+    private BusinessHours businessHours(SiteType siteType) {
+        if (siteType == SiteType.DESTINATION && random.nextInt(3) == 0) {
+            return new BusinessHours(LocalTime.of(7, 0), LocalTime.of(22, 0));
+        }
+        return new BusinessHours(LocalTime.MIN, LocalTime.of(23, 59));
+    }
+
+    private int evseCount(SiteType siteType) {
+        double mean = Math.max(1, meanEvsesPerLocation * siteType.evseFactor);
+        return 1 + poisson(mean - 1);
+    }
+
+    private EVSEStatus status() {
+        int roll = random.nextInt(100);
+        return roll < 75 ? EVSEStatus.AVAILABLE : roll < 92 ? EVSEStatus.BLOCKED : EVSEStatus.INOPERATIVE;
+    }
+
+    private void addConnectors(EVSE evse, SiteType siteType, LocalDateTime lastUpdated) {
+        List<Connector> connectors = new ArrayList<>(2);
+        if (siteType == SiteType.HIGHWAY_HUB) {
+            int roll = random.nextInt(100);
+            double power = roll < 30 ? 50 : roll < 70 ? 150 : roll < 90 ? 300 : 350;
+            connectors.add(new Connector(CCS_TYPE_2, power, power > 50 ? 920 : 500, evse));
+            if (random.nextInt(4) == 0) {
+                connectors.add(new Connector(CHADEMO, 50, 500, evse));
+            }
+        } else {
+            double power = siteType == SiteType.STREET && random.nextInt(10) < 3 ? 11 : 22;
+            connectors.add(new Connector(AC_TYPE_2, power, 400, evse));
+            if (siteType == SiteType.STREET && random.nextInt(10) == 0) {
+                connectors.add(new Connector(DOMESTIC_F, 3.7, 230, evse));
+            }
+        }
+        for (Connector connector : connectors) {
+            connector.setLastUpdated(lastUpdated);
+            evse.addConnector(connector);
+        }
+    }
+
+    /**
+     * @return The index of the first cumulative weight above the roll.
+     */
+    private static int pick(int[] cumulativeWeights, int roll) {
+        int i = 0;
+        while (roll >= cumulativeWeights[i]) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int pick(double[] cumulativeWeights, double roll) {
+        int i = 0;
+        while (i < cumulativeWeights.length - 1 && roll >= cumulativeWeights[i]) {
+            i++;
+        }
+        return i;
+    }
+
+    private double gaussian() {
+        // Box-Muller; SplittableRandom has no nextGaussian before Java 17's RandomGenerator default
+        return Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+
+    private int poisson(double mean) {
+        if (mean <= 0) {
+            return 0;
+        }
+        if (mean > 30) {
+            return (int) Math.max(0, Math.round(mean + gaussian() * Math.sqrt(mean)));
+        }
+        double limit = Math.exp(-mean);
+        double product = random.nextDouble();
+        int count = 0;
+        while (product > limit) {
+            product *= random.nextDouble();
+            count++;
+        }
+        return count;
+    }
+
+    private static double round(double degrees) {
+        return Math.round(degrees * 1e6) / 1e6;
+    }
+
+    /**
+     * @return The number the next generated Location will have.
+     */
+    public long nextLocationNumber() {
+        return nextLocationNumber;
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.emsp.infrastructure.fleet;
+
+import com.example.emsp.domain.evse.EVSE;
+import com.example.emsp.domain.location.Connector;
+import com.example.emsp.domain.location.ConnectorRepository;
+import com.example.emsp.domain.location.Location;
+import com.example.emsp.infrastructure.jfr.BulkOperationEvent;
+import com.example.emsp.infrastructure.persistence.EVSEStatusConverter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk-loads generated Location/EVSE/Connector graphs with JDBC batches, bypassing Hibernate,
+ * which cannot batch inserts of IDENTITY entities. The generated IDs are set on the entities.
+ * <p>
+ * As the rows do not go through the domain model, no domain events or outbox messages are recorded for them;
+ * a running application sees them in its catalog read model after a restart.
+ * On MySQL, add {@code rewriteBatchedStatements=true} to the JDBC URL so each batch becomes one multi-row insert.
+ */
+@Component
+@RequiredArgsConstructor
+public class FleetLoader {
+
+    private static final String INSERT_LOCATION_SQL =
+            "INSERT INTO locations (name, address, latitude, longitude, opens_at, closes_at, last_updated) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_EVSE_SQL =
+            "INSERT INTO evses (evse_id_value, evse_country_code, evse_party_id, evse_local_id, status, location_id, last_updated) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final EVSEStatusConverter STATUS_CONVERTER = new EVSEStatusConverter();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ConnectorRepository connectorRepository;
+
+    /**
+     * @return The number to give the next generated Location so its EVSE IDs do not clash with loaded ones.
+     */
+    @Transactional(readOnly = true)
+    public long nextLocationNumber() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM locations", Long.class);
+        return (maxId != null ? maxId : 0) + 1;
+    }
+
+    /**
+     * Inserts Locations with their EVSEs and Connectors in one transaction.
+     *
+     * @param locations New Locations, as generated by {@link FleetGenerator}.
+     * @return The number of rows inserted.
+     */
+    @Transactional
+    public long load(List<Location> locations) {
+        BulkOperationEvent jfrEvent = new BulkOperationEvent();
+        jfrEvent.begin();
+        long[] locationIds = insert(INSERT_LOCATION_SQL, locations, (ps, location) -> {
+            ps.setString(1, location.getName());
+            ps.setString(2, location.getAddress());
+            ps.setDouble(3, location.getCoordinates().getLatitude());
+            ps.setDouble(4, location.getCoordinates().getLongitude());
+            ps.setTime(5, Time.valueOf(location.getBusinessHours().getOpensAt()));
+            ps.setTime(6, Time.valueOf(location.getBusinessHours().getClosesAt()));
+            ps.setTimestamp(7, Timestamp.valueOf(location.getLastUpdated()));
+        });
+        List<EVSE> evses = new ArrayList<>();
+        for (int i = 0; i < locations.size(); i++) {
+            locations.get(i).setId(locationIds[i]);
+            evses.addAll(locations.get(i).getEvses());
+        }
+
+        long[] evseIds = insert(INSERT_EVSE_SQL, evses, (ps, evse) -> {
+            ps.setString(1, evse.getEvseId().getText());
+            ps.setString(2, evse.getEvseId().getCountryCode());
+            ps.setString(3, evse.getEvseId().getPartyId());
+            ps.setString(4, evse.getEvseId().getLocalId());
+            ps.setByte(5, STATUS_CONVERTER.convertToDatabaseColumn(evse.getStatus()));
+            ps.setLong(6, evse.getLocation().getId());
+            ps.setTimestamp(7, Timestamp.valueOf(evse.getLastUpdated()));
+        });
+        List<Connector> connectors = new ArrayList<>();
+        for (int i = 0; i < evses.size(); i++) {
+            evses.get(i).setId(evseIds[i]);
+            connectors.addAll(evses.get(i).getConnectors());
+        }
+
+        connectorRepository.insertAll(connectors);
+        long rows = locations.size() + evses.size() + (long) connectors.size();
+        jfrEvent.complete("loadFleet", locations.size(), locations.size(), rows);
+        return rows;
+    }
+
+    /**
+     * Inserts the rows in one batch.
+     *
+     * @return The generated IDs, in row order.
+     */
+    private <T> long[] insert(String sql, List<T> rows, RowSetter<T> setter) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(sql, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        setter.setValues(ps, rows.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                },
+                keyHolder);
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        long[] ids = new long[rows.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = ((Number) keys.get(i).values().iterator().next()).longValue();
+        }
+        return ids;
+    }
+
+    @FunctionalInterface
+    private interface RowSetter<T> {
+        void setValues(PreparedStatement ps, T row) throws SQLException;
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.emsp.infrastructure.history;
+
+import com.example.emsp.domain.evse.EVSEStatus;
+import com.example.emsp.infrastructure.persistence.EVSEStatusConverter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Read-only hourly and daily time-in-status rollups of one sealed month.
+ * <p>
+ * Layout: {@code [int magic][int version][long monthStartEpochSecond][int days][int evseCount]}, then the
+ * sorted EVSE IDs as {@code long}s, then one fixed-size block per EVSE in the same order:
+ * {@code [int statusAtMonthEnd][int daily[days][4]][short hourly[days * 24][4]]}, holding the seconds spent
+ * in each status per day and per hour (an hour fits in a {@code short}), indexed and stored by the status
+ * codes of {@link EVSEStatusConverter}. A block takes about 6.4 KB for a 31-day month. Every EVSE with a status recorded up to the end of the month has a block, including EVSEs
+ * that did not change during the month; their status is carried over from the previous rollup.
+ */
+final class RollupSegment {
+
+    static final int SECONDS_PER_HOUR = 3600;
+    static final int SECONDS_PER_DAY = 24 * SECONDS_PER_HOUR;
+
+    private static final int MAGIC = 0x45535231; // "ESR1"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 4 + 4;
+
+    private static final int STATUS_COUNT = 4; // The status codes of EVSEStatusConverter, not enum ordinals
+
+    private final MappedByteBuffer buffer;
+    private final int days;
+    private final int evseCount;
+    private final long blocksStart;
+    private final int blockSize;
+
+    private RollupSegment(MappedByteBuffer buffer) {
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalStateException("Not a status history rollup");
+        }
+        this.buffer = buffer;
+        this.days = buffer.getInt(16);
+        this.evseCount = buffer.getInt(20);
+        this.blocksStart = HEADER_SIZE + (long) evseCount * 8;
+        this.blockSize = blockSize(days);
+    }
+
+    private static int blockSize(int days) {
+        return 4 + days * STATUS_COUNT * 4 + days * 24 * STATUS_COUNT * 2;
+    }
+
+    static RollupSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new RollupSegment(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * @return The position of the EVSE in this rollup, or a negative value if it has no recorded status yet.
+     */
+    int indexOf(long evseId) {
+        int low = 0;
+        int high = evseCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long id = evseIdAt(mid);
+            if (id < evseId) {
+                low = mid + 1;
+            } else if (id > evseId) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private long evseIdAt(int index) {
+        return buffer.getLong(HEADER_SIZE + index * 8);
+    }
+
+    private int blockOffset(int index) {
+        return Math.toIntExact(blocksStart + (long) index * blockSize);
+    }
+
+    private EVSEStatus statusAtEnd(int index) {
+        return EVSEStatusConverter.fromCode(buffer.getInt(blockOffset(index)));
+    }
+
+    /**
+     * Adds the time the EVSE at {@code index} spent in each status during whole days of the month.
+     *
+     * @param fromDay The first day, zero-based (inclusive).
+     * @param toDay   The last day, zero-based (exclusive).
+     */
+    void addDays(int index, int fromDay, int toDay, StatusDurations durations) {
+        int offset = blockOffset(index) + 4;
+        for (int day = fromDay; day < toDay; day++) {
+            for (int status = 0; status < STATUS_COUNT; status++) {
+                durations.add(EVSEStatusConverter.fromCode(status), buffer.getInt(offset + (day * STATUS_COUNT + status) * 4));
+            }
+        }
+    }
+
+    /**
+     * Adds the time the EVSE at {@code index} spent in each status during whole hours of the month.
+     *
+     * @param fromHour The first hour, counted from the start of the month (inclusive).
+     * @param toHour   The last hour, counted from the start of the month (exclusive).
+     */
+    void addHours(int index, int fromHour, int toHour, StatusDurations durations) {
+        int offset = blockOffset(index) + 4 + days * STATUS_COUNT * 4;
+        for (int hour = fromHour; hour < toHour; hour++) {
+            for (int status = 0; status < STATUS_COUNT; status++) {
+                durations.add(EVSEStatusConverter.fromCode(status), buffer.getShort(offset + (hour * STATUS_COUNT + status) * 2));
+            }
+        }
+    }
+
+    /**
+     * Writes the rollup of a sealed month, streaming one EVSE at a time.
+     *
+     * @param path       The target file.
+     * @param monthStart The epoch second at which the month starts.
+     * @param days       The number of days in the month.
+     * @param previous   The rollup of the latest earlier month, supplying the status each EVSE entered the month in; may be null.
+     * @param segment    The sealed history of the month.
+     */
+    static void write(Path path, long monthStart, int days, RollupSegment previous, SealedSegment segment) throws IOException {
+        long[] evseIds = mergeEvseIds(previous, segment);
+        int blockSize = blockSize(days);
+        int[] daily = new int[days * STATUS_COUNT];
+        short[] hourly = new short[days * 24 * STATUS_COUNT];
+        ByteBuffer block = ByteBuffer.allocate(Math.max(blockSize, 64 * 1024));
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE + evseIds.length * 8);
+            header.putInt(MAGIC).putInt(VERSION).putLong(monthStart).putInt(days).putInt(evseIds.length);
+            for (long evseId : evseIds) {
+                header.putLong(evseId);
+            }
+            writeFully(channel, header.flip());
+
+            int previousIndex = 0;
+            int segmentIndex = 0;
+            for (long evseId : evseIds) {
+                EVSEStatus status = null;
+                if (previous != null && previousIndex < previous.evseCount && previous.evseIdAt(previousIndex) == evseId) {
+                    status = previous.statusAtEnd(previousIndex++);
+                }
+                List<StatusHistoryEntry> entries = Collections.emptyList();
+                if (segmentIndex < segment.evseCount() && segment.evseIdAt(segmentIndex) == evseId) {
+                    entries = segment.entriesAt(segmentIndex++);
+                }
+
+                Arrays.fill(daily, 0);
+                Arrays.fill(hourly, (short) 0);
+                long cursor = 0;
+                for (StatusHistoryEntry entry : entries) {
+                    long at = entry.changedAt().getEpochSecond() - monthStart;
+                    if (status != null) {
+                        accumulate(status, cursor, at, daily, hourly);
+                    }
+                    cursor = at;
+                    status = entry.status();
+                }
+                accumulate(status, cursor, (long) days * SECONDS_PER_DAY, daily, hourly);
+
+                if (block.remaining() < blockSize) {
+                    writeFully(channel, block.flip());
+                    block.clear();
+                }
+                block.putInt(EVSEStatusConverter.codeOf(status));
+                for (int seconds : daily) {
+                    block.putInt(seconds);
+                }
+                for (short seconds : hourly) {
+                    block.putShort(seconds);
+                }
+            }
+            writeFully(channel, block.flip());
+            channel.force(true);
+        }
+    }
+
+    /**
+     * @return The union of the EVSE IDs of both inputs, sorted.
+     */
+    private static long[] mergeEvseIds(RollupSegment previous, SealedSegment segment) {
+        int previousCount = previous == null ? 0 : previous.evseCount;
+        long[] merged = new long[previousCount + segment.evseCount()];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < previousCount || j < segment.evseCount()) {
+            long fromPrevious = i < previousCount ? previous.evseIdAt(i) : Long.MAX_VALUE;
+            long fromSegment = j < segment.evseCount() ? segment.evseIdAt(j) : Long.MAX_VALUE;
+            long next = Math.min(fromPrevious, fromSegment);
+            if (fromPrevious == next) {
+                i++;
+            }
+            if (fromSegment == next) {
+                j++;
+            }
+            merged[size++] = next;
+        }
+        return Arrays.copyOf(merged, size);
+    }
+
+    /**
+     * Adds {@code [from, to)}, in seconds from the start of the month, to the hourly and daily buckets of a status.
+     */
+    private static void accumulate(EVSEStatus status, long from, long to, int[] daily, short[] hourly) {
+        int code = EVSEStatusConverter.codeOf(status);
+        while (from < to) {
+            int hour = (int) (from / SECONDS_PER_HOUR);
+            long hourEnd = Math.min(to, (hour + 1L) * SECONDS_PER_HOUR);
+            int seconds = (int) (hourEnd - from);
+            hourly[hour * STATUS_COUNT + code] += (short) seconds;
+            daily[hour / 24 * STATUS_COUNT + code] += seconds;
+            from = hourEnd;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.emsp.infrastructure.history;
+
+import com.example.emsp.infrastructure.persistence.EVSEStatusConverter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * Read-only, compacted status history of one month.
+ * <p>
+ * Layout: {@code [int magic][int version][long monthStartEpochSecond][int evseCount]}, then an index of
+ * {@code [long evseId][int dataOffset][int count]} entries sorted by EVSE ID, then per-EVSE runs of
+ * varint words {@code (deltaSeconds << 2) | statusCode}, with the status codes of {@link EVSEStatusConverter}.
+ * Each delta is relative to the previous entry of the same EVSE, the first one to the start of the month.
+ * A status change costs two to three bytes.
+ */
+final class SealedSegment {
+
+    private static final int MAGIC = 0x45534831; // "ESH1"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 4;
+    private static final int INDEX_ENTRY_SIZE = 8 + 4 + 4;
+
+    private final MappedByteBuffer buffer;
+    private final long monthStart;
+    private final int evseCount;
+    private final int dataStart;
+
+    private SealedSegment(MappedByteBuffer buffer) {
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalStateException("Not a status history segment");
+        }
+        this.buffer = buffer;
+        this.monthStart = buffer.getLong(8);
+        this.evseCount = buffer.getInt(16);
+        this.dataStart = HEADER_SIZE + evseCount * INDEX_ENTRY_SIZE;
+    }
+
+    static SealedSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new SealedSegment(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * @return The entries of the given EVSE in this month, oldest first; empty if it has none.
+     */
+    List<StatusHistoryEntry> entries(long evseId) {
+        int low = 0;
+        int high = evseCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long id = evseIdAt(mid);
+            if (id < evseId) {
+                low = mid + 1;
+            } else if (id > evseId) {
+                high = mid - 1;
+            } else {
+                return entriesAt(mid);
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * @return The number of EVSEs with entries in this month.
+     */
+    int evseCount() {
+        return evseCount;
+    }
+
+    /**
+     * @return The ID of the EVSE at the given position of the index, which is sorted by EVSE ID.
+     */
+    long evseIdAt(int index) {
+        return buffer.getLong(HEADER_SIZE + index * INDEX_ENTRY_SIZE);
+    }
+
+    /**
+     * @return The entries of the EVSE at the given position of the index, oldest first.
+     */
+    List<StatusHistoryEntry> entriesAt(int index) {
+        int entry = HEADER_SIZE + index * INDEX_ENTRY_SIZE;
+        return decode(buffer.getInt(entry + 8), buffer.getInt(entry + 12));
+    }
+
+    private List<StatusHistoryEntry> decode(int dataOffset, int count) {
+        ByteBuffer run = buffer.duplicate().position(dataStart + dataOffset);
+        List<StatusHistoryEntry> entries = new ArrayList<>(count);
+        long second = monthStart;
+        for (int i = 0; i < count; i++) {
+            long word = VarInts.get(run);
+            second += word >>> 2;
+            entries.add(new StatusHistoryEntry(Instant.ofEpochSecond(second), EVSEStatusConverter.fromCode((int) (word & 0x3))));
+        }
+        return entries;
+    }
+
+    /**
+     * Writes a sealed segment.
+     *
+     * @param path       The target file.
+     * @param monthStart The epoch second at which the month starts.
+     * @param runs       Per-EVSE encoded words, keyed and sorted by EVSE ID.
+     */
+    static void write(Path path, long monthStart, SortedMap<Long, Run> runs) throws IOException {
+        int dataSize = runs.values().stream().mapToInt(Run::size).sum();
+        ByteBuffer out = ByteBuffer.allocate(HEADER_SIZE + runs.size() * INDEX_ENTRY_SIZE + dataSize);
+        out.putInt(MAGIC).putInt(VERSION).putLong(monthStart).putInt(runs.size());
+        int dataOffset = 0;
+        for (Map.Entry<Long, Run> entry : runs.entrySet()) {
+            out.putLong(entry.getKey()).putInt(dataOffset).putInt(entry.getValue().count());
+            dataOffset += entry.getValue().size();
+        }
+        for (Run run : runs.values()) {
+            out.put(run.bytes(), 0, run.size());
+        }
+        out.flip();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Growable buffer of encoded words for one EVSE, used while compacting.
+     */
+    static final class Run {
+        private ByteBuffer bytes = ByteBuffer.allocate(16);
+        private int count;
+
+        void add(long word) {
+            if (bytes.remaining() < VarInts.MAX_LENGTH) {
+                bytes = ByteBuffer.allocate(bytes.capacity() * 2).put(bytes.flip());
+            }
+            VarInts.put(bytes, word);
+            count++;
+        }
+
+        byte[] bytes() {
+            return bytes.array();
+        }
+
+        int size() {
+            return bytes.position();
+        }
+
+        int count() {
+            return count;
+        }
+    }
+}
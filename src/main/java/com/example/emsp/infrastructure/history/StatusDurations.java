@@ -0,0 +1,71 @@
+package com.example.emsp.infrastructure.history;
+
+import com.example.emsp.domain.evse.EVSEStatus;
+
+import java.util.Arrays;
+
+/**
+ * Seconds spent in each {@link EVSEStatus}, accumulated over one or more time ranges.
+ * Time before the first recorded status of an EVSE is not counted in any status.
+ * Not thread-safe.
+ */
+public final class StatusDurations {
+
+    private static final EVSEStatus[] STATUSES = EVSEStatus.values();
+
+    private final long[] seconds = new long[STATUSES.length];
+
+    /**
+     * Adds time spent in a status.
+     *
+     * @param status  The status.
+     * @param seconds The number of seconds to add.
+     */
+    public void add(EVSEStatus status, long seconds) {
+        this.seconds[status.ordinal()] += seconds;
+    }
+
+    /**
+     * Adds all durations of another instance to this one.
+     *
+     * @param other The durations to add.
+     */
+    public void addAll(StatusDurations other) {
+        for (int i = 0; i < seconds.length; i++) {
+            seconds[i] += other.seconds[i];
+        }
+    }
+
+    /**
+     * @return The number of seconds spent in the given status.
+     */
+    public long seconds(EVSEStatus status) {
+        return seconds[status.ordinal()];
+    }
+
+    /**
+     * @return The number of seconds spent in any recorded status.
+     */
+    public long recordedSeconds() {
+        return Arrays.stream(seconds).sum();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof StatusDurations other && Arrays.equals(seconds, other.seconds);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(seconds);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("StatusDurations{");
+        for (int i = 0; i < STATUSES.length; i++) {
+            text.append(i == 0 ? "" : ", ").append(STATUSES[i]).append('=').append(seconds[i]);
+        }
+        return text.append('}').toString();
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.emsp.infrastructure.history;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Configuration for the EVSE status history store and the pool that aggregates it.
+ */
+@Configuration
+public class StatusHistoryConfig {
+
+    public static final String ANALYTICS_POOL = "statusAnalyticsPool";
+
+    @Bean(destroyMethod = "close")
+    public StatusHistoryStore statusHistoryStore(@Value("${emsp.status-history.path:data/status-history}") Path directory) {
+        return new StatusHistoryStore(directory);
+    }
+
+    /**
+     * Fork-join pool on which time-in-status aggregation runs in parallel across EVSEs.
+     * Kept apart from the common pool so large reports do not starve parallel streams elsewhere.
+     */
+    @Bean(name = ANALYTICS_POOL, destroyMethod = "shutdown")
+    public ForkJoinPool statusAnalyticsPool(@Value("${emsp.status-analytics.parallelism:0}") int parallelism) {
+        return new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+}
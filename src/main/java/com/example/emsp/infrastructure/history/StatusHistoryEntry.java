@@ -0,0 +1,14 @@
+package com.example.emsp.infrastructure.history;
+
+import com.example.emsp.domain.evse.EVSEStatus;
+
+import java.time.Instant;
+
+/**
+ * A recorded EVSE status, effective from {@code changedAt} until the next entry of the same EVSE.
+ * Timestamps have second precision.
+ *
+ * @param changedAt The moment the EVSE entered the status.
+ * @param status    The status the EVSE entered.
+ */
+public record StatusHistoryEntry(Instant changedAt, EVSEStatus status) {}
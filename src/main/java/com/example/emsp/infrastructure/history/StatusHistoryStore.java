@@ -0,0 +1,662 @@
+package com.example.emsp.infrastructure.history;
+
+import com.example.emsp.domain.evse.EVSEStatus;
+import com.example.emsp.infrastructure.persistence.EVSEStatusConverter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Append-only store of EVSE status history, partitioned into monthly (UTC) segment files.
+ * <p>
+ * The current month is an append log {@code yyyy-MM.log} of records
+ * {@code [varint evseId][varint (deltaSeconds << 2) | statusCode][varint backPointer]}. The delta is
+ * relative to the previous record of the same EVSE in the month (the first one to the start of the
+ * month), and the back-pointer is the distance to that record, so the entries of one EVSE are found by
+ * following its chain backwards from the tail offset kept in memory. Once a month is over,
+ * {@link #compact()} rewrites its log into a {@link SealedSegment} ({@code yyyy-MM.seg}) that groups the
+ * entries per EVSE and drops the EVSE IDs and back-pointers, leaving two to three bytes per change.
+ * <p>
+ * For every sealed month, {@link #compact()} also writes a {@link RollupSegment} ({@code yyyy-MM.rollup}) with the
+ * seconds each EVSE spent in each status per hour and per day, so {@link #durations} only has to replay raw
+ * entries for the partial hours at the edges of a range and for months that are not sealed yet.
+ * <p>
+ * Status codes are the fixed codes of {@link EVSEStatusConverter}, not enum ordinals, so reordering
+ * {@link EVSEStatus} cannot change the meaning of written files; they use two bits, which covers the four values. Timestamps have second
+ * precision; a change older than the previous change of the same EVSE, or older than the current month,
+ * is recorded at the earliest time the log can still represent.
+ */
+public class StatusHistoryStore implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatusHistoryStore.class);
+
+    private static final String LOG_SUFFIX = ".log";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String ROLLUP_SUFFIX = ".rollup";
+    private static final int MAX_RECORD_SIZE = 3 * VarInts.MAX_LENGTH;
+
+    static {
+        for (EVSEStatus status : EVSEStatus.values()) {
+            if (EVSEStatusConverter.codeOf(status) > 3) {
+                throw new ExceptionInInitializerError("Status history encodes EVSEStatus in two bits");
+            }
+        }
+    }
+
+    private final Path directory;
+    private final ConcurrentSkipListMap<YearMonth, SealedSegment> sealedSegments = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListSet<YearMonth> unsealedMonths = new ConcurrentSkipListSet<>();
+    private final ConcurrentSkipListMap<YearMonth, RollupSegment> rollups = new ConcurrentSkipListMap<>();
+
+    // Active log state, guarded by lock; not a monitor, as appends and flushes write to the log while holding it,
+    // which would pin a virtual thread
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ByteBuffer writeBuffer = ByteBuffer.allocate(64 * 1024);
+    private final Map<Long, long[]> tails = new HashMap<>(); // evseId -> {epochSecond, offset} of its last record
+    private YearMonth activeMonth;
+    private long activeMonthStart;
+    private FileChannel activeChannel;
+    private long flushedSize;
+    private long forcedSize;
+
+    /**
+     * Opens (or creates) the store, loading sealed segments and recovering the newest append log.
+     *
+     * @param directory The directory holding the segment files.
+     */
+    public StatusHistoryStore(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+                for (Path file : files) {
+                    String name = file.getFileName().toString();
+                    if (name.endsWith(SEGMENT_SUFFIX)) {
+                        sealedSegments.put(monthOf(name, SEGMENT_SUFFIX), SealedSegment.open(file));
+                    } else if (name.endsWith(LOG_SUFFIX)) {
+                        unsealedMonths.add(monthOf(name, LOG_SUFFIX));
+                    } else if (name.endsWith(ROLLUP_SUFFIX)) {
+                        rollups.put(monthOf(name, ROLLUP_SUFFIX), RollupSegment.open(file));
+                    }
+                }
+            }
+            for (YearMonth month : new ArrayList<>(unsealedMonths)) {
+                if (sealedSegments.containsKey(month)) {
+                    Files.delete(logPath(month)); // Compaction finished but the log was not removed yet
+                    unsealedMonths.remove(month);
+                }
+            }
+            if (!unsealedMonths.isEmpty()) {
+                openActiveLog(unsealedMonths.last());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open status history at " + directory, e);
+        }
+    }
+
+    private static YearMonth monthOf(String fileName, String suffix) {
+        return YearMonth.parse(fileName.substring(0, fileName.length() - suffix.length()));
+    }
+
+    private Path logPath(YearMonth month) {
+        return directory.resolve(month + LOG_SUFFIX);
+    }
+
+    private Path segmentPath(YearMonth month) {
+        return directory.resolve(month + SEGMENT_SUFFIX);
+    }
+
+    private Path rollupPath(YearMonth month) {
+        return directory.resolve(month + ROLLUP_SUFFIX);
+    }
+
+    private static long startOf(YearMonth month) {
+        return month.atDay(1).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Opens the log of the given month for appending, rebuilding the per-EVSE tails from its contents
+     * and cutting off a record torn by a crash.
+     */
+    private void openActiveLog(YearMonth month) throws IOException {
+        long monthStart = startOf(month);
+        tails.clear();
+        long validSize = scanLog(logPath(month), (evseId, word, offset) -> {
+            long[] tail = tails.get(evseId);
+            long second = (tail == null ? monthStart : tail[0]) + (word >>> 2);
+            tails.put(evseId, new long[]{second, offset});
+        });
+        activeChannel = FileChannel.open(logPath(month), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (activeChannel.size() > validSize) {
+            logger.warn("Truncating torn record at the end of status history log {}", logPath(month));
+            activeChannel.truncate(validSize);
+        }
+        activeChannel.position(validSize);
+        flushedSize = validSize;
+        forcedSize = validSize;
+        activeMonth = month;
+        activeMonthStart = monthStart;
+        unsealedMonths.add(month);
+    }
+
+    @FunctionalInterface
+    private interface LogRecordVisitor {
+        void visit(long evseId, long word, long offset);
+    }
+
+    /**
+     * Reads a log sequentially.
+     *
+     * @return The size of the log up to the end of its last complete record.
+     */
+    private static long scanLog(Path path, LogRecordVisitor visitor) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        try (CountingInputStream in = new CountingInputStream(new BufferedInputStream(Files.newInputStream(path), 64 * 1024))) {
+            long validSize = 0;
+            while (true) {
+                try {
+                    long evseId = VarInts.read(in);
+                    long word = VarInts.read(in);
+                    VarInts.read(in); // Back-pointer; not needed when reading forwards
+                    visitor.visit(evseId, word, validSize);
+                    validSize = in.count;
+                } catch (EOFException e) {
+                    return validSize;
+                }
+            }
+        }
+    }
+
+    /**
+     * Records that an EVSE entered a status.
+     *
+     * @param evseId    The internal database ID of the EVSE.
+     * @param status    The status the EVSE entered.
+     * @param changedAt The moment of the change.
+     */
+    public void append(long evseId, EVSEStatus status, Instant changedAt) {
+        YearMonth month = YearMonth.from(changedAt.atOffset(ZoneOffset.UTC));
+        lock.lock();
+        try {
+            if (activeMonth == null || month.isAfter(activeMonth)) {
+                rollTo(month);
+            }
+            if (writeBuffer.remaining() < MAX_RECORD_SIZE) {
+                flushBuffer();
+            }
+            long offset = flushedSize + writeBuffer.position();
+            long[] tail = tails.get(evseId);
+            long previous = tail == null ? activeMonthStart : tail[0];
+            long delta = Math.max(0, changedAt.getEpochSecond() - previous);
+            VarInts.put(writeBuffer, evseId);
+            VarInts.put(writeBuffer, delta << 2 | EVSEStatusConverter.codeOf(status));
+            VarInts.put(writeBuffer, tail == null ? 0 : offset - tail[1]);
+            if (tail == null) {
+                tails.put(evseId, new long[]{previous + delta, offset});
+            } else {
+                tail[0] = previous + delta;
+                tail[1] = offset;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to status history", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void rollTo(YearMonth month) throws IOException {
+        if (activeChannel != null) {
+            flushBuffer();
+            activeChannel.force(true);
+            activeChannel.close();
+            logger.info("Status history rolled over from {} to {}", activeMonth, month);
+        }
+        openActiveLog(month);
+    }
+
+    private void flushBuffer() throws IOException {
+        writeBuffer.flip();
+        while (writeBuffer.hasRemaining()) {
+            flushedSize += activeChannel.write(writeBuffer);
+        }
+        writeBuffer.clear();
+    }
+
+    /**
+     * Writes buffered records to the active log and forces them to disk.
+     * The force runs outside the lock, so appends are not held up by the disk.
+     */
+    @Scheduled(fixedDelayString = "${emsp.status-history.flush-interval-ms:1000}")
+    public void flush() {
+        FileChannel channel;
+        long size;
+        try {
+            lock.lock();
+            try {
+                if (activeChannel == null) {
+                    return;
+                }
+                if (writeBuffer.position() > 0) {
+                    flushBuffer();
+                }
+                if (flushedSize == forcedSize) {
+                    return;
+                }
+                channel = activeChannel;
+                size = flushedSize;
+            } finally {
+                lock.unlock();
+            }
+            try {
+                channel.force(false);
+            } catch (ClosedChannelException e) {
+                return; // Rolled over or closed, which forces the log before closing it
+            }
+            lock.lock();
+            try {
+                if (channel == activeChannel) {
+                    forcedSize = Math.max(forcedSize, size);
+                }
+            } finally {
+                lock.unlock();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to flush status history", e);
+        }
+    }
+
+    /**
+     * Returns the history of one EVSE within a time range.
+     * The first entry is the status in effect at {@code from}, if one was recorded before it,
+     * followed by every change in {@code [from, to)}, oldest first.
+     *
+     * @param evseId The internal database ID of the EVSE.
+     * @param from   The start of the range (inclusive).
+     * @param to     The end of the range (exclusive).
+     * @return The entries, oldest first.
+     */
+    public List<StatusHistoryEntry> read(long evseId, Instant from, Instant to) {
+        YearMonth firstMonth = YearMonth.from(from.atOffset(ZoneOffset.UTC));
+        NavigableSet<YearMonth> months = new TreeSet<>(sealedSegments.keySet());
+        months.addAll(unsealedMonths);
+
+        List<StatusHistoryEntry> result = new ArrayList<>();
+        // Status in effect at 'from': the last entry before it, searching back month by month
+        for (YearMonth month : months.headSet(firstMonth, true).descendingSet()) {
+            List<StatusHistoryEntry> entries = entriesOf(month, evseId);
+            StatusHistoryEntry lastBefore = null;
+            for (StatusHistoryEntry entry : entries) {
+                if (!entry.changedAt().isBefore(from)) {
+                    break;
+                }
+                lastBefore = entry;
+            }
+            if (lastBefore != null) {
+                result.add(lastBefore);
+                break;
+            }
+        }
+        for (YearMonth month : months.tailSet(firstMonth, true)) {
+            if (!Instant.ofEpochSecond(startOf(month)).isBefore(to)) {
+                break;
+            }
+            for (StatusHistoryEntry entry : entriesOf(month, evseId)) {
+                if (!entry.changedAt().isBefore(from) && entry.changedAt().isBefore(to)) {
+                    result.add(entry);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the time one EVSE spent in each status within a time range.
+     * Sealed months are answered from their hourly and daily rollups; the raw entries are only replayed
+     * for partial hours and for months that are not sealed yet.
+     *
+     * @param evseId The internal database ID of the EVSE.
+     * @param from   The start of the range (inclusive).
+     * @param to     The end of the range (exclusive).
+     * @return The seconds spent in each status; time before the first recorded status is not counted.
+     */
+    public StatusDurations durations(long evseId, Instant from, Instant to) {
+        StatusDurations durations = new StatusDurations();
+        YearMonth firstRecorded = firstRecordedMonth();
+        if (firstRecorded == null || !from.isBefore(to)) {
+            return durations;
+        }
+        YearMonth month = YearMonth.from(from.atOffset(ZoneOffset.UTC));
+        if (month.isBefore(firstRecorded)) {
+            month = firstRecorded;
+        }
+        YearMonth lastMonth = YearMonth.from(to.minusSeconds(1).atOffset(ZoneOffset.UTC));
+        for (; !month.isAfter(lastMonth); month = month.plusMonths(1)) {
+            long monthStart = startOf(month);
+            long start = Math.max(from.getEpochSecond(), monthStart);
+            long end = Math.min(to.getEpochSecond(), startOf(month.plusMonths(1)));
+            RollupSegment rollup = rollups.get(month);
+            if (rollup == null) {
+                replay(evseId, start, end, durations);
+            } else {
+                rolledUp(rollup, evseId, monthStart, start, end, durations);
+            }
+        }
+        return durations;
+    }
+
+    private YearMonth firstRecordedMonth() {
+        YearMonth firstSealed = sealedSegments.isEmpty() ? null : sealedSegments.firstKey();
+        YearMonth firstUnsealed = unsealedMonths.isEmpty() ? null : unsealedMonths.first();
+        if (firstSealed == null || firstUnsealed == null) {
+            return firstSealed != null ? firstSealed : firstUnsealed;
+        }
+        return firstSealed.isBefore(firstUnsealed) ? firstSealed : firstUnsealed;
+    }
+
+    /**
+     * Adds {@code [start, end)}, within one rolled-up month, from the daily buckets for whole days, the hourly
+     * buckets for whole hours and the raw entries for the partial hours at either edge.
+     */
+    private void rolledUp(RollupSegment rollup, long evseId, long monthStart, long start, long end, StatusDurations durations) {
+        int index = rollup.indexOf(evseId);
+        if (index < 0) {
+            return; // Nothing recorded up to the end of this month
+        }
+        long firstHour = ceilDiv(start - monthStart, RollupSegment.SECONDS_PER_HOUR);
+        long lastHour = (end - monthStart) / RollupSegment.SECONDS_PER_HOUR;
+        if (firstHour >= lastHour) {
+            replay(evseId, start, end, durations);
+            return;
+        }
+        replay(evseId, start, monthStart + firstHour * RollupSegment.SECONDS_PER_HOUR, durations);
+        long firstDay = ceilDiv(firstHour, 24);
+        long lastDay = lastHour / 24;
+        if (firstDay >= lastDay) {
+            rollup.addHours(index, (int) firstHour, (int) lastHour, durations);
+        } else {
+            rollup.addHours(index, (int) firstHour, (int) firstDay * 24, durations);
+            rollup.addDays(index, (int) firstDay, (int) lastDay, durations);
+            rollup.addHours(index, (int) lastDay * 24, (int) lastHour, durations);
+        }
+        replay(evseId, monthStart + lastHour * RollupSegment.SECONDS_PER_HOUR, end, durations);
+    }
+
+    private static long ceilDiv(long dividend, long divisor) {
+        return -Math.floorDiv(-dividend, divisor);
+    }
+
+    /**
+     * Adds {@code [start, end)} by replaying the raw entries of the EVSE.
+     */
+    private void replay(long evseId, long start, long end, StatusDurations durations) {
+        if (start >= end) {
+            return;
+        }
+        List<StatusHistoryEntry> entries = read(evseId, Instant.ofEpochSecond(start), Instant.ofEpochSecond(end));
+        for (int i = 0; i < entries.size(); i++) {
+            long entered = Math.max(start, entries.get(i).changedAt().getEpochSecond());
+            long left = i + 1 < entries.size() ? entries.get(i + 1).changedAt().getEpochSecond() : end;
+            durations.add(entries.get(i).status(), left - entered);
+        }
+    }
+
+    /**
+     * @return All entries of one EVSE in one month, oldest first.
+     */
+    private List<StatusHistoryEntry> entriesOf(YearMonth month, long evseId) {
+        SealedSegment segment = sealedSegments.get(month);
+        if (segment != null) {
+            return segment.entries(evseId);
+        }
+        try {
+            boolean active;
+            ActiveLogSnapshot snapshot = null;
+            lock.lock();
+            try {
+                active = activeChannel != null && month.equals(activeMonth);
+                if (active) {
+                    snapshot = activeLogSnapshot(evseId);
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (active) {
+                if (snapshot == null) {
+                    return Collections.emptyList();
+                }
+                try {
+                    return snapshot.entries();
+                } catch (ClosedChannelException e) {
+                    // Rolled over or closed meanwhile, after writing out its buffer
+                }
+            }
+            return scannedEntries(month, evseId);
+        } catch (NoSuchFileException e) {
+            // Compacted concurrently
+            segment = sealedSegments.get(month);
+            return segment != null ? segment.entries(evseId) : Collections.emptyList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read status history of " + month, e);
+        }
+    }
+
+    /**
+     * Captures what is needed to read one EVSE's entries from the active log without holding the lock:
+     * the channel, the offset of its last record and a copy of the records not written to the channel yet.
+     * Records never change once appended, so the ones before the snapshot can be read while appends go on.
+     * Caller must hold the lock.
+     *
+     * @return The snapshot, or null if the EVSE has no entries in the active log.
+     */
+    private ActiveLogSnapshot activeLogSnapshot(long evseId) {
+        long[] tail = tails.get(evseId);
+        if (tail == null) {
+            return null;
+        }
+        return new ActiveLogSnapshot(activeChannel, activeMonthStart, tail[1], flushedSize,
+                Arrays.copyOf(writeBuffer.array(), writeBuffer.position()));
+    }
+
+    /**
+     * One EVSE's view of the active log.
+     *
+     * @param flushedSize The size of the log written to the channel; records at or after it are in {@code buffered}.
+     */
+    private record ActiveLogSnapshot(FileChannel channel, long monthStart, long tailOffset, long flushedSize, byte[] buffered) {
+
+        /**
+         * Follows the back-pointer chain of the EVSE backwards from its last record.
+         */
+        List<StatusHistoryEntry> entries() throws IOException {
+            List<Long> words = new ArrayList<>();
+            ByteBuffer record = ByteBuffer.allocate(MAX_RECORD_SIZE);
+            long offset = tailOffset;
+            while (true) {
+                ByteBuffer source;
+                if (offset >= flushedSize) {
+                    source = ByteBuffer.wrap(buffered, (int) (offset - flushedSize), buffered.length - (int) (offset - flushedSize));
+                } else {
+                    record.clear();
+                    channel.read(record, offset);
+                    source = record.flip();
+                }
+                VarInts.get(source); // EVSE ID
+                words.add(VarInts.get(source));
+                long back = VarInts.get(source);
+                if (back == 0) {
+                    break;
+                }
+                offset -= back;
+            }
+            List<StatusHistoryEntry> entries = new ArrayList<>(words.size());
+            long second = monthStart;
+            for (int i = words.size() - 1; i >= 0; i--) {
+                long word = words.get(i);
+                second += word >>> 2;
+                entries.add(new StatusHistoryEntry(Instant.ofEpochSecond(second), EVSEStatusConverter.fromCode((int) (word & 0x3))));
+            }
+            return entries;
+        }
+    }
+
+    /**
+     * Reads the entries of an EVSE from a closed log that has not been compacted yet.
+     */
+    private List<StatusHistoryEntry> scannedEntries(YearMonth month, long evseId) throws IOException {
+        Path path = logPath(month);
+        if (!Files.exists(path)) {
+            throw new NoSuchFileException(path.toString());
+        }
+        List<StatusHistoryEntry> entries = new ArrayList<>();
+        long[] second = {startOf(month)};
+        scanLog(path, (id, word, offset) -> {
+            if (id == evseId) {
+                second[0] += word >>> 2;
+                entries.add(new StatusHistoryEntry(Instant.ofEpochSecond(second[0]), EVSEStatusConverter.fromCode((int) (word & 0x3))));
+            }
+        });
+        return entries;
+    }
+
+    /**
+     * Rewrites the logs of past months into sealed segments and deletes the logs,
+     * then writes the hourly and daily rollups of sealed months that do not have them yet.
+     *
+     * @return The number of months compacted.
+     */
+    @Scheduled(fixedDelayString = "${emsp.status-history.compaction-interval-ms:600000}")
+    public int compact() {
+        YearMonth active;
+        lock.lock();
+        try {
+            active = activeMonth;
+        } finally {
+            lock.unlock();
+        }
+        int compacted = 0;
+        for (YearMonth month : unsealedMonths) {
+            if (month.equals(active)) {
+                continue;
+            }
+            try {
+                TreeMap<Long, SealedSegment.Run> runs = new TreeMap<>();
+                scanLog(logPath(month), (evseId, word, offset) -> runs.computeIfAbsent(evseId, id -> new SealedSegment.Run()).add(word));
+                Path temporary = directory.resolve(month + SEGMENT_SUFFIX + ".tmp");
+                SealedSegment.write(temporary, startOf(month), runs);
+                Files.move(temporary, segmentPath(month), StandardCopyOption.ATOMIC_MOVE);
+                sealedSegments.put(month, SealedSegment.open(segmentPath(month)));
+                unsealedMonths.remove(month);
+                Files.delete(logPath(month));
+                logger.info("Compacted status history of {} ({} EVSEs)", month, runs.size());
+                compacted++;
+            } catch (IOException e) {
+                logger.error("Failed to compact status history of {}", month, e);
+            }
+        }
+        rollUp();
+        return compacted;
+    }
+
+    /**
+     * Writes missing rollups in month order, since each month starts from the statuses at the end of the
+     * previous rollup. Stops at the first month that is preceded by a log that could not be sealed.
+     */
+    private void rollUp() {
+        for (Map.Entry<YearMonth, SealedSegment> sealed : sealedSegments.entrySet()) {
+            YearMonth month = sealed.getKey();
+            if (rollups.containsKey(month)) {
+                continue;
+            }
+            YearMonth firstUnsealed = unsealedMonths.isEmpty() ? null : unsealedMonths.first();
+            if (firstUnsealed != null && firstUnsealed.isBefore(month)) {
+                return;
+            }
+            try {
+                Map.Entry<YearMonth, RollupSegment> previous = rollups.lowerEntry(month);
+                Path temporary = directory.resolve(month + ROLLUP_SUFFIX + ".tmp");
+                RollupSegment.write(temporary, startOf(month), month.lengthOfMonth(),
+                        previous == null ? null : previous.getValue(), sealed.getValue());
+                Files.move(temporary, rollupPath(month), StandardCopyOption.ATOMIC_MOVE);
+                rollups.put(month, RollupSegment.open(rollupPath(month)));
+                logger.info("Rolled up status history of {}", month);
+            } catch (IOException e) {
+                logger.error("Failed to roll up status history of {}", month, e);
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (activeChannel == null) {
+                return;
+            }
+            flushBuffer();
+            activeChannel.force(true);
+            activeChannel.close();
+            activeChannel = null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close status history at " + directory, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class CountingInputStream extends InputStream {
+        private final InputStream in;
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
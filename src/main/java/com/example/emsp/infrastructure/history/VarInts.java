@@ -0,0 +1,57 @@
+package com.example.emsp.infrastructure.history;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Unsigned LEB128 variable-length encoding of non-negative longs: 7 bits per byte, high bit set on all
+ * but the last byte. Small values such as deltas between consecutive status changes take one to three bytes.
+ */
+final class VarInts {
+
+    static final int MAX_LENGTH = 10;
+
+    private VarInts() {
+    }
+
+    static void put(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    static long get(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Reads one value from a stream.
+     *
+     * @throws EOFException if the stream ends inside or before the value.
+     */
+    static long read(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException();
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.emsp.infrastructure.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuration for {@code Idempotency-Key} support on the create endpoints.
+ */
+@Configuration
+public class IdempotencyConfig {
+
+    @Bean
+    public IdempotencyStore idempotencyStore(IdempotencyRecordRepository repository,
+                                             @Value("${emsp.idempotency.cache-size:10000}") int cacheSize,
+                                             @Value("${emsp.idempotency.ttl:PT24H}") Duration ttl) {
+        return new IdempotencyStore(repository, cacheSize, ttl);
+    }
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(
+            IdempotencyStore idempotencyStore,
+            ObjectMapper objectMapper,
+            @Value("${emsp.idempotency.paths}") List<String> paths) {
+        FilterRegistrationBean<IdempotencyFilter> registration =
+                new FilterRegistrationBean<>(new IdempotencyFilter(idempotencyStore, objectMapper, paths));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
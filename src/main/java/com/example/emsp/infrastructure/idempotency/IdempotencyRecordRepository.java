@@ -0,0 +1,43 @@
+package com.example.emsp.infrastructure.idempotency;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository interface for IdempotencyRecord entities.
+ * Extends JpaRepository to provide standard CRUD operations.
+ */
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * Inserts a record, failing if one with the same key already exists.
+     * Unlike {@code save}, which merges an entity with an assigned key and so silently overwrites a record
+     * stored concurrently by another instance, this leaves the first record in place.
+     *
+     * @return The number of inserted records.
+     * @throws org.springframework.dao.DataIntegrityViolationException If the key is already stored.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO idempotency_records (idempotency_key, request_hash, response_status, content_type, response_body, created_at) "
+            + "VALUES (:#{#record.idempotencyKey}, :#{#record.requestHash}, :#{#record.responseStatus}, :#{#record.contentType}, "
+            + ":#{#record.responseBody}, :#{#record.createdAt})", nativeQuery = true)
+    int insert(IdempotencyRecord record);
+
+    /**
+     * Deletes all records created before the given timestamp in a single statement.
+     *
+     * @param cutoff Records created before this timestamp are removed.
+     * @return The number of deleted records.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :cutoff")
+    int deleteCreatedBefore(LocalDateTime cutoff);
+}
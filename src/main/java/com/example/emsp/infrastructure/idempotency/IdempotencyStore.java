@@ -0,0 +1,114 @@
+package com.example.emsp.infrastructure.idempotency;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stores responses to requests carrying an {@code Idempotency-Key}.
+ * Lookups go to a bounded, least-recently-used in-memory cache first and fall back to the
+ * {@code idempotency_records} table, so a retried request is answered without re-executing it.
+ * Keys currently being processed are tracked so concurrent retries do not run the work twice.
+ */
+public class IdempotencyStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    /**
+     * A stored response ready to be replayed.
+     */
+    public record StoredResponse(String requestHash, int status, String contentType, byte[] body, LocalDateTime createdAt) {}
+
+    private final IdempotencyRecordRepository repository;
+    private final Duration ttl;
+    private final Map<String, StoredResponse> cache;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    public IdempotencyStore(IdempotencyRecordRepository repository, int cacheSize, Duration ttl) {
+        this.repository = repository;
+        this.ttl = ttl;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /**
+     * Looks up the stored response for a key, consulting the database on a cache miss.
+     *
+     * @param key The idempotency key.
+     * @return The stored response, or empty if none exists or it has expired.
+     */
+    public Optional<StoredResponse> find(String key) {
+        LocalDateTime cutoff = LocalDateTime.now().minus(ttl);
+        StoredResponse cached = cache.get(key);
+        if (cached != null) {
+            return cached.createdAt().isAfter(cutoff) ? Optional.of(cached) : Optional.empty();
+        }
+        return repository.findById(key)
+                .filter(record -> record.getCreatedAt().isAfter(cutoff))
+                .map(record -> {
+                    StoredResponse response = new StoredResponse(record.getRequestHash(), record.getResponseStatus(),
+                            record.getContentType(), record.getResponseBody(), record.getCreatedAt());
+                    cache.put(key, response);
+                    return response;
+                });
+    }
+
+    /**
+     * Marks a key as being processed.
+     *
+     * @return false if another request with the same key is already in progress.
+     */
+    public boolean tryBegin(String key) {
+        return inFlight.add(key);
+    }
+
+    /**
+     * Stores the response for a key and releases it.
+     * If another instance stored a response for the key first, that one is kept and is what retries replay.
+     */
+    public void complete(String key, StoredResponse response) {
+        try {
+            repository.insert(new IdempotencyRecord(key, response.requestHash(), response.status(),
+                    response.contentType(), response.body(), response.createdAt()));
+            cache.put(key, response);
+        } catch (DataIntegrityViolationException ex) {
+            logger.debug("Idempotency record for key {} already stored by another instance", key);
+            cache.remove(key); // Reloaded from the stored record on the next lookup
+        } finally {
+            inFlight.remove(key);
+        }
+    }
+
+    /**
+     * Releases a key without storing a response, so the request may be retried.
+     */
+    public void abandon(String key) {
+        inFlight.remove(key);
+    }
+
+    /**
+     * Periodically removes expired records from the database.
+     * Expired cache entries are ignored on lookup and age out through LRU eviction.
+     */
+    @Scheduled(fixedDelayString = "${emsp.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int purged = repository.deleteCreatedBefore(LocalDateTime.now().minus(ttl));
+        if (purged > 0) {
+            logger.info("Purged {} expired idempotency record(s)", purged);
+        }
+    }
+}
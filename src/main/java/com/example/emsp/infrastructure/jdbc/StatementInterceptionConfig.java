@@ -0,0 +1,20 @@
+package com.example.emsp.infrastructure.jdbc;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the single DataSource wrapper through which the {@link StatementListener} beans observe statements.
+ */
+@Configuration
+public class StatementInterceptionConfig {
+
+    /**
+     * Static, as a BeanPostProcessor must not make its configuration class instantiate early.
+     */
+    @Bean
+    public static StatementInterceptionPostProcessor statementInterceptionPostProcessor(ObjectProvider<StatementListener> listeners) {
+        return new StatementInterceptionPostProcessor(listeners);
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.emsp.infrastructure.jdbc;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Wraps every DataSource so that each statement execution and commit reaches the {@link StatementListener}s.
+ * Statements issued through Hibernate and through JdbcTemplate are both seen; a batch is one execution, as it is
+ * one round trip to the database, with the parameters of its last row.
+ * <p>
+ * This is the only DataSource wrapper of the application: tracing, slow-query detection and the load harness's
+ * latency injection are listeners, rather than wrappers stacked on each other.
+ */
+public class StatementInterceptionPostProcessor implements BeanPostProcessor {
+
+    private final Supplier<List<StatementListener>> listenerSource;
+    private volatile List<StatementListener> listeners;
+    private volatile boolean capturesParameters;
+
+    /**
+     * @param listeners The listener beans, resolved on first use, as the DataSource is created before some of them.
+     */
+    public StatementInterceptionPostProcessor(ObjectProvider<StatementListener> listeners) {
+        this.listenerSource = () -> listeners.orderedStream().toList();
+    }
+
+    public StatementInterceptionPostProcessor(List<StatementListener> listeners) {
+        List<StatementListener> sorted = new ArrayList<>(listeners);
+        AnnotationAwareOrderComparator.sort(sorted);
+        this.listenerSource = () -> sorted;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof InterceptingDataSource)) {
+            return new InterceptingDataSource(dataSource);
+        }
+        return bean;
+    }
+
+    private List<StatementListener> listeners() {
+        List<StatementListener> resolved = listeners;
+        if (resolved == null) {
+            resolved = List.copyOf(listenerSource.get());
+            capturesParameters = resolved.stream().anyMatch(StatementListener::capturesParameters);
+            listeners = resolved;
+        }
+        return resolved;
+    }
+
+    /**
+     * Hands out connections whose statements and commits are intercepted, or the target's own connections if there
+     * are no listeners. Closing it closes the target, so the connection pool still shuts down with the context.
+     */
+    private final class InterceptingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+        InterceptingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return interceptingConnection(super.getConnection(), obtainTargetDataSource());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return interceptingConnection(super.getConnection(username, password), obtainTargetDataSource());
+        }
+
+        @Override
+        public void close() throws Exception {
+            if (obtainTargetDataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private Connection interceptingConnection(Connection connection, DataSource target) {
+        List<StatementListener> listeners = listeners();
+        if (listeners.isEmpty()) {
+            return connection;
+        }
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("commit")) {
+                        for (StatementListener listener : listeners) {
+                            listener.beforeCommit();
+                        }
+                    }
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement statement && method.getReturnType().isInterface()) {
+                        // prepareStatement and prepareCall take the SQL first; createStatement gets it on execution
+                        String preparedSql = args != null && args.length > 0 && args[0] instanceof String sql ? sql : null;
+                        return interceptingStatement(statement, method.getReturnType(), preparedSql, target, listeners);
+                    }
+                    return result;
+                });
+    }
+
+    private Object interceptingStatement(Statement statement, Class<?> type, String preparedSql, DataSource target,
+                                         List<StatementListener> listeners) {
+        boolean captures = capturesParameters && statement instanceof PreparedStatement;
+        Object[][] parameters = {null}; // By JDBC index, grown as parameters are set
+        int[] parameterCount = {0}; // Highest index set
+        return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (captures && name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                        parameters[0] = bind(parameters[0], index, name.equals("setNull") ? null : args[1]); // setNull passes the SQL type
+                        parameterCount[0] = Math.max(parameterCount[0], index);
+                    } else if (captures && name.equals("clearParameters")) {
+                        parameters[0] = null;
+                        parameterCount[0] = 0;
+                    } else if (name.startsWith("execute")) {
+                        boolean given = args != null && args.length > 0 && args[0] instanceof String;
+                        StatementListener.Execution execution = new StatementListener.Execution(
+                                given ? (String) args[0] : preparedSql, name,
+                                given ? null : parameters[0], given ? 0 : parameterCount[0], target);
+                        return execute(statement, method, args, execution, listeners);
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    private static Object execute(Statement statement, Method method, Object[] args, StatementListener.Execution execution,
+                                  List<StatementListener> listeners) throws Throwable {
+        int size = listeners.size();
+        Object[] contexts = new Object[size];
+        long[] started = new long[size];
+        int entered = 0;
+        Throwable failure = null;
+        try {
+            for (; entered < size; entered++) {
+                started[entered] = System.nanoTime();
+                contexts[entered] = listeners.get(entered).beforeExecute(execution);
+            }
+            return invoke(statement, method, args);
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            long ended = System.nanoTime();
+            for (int i = entered - 1; i >= 0; i--) {
+                listeners.get(i).afterExecute(execution, contexts[i], ended - started[i], failure);
+            }
+        }
+    }
+
+    private static Object[] bind(Object[] parameters, int index, Object value) {
+        if (index < 1) {
+            return parameters;
+        }
+        Object[] bound = parameters == null ? new Object[Math.max(index + 1, 8)]
+                : index < parameters.length ? parameters : Arrays.copyOf(parameters, Math.max(index + 1, parameters.length * 2));
+        bound[index] = value;
+        return bound;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.emsp.infrastructure.jdbc;
+
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Observes the SQL statements executed through the DataSources wrapped by {@link StatementInterceptionPostProcessor}.
+ * Listeners are beans; all of them share one wrapper, so a statement passes through the same two proxies
+ * (connection and statement) however many listeners there are, and through none when there are no listeners.
+ * <p>
+ * Listeners are called in their order before an execution and in reverse order after it, so a listener with a
+ * higher order value runs nearer to the database, inside the ones before it.
+ */
+public interface StatementListener extends Ordered {
+
+    /**
+     * A statement execution.
+     *
+     * @param sql            The SQL given on execution or when the statement was prepared, or null for a batch
+     *                       of a plain statement.
+     * @param method         The JDBC method, such as {@code executeQuery} or {@code executeBatch}.
+     * @param parameters     The bind parameters by JDBC index (so index 0 is unused), or null if none were set,
+     *                       the SQL was given on execution, or no listener captures parameters. Reused by the
+     *                       statement, so it must be copied to be kept.
+     * @param parameterCount The highest JDBC index set.
+     * @param dataSource     The wrapped DataSource, e.g. to run further statements on.
+     */
+    record Execution(String sql, String method, Object[] parameters, int parameterCount, DataSource dataSource) {
+    }
+
+    @Override
+    default int getOrder() {
+        return 0;
+    }
+
+    /**
+     * Whether executions need their bind parameters. They are only recorded when a listener needs them.
+     */
+    default boolean capturesParameters() {
+        return false;
+    }
+
+    /**
+     * Called before a statement executes.
+     *
+     * @return A context handed back to {@link #afterExecute}, such as a span; may be null.
+     */
+    default Object beforeExecute(Execution execution) throws Exception {
+        return null;
+    }
+
+    /**
+     * Called after a statement executed, whether it succeeded or not.
+     *
+     * @param context      What {@link #beforeExecute} returned.
+     * @param elapsedNanos The execution time, including the {@code beforeExecute} of the listeners after this one.
+     *                     Fetching the rows of a result is not part of it.
+     * @param failure      The exception thrown by the execution, or null.
+     */
+    default void afterExecute(Execution execution, Object context, long elapsedNanos, Throwable failure) {
+    }
+
+    /**
+     * Called before a connection commits.
+     */
+    default void beforeCommit() throws Exception {
+    }
+}
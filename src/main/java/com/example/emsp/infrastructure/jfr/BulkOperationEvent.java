@@ -0,0 +1,46 @@
+package com.example.emsp.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one bulk operation, such as a batch of status changes or Connectors.
+ */
+@Name("com.example.emsp.BulkOperation")
+@Label("Bulk Operation")
+@Category({"eMSP", "Bulk"})
+@Description("One batch of a bulk write")
+@StackTrace(false)
+public class BulkOperationEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Items")
+    @Description("Items in the batch")
+    public int items;
+
+    @Label("Applied")
+    @Description("Items applied; the rest were skipped")
+    public int applied;
+
+    @Label("Rows Written")
+    public long rowsWritten;
+
+    /**
+     * Ends the event and commits it, if it is being recorded.
+     */
+    public void complete(String operation, int items, int applied, long rowsWritten) {
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.items = items;
+            this.applied = applied;
+            this.rowsWritten = rowsWritten;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.emsp.infrastructure.jfr;
+
+import com.example.emsp.domain.evse.EVSEStatus;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one EVSE status change request, from lookup to commit; its duration is the event's.
+ * Recorded whether the change was applied or not, with the outcome saying which.
+ */
+@Name("com.example.emsp.EVSEStatusChange")
+@Label("EVSE Status Change")
+@Category({"eMSP", "EVSE"})
+@Description("Status change of one EVSE")
+@StackTrace(false)
+public class EVSEStatusChangeEvent extends Event {
+
+    public static final String APPLIED = "applied";
+    public static final String NOT_FOUND = "not found";
+    public static final String REJECTED = "rejected";
+    public static final String ROLLED_BACK = "rolled back";
+
+    @Label("EVSE ID")
+    public String evseId;
+
+    @Label("From Status")
+    public String fromStatus;
+
+    @Label("To Status")
+    public String toStatus;
+
+    @Label("Outcome")
+    public String outcome;
+
+    /**
+     * Ends the event and commits it, if it is being recorded.
+     *
+     * @param from The status before the change, or null if the EVSE was not found.
+     */
+    public void complete(String evseId, EVSEStatus from, EVSEStatus to, String outcome) {
+        if (shouldCommit()) {
+            this.evseId = evseId;
+            this.fromStatus = from != null ? from.name() : null;
+            this.toStatus = to != null ? to.name() : null;
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.emsp.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.springframework.data.domain.Page;
+
+/**
+ * JFR event for one page of a catalog feed query.
+ * The feeds are served from the catalog read model, so the entities loaded are the views decoded from it.
+ */
+@Name("com.example.emsp.FeedPageQuery")
+@Label("Feed Page Query")
+@Category({"eMSP", "Catalog"})
+@Description("One page of the Location feed or an operator's EVSE list")
+@StackTrace(false)
+public class FeedPageQueryEvent extends Event {
+
+    public static final String LOCATIONS = "locations";
+    public static final String OPERATOR_EVSES = "operator-evses";
+
+    @Label("Feed")
+    public String feed;
+
+    @Label("Filter")
+    @Description("The lastUpdated bound of the Location feed, or the operator and status of the EVSE list")
+    public String filter;
+
+    @Label("Page")
+    public int page;
+
+    @Label("Page Size")
+    public int pageSize;
+
+    @Label("Rows")
+    @Description("Rows on the page")
+    public int rows;
+
+    @Label("Total Rows")
+    public long totalRows;
+
+    @Label("Entity Loads")
+    @Description("Locations, EVSEs and Connectors decoded for the page")
+    public int entityLoads;
+
+    /**
+     * Ends the event and commits it. Callers check {@link #shouldCommit()} first, so that counting the entity
+     * loads costs nothing when the event is not recorded.
+     */
+    public void complete(String feed, String filter, Page<?> page, int entityLoads) {
+        this.feed = feed;
+        this.filter = filter;
+        this.page = page.getNumber();
+        this.pageSize = page.getSize();
+        this.rows = page.getNumberOfElements();
+        this.totalRows = page.getTotalElements();
+        this.entityLoads = entityLoads;
+        commit();
+    }
+}
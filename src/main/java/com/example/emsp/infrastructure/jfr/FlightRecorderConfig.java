@@ -0,0 +1,28 @@
+package com.example.emsp.infrastructure.jfr;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuration for Java Flight Recorder recordings started through {@code /actuator/jfr}.
+ * The endpoint writes files and the actuator endpoints are not secured, so it only exists
+ * with {@code management.endpoint.jfr.enabled=true}.
+ */
+@Configuration
+public class FlightRecorderConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "management.endpoint.jfr.enabled", havingValue = "true")
+    public FlightRecorderEndpoint flightRecorderEndpoint(@Value("${emsp.jfr.path:data/recordings}") Path directory,
+                                                         @Value("${emsp.jfr.max-duration:PT30M}") Duration maxDuration,
+                                                         @Value("${emsp.jfr.max-size:256MB}") DataSize maxSize,
+                                                         @Value("${emsp.jfr.max-age:PT30M}") Duration maxAge) {
+        return new FlightRecorderEndpoint(directory, maxDuration, maxSize, maxAge);
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.emsp.infrastructure.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Actuator endpoint to start and stop Java Flight Recorder recordings, which include the eMSP events
+ * ({@link EVSEStatusChangeEvent}, {@link FeedPageQueryEvent}, {@link BulkOperationEvent}).
+ * <ul>
+ *     <li>{@code GET /actuator/jfr} lists the recordings of the JVM, including ones started on the command line.</li>
+ *     <li>{@code POST /actuator/jfr} starts a recording; the optional body {@code {"settings": "default", "maxDuration": "PT10M"}}
+ *     picks the JFR settings ('profile' unless given) and stops it after a while.</li>
+ *     <li>{@code POST /actuator/jfr/{id}} stops a recording and writes it to the recordings directory.</li>
+ * </ul>
+ * Every recording started here ends after at most the configured maximum duration, which is also the default, and
+ * keeps at most the configured size and age of data on disk, so a recording nobody stops cannot fill the disk.
+ * The written file can be opened in JDK Mission Control or printed with {@code jfr print --events 'com.example.emsp.*'}.
+ */
+@Endpoint(id = "jfr")
+public class FlightRecorderEndpoint {
+
+    private static final String DEFAULT_SETTINGS = "profile";
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+
+    private final Path directory;
+    private final Duration maxDuration;
+    private final DataSize maxSize;
+    private final Duration maxAge;
+
+    /**
+     * @param directory   Where stopped recordings are written.
+     * @param maxDuration The longest a recording may run; recordings started without a duration get this one.
+     * @param maxSize     The most data a recording keeps on disk; older chunks are dropped.
+     * @param maxAge      The oldest data a recording keeps on disk.
+     */
+    public FlightRecorderEndpoint(Path directory, Duration maxDuration, DataSize maxSize, Duration maxAge) {
+        this.directory = directory;
+        this.maxDuration = maxDuration;
+        this.maxSize = maxSize;
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * A recording of the JVM.
+     *
+     * @param destination Where the recording is written when it stops, or null if it is kept in memory.
+     */
+    public record RecordingDescriptor(long id, String name, String state, Instant startTime, Duration duration, String destination) {
+
+        static RecordingDescriptor of(Recording recording) {
+            return new RecordingDescriptor(recording.getId(), recording.getName(), recording.getState().name(),
+                    recording.getStartTime(), recording.getDuration(),
+                    recording.getDestination() != null ? recording.getDestination().toString() : null);
+        }
+    }
+
+    @ReadOperation
+    public List<RecordingDescriptor> recordings() {
+        return FlightRecorder.getFlightRecorder().getRecordings().stream()
+                .map(RecordingDescriptor::of)
+                .toList();
+    }
+
+    @WriteOperation
+    public RecordingDescriptor start(@Nullable String settings, @Nullable Duration maxDuration) {
+        if (maxDuration != null && (maxDuration.isNegative() || maxDuration.isZero() || maxDuration.compareTo(this.maxDuration) > 0)) {
+            throw new InvalidEndpointRequestException("maxDuration must be positive and at most " + this.maxDuration,
+                    "Invalid maxDuration");
+        }
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings != null ? settings : DEFAULT_SETTINGS);
+        } catch (IOException | ParseException e) {
+            throw new InvalidEndpointRequestException("Unknown JFR settings: " + settings, "Unknown JFR settings");
+        }
+        Recording recording = new Recording(configuration);
+        String name = "emsp-" + FILE_TIMESTAMP.format(Instant.now());
+        recording.setName(name);
+        recording.setToDisk(true);
+        try {
+            recording.setDestination(file(name + "-" + recording.getId()));
+        } catch (IOException e) {
+            recording.close();
+            throw new UncheckedIOException("Failed to create the recordings directory " + directory, e);
+        }
+        recording.setDuration(maxDuration != null ? maxDuration : this.maxDuration); // Written to the destination when it ends
+        recording.setMaxSize(maxSize.toBytes());
+        recording.setMaxAge(maxAge);
+        recording.start();
+        return RecordingDescriptor.of(recording);
+    }
+
+    @WriteOperation
+    public RecordingDescriptor stop(@Selector long id) {
+        Recording recording = FlightRecorder.getFlightRecorder().getRecordings().stream()
+                .filter(candidate -> candidate.getId() == id)
+                .findFirst()
+                .orElse(null);
+        if (recording == null) {
+            return null; // 404 Not Found
+        }
+        if (recording.getState() != RecordingState.RUNNING) {
+            return RecordingDescriptor.of(recording); // Not started, or already stopped after its maximum duration
+        }
+        try {
+            if (recording.getDestination() == null) {
+                recording.setDestination(file(recording.getName() + "-" + id));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to set the destination of recording " + id, e);
+        }
+        RecordingDescriptor running = RecordingDescriptor.of(recording);
+        recording.stop(); // Writes the recording to its destination, then closes it
+        return new RecordingDescriptor(running.id(), running.name(), RecordingState.STOPPED.name(),
+                running.startTime(), running.duration(), running.destination());
+    }
+
+    private Path file(String name) throws IOException {
+        Files.createDirectories(directory);
+        return directory.resolve(name.replaceAll("[^A-Za-z0-9._-]", "_") + ".jfr").toAbsolutePath();
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.emsp.infrastructure.jfr;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Consumer;
+
+/**
+ * Defers the completion of a JFR event to the end of the current transaction, so the event covers the
+ * flushed statements and the commit instead of stopping when the service method returns.
+ */
+public final class TransactionCompletion {
+
+    private TransactionCompletion() {
+    }
+
+    /**
+     * Runs a JFR event's completion once the current transaction has committed or rolled back;
+     * runs it at once outside a transaction.
+     *
+     * @param completion Called with whether the transaction committed.
+     */
+    public static void afterCompletion(Consumer<Boolean> completion) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            completion.accept(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                completion.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+}
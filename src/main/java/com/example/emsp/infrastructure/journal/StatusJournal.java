@@ -0,0 +1,408 @@
+package com.example.emsp.infrastructure.journal;
+
+import com.example.emsp.domain.evse.EVSEStatus;
+import com.example.emsp.infrastructure.exception.StatusJournalFullException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * Durable, memory-mapped ring journal of EVSE status change commands.
+ * <p>
+ * Layout: a fixed header followed by a circular data region of records of the form
+ * {@code [int payloadLength][long sequence][int crc][payload]}, where the payload holds the status,
+ * the acceptance timestamp and the UTF-8 EVSE ID. A record that does not fit before the end of the region
+ * is written at its start instead, after a wrap marker (or none, if not even a record header fits).
+ * The header stores the offset and sequence of the last record applied to the database, so after a crash
+ * replay resumes from there, and the space of applied records is reused as soon as they are committed.
+ * Records beyond that point are trusted only while their sequence numbers are contiguous and their checksums
+ * match, which also makes torn writes and stale records from a previous lap invisible.
+ * <p>
+ * Durability uses group commit: appenders wait in {@link #awaitDurable(long)} and a single caller
+ * forces the range appended since the previous force on behalf of every record in it, so one fsync
+ * covers a whole batch and never the untouched rest of the mapping.
+ * <p>
+ * Commands that cannot be applied are parked with {@link #deadLetter} in a text file next to the journal,
+ * so one poison record cannot hold back the rest.
+ */
+public class StatusJournal implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatusJournal.class);
+
+    private static final int MAGIC = 0x45534A31; // "ESJ1"
+    private static final int VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    private static final int APPLIED_OFFSET_POS = 8;
+    private static final int APPLIED_SEQUENCE_POS = 16;
+    private static final int RECORD_HEADER_SIZE = 4 + 8 + 4; // length, sequence, crc
+    private static final int PAYLOAD_FIXED_SIZE = 1 + 8 + 2; // status, acceptedAt, id length
+    private static final int WRAP_MARKER = -1; // In place of a length: the next record is at the start of the region
+
+    private static final EVSEStatus[] STATUSES = EVSEStatus.values();
+
+    private final Path path;
+    private final Path deadLetterPath;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final int dataSize;
+    private final boolean fsync;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Condition flushed = flushLock.newCondition();
+
+    private int writeOffset;
+    private long nextSequence;
+    private long appendedBytes; // Total bytes written to the data region, wrapped tails included; guarded by appendLock
+    private volatile long appendedSequence;
+    private volatile long durableSequence;
+    private long durableBytes; // appendedBytes as of the last force; guarded by flushLock
+    private int baseOffset; // Where appendedBytes started counting, relative to the data region
+    private boolean flushing;
+
+    private volatile int appliedOffset;
+    private volatile long appliedSequence;
+
+    /**
+     * Opens (or creates) the journal file and recovers the write position from its contents.
+     *
+     * @param path     The journal file location.
+     * @param capacity The size of the mapped region in bytes.
+     * @param fsync    Whether {@link #awaitDurable(long)} forces the mapping to disk.
+     */
+    public StatusJournal(Path path, int capacity, boolean fsync) {
+        if (capacity <= HEADER_SIZE + RECORD_HEADER_SIZE + PAYLOAD_FIXED_SIZE) {
+            throw new IllegalArgumentException("Journal capacity too small: " + capacity);
+        }
+        this.path = path;
+        this.deadLetterPath = path.resolveSibling(path.getFileName() + ".dead-letter");
+        this.capacity = capacity;
+        this.dataSize = capacity - HEADER_SIZE;
+        this.fsync = fsync;
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open status journal at " + path, e);
+        }
+        recover();
+    }
+
+    private void recover() {
+        if (buffer.getInt(0) != MAGIC) {
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putLong(APPLIED_OFFSET_POS, HEADER_SIZE);
+            buffer.putLong(APPLIED_SEQUENCE_POS, 0L);
+            buffer.force(0, HEADER_SIZE);
+        }
+        appliedOffset = (int) buffer.getLong(APPLIED_OFFSET_POS);
+        appliedSequence = buffer.getLong(APPLIED_SEQUENCE_POS);
+
+        int offset = appliedOffset;
+        long expected = appliedSequence + 1;
+        long bytes = 0;
+        int pending = 0;
+        while (true) {
+            int start = recordStart(offset);
+            int end = validRecordEnd(start, expected);
+            if (end < 0) {
+                break;
+            }
+            bytes += (start < offset ? capacity - offset + (start - HEADER_SIZE) : start - offset) + (end - start);
+            offset = end;
+            expected++;
+            pending++;
+        }
+        writeOffset = offset;
+        nextSequence = expected;
+        appendedSequence = expected - 1;
+        durableSequence = expected - 1;
+        baseOffset = appliedOffset - HEADER_SIZE;
+        appendedBytes = bytes;
+        durableBytes = bytes; // Recovered records were durable before the restart, or are lost anyway
+        if (pending > 0) {
+            logger.info("Recovered status journal {} with {} unapplied command(s) after sequence {}", path, pending, appliedSequence);
+        }
+    }
+
+    /**
+     * @return Where the record following the given offset starts: the offset itself, or the start of the data
+     * region if the offset holds a wrap marker or is too close to the end for a record header.
+     */
+    private int recordStart(int offset) {
+        return offset + RECORD_HEADER_SIZE > capacity || buffer.getInt(offset) == WRAP_MARKER ? HEADER_SIZE : offset;
+    }
+
+    /**
+     * Validates the record at the given offset.
+     *
+     * @return The offset directly after the record, or -1 if no valid record with the expected sequence exists.
+     */
+    private int validRecordEnd(int offset, long expectedSequence) {
+        if (offset + RECORD_HEADER_SIZE > capacity) {
+            return -1;
+        }
+        int length = buffer.getInt(offset);
+        if (length < PAYLOAD_FIXED_SIZE || offset + RECORD_HEADER_SIZE + length > capacity) {
+            return -1;
+        }
+        long sequence = buffer.getLong(offset + 4);
+        if (sequence != expectedSequence) {
+            return -1;
+        }
+        int crc = buffer.getInt(offset + 12);
+        return crc == checksum(sequence, offset + RECORD_HEADER_SIZE, length) ? offset + RECORD_HEADER_SIZE + length : -1;
+    }
+
+    private int checksum(long sequence, int payloadOffset, int length) {
+        CRC32C crc = new CRC32C();
+        ByteBuffer view = buffer.duplicate();
+        view.limit(payloadOffset + length).position(payloadOffset);
+        crc.update(view);
+        crc.update((int) (sequence >>> 32));
+        crc.update((int) sequence);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Appends a status change command. The record is visible to readers on return,
+     * but only durable once {@link #awaitDurable(long)} returns for its sequence.
+     *
+     * @return The sequence number assigned to the command.
+     * @throws StatusJournalFullException if the journal has no room left.
+     */
+    public long append(String evseIdText, EVSEStatus newStatus, Instant acceptedAt) {
+        byte[] id = evseIdText.getBytes(StandardCharsets.UTF_8);
+        int length = PAYLOAD_FIXED_SIZE + id.length;
+        int size = RECORD_HEADER_SIZE + length;
+        appendLock.lock();
+        try {
+            int start = writeOffset;
+            int applied = appliedOffset;
+            int limit; // Exclusive end of the free space after start; short of the applied offset, so a full
+                       // journal is never mistaken for a drained one
+            if (start < applied) {
+                limit = applied - 1;
+            } else if (start + size <= capacity) {
+                limit = capacity;
+            } else {
+                start = HEADER_SIZE; // Wrap into the space of the applied records, up to the wrap marker once drained
+                limit = applied - 1;
+            }
+            if (start + size > limit) {
+                throw new StatusJournalFullException("Status journal is full; retry once pending status changes have been applied.");
+            }
+            long sequence = nextSequence++;
+            int payload = start + RECORD_HEADER_SIZE;
+            buffer.put(payload, (byte) newStatus.ordinal());
+            buffer.putLong(payload + 1, acceptedAt.toEpochMilli());
+            buffer.putShort(payload + 9, (short) id.length);
+            buffer.put(payload + PAYLOAD_FIXED_SIZE, id);
+            buffer.putLong(start + 4, sequence);
+            buffer.putInt(start + 12, checksum(sequence, payload, length));
+            buffer.putInt(start, length);
+            if (start != writeOffset) {
+                if (writeOffset + RECORD_HEADER_SIZE <= capacity) {
+                    buffer.putInt(writeOffset, WRAP_MARKER); // After the record, so readers never follow it to a torn one
+                }
+                appendedBytes += capacity - writeOffset;
+            }
+            appendedBytes += size;
+            writeOffset = start + size;
+            appendedSequence = sequence;
+            return sequence;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Blocks until the record with the given sequence has been forced to disk.
+     * Concurrent callers share a single force, so the cost of an fsync is amortised over a batch.
+     */
+    public void awaitDurable(long sequence) {
+        if (!fsync) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            while (durableSequence < sequence) {
+                if (flushing) {
+                    flushed.awaitUninterruptibly();
+                    continue;
+                }
+                flushing = true;
+                long target;
+                long targetBytes;
+                appendLock.lock();
+                try {
+                    target = appendedSequence;
+                    targetBytes = appendedBytes;
+                } finally {
+                    appendLock.unlock();
+                }
+                long fromBytes = durableBytes;
+                flushLock.unlock();
+                try {
+                    forceData(fromBytes, targetBytes);
+                } finally {
+                    flushLock.lock();
+                    flushing = false;
+                    flushed.signalAll();
+                }
+                durableBytes = Math.max(durableBytes, targetBytes);
+                durableSequence = Math.max(durableSequence, target);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Forces the data region between two positions in the stream of appended bytes, which spans
+     * two ranges of the mapping when it wraps, and the whole region when it laps it.
+     */
+    private void forceData(long fromBytes, long toBytes) {
+        long length = toBytes - fromBytes;
+        if (length <= 0) {
+            return;
+        }
+        if (length >= dataSize) {
+            buffer.force(HEADER_SIZE, dataSize);
+            return;
+        }
+        int start = HEADER_SIZE + (int) ((baseOffset + fromBytes) % dataSize);
+        int first = (int) Math.min(length, capacity - start);
+        buffer.force(start, first);
+        if (length > first) {
+            buffer.force(HEADER_SIZE, (int) (length - first));
+        }
+    }
+
+    /**
+     * Reads up to {@code maxEntries} commands that have not been committed as applied yet.
+     */
+    public List<StatusJournalEntry> readPending(int maxEntries) {
+        List<StatusJournalEntry> entries = new ArrayList<>(Math.min(maxEntries, 1024));
+        int offset = appliedOffset;
+        long sequence = appliedSequence + 1;
+        long last = appendedSequence;
+        while (entries.size() < maxEntries && sequence <= last) {
+            offset = recordStart(offset);
+            int length = buffer.getInt(offset);
+            int payload = offset + RECORD_HEADER_SIZE;
+            EVSEStatus status = STATUSES[buffer.get(payload)];
+            Instant acceptedAt = Instant.ofEpochMilli(buffer.getLong(payload + 1));
+            byte[] id = new byte[buffer.getShort(payload + 9)];
+            buffer.get(payload + PAYLOAD_FIXED_SIZE, id);
+            offset = payload + length;
+            entries.add(new StatusJournalEntry(sequence++, new String(id, StandardCharsets.UTF_8), status, acceptedAt, offset));
+        }
+        return entries;
+    }
+
+    /**
+     * Records that every command up to and including the given entry has been applied,
+     * which makes their space available to new records.
+     */
+    public void commitApplied(StatusJournalEntry lastApplied) {
+        appendLock.lock();
+        try {
+            buffer.putLong(APPLIED_OFFSET_POS, lastApplied.endOffset());
+            buffer.putLong(APPLIED_SEQUENCE_POS, lastApplied.sequence());
+            appliedOffset = lastApplied.endOffset();
+            appliedSequence = lastApplied.sequence();
+            if (fsync) {
+                buffer.force(0, HEADER_SIZE);
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Parks the first pending command, which cannot be applied, in the dead-letter file and commits it as applied,
+     * so that the commands after it can proceed. The file has one tab-separated line per command: sequence,
+     * EVSE ID, status, acceptance time and reason. It is forced before the command leaves the journal.
+     *
+     * @param entry  The first pending command, as returned by {@link #readPending(int)}.
+     * @param reason Why the command could not be applied.
+     * @throws IllegalArgumentException if the entry is not the first pending command.
+     */
+    public void deadLetter(StatusJournalEntry entry, String reason) {
+        if (entry.sequence() != appliedSequence + 1) {
+            throw new IllegalArgumentException("Only the first pending command can be dead-lettered, not " + entry.sequence());
+        }
+        String line = entry.sequence() + "\t" + entry.evseIdText() + "\t" + entry.newStatus() + "\t" + entry.acceptedAt()
+                + "\t" + (reason != null ? reason.replaceAll("\\s+", " ") : "") + "\n";
+        try (FileChannel deadLetters = FileChannel.open(deadLetterPath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            deadLetters.write(ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8)));
+            if (fsync) {
+                deadLetters.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to dead-letter status change " + entry.sequence() + " to " + deadLetterPath, e);
+        }
+        commitApplied(entry);
+        logger.error("Dead-lettered status change {} of {} to {} into {}: {}",
+                entry.sequence(), entry.evseIdText(), entry.newStatus(), deadLetterPath, reason);
+    }
+
+    /**
+     * @return The file holding the dead-lettered commands; it only exists once a command has been dead-lettered.
+     */
+    public Path deadLetterPath() {
+        return deadLetterPath;
+    }
+
+    /**
+     * @return The number of appended commands that have not been committed as applied.
+     */
+    public long pendingCount() {
+        return appendedSequence - appliedSequence;
+    }
+
+    @Override
+    public void close() {
+        try {
+            flushLock.lock();
+            while (flushing) {
+                flushed.awaitUninterruptibly();
+            }
+            appendLock.lock();
+            try {
+                forceData(durableBytes, appendedBytes);
+                durableBytes = appendedBytes;
+                buffer.force(0, HEADER_SIZE);
+            } finally {
+                appendLock.unlock();
+                flushLock.unlock();
+            }
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close status journal at " + path, e);
+        }
+    }
+}
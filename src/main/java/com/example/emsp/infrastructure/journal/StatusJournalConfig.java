@@ -0,0 +1,25 @@
+package com.example.emsp.infrastructure.journal;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Configuration for the write-behind status ingestion journal.
+ * The journal is only opened when {@code emsp.status-ingestion.mode=write-behind}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "emsp.status-ingestion.mode", havingValue = "write-behind")
+public class StatusJournalConfig {
+
+    @Bean(destroyMethod = "close")
+    public StatusJournal statusJournal(
+            @Value("${emsp.status-ingestion.journal.path:data/status-journal.log}") Path path,
+            @Value("${emsp.status-ingestion.journal.capacity-bytes:67108864}") int capacityBytes,
+            @Value("${emsp.status-ingestion.journal.fsync:true}") boolean fsync) {
+        return new StatusJournal(path, capacityBytes, fsync);
+    }
+}
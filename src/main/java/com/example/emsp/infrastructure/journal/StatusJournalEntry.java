@@ -0,0 +1,22 @@
+package com.example.emsp.infrastructure.journal;
+
+import com.example.emsp.domain.evse.EVSEStatus;
+
+import java.time.Instant;
+
+/**
+ * A single status change command read back from the {@link StatusJournal}.
+ *
+ * @param sequence   Monotonic sequence number assigned when the command was appended.
+ * @param evseIdText The OCPI-compliant EVSE ID the command targets.
+ * @param newStatus  The requested new status.
+ * @param acceptedAt The time the command was accepted into the journal.
+ * @param endOffset  The journal offset directly after this record, used to commit progress.
+ */
+public record StatusJournalEntry(
+        long sequence,
+        String evseIdText,
+        EVSEStatus newStatus,
+        Instant acceptedAt,
+        int endOffset
+) {}
@@ -0,0 +1,59 @@
+package com.example.emsp.infrastructure.metrics;
+
+import com.example.emsp.domain.events.EVSEStatusChangedEvent;
+import com.example.emsp.domain.evse.EVSEStatus;
+import com.example.emsp.infrastructure.exception.InvalidEVSEStatusTransitionException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Counts EVSE status transitions by from/to pair: committed ones as {@code emsp.evse.status.transitions},
+ * rejected ones as {@code emsp.evse.status.rejected}. All counters are registered up front, so counting is
+ * an array lookup and an increment.
+ */
+@Component
+public class EVSEStatusMetrics {
+
+    private static final EVSEStatus[] STATUSES = EVSEStatus.values();
+
+    private final Counter[][] transitions = new Counter[STATUSES.length][STATUSES.length];
+    private final Counter[][] rejected = new Counter[STATUSES.length][STATUSES.length];
+
+    public EVSEStatusMetrics(MeterRegistry meterRegistry) {
+        for (EVSEStatus from : STATUSES) {
+            for (EVSEStatus to : STATUSES) {
+                transitions[from.ordinal()][to.ordinal()] = Counter.builder("emsp.evse.status.transitions")
+                        .description("Committed EVSE status changes")
+                        .tag("from", from.name())
+                        .tag("to", to.name())
+                        .register(meterRegistry);
+                rejected[from.ordinal()][to.ordinal()] = Counter.builder("emsp.evse.status.rejected")
+                        .description("EVSE status changes rejected as invalid transitions")
+                        .tag("from", from.name())
+                        .tag("to", to.name())
+                        .register(meterRegistry);
+            }
+        }
+    }
+
+    /**
+     * Counts a committed status change. Runs synchronously after commit, so rolled-back changes are not counted.
+     *
+     * @param event The EVSEStatusChangedEvent that occurred.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleEVSEStatusChanged(EVSEStatusChangedEvent event) {
+        transitions[event.getOldStatus().ordinal()][event.getNewStatus().ordinal()].increment();
+    }
+
+    /**
+     * Counts a rejected status change, if the exception names both statuses.
+     */
+    public void recordRejected(InvalidEVSEStatusTransitionException ex) {
+        if (ex.getFromStatus() != null && ex.getToStatus() != null) {
+            rejected[ex.getFromStatus().ordinal()][ex.getToStatus().ordinal()].increment();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.emsp.infrastructure.metrics;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Configuration for application metrics.
+ * Enables {@link io.micrometer.core.annotation.Timed} on the application services, which records a timer
+ * named {@code emsp.application} tagged with the class, method and exception of each call.
+ * Requests to the API are measured for heap allocation and CPU time per route by the {@link RequestResourceFilter}.
+ * Hibernate statistics and Hikari pool metrics are bound by Spring Boot; everything is exposed at
+ * {@code /actuator/prometheus}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Name of the timer around application service methods.
+     */
+    public static final String APPLICATION_TIMER = "emsp.application";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    /**
+     * Placed right after Spring's observation filter, so the work of the other filters is included.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "emsp.request-resources.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<RequestResourceFilter> requestResourceFilter(
+            MeterRegistry meterRegistry,
+            @Value("${emsp.request-resources.debug-header:false}") boolean debugHeader) {
+        FilterRegistrationBean<RequestResourceFilter> registration =
+                new FilterRegistrationBean<>(new RequestResourceFilter(meterRegistry, debugHeader));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+}
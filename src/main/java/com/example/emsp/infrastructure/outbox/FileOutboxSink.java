@@ -0,0 +1,58 @@
+package com.example.emsp.infrastructure.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Outbox sink that appends each message as one JSON line to a local file.
+ * Downstream consumers can tail the file; each line carries the outbox ID for de-duplication.
+ */
+public class FileOutboxSink implements OutboxSink {
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+
+    public FileOutboxSink(Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void deliver(List<OutboxMessage> messages) {
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (OutboxMessage message : messages) {
+                    writer.write(toJsonLine(message));
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write outbox messages to " + path, e);
+        }
+    }
+
+    private String toJsonLine(OutboxMessage message) throws JsonProcessingException {
+        ObjectNode line = objectMapper.createObjectNode();
+        line.put("id", message.getId());
+        line.put("eventType", message.getEventType());
+        line.put("aggregateType", message.getAggregateType());
+        line.put("aggregateId", message.getAggregateId());
+        line.put("occurredOn", message.getOccurredOn().toString());
+        line.set("payload", objectMapper.readTree(message.getPayload()));
+        return objectMapper.writeValueAsString(line);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.emsp.infrastructure.outbox;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Outbox sink that keeps the most recently delivered messages in memory.
+ * Intended for tests and local inspection; older messages are dropped beyond the capacity.
+ */
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final int capacity;
+    private final Deque<OutboxMessage> messages = new ArrayDeque<>();
+
+    public InMemoryOutboxSink(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void deliver(List<OutboxMessage> batch) {
+        for (OutboxMessage message : batch) {
+            if (messages.size() == capacity) {
+                messages.removeFirst();
+            }
+            messages.addLast(message);
+        }
+    }
+
+    /**
+     * @return A snapshot of the retained messages, oldest first.
+     */
+    public synchronized List<OutboxMessage> getDeliveredMessages() {
+        return new ArrayList<>(messages);
+    }
+}
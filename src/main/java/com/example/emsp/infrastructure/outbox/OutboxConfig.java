@@ -0,0 +1,45 @@
+package com.example.emsp.infrastructure.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuration for the outbox sink and relay.
+ * The sink is selected with {@code emsp.outbox.sink} ('file' or 'memory'); the relay can be
+ * switched off with {@code emsp.outbox.relay.enabled=false}, in which case messages are only recorded.
+ */
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "emsp.outbox.sink", havingValue = "file", matchIfMissing = true)
+    public OutboxSink fileOutboxSink(
+            @Value("${emsp.outbox.file.path:data/outbox-events.jsonl}") Path path,
+            ObjectMapper objectMapper) {
+        return new FileOutboxSink(path, objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "emsp.outbox.sink", havingValue = "memory")
+    public OutboxSink inMemoryOutboxSink(@Value("${emsp.outbox.memory.capacity:10000}") int capacity) {
+        return new InMemoryOutboxSink(capacity);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "emsp.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+    public OutboxRelay outboxRelay(
+            OutboxMessageRepository outboxMessageRepository,
+            OutboxSink outboxSink,
+            PlatformTransactionManager transactionManager,
+            @Value("${emsp.outbox.relay.batch-size:500}") int batchSize,
+            @Value("${emsp.outbox.retention:P7D}") Duration retention) {
+        return new OutboxRelay(outboxMessageRepository, outboxSink, transactionManager, batchSize, retention);
+    }
+}
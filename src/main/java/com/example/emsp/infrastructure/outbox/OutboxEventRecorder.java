@@ -0,0 +1,38 @@
+package com.example.emsp.infrastructure.outbox;
+
+import com.example.emsp.domain.events.DomainEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records every published domain event in the outbox table.
+ * The listener runs synchronously on the publishing thread, so the outbox row joins the
+ * transaction of the change that raised the event and is committed or rolled back with it.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxEventRecorder {
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Listens for any DomainEvent and stores it as an outbox message.
+     *
+     * @param event The DomainEvent that occurred.
+     */
+    @EventListener
+    public void record(DomainEvent event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize domain event " + event.getClass().getSimpleName(), e);
+        }
+        outboxMessageRepository.save(new OutboxMessage(
+                event.getClass().getSimpleName(), event.aggregateType(), event.aggregateId(), payload, event.getOccurredOn()));
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.emsp.infrastructure.outbox;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A domain event recorded in the transactional outbox.
+ * Rows are written in the same transaction as the change that raised the event. The ID is assigned on insert,
+ * so it orders messages by insertion rather than by commit; see {@link OutboxRelay} for the delivery guarantees.
+ */
+@Entity
+@Table(name = "outbox_messages", indexes = @Index(name = "idx_outbox_messages_published_at", columnList = "published_at"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED) // Protected constructor for JPA
+public class OutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_type", length = 100, nullable = false)
+    private String eventType; // Simple class name of the domain event, e.g. "EVSEStatusChangedEvent"
+
+    @Column(name = "aggregate_type", length = 50, nullable = false)
+    private String aggregateType;
+
+    @Column(name = "aggregate_id")
+    private Long aggregateId;
+
+    @Lob
+    @Column(name = "payload", nullable = false)
+    private String payload; // JSON representation of the domain event
+
+    @Column(name = "occurred_on", nullable = false)
+    private LocalDateTime occurredOn;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt; // Null until the relay has delivered the message
+
+    /**
+     * Constructor for recording a new outbox message.
+     *
+     * @param eventType     The simple class name of the domain event.
+     * @param aggregateType The type of the aggregate the event belongs to.
+     * @param aggregateId   The ID of the aggregate the event belongs to.
+     * @param payload       The JSON representation of the event.
+     * @param occurredOn    The timestamp of when the event occurred.
+     */
+    public OutboxMessage(String eventType, String aggregateType, Long aggregateId, String payload, LocalDateTime occurredOn) {
+        this.eventType = eventType;
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.payload = payload;
+        this.occurredOn = occurredOn;
+    }
+}
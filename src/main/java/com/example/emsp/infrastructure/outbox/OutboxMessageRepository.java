@@ -0,0 +1,93 @@
+package com.example.emsp.infrastructure.outbox;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for OutboxMessage entities.
+ * Extends JpaRepository to provide standard CRUD operations.
+ */
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    /**
+     * Finds the candidates for the next batch, without claiming them.
+     * <p>
+     * IDs are assigned on insert, not on commit, so a message may still be uncommitted while later IDs are found;
+     * it is found by a later batch once it commits. The order is therefore the insertion order of the committed
+     * messages, not a global delivery order.
+     *
+     * @param pageable Limits the size of the batch.
+     * @return The IDs of the oldest undelivered messages, in ascending order.
+     */
+    @Query("SELECT m.id FROM OutboxMessage m WHERE m.publishedAt IS NULL ORDER BY m.id ASC")
+    List<Long> findUnpublishedIds(Pageable pageable);
+
+    /**
+     * Claims undelivered messages with {@code SELECT ... FOR UPDATE SKIP LOCKED}: the rows stay locked until the
+     * calling transaction ends, and concurrent relays skip them instead of delivering them too. Must be called
+     * within a transaction.
+     * <p>
+     * Native, as Hibernate's H2 dialect ignores a skip-locked lock timeout; the statement runs as is on H2, MySQL 8
+     * and PostgreSQL. It selects by ID rather than with a LIMIT, as H2 applies the LIMIT before skipping locked rows.
+     *
+     * @param ids The candidates, from {@link #findUnpublishedIds}.
+     * @return The candidates that are still undelivered and not claimed by another transaction, ordered by ID.
+     */
+    @Query(value = "SELECT * FROM outbox_messages WHERE id IN (:ids) AND published_at IS NULL ORDER BY id FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<OutboxMessage> claimUnpublished(Collection<Long> ids);
+
+    /**
+     * @return The ID of the oldest message still in the outbox, or null if it is empty.
+     */
+    @Query("SELECT MIN(m.id) FROM OutboxMessage m")
+    Long findMinId();
+
+    /**
+     * @return The ID of the newest message in the outbox, or null if it is empty.
+     */
+    @Query("SELECT MAX(m.id) FROM OutboxMessage m")
+    Long findMaxId();
+
+    /**
+     * Finds the aggregates changed after a point in the outbox.
+     *
+     * @param afterId Messages with a greater ID are included.
+     * @param since   Messages that occurred after this timestamp are included as well, whatever their ID.
+     * @return Distinct {@code [aggregateType, aggregateId]} pairs.
+     */
+    @Query("SELECT DISTINCT m.aggregateType, m.aggregateId FROM OutboxMessage m WHERE m.id > :afterId OR m.occurredOn > :since")
+    List<Object[]> findAggregatesChangedAfter(long afterId, LocalDateTime since);
+
+    /**
+     * Marks the given messages as delivered.
+     *
+     * @param ids         The IDs of the delivered messages.
+     * @param publishedAt The delivery timestamp.
+     * @return The number of updated messages.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboxMessage m SET m.publishedAt = :publishedAt WHERE m.id IN :ids")
+    int markPublished(Collection<Long> ids, LocalDateTime publishedAt);
+
+    /**
+     * Deletes delivered messages published before the given timestamp.
+     *
+     * @param cutoff Messages published before this timestamp are removed.
+     * @return The number of deleted messages.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OutboxMessage m WHERE m.publishedAt < :cutoff")
+    int deletePublishedBefore(LocalDateTime cutoff);
+}
@@ -0,0 +1,99 @@
+package com.example.emsp.infrastructure.outbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Drains the outbox into the configured {@link OutboxSink}.
+ * Each batch is claimed, delivered and marked as published in one transaction, whose row locks keep other
+ * instances' relays from delivering it too. If the sink fails, the transaction rolls back and the relay stops;
+ * the same messages are claimed again on its next run. Delivery is therefore at-least-once, and consumers
+ * should de-duplicate by outbox ID.
+ * <p>
+ * There is no global delivery order: messages are delivered by ID, but IDs are assigned on insert rather than
+ * on commit, and concurrent relays deliver different batches at the same time. Consumers needing the order
+ * of one aggregate's events should use their {@code occurredOn}.
+ */
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final OutboxSink outboxSink;
+    private final TransactionTemplate batchTransaction;
+    private final int batchSize;
+    private final Duration retention;
+
+    public OutboxRelay(OutboxMessageRepository outboxMessageRepository, OutboxSink outboxSink,
+                       PlatformTransactionManager transactionManager, int batchSize, Duration retention) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.outboxSink = outboxSink;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.retention = retention;
+    }
+
+    /**
+     * Delivers pending outbox messages until the outbox is drained, or holds only messages claimed by
+     * other relays, or the sink fails.
+     *
+     * @return The number of messages delivered during this run.
+     */
+    @Scheduled(fixedDelayString = "${emsp.outbox.relay.interval-ms:500}")
+    public int relayPendingMessages() {
+        int delivered = 0;
+        int batch;
+        do {
+            try {
+                batch = batchTransaction.execute(status -> relayBatch());
+            } catch (RuntimeException ex) {
+                logger.error("Failed to relay outbox messages; will retry them on the next run", ex);
+                break;
+            }
+            delivered += batch;
+        } while (batch == batchSize);
+        if (delivered > 0) {
+            logger.debug("Relayed {} outbox message(s)", delivered);
+        }
+        return delivered;
+    }
+
+    /**
+     * Claims, delivers and marks one batch, within the caller's transaction. Candidates claimed by another relay
+     * are skipped, so the batch falls short and this run ends, leaving the rest of the outbox to that relay.
+     *
+     * @return The number of messages delivered.
+     */
+    private int relayBatch() {
+        List<Long> candidates = outboxMessageRepository.findUnpublishedIds(PageRequest.of(0, batchSize));
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+        List<OutboxMessage> batch = outboxMessageRepository.claimUnpublished(candidates);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        outboxSink.deliver(batch);
+        outboxMessageRepository.markPublished(batch.stream().map(OutboxMessage::getId).toList(), LocalDateTime.now());
+        return batch.size();
+    }
+
+    /**
+     * Removes published messages once they are older than the retention period.
+     */
+    @Scheduled(fixedDelayString = "${emsp.outbox.purge-interval-ms:3600000}")
+    public void purgePublishedMessages() {
+        int purged = outboxMessageRepository.deletePublishedBefore(LocalDateTime.now().minus(retention));
+        if (purged > 0) {
+            logger.info("Purged {} published outbox message(s)", purged);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.emsp.infrastructure.outbox;
+
+import java.util.List;
+
+/**
+ * Destination to which the {@link OutboxRelay} delivers recorded domain events.
+ * Implementations receive batches in outbox order and must either deliver the whole batch
+ * or throw, in which case the batch is retried on the next relay run (at-least-once delivery).
+ */
+public interface OutboxSink {
+
+    /**
+     * Delivers a batch of outbox messages.
+     *
+     * @param messages The messages to deliver, ordered by outbox ID.
+     */
+    void deliver(List<OutboxMessage> messages);
+}
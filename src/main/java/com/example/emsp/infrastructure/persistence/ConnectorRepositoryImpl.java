@@ -0,0 +1,72 @@
+package com.example.emsp.infrastructure.persistence;
+
+import com.example.emsp.domain.location.Connector;
+import com.example.emsp.domain.location.ConnectorRepositoryCustom;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC implementation of {@link ConnectorRepositoryCustom}.
+ * Connector IDs use IDENTITY generation, which stops Hibernate from batching inserts,
+ * so bulk inserts go through JdbcTemplate batches and read the generated keys back.
+ * The statements join the surrounding JPA transaction.
+ * Registered as the {@code connectorRepositoryImpl} bean, which Spring Data picks up by name
+ * as the custom implementation of {@link com.example.emsp.domain.location.ConnectorRepository}.
+ * On MySQL, add {@code rewriteBatchedStatements=true} to the JDBC URL so each batch becomes one multi-row insert.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ConnectorRepositoryImpl implements ConnectorRepositoryCustom {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO connectors (standard_id, power_level_w, voltage_mv, evse_id, last_updated) VALUES (?, ?, ?, ?, ?)";
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ConnectorStandardDictionary connectorStandardDictionary;
+
+    @Override
+    public void insertAll(List<Connector> connectors) {
+        for (int from = 0; from < connectors.size(); from += BATCH_SIZE) {
+            List<Connector> batch = connectors.subList(from, Math.min(from + BATCH_SIZE, connectors.size()));
+            short[] standardIds = new short[batch.size()]; // Resolved up front, as new standards are registered in their own transaction
+            for (int i = 0; i < batch.size(); i++) {
+                standardIds[i] = connectorStandardDictionary.idOf(batch.get(i).getStandard());
+            }
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            Connector connector = batch.get(i);
+                            ps.setShort(1, standardIds[i]);
+                            ps.setInt(2, connector.getPowerLevelWatts());
+                            ps.setInt(3, connector.getVoltageMillivolts());
+                            ps.setLong(4, connector.getEvse().getId());
+                            ps.setTimestamp(5, Timestamp.valueOf(connector.getLastUpdated()));
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return batch.size();
+                        }
+                    },
+                    keyHolder);
+
+            List<Map<String, Object>> keys = keyHolder.getKeyList();
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).setId(((Number) keys.get(i).values().iterator().next()).longValue());
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.emsp.infrastructure.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Dictionary row mapping a connector standard name to the small integer key stored on each connector row.
+ * Rows are read and written through {@link ConnectorStandardDictionary}; the entity defines the table.
+ */
+@Entity
+@Table(name = "connector_standards")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED) // Protected constructor for JPA
+public class ConnectorStandard {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Short id;
+
+    @Column(name = "name", length = 100, nullable = false, unique = true)
+    private String name; // e.g., "IEC_62196_T2", "CHADEMO", "CCS_TYPE_2"
+}
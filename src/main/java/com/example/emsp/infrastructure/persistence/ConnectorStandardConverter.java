@@ -0,0 +1,31 @@
+package com.example.emsp.infrastructure.persistence;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Stores a connector standard name as its small integer key in the {@code connector_standards} dictionary,
+ * instead of repeating the name on every connector row.
+ * Instantiated by Hibernate through Spring's bean container; the dictionary is resolved lazily because
+ * it is not available yet while the entity manager factory is being built.
+ */
+@Converter
+public class ConnectorStandardConverter implements AttributeConverter<String, Short> {
+
+    private final ObjectProvider<ConnectorStandardDictionary> dictionary;
+
+    public ConnectorStandardConverter(ObjectProvider<ConnectorStandardDictionary> dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    @Override
+    public Short convertToDatabaseColumn(String standard) {
+        return standard == null ? null : dictionary.getObject().idOf(standard);
+    }
+
+    @Override
+    public String convertToEntityAttribute(Short id) {
+        return id == null ? null : dictionary.getObject().nameOf(id);
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.emsp.infrastructure.persistence;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory, write-through cache of the {@code connector_standards} dictionary.
+ * The handful of distinct standards is looked up without touching the database; an unknown name is
+ * inserted in its own transaction, so its key stays valid even if the transaction creating the
+ * connector rolls back.
+ */
+@Component
+public class ConnectorStandardDictionary {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate newTransaction;
+    private final Map<String, Short> idsByName = new ConcurrentHashMap<>();
+    private final Map<Short, String> namesById = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock(); // Held across queries, so not a monitor that would pin a virtual thread
+
+    public ConnectorStandardDictionary(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Returns the key of a standard, registering the standard if it is new.
+     *
+     * @param name The standard name.
+     * @return The key stored on connector rows.
+     */
+    public short idOf(String name) {
+        Short id = idsByName.get(name);
+        return id != null ? id : register(name);
+    }
+
+    /**
+     * Returns the name of a standard.
+     *
+     * @param id The key stored on a connector row.
+     * @return The standard name.
+     * @throws IllegalStateException if no standard has the key.
+     */
+    public String nameOf(short id) {
+        String name = namesById.get(id);
+        if (name == null) {
+            reload(); // Registered by another instance
+            name = namesById.get(id);
+            if (name == null) {
+                throw new IllegalStateException("Unknown connector standard key: " + id);
+            }
+        }
+        return name;
+    }
+
+    private short register(String name) {
+        lock.lock();
+        try {
+            Short id = idsByName.get(name);
+            if (id != null) {
+                return id;
+            }
+            id = newTransaction.execute(status -> {
+                List<Short> existing = selectId(name);
+                if (existing.isEmpty()) {
+                    try {
+                        jdbcTemplate.update("INSERT INTO connector_standards (name) VALUES (?)", name);
+                    } catch (DuplicateKeyException e) {
+                        // Inserted concurrently by another instance; read its key below
+                    }
+                    existing = selectId(name);
+                }
+                return existing.get(0);
+            });
+            cache(id, name);
+            return id;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<Short> selectId(String name) {
+        return jdbcTemplate.queryForList("SELECT id FROM connector_standards WHERE name = ?", Short.class, name);
+    }
+
+    private void reload() {
+        lock.lock();
+        try {
+            jdbcTemplate.query("SELECT id, name FROM connector_standards",
+                    (RowCallbackHandler) rs -> cache(rs.getShort("id"), rs.getString("name")));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void cache(short id, String name) {
+        idsByName.put(name, id);
+        namesById.put(id, name);
+    }
+}
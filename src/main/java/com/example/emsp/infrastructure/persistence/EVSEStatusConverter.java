@@ -0,0 +1,51 @@
+package com.example.emsp.infrastructure.persistence;
+
+import com.example.emsp.domain.evse.EVSEStatus;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores {@link EVSEStatus} as a one-byte code (TINYINT) instead of its name.
+ * Codes are fixed here rather than derived from the enum's ordinals, so reordering the enum does not
+ * change the meaning of stored rows; a new status needs a new, unused code.
+ * The status history files use the same codes.
+ */
+@Converter
+public class EVSEStatusConverter implements AttributeConverter<EVSEStatus, Byte> {
+
+    @Override
+    public Byte convertToDatabaseColumn(EVSEStatus status) {
+        return status == null ? null : (byte) codeOf(status);
+    }
+
+    @Override
+    public EVSEStatus convertToEntityAttribute(Byte code) {
+        return code == null ? null : fromCode(code);
+    }
+
+    /**
+     * @return The fixed code of a status.
+     */
+    public static int codeOf(EVSEStatus status) {
+        return switch (status) {
+            case AVAILABLE -> 0;
+            case BLOCKED -> 1;
+            case INOPERATIVE -> 2;
+            case REMOVED -> 3;
+        };
+    }
+
+    /**
+     * @return The status with the given code.
+     * @throws IllegalStateException if no status has the code.
+     */
+    public static EVSEStatus fromCode(int code) {
+        return switch (code) {
+            case 0 -> EVSEStatus.AVAILABLE;
+            case 1 -> EVSEStatus.BLOCKED;
+            case 2 -> EVSEStatus.INOPERATIVE;
+            case 3 -> EVSEStatus.REMOVED;
+            default -> throw new IllegalStateException("Unknown EVSE status code: " + code);
+        };
+    }
+}
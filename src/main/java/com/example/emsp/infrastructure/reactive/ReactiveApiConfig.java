@@ -0,0 +1,75 @@
+package com.example.emsp.infrastructure.reactive;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the reactive read API: the queries with their R2DBC connection pool, and a Netty server
+ * for the functional routes of {@link com.example.emsp.interfaces.reactive.ReactiveLocationRouter}.
+ * <p>
+ * Spring Boot's R2DBC auto-configuration is excluded in {@link com.example.emsp.EmspApplication}: its reactive
+ * transaction manager would make {@code @Transactional} ambiguous next to JPA's, and the queries here need no
+ * transactions. The pool is configured by {@code emsp.reactive-api.r2dbc.*} instead of {@code spring.r2dbc.*}
+ * for that reason, and must point at the database of {@code spring.datasource.url}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "emsp.reactive-api.enabled", havingValue = "true")
+public class ReactiveApiConfig {
+
+    /**
+     * The queries own their R2DBC connection pool, which is deliberately not a bean: a {@code ConnectionFactory}
+     * in the context would make Spring Boot's DataSource auto-configuration back off, taking JPA with it.
+     * The pool is disposed when the queries are closed.
+     */
+    @Bean
+    public ReactiveLocationQueries reactiveLocationQueries(
+            @Value("${emsp.reactive-api.r2dbc.url}") String url,
+            @Value("${emsp.reactive-api.r2dbc.username:${spring.datasource.username:}}") String username,
+            @Value("${emsp.reactive-api.r2dbc.password:${spring.datasource.password:}}") String password,
+            @Value("${emsp.reactive-api.r2dbc.pool.max-size:10}") int maxSize,
+            @Value("${emsp.reactive-api.r2dbc.pool.max-idle-time:PT30M}") Duration maxIdleTime,
+            @Value("${emsp.reactive-api.chunk-size:100}") int chunkSize) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        ConnectionPool pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("emsp-reactive")
+                .initialSize(0)
+                .maxSize(maxSize)
+                .maxIdleTime(maxIdleTime)
+                .build());
+        return new ReactiveLocationQueries(pool, chunkSize);
+    }
+
+    /**
+     * Encodes with the codecs customized by Spring Boot, so JSON is written by the same ObjectMapper as the MVC API.
+     */
+    @Bean
+    public ReactiveApiServer reactiveApiServer(
+            ObjectProvider<RouterFunction<ServerResponse>> routes,
+            ObjectProvider<CodecCustomizer> codecCustomizers,
+            @Value("${emsp.reactive-api.port:8081}") int port) {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(configurer -> codecCustomizers.orderedStream().forEach(customizer -> customizer.customize(configurer)))
+                .build();
+        RouterFunction<ServerResponse> router = routes.orderedStream()
+                .reduce(RouterFunction::and)
+                .orElseThrow(() -> new IllegalStateException("The reactive read API has no routes"));
+        return new ReactiveApiServer(port, RouterFunctions.toHttpHandler(router, strategies));
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.emsp.infrastructure.reactive;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.server.reactive.HttpHandler;
+
+/**
+ * The Netty server of the reactive read API, running next to Tomcat on a port of its own.
+ * Spring Boot starts a single web server per application, a servlet one here, so this one follows the lifecycle of
+ * the application context instead: it accepts requests once the context has started and stops before it closes.
+ * <p>
+ * Requests are handled on Netty's event loops, one thread per processor, which never block: responses are written
+ * as the client reads them, and the next Locations are queried only when there is room to write them.
+ */
+public class ReactiveApiServer implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveApiServer.class);
+
+    private final WebServer webServer;
+    private volatile boolean running;
+
+    public ReactiveApiServer(int port, HttpHandler httpHandler) {
+        this.webServer = new NettyReactiveWebServerFactory(port).getWebServer(httpHandler);
+    }
+
+    @Override
+    public void start() {
+        webServer.start();
+        running = true;
+        logger.info("Reactive read API listening on port {}", webServer.getPort());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        webServer.stop();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * @return The port the server listens on, once started; useful when it was configured as 0.
+     */
+    public int getPort() {
+        return webServer.getPort();
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.emsp.infrastructure.reactive;
+
+import com.example.emsp.application.readmodel.ConnectorView;
+import com.example.emsp.application.readmodel.EVSEView;
+import com.example.emsp.application.readmodel.LocationView;
+import com.example.emsp.infrastructure.persistence.EVSEStatusConverter;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Non-blocking queries of Locations with their EVSEs and Connectors over R2DBC, for the reactive read API.
+ * <p>
+ * The feed is read in keyset chunks of {@code chunkSize} Locations, ordered by last update and ID, each loaded with
+ * three queries (Locations, their EVSEs, and their Connectors joined with the standard names). A chunk is queried
+ * only once the one before it has been handed downstream, so a slow consumer holds back the database instead of
+ * buffering the feed, and holds no connection while it reads: at most one chunk is queried ahead of it.
+ * <p>
+ * Chunks are not read in one transaction, so a Location changing during a stream moves to its new position:
+ * it appears again later in the stream if it moved past the cursor, like in successive pages of the MVC feed.
+ * <p>
+ * The queries own their connection pool and dispose it when closed.
+ */
+public class ReactiveLocationQueries implements AutoCloseable {
+
+    private static final String LOCATION_COLUMNS = "id, name, address, latitude, longitude, opens_at, closes_at, last_updated";
+    private static final EVSEStatusConverter STATUS_CONVERTER = new EVSEStatusConverter();
+
+    private final ConnectionPool connectionPool;
+    private final DatabaseClient databaseClient;
+    private final int chunkSize;
+
+    public ReactiveLocationQueries(ConnectionPool connectionPool, int chunkSize) {
+        this.connectionPool = connectionPool;
+        this.databaseClient = DatabaseClient.create(connectionPool);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Disposes the connection pool rather than closing it: the pool's {@code close()} only returns a publisher
+     * that would have to be subscribed.
+     */
+    @Override
+    public void close() {
+        connectionPool.dispose();
+    }
+
+    /**
+     * Streams the Locations last updated strictly after a timestamp, ordered by last update (then ID),
+     * like the MVC feed but without pages.
+     *
+     * @param lastUpdated The exclusive lower bound, or null for all Locations.
+     * @return The Locations with their EVSEs and Connectors, read as they are requested.
+     */
+    public Flux<LocationView> findUpdatedAfter(LocalDateTime lastUpdated) {
+        Mono<Chunk> first = lastUpdated == null
+                ? chunk(databaseClient.sql("SELECT " + LOCATION_COLUMNS + " FROM locations"
+                        + " ORDER BY last_updated, id LIMIT " + chunkSize))
+                : chunk(databaseClient.sql("SELECT " + LOCATION_COLUMNS + " FROM locations"
+                        + " WHERE last_updated > :lastUpdated ORDER BY last_updated, id LIMIT " + chunkSize)
+                        .bind("lastUpdated", lastUpdated));
+        return first
+                .expand(chunk -> chunk.last() ? Mono.empty() : chunkAfter(chunk.cursor()))
+                .concatMapIterable(Chunk::locations, 1);
+    }
+
+    /**
+     * Finds a Location with its EVSEs and Connectors.
+     *
+     * @param locationId The ID of the Location.
+     * @return The Location, or an empty Mono if it does not exist.
+     */
+    public Mono<LocationView> findById(long locationId) {
+        return chunk(databaseClient.sql("SELECT " + LOCATION_COLUMNS + " FROM locations WHERE id = :id")
+                .bind("id", locationId))
+                .map(chunk -> chunk.locations().get(0));
+    }
+
+    private Mono<Chunk> chunkAfter(LocationView cursor) {
+        return chunk(databaseClient.sql("SELECT " + LOCATION_COLUMNS + " FROM locations"
+                        + " WHERE last_updated > :lastUpdated OR (last_updated = :lastUpdated AND id > :id)"
+                        + " ORDER BY last_updated, id LIMIT " + chunkSize)
+                .bind("lastUpdated", cursor.lastUpdated())
+                .bind("id", cursor.id()));
+    }
+
+    /**
+     * Runs a query of Locations and loads their EVSEs and Connectors.
+     *
+     * @return The chunk, or an empty Mono if the query found no Locations.
+     */
+    private Mono<Chunk> chunk(DatabaseClient.GenericExecuteSpec locationQuery) {
+        return locationQuery.map(ReactiveLocationQueries::locationRow).all()
+                .collectList()
+                .filter(rows -> !rows.isEmpty())
+                .flatMap(rows -> {
+                    List<Long> ids = rows.stream().map(LocationRow::id).toList();
+                    return Mono.zip(evsesByLocation(ids), connectorsByEvse(ids))
+                            .map(children -> new Chunk(assemble(rows, children.getT1(), children.getT2()), rows.size() < chunkSize));
+                });
+    }
+
+    private Mono<Map<Long, List<EVSERow>>> evsesByLocation(List<Long> locationIds) {
+        return databaseClient.sql("SELECT id, evse_id_value, status, location_id, last_updated FROM evses"
+                        + " WHERE location_id IN (:locationIds) ORDER BY id")
+                .bind("locationIds", locationIds)
+                .map(row -> new EVSERow(row.get("id", Long.class), row.get("evse_id_value", String.class),
+                        row.get("status", Byte.class), row.get("location_id", Long.class),
+                        row.get("last_updated", LocalDateTime.class)))
+                .all()
+                .collectMultimap(EVSERow::locationId)
+                .map(ReactiveLocationQueries::asLists);
+    }
+
+    private Mono<Map<Long, List<ConnectorView>>> connectorsByEvse(List<Long> locationIds) {
+        return databaseClient.sql("SELECT c.id, s.name AS standard, c.power_level_w, c.voltage_mv, c.evse_id, c.last_updated"
+                        + " FROM connectors c JOIN evses e ON e.id = c.evse_id JOIN connector_standards s ON s.id = c.standard_id"
+                        + " WHERE e.location_id IN (:locationIds) ORDER BY c.id")
+                .bind("locationIds", locationIds)
+                .map(row -> new ConnectorView(row.get("id", Long.class), row.get("standard", String.class),
+                        row.get("power_level_w", Integer.class) / 1000.0, row.get("voltage_mv", Integer.class) / 1000.0,
+                        row.get("evse_id", Long.class), row.get("last_updated", LocalDateTime.class)))
+                .all()
+                .collectMultimap(ConnectorView::evseId)
+                .map(ReactiveLocationQueries::asLists);
+    }
+
+    private static List<LocationView> assemble(List<LocationRow> rows, Map<Long, List<EVSERow>> evsesByLocation,
+                                               Map<Long, List<ConnectorView>> connectorsByEvse) {
+        List<LocationView> locations = new ArrayList<>(rows.size());
+        for (LocationRow row : rows) {
+            List<EVSEView> evses = new ArrayList<>();
+            for (EVSERow evse : evsesByLocation.getOrDefault(row.id(), List.of())) {
+                evses.add(new EVSEView(evse.id(), evse.evseId(), STATUS_CONVERTER.convertToEntityAttribute(evse.status()),
+                        evse.locationId(), connectorsByEvse.getOrDefault(evse.id(), List.of()), evse.lastUpdated()));
+            }
+            // Not read from the catalog read model, so there is no read-model version
+            locations.add(new LocationView(row.id(), row.name(), row.address(), row.latitude(), row.longitude(),
+                    row.opensAt(), row.closesAt(), evses, row.lastUpdated(), 0));
+        }
+        return locations;
+    }
+
+    private static LocationRow locationRow(Readable row) {
+        return new LocationRow(row.get("id", Long.class), row.get("name", String.class), row.get("address", String.class),
+                row.get("latitude", Double.class), row.get("longitude", Double.class),
+                row.get("opens_at", LocalTime.class), row.get("closes_at", LocalTime.class),
+                row.get("last_updated", LocalDateTime.class));
+    }
+
+    private static <T> Map<Long, List<T>> asLists(Map<Long, ? extends Collection<T>> multimap) {
+        Map<Long, List<T>> lists = new HashMap<>(multimap.size() * 2);
+        multimap.forEach((key, values) -> lists.put(key, List.copyOf(values)));
+        return lists;
+    }
+
+    private record LocationRow(Long id, String name, String address, double latitude, double longitude,
+                               LocalTime opensAt, LocalTime closesAt, LocalDateTime lastUpdated) {
+    }
+
+    private record EVSERow(Long id, String evseId, Byte status, Long locationId, LocalDateTime lastUpdated) {
+    }
+
+    /**
+     * Locations of one query, in order.
+     *
+     * @param locations The Locations; never empty.
+     * @param last      Whether the query found fewer Locations than asked for, so no further chunk is needed.
+     */
+    private record Chunk(List<LocationView> locations, boolean last) {
+
+        LocationView cursor() {
+            return locations.get(locations.size() - 1);
+        }
+    }
+}
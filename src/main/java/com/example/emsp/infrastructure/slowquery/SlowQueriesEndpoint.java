@@ -0,0 +1,42 @@
+package com.example.emsp.infrastructure.slowquery;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+/**
+ * Actuator endpoint over the {@link SlowQueryMonitor}.
+ * {@code GET /actuator/slowqueries?limit=10} lists the query shapes with the highest 99th percentile latency,
+ * with their execution counts, percentiles, plan and latest slow execution; {@code DELETE /actuator/slowqueries}
+ * starts over, e.g. before a load test.
+ */
+@Endpoint(id = "slowqueries")
+public class SlowQueriesEndpoint {
+
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final SlowQueryMonitor monitor;
+
+    public SlowQueriesEndpoint(SlowQueryMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    /**
+     * @param droppedReports Slow statements not logged because the reporting queue was full.
+     */
+    public record SlowQueriesReport(List<SlowQueryMonitor.QueryShape> shapes, long droppedReports) {
+    }
+
+    @ReadOperation
+    public SlowQueriesReport slowestShapes(@Nullable Integer limit) {
+        return new SlowQueriesReport(monitor.slowestShapes(limit != null && limit > 0 ? limit : DEFAULT_LIMIT), monitor.droppedReports());
+    }
+
+    @DeleteOperation
+    public void reset() {
+        monitor.reset();
+    }
+}
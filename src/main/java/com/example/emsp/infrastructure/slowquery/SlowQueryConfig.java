@@ -0,0 +1,38 @@
+package com.example.emsp.infrastructure.slowquery;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration for slow-query detection, replacing {@code spring.jpa.show-sql}.
+ * Statements taking at least {@code emsp.slow-query.threshold} are logged asynchronously with their bind
+ * parameters, calling method and plan; {@code /actuator/slowqueries} ranks the query shapes by latency.
+ * Switched off with {@code emsp.slow-query.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "emsp.slow-query.enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryConfig {
+
+    @Bean(destroyMethod = "close")
+    public SlowQueryMonitor slowQueryMonitor(
+            @Value("${emsp.slow-query.threshold:PT0.1S}") Duration threshold,
+            @Value("${emsp.slow-query.queue-capacity:1000}") int queueCapacity,
+            @Value("${emsp.slow-query.max-statements:1000}") int maxStatements,
+            @Value("${emsp.slow-query.explain:true}") boolean explain) {
+        return new SlowQueryMonitor(threshold, queueCapacity, maxStatements, explain);
+    }
+
+    @Bean
+    public SlowQueryStatementListener slowQueryStatementListener(SlowQueryMonitor slowQueryMonitor) {
+        return new SlowQueryStatementListener(slowQueryMonitor);
+    }
+
+    @Bean
+    public SlowQueriesEndpoint slowQueriesEndpoint(SlowQueryMonitor slowQueryMonitor) {
+        return new SlowQueriesEndpoint(slowQueryMonitor);
+    }
+}
@@ -0,0 +1,321 @@
+package com.example.emsp.infrastructure.slowquery;
+
+import com.example.emsp.infrastructure.jdbc.StatementInterceptionPostProcessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps latency statistics per SQL statement and reports the slow ones.
+ * <p>
+ * Every statement executed through a monitored DataSource is counted in a histogram of its SQL, which is a lookup
+ * and a few atomic increments. A statement taking at least the threshold is also handed to a background thread
+ * with its bind parameters and the application method that issued it; the thread logs it and, the first time
+ * its query shape is slow, collects the plan with {@code EXPLAIN} on H2 or MySQL. When the queue of slow statements
+ * is full, further ones are counted but not logged, so a database slowdown cannot back up into the requests.
+ * <p>
+ * Statements are grouped into query shapes by replacing literals and the parameters of IN lists with a single
+ * {@code ?}. The number of distinct statements tracked is bounded; beyond it, statements are counted as one.
+ */
+public class SlowQueryMonitor implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlowQueryMonitor.class);
+
+    static final String OTHER_STATEMENTS = "<other statements>";
+    private static final String APPLICATION_PACKAGE = "com.example.emsp.application.";
+    private static final String BASE_PACKAGE = "com.example.emsp.";
+    private static final int MAX_PARAMETER_LENGTH = 100;
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern EXPLAINABLE = Pattern.compile("^\\s*(select|with|update|delete)\\b", Pattern.CASE_INSENSITIVE);
+
+    private final long thresholdNanos;
+    private final int maxStatements;
+    private final boolean explain;
+    private final Map<String, StatementStats> statements = new ConcurrentHashMap<>();
+    private volatile StatementStats otherStatements = new StatementStats(OTHER_STATEMENTS);
+    private final Map<String, String> plans = new ConcurrentHashMap<>();
+    private final LongAdder droppedReports = new LongAdder();
+    private final ThreadPoolExecutor reporter;
+
+    /**
+     * A slow execution of a statement.
+     *
+     * @param at         When it finished.
+     * @param millis     How long it took.
+     * @param caller     The application method that issued it, e.g. {@code EVSEApplicationService.changeEVSEStatus}.
+     * @param parameters The bind parameters, in order.
+     */
+    public record SlowExecution(Instant at, double millis, String caller, List<String> parameters) {
+    }
+
+    /**
+     * @param threshold     Statements taking at least this long are logged.
+     * @param queueCapacity Number of slow statements waiting to be logged before further ones are dropped.
+     * @param maxStatements Number of distinct SQL statements tracked.
+     * @param explain       Whether to collect plans.
+     */
+    public SlowQueryMonitor(Duration threshold, int queueCapacity, int maxStatements, boolean explain) {
+        this.thresholdNanos = threshold.toNanos();
+        this.maxStatements = maxStatements;
+        this.explain = explain;
+        this.reporter = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "slow-query-reporter");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, executor) -> droppedReports.increment());
+    }
+
+    /**
+     * Records one execution of a statement.
+     *
+     * @param sql        The SQL as sent to the driver.
+     * @param nanos      How long the execution took.
+     * @param parameters     The bind parameters by JDBC index (from 1), or null; only read if the statement was slow.
+     * @param parameterCount The number of bind parameters.
+     * @param dataSource     The DataSource to collect the plan with, bypassing the monitoring.
+     */
+    void record(String sql, long nanos, Object[] parameters, int parameterCount, DataSource dataSource) {
+        StatementStats stats = statements.get(sql);
+        if (stats == null) {
+            stats = statements.size() < maxStatements
+                    ? statements.computeIfAbsent(sql, key -> new StatementStats(shapeOf(key)))
+                    : otherStatements;
+        }
+        stats.histogram.record(nanos);
+        if (nanos >= thresholdNanos) {
+            stats.slowCount.increment();
+            // Copied, as the statement may be reused with other parameters
+            Object[] boundParameters = parameters != null ? Arrays.copyOfRange(parameters, 1, parameterCount + 1) : new Object[0];
+            SlowExecution execution = new SlowExecution(Instant.now(), nanos / 1e6, caller(), render(boundParameters));
+            stats.lastSlow = execution;
+            String shape = stats.shape;
+            reporter.execute(() -> report(sql, shape, execution, boundParameters, dataSource));
+        }
+    }
+
+    private void report(String sql, String shape, SlowExecution execution, Object[] parameters, DataSource dataSource) {
+        String plan = null;
+        if (explain && !shape.equals(OTHER_STATEMENTS) && !plans.containsKey(shape) && EXPLAINABLE.matcher(sql).find()) {
+            plan = explain(sql, parameters, dataSource);
+            plans.put(shape, plan);
+        }
+        if (plan != null) {
+            logger.warn("Slow query ({} ms) in {}: {} with parameters {}; plan:\n{}",
+                    String.format(Locale.ROOT, "%.1f", execution.millis()), execution.caller(), sql, execution.parameters(), plan);
+        } else {
+            logger.warn("Slow query ({} ms) in {}: {} with parameters {}",
+                    String.format(Locale.ROOT, "%.1f", execution.millis()), execution.caller(), sql, execution.parameters());
+        }
+    }
+
+    /**
+     * Runs {@code EXPLAIN} for a statement with its parameters, on the databases whose syntax is known.
+     *
+     * @return The plan, one line per row, or a note why there is none.
+     */
+    private static String explain(String sql, Object[] parameters, DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            String product = connection.getMetaData().getDatabaseProductName();
+            if (!product.equals("H2") && !product.equals("MySQL")) {
+                return "(EXPLAIN is not supported on " + product + ")";
+            }
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                for (int i = 0; i < parameters.length; i++) {
+                    statement.setObject(i + 1, parameters[i]);
+                }
+                try (ResultSet rows = statement.executeQuery()) {
+                    int columns = rows.getMetaData().getColumnCount();
+                    StringBuilder plan = new StringBuilder();
+                    while (rows.next()) {
+                        for (int i = 1; i <= columns; i++) {
+                            if (i > 1) {
+                                plan.append(" | ");
+                            }
+                            plan.append(rows.getString(i));
+                        }
+                        plan.append('\n');
+                    }
+                    return plan.toString().strip();
+                }
+            }
+        } catch (SQLException e) {
+            logger.debug("Failed to explain {}", sql, e);
+            return "(EXPLAIN failed: " + e.getMessage() + ")";
+        }
+    }
+
+    /**
+     * @return The innermost application service method on the stack, or else the innermost method of this
+     * application outside the monitoring, or "unknown".
+     */
+    private static String caller() {
+        return StackWalker.getInstance().walk(frames -> {
+            StackWalker.StackFrame firstOwn = null;
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                String className = frame.getClassName();
+                if (!className.startsWith(BASE_PACKAGE) || className.contains("$$")
+                        || isClassOrNested(className, SlowQueryMonitor.class)
+                        || isClassOrNested(className, SlowQueryStatementListener.class)
+                        || isClassOrNested(className, StatementInterceptionPostProcessor.class)) {
+                    continue;
+                }
+                if (className.startsWith(APPLICATION_PACKAGE)) {
+                    return describe(frame);
+                }
+                if (firstOwn == null) {
+                    firstOwn = frame;
+                }
+            }
+            return firstOwn != null ? describe(firstOwn) : "unknown";
+        });
+    }
+
+    /**
+     * Whether a class name is the given class or one nested in it, but not another class whose name merely
+     * starts the same (such as its test).
+     */
+    private static boolean isClassOrNested(String className, Class<?> type) {
+        String name = type.getName();
+        return className.equals(name) || className.startsWith(name + "$");
+    }
+
+    private static String describe(StackWalker.StackFrame frame) {
+        String className = frame.getClassName();
+        return className.substring(className.lastIndexOf('.') + 1) + "." + frame.getMethodName();
+    }
+
+    private static List<String> render(Object[] parameters) {
+        List<String> rendered = new ArrayList<>(parameters.length);
+        for (Object parameter : parameters) {
+            String text = parameter instanceof byte[] bytes ? "<" + bytes.length + " bytes>" : String.valueOf(parameter);
+            rendered.add(text.length() <= MAX_PARAMETER_LENGTH ? text : text.substring(0, MAX_PARAMETER_LENGTH) + "...");
+        }
+        return rendered;
+    }
+
+    /**
+     * @return The SQL with literals replaced by {@code ?} and IN lists collapsed, in lower case.
+     */
+    static String shapeOf(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?)");
+        return shape.replaceAll("\\s+", " ").strip().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Statistics of the statements of one query shape.
+     *
+     * @param sql        The query shape.
+     * @param count      Number of executions.
+     * @param slowCount  Number of executions at or above the threshold.
+     * @param plan       The plan collected for the first slow execution, or null.
+     * @param lastSlow   The latest slow execution, or null.
+     */
+    public record QueryShape(String sql, long count, long slowCount, double meanMillis, double p50Millis,
+                             double p95Millis, double p99Millis, double maxMillis, String plan, SlowExecution lastSlow) {
+    }
+
+    /**
+     * @param limit Maximum number of shapes.
+     * @return The query shapes with the highest 99th percentile latency, slowest first.
+     */
+    public List<QueryShape> slowestShapes(int limit) {
+        Map<String, LatencyHistogram> histograms = new LinkedHashMap<>();
+        Map<String, Long> slowCounts = new LinkedHashMap<>();
+        Map<String, SlowExecution> lastSlow = new LinkedHashMap<>();
+        List<StatementStats> all = new ArrayList<>(statements.values());
+        all.add(otherStatements);
+        for (StatementStats stats : all) {
+            if (stats.histogram.count() == 0) {
+                continue;
+            }
+            histograms.computeIfAbsent(stats.shape, shape -> new LatencyHistogram()).add(stats.histogram);
+            slowCounts.merge(stats.shape, stats.slowCount.sum(), Long::sum);
+            SlowExecution execution = stats.lastSlow;
+            if (execution != null) {
+                lastSlow.merge(stats.shape, execution, (a, b) -> a.at().isAfter(b.at()) ? a : b);
+            }
+        }
+        List<QueryShape> shapes = new ArrayList<>(histograms.size());
+        histograms.forEach((shape, histogram) -> shapes.add(new QueryShape(shape, histogram.count(), slowCounts.get(shape),
+                histogram.meanMicros() / 1000, histogram.percentileMicros(0.5) / 1000.0,
+                histogram.percentileMicros(0.95) / 1000.0, histogram.percentileMicros(0.99) / 1000.0,
+                histogram.maxMicros() / 1000.0, plans.get(shape), lastSlow.get(shape))));
+        shapes.sort(Comparator.comparingDouble(QueryShape::p99Millis).thenComparingDouble(QueryShape::maxMillis).reversed());
+        return shapes.subList(0, Math.min(limit, shapes.size()));
+    }
+
+    /**
+     * @return The number of slow statements not logged because the queue was full.
+     */
+    public long droppedReports() {
+        return droppedReports.sum();
+    }
+
+    /**
+     * Forgets all statistics and plans.
+     */
+    public void reset() {
+        statements.clear();
+        plans.clear();
+        otherStatements = new StatementStats(OTHER_STATEMENTS);
+    }
+
+    /**
+     * @return The plan collected for a query shape, if any.
+     */
+    Optional<String> plan(String shape) {
+        return Optional.ofNullable(plans.get(shape));
+    }
+
+    /**
+     * Waits for the slow statements queued so far to be reported; for tests.
+     */
+    void awaitReports() throws Exception {
+        reporter.submit(() -> {
+        }).get(10, TimeUnit.SECONDS); // Reports run in order on one thread
+    }
+
+    @Override
+    public void close() {
+        reporter.shutdown();
+    }
+
+    private static final class StatementStats {
+
+        private final String shape;
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final LongAdder slowCount = new LongAdder();
+        private volatile SlowExecution lastSlow;
+
+        StatementStats(String shape) {
+            this.shape = shape;
+        }
+    }
+}
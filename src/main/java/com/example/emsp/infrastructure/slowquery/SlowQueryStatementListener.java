@@ -0,0 +1,30 @@
+package com.example.emsp.infrastructure.slowquery;
+
+import com.example.emsp.infrastructure.jdbc.StatementListener;
+
+/**
+ * Hands each statement's execution time, SQL and bind parameters to the {@link SlowQueryMonitor}.
+ * A batch is timed as one execution with the parameters of its last row; statements without SQL,
+ * i.e. batches of plain statements, are not monitored.
+ */
+public class SlowQueryStatementListener implements StatementListener {
+
+    private final SlowQueryMonitor monitor;
+
+    public SlowQueryStatementListener(SlowQueryMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    @Override
+    public boolean capturesParameters() {
+        return true;
+    }
+
+    @Override
+    public void afterExecute(Execution execution, Object context, long elapsedNanos, Throwable failure) {
+        if (execution.sql() != null) {
+            monitor.record(execution.sql(), elapsedNanos, execution.parameters(), execution.parameterCount(),
+                    execution.dataSource());
+        }
+    }
+}
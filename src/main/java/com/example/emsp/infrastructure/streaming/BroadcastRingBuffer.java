@@ -0,0 +1,95 @@
+package com.example.emsp.infrastructure.streaming;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free, fixed-size ring buffer for one-to-many fan-out.
+ * <p>
+ * Producers claim a sequence number with a single atomic increment and publish an immutable slot,
+ * so publishing never waits for readers. Each reader keeps its own cursor (the next sequence it
+ * wants) and reads without coordination. A reader that falls more than {@code capacity} elements
+ * behind finds its slots overwritten and is told so via {@link #OVERRUN}, instead of holding producers back.
+ *
+ * @param <T> The type of the published elements.
+ */
+public class BroadcastRingBuffer<T> {
+
+    /** Returned by {@link #read} when the reader's next element has already been overwritten. */
+    public static final long OVERRUN = -1L;
+
+    private record Slot<T>(long sequence, T element) {}
+
+    private final AtomicReferenceArray<Slot<T>> slots;
+    private final int mask;
+    private final AtomicLong nextSequence = new AtomicLong();
+
+    /**
+     * @param capacity The number of slots; rounded up to the next power of two.
+     */
+    public BroadcastRingBuffer(int capacity) {
+        if (capacity < 1 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Ring buffer capacity out of range: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(Math.max(size, 1));
+        this.mask = slots.length() - 1;
+    }
+
+    /**
+     * Publishes an element, overwriting the oldest one once the buffer is full.
+     *
+     * @return The sequence number assigned to the element.
+     */
+    public long publish(T element) {
+        long sequence = nextSequence.getAndIncrement();
+        slots.set((int) (sequence & mask), new Slot<>(sequence, element));
+        return sequence;
+    }
+
+    /**
+     * @return The sequence number the next published element will receive.
+     *         A reader starting here sees only elements published from now on.
+     */
+    public long head() {
+        return nextSequence.get();
+    }
+
+    /**
+     * @return The number of slots in the buffer.
+     */
+    public int capacity() {
+        return slots.length();
+    }
+
+    /**
+     * Copies published elements starting at {@code cursor} into {@code out}.
+     * Stops at the first sequence that has been claimed but not yet published,
+     * so elements are always returned gap-free and in sequence order.
+     *
+     * @param cursor      The sequence of the next element the reader wants.
+     * @param maxElements The maximum number of elements to copy.
+     * @param out         Receives the elements.
+     * @return The reader's new cursor, or {@link #OVERRUN} if the element at {@code cursor} was overwritten.
+     */
+    public long read(long cursor, int maxElements, List<T> out) {
+        long sequence = cursor;
+        long limit = cursor + maxElements;
+        while (sequence < limit) {
+            Slot<T> slot = slots.get((int) (sequence & mask));
+            if (slot == null || slot.sequence() < sequence) {
+                break; // Not published yet
+            }
+            if (slot.sequence() > sequence) {
+                return OVERRUN;
+            }
+            out.add(slot.element());
+            sequence++;
+        }
+        if (sequence == cursor && nextSequence.get() - cursor > slots.length()) {
+            return OVERRUN; // Lapped while the slot at the cursor is still being rewritten
+        }
+        return sequence;
+    }
+}
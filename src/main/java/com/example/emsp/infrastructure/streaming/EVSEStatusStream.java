@@ -0,0 +1,226 @@
+package com.example.emsp.infrastructure.streaming;
+
+import com.example.emsp.domain.events.EVSEStatusChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans EVSE status changes out to Server-Sent Events subscribers.
+ * <p>
+ * Committed status changes are published into a {@link BroadcastRingBuffer}; publishing never waits
+ * for subscribers. A scheduled dispatcher hands every subscriber with pending changes to a small pool
+ * of writer threads, and each subscriber is written by at most one thread at a time. A subscriber
+ * that cannot keep up is lapped by the ring buffer and receives a single {@code resync} event instead
+ * of the changes it missed, after which it continues from the newest change. Clients should reload
+ * the current state when they receive {@code resync}.
+ * <p>
+ * Events are named {@code status} and carry the ring sequence as their ID, so a reconnecting
+ * EventSource resumes via {@code Last-Event-ID} as long as the missed changes are still buffered.
+ */
+@Component
+public class EVSEStatusStream {
+
+    private static final Logger logger = LoggerFactory.getLogger(EVSEStatusStream.class);
+
+    static final String STATUS_EVENT = "status";
+    static final String RESYNC_EVENT = "resync";
+
+    private final BroadcastRingBuffer<EVSEStatusChangedEvent> ringBuffer;
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final ExecutorService writers;
+    private final Counter resyncs;
+    private final long emitterTimeoutMs;
+    private final long heartbeatIntervalMs;
+    private final int maxBatchSize;
+
+    public EVSEStatusStream(
+            MeterRegistry meterRegistry,
+            @Value("${emsp.status-stream.buffer-size:65536}") int bufferSize,
+            @Value("${emsp.status-stream.writer-threads:4}") int writerThreads,
+            @Value("${emsp.status-stream.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+            @Value("${emsp.status-stream.heartbeat-interval-ms:15000}") long heartbeatIntervalMs,
+            @Value("${emsp.status-stream.max-batch-size:256}") int maxBatchSize) {
+        this.ringBuffer = new BroadcastRingBuffer<>(bufferSize);
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.heartbeatIntervalMs = heartbeatIntervalMs;
+        this.maxBatchSize = maxBatchSize;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.writers = Executors.newFixedThreadPool(writerThreads, task -> {
+            Thread thread = new Thread(task, "status-stream-writer-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.resyncs = Counter.builder("emsp.status-stream.resyncs")
+                .description("Subscribers that fell behind and were sent a resync event")
+                .register(meterRegistry);
+        Gauge.builder("emsp.status-stream.subscribers", subscriptions, Set::size)
+                .description("Open EVSE status stream subscriptions")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Publishes a committed status change to all subscribers.
+     *
+     * @param event The status change.
+     */
+    public void publish(EVSEStatusChangedEvent event) {
+        ringBuffer.publish(event);
+    }
+
+    /**
+     * Opens a subscription.
+     *
+     * @param locationIds Only changes of EVSEs at these locations are sent; {@code null} for all locations.
+     * @param lastEventId The {@code Last-Event-ID} sent by a reconnecting client, or {@code null}.
+     * @return The emitter to return from the controller.
+     */
+    public SseEmitter subscribe(Set<Long> locationIds, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscription subscription = new Subscription(emitter, locationIds);
+        long head = ringBuffer.head();
+        subscription.cursor = head;
+        if (lastEventId != null) {
+            long resumeAt = parseResumeSequence(lastEventId);
+            if (resumeAt >= 0 && resumeAt <= head && head - resumeAt <= ringBuffer.capacity()) {
+                subscription.cursor = resumeAt;
+            } else {
+                subscription.resyncPending = true;
+            }
+        }
+        emitter.onCompletion(() -> subscriptions.remove(subscription));
+        emitter.onTimeout(() -> subscriptions.remove(subscription));
+        emitter.onError(error -> subscriptions.remove(subscription));
+        subscriptions.add(subscription);
+        return emitter;
+    }
+
+    private static long parseResumeSequence(String lastEventId) {
+        try {
+            return Long.parseLong(lastEventId.trim()) + 1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Hands every subscriber with pending changes, or due for a heartbeat, to a writer thread.
+     * Subscribers still busy with an earlier write are skipped.
+     */
+    @Scheduled(fixedDelayString = "${emsp.status-stream.dispatch-interval-ms:50}")
+    public void dispatch() {
+        long head = ringBuffer.head();
+        long now = System.currentTimeMillis();
+        for (Subscription subscription : subscriptions) {
+            boolean due = subscription.cursor < head || subscription.resyncPending
+                    || now - subscription.lastWriteAt >= heartbeatIntervalMs;
+            if (due && subscription.busy.compareAndSet(false, true)) {
+                writers.execute(() -> drain(subscription));
+            }
+        }
+    }
+
+    private void drain(Subscription subscription) {
+        try {
+            if (subscription.resyncPending) {
+                sendResync(subscription);
+                return;
+            }
+            List<EVSEStatusChangedEvent> batch = new ArrayList<>();
+            long next = ringBuffer.read(subscription.cursor, maxBatchSize, batch);
+            if (next == BroadcastRingBuffer.OVERRUN) {
+                sendResync(subscription);
+                return;
+            }
+            long sequence = subscription.cursor;
+            for (EVSEStatusChangedEvent event : batch) {
+                if (subscription.accepts(event)) {
+                    subscription.emitter.send(SseEmitter.event()
+                            .id(Long.toString(sequence))
+                            .name(STATUS_EVENT)
+                            .data(event));
+                    subscription.lastWriteAt = System.currentTimeMillis();
+                }
+                sequence++;
+            }
+            subscription.cursor = next;
+            if (System.currentTimeMillis() - subscription.lastWriteAt >= heartbeatIntervalMs) {
+                subscription.emitter.send(SseEmitter.event().comment("heartbeat"));
+                subscription.lastWriteAt = System.currentTimeMillis();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away or the emitter already completed
+            subscriptions.remove(subscription);
+            subscription.emitter.completeWithError(e);
+        } finally {
+            subscription.busy.set(false);
+        }
+    }
+
+    private void sendResync(Subscription subscription) throws IOException {
+        long head = ringBuffer.head();
+        subscription.cursor = head;
+        subscription.resyncPending = false;
+        resyncs.increment();
+        SseEmitter.SseEventBuilder resync = SseEmitter.event().name(RESYNC_EVENT).data("Status changes were missed; reload the current state.");
+        if (head > 0) {
+            resync.id(Long.toString(head - 1));
+        }
+        subscription.emitter.send(resync);
+        subscription.lastWriteAt = System.currentTimeMillis();
+    }
+
+    /**
+     * @return The number of open subscriptions.
+     */
+    public int subscriberCount() {
+        return subscriptions.size();
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        for (Subscription subscription : subscriptions) {
+            subscription.emitter.complete();
+        }
+        writers.shutdown();
+        if (!writers.awaitTermination(5, TimeUnit.SECONDS)) {
+            logger.warn("Status stream writers did not finish within 5 seconds");
+        }
+    }
+
+    private static final class Subscription {
+        final SseEmitter emitter;
+        final Set<Long> locationIds;
+        final AtomicBoolean busy = new AtomicBoolean();
+        volatile long cursor;
+        volatile boolean resyncPending;
+        volatile long lastWriteAt = System.currentTimeMillis();
+
+        Subscription(SseEmitter emitter, Set<Long> locationIds) {
+            this.emitter = emitter;
+            this.locationIds = locationIds;
+        }
+
+        boolean accepts(EVSEStatusChangedEvent event) {
+            return locationIds == null || locationIds.contains(event.getLocationId());
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.emsp.infrastructure.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * Span exporter that appends each span as one JSON line to a local file, with its trace and parent IDs,
+ * start time, duration in microseconds and tags. Spans of one trace can be collected with e.g. {@code grep <traceId>}.
+ */
+public class FileSpanExporter implements SpanExporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileSpanExporter.class);
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+
+    public FileSpanExporter(Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (SpanData span : spans) {
+                    writer.write(objectMapper.writeValueAsString(toJson(span)));
+                    writer.write('\n');
+                }
+            }
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            logger.warn("Failed to write {} spans to {}", spans.size(), path, e);
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    private ObjectNode toJson(SpanData span) {
+        ObjectNode line = objectMapper.createObjectNode();
+        line.put("traceId", span.getTraceId());
+        line.put("spanId", span.getSpanId());
+        if (span.getParentSpanContext().isValid()) {
+            line.put("parentSpanId", span.getParentSpanId());
+        }
+        line.put("name", span.getName());
+        line.put("start", Instant.EPOCH.plusNanos(span.getStartEpochNanos()).toString());
+        line.put("durationMicros", (span.getEndEpochNanos() - span.getStartEpochNanos()) / 1000);
+        line.put("status", span.getStatus().getStatusCode().name());
+        ObjectNode tags = line.putObject("tags");
+        span.getAttributes().forEach((key, value) -> tags.put(key.getKey(), String.valueOf(value)));
+        return line;
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return CompletableResultCode.ofSuccess();
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.emsp.infrastructure.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Jackson message converter that traces writing a response body as a {@code json.write} span,
+ * which includes any lazy loading triggered by serialization.
+ */
+public class TracedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final Tracer tracer;
+
+    public TracedJacksonHttpMessageConverter(ObjectMapper objectMapper, Tracer tracer) {
+        super(objectMapper);
+        this.tracer = tracer;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        if (tracer.currentSpan() == null) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        Span span = tracer.nextSpan()
+                .name("json.write")
+                .tag(TracingAspect.LAYER_TAG, "json")
+                .tag("emsp.json.type", object.getClass().getSimpleName())
+                .start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            super.writeInternal(object, type, outputMessage);
+        } catch (IOException | RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.emsp.infrastructure.tracing;
+
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Actuator endpoint over the in-memory span exporter.
+ * {@code /actuator/traces} lists the latest traces; {@code /actuator/traces/{traceId}} breaks one down into its spans,
+ * indented by depth, with their offset from the start of the trace and their duration.
+ */
+@Endpoint(id = "traces")
+public class TracesEndpoint {
+
+    private static final int MAX_TRACES = 100;
+
+    private final InMemorySpanExporter exporter;
+
+    public TracesEndpoint(InMemorySpanExporter exporter) {
+        this.exporter = exporter;
+    }
+
+    /**
+     * A span of a trace.
+     *
+     * @param name           The span name, indented by two spaces per level below the root.
+     * @param offsetMicros   When the span started, relative to the earliest span of the trace.
+     * @param durationMicros How long the span took.
+     * @param tags           The span tags, such as the SQL statement.
+     */
+    public record SpanSummary(String name, long offsetMicros, long durationMicros, Map<String, String> tags) {
+    }
+
+    /**
+     * A trace, named after its root span.
+     */
+    public record TraceSummary(String traceId, String name, long durationMicros, int spans) {
+    }
+
+    @ReadOperation
+    public List<TraceSummary> traces() {
+        Map<String, List<SpanData>> traces = new LinkedHashMap<>();
+        for (SpanData span : exporter.getSpans()) {
+            traces.computeIfAbsent(span.getTraceId(), traceId -> new ArrayList<>()).add(span);
+        }
+        List<TraceSummary> summaries = new ArrayList<>();
+        for (List<SpanData> spans : traces.values()) {
+            SpanData root = spans.stream().filter(span -> !span.getParentSpanContext().isValid()).findFirst().orElse(spans.get(0));
+            summaries.add(new TraceSummary(root.getTraceId(), root.getName(),
+                    (root.getEndEpochNanos() - root.getStartEpochNanos()) / 1000, spans.size()));
+        }
+        // Latest first
+        List<TraceSummary> latest = new ArrayList<>();
+        for (int i = summaries.size() - 1; i >= 0 && latest.size() < MAX_TRACES; i--) {
+            latest.add(summaries.get(i));
+        }
+        return latest;
+    }
+
+    @ReadOperation
+    public List<SpanSummary> trace(@Selector String traceId) {
+        List<SpanData> spans = exporter.getTrace(traceId);
+        if (spans.isEmpty()) {
+            return null; // 404 Not Found
+        }
+        Map<String, SpanData> byId = new HashMap<>();
+        for (SpanData span : spans) {
+            byId.put(span.getSpanId(), span);
+        }
+        long traceStart = spans.get(0).getStartEpochNanos();
+        List<SpanSummary> summaries = new ArrayList<>(spans.size());
+        for (SpanData span : spans) {
+            int depth = 0;
+            for (SpanData parent = byId.get(span.getParentSpanId()); parent != null; parent = byId.get(parent.getParentSpanId())) {
+                depth++;
+            }
+            Map<String, String> tags = new LinkedHashMap<>();
+            span.getAttributes().forEach((key, value) -> tags.put(key.getKey(), String.valueOf(value)));
+            summaries.add(new SpanSummary("  ".repeat(depth) + span.getName(),
+                    (span.getStartEpochNanos() - traceStart) / 1000,
+                    (span.getEndEpochNanos() - span.getStartEpochNanos()) / 1000,
+                    tags));
+        }
+        return summaries;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.emsp.infrastructure.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+
+/**
+ * Starts a span around each call into a controller, an application service or a Spring Data repository,
+ * named after the layer, class and method, e.g. {@code repository LocationRepository.findById}.
+ * Calls outside a traced request proceed without a span.
+ */
+@Aspect
+public class TracingAspect {
+
+    static final String LAYER_TAG = "emsp.layer";
+
+    private final Tracer tracer;
+
+    public TracingAspect(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Around("within(@org.springframework.web.bind.annotation.RestController *)")
+    public Object traceController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "controller", joinPoint.getSignature().getDeclaringType().getSimpleName());
+    }
+
+    @Around("within(com.example.emsp.application..*) && @within(org.springframework.stereotype.Service)")
+    public Object traceApplicationService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "service", joinPoint.getSignature().getDeclaringType().getSimpleName());
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (tracer.currentSpan() == null) {
+            return joinPoint.proceed();
+        }
+        // Inherited methods such as findById are declared by CrudRepository; name the repository instead
+        Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(joinPoint.getThis());
+        String type = interfaces.length > 0 ? interfaces[0].getSimpleName() : joinPoint.getSignature().getDeclaringType().getSimpleName();
+        return trace(joinPoint, "repository", type);
+    }
+
+    private Object trace(ProceedingJoinPoint joinPoint, String layer, String type) throws Throwable {
+        if (tracer.currentSpan() == null) {
+            return joinPoint.proceed();
+        }
+        Span span = tracer.nextSpan()
+                .name(layer + " " + type + "." + joinPoint.getSignature().getName())
+                .tag(LAYER_TAG, layer)
+                .start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
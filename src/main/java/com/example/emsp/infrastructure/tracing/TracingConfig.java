@@ -0,0 +1,73 @@
+package com.example.emsp.infrastructure.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.tracing.Tracer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Configuration for request tracing with Micrometer Tracing and the OpenTelemetry SDK.
+ * <p>
+ * Spring Boot starts a span per HTTP request; this adds child spans for the controller, application service and
+ * repository calls, each SQL statement and the JSON writing of the response, so the latency of one request can be
+ * broken down. Child spans are only started within a request span, so scheduled jobs are not traced.
+ * <p>
+ * Spans are exported locally, selected with {@code emsp.tracing.exporter}: 'memory' keeps the latest spans for
+ * {@code /actuator/traces}, 'file' appends them as JSON lines to {@code emsp.tracing.file.path}.
+ * The share of requests traced is {@code management.tracing.sampling.probability}; the trace ID of a sampled request
+ * is returned in the {@code X-Trace-Id} header. Everything is off with {@code management.tracing.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "management.tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "emsp.tracing.exporter", havingValue = "memory", matchIfMissing = true)
+    public InMemorySpanExporter inMemorySpanExporter(@Value("${emsp.tracing.memory.capacity:10000}") int capacity) {
+        return new InMemorySpanExporter(capacity);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "emsp.tracing.exporter", havingValue = "memory", matchIfMissing = true)
+    public TracesEndpoint tracesEndpoint(InMemorySpanExporter inMemorySpanExporter) {
+        return new TracesEndpoint(inMemorySpanExporter);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "emsp.tracing.exporter", havingValue = "file")
+    public FileSpanExporter fileSpanExporter(
+            @Value("${emsp.tracing.file.path:data/spans.jsonl}") Path path,
+            ObjectMapper objectMapper) {
+        return new FileSpanExporter(path, objectMapper);
+    }
+
+    @Bean
+    public TracingAspect tracingAspect(Tracer tracer) {
+        return new TracingAspect(tracer);
+    }
+
+    @Bean
+    public TracingStatementListener tracingStatementListener(Tracer tracer) {
+        return new TracingStatementListener(tracer);
+    }
+
+    /**
+     * Replaces Spring Boot's Jackson converter, which backs off when one is defined.
+     */
+    @Bean
+    public TracedJacksonHttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper, Tracer tracer) {
+        return new TracedJacksonHttpMessageConverter(objectMapper, tracer);
+    }
+
+    @Bean
+    public FilterRegistrationBean<TraceIdResponseFilter> traceIdResponseFilter(Tracer tracer) {
+        FilterRegistrationBean<TraceIdResponseFilter> registration = new FilterRegistrationBean<>(new TraceIdResponseFilter(tracer));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.emsp.infrastructure.tracing;
+
+import com.example.emsp.infrastructure.jdbc.StatementListener;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+
+/**
+ * Gives each SQL statement executed within a traced request a {@code sql} span carrying the statement text.
+ * A batch is one span, as it is one round trip to the database.
+ */
+public class TracingStatementListener implements StatementListener {
+
+    static final String STATEMENT_TAG = "db.statement";
+    private static final int MAX_STATEMENT_LENGTH = 2000;
+
+    private final Tracer tracer;
+
+    public TracingStatementListener(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Object beforeExecute(Execution execution) {
+        if (tracer.currentSpan() == null) {
+            return null;
+        }
+        return tracer.nextSpan()
+                .name("sql " + execution.method())
+                .tag(TracingAspect.LAYER_TAG, "sql")
+                .tag(STATEMENT_TAG, truncate(execution.sql() != null ? execution.sql() : "<batch>"))
+                .start();
+    }
+
+    @Override
+    public void afterExecute(Execution execution, Object context, long elapsedNanos, Throwable failure) {
+        if (context instanceof Span span) {
+            if (failure != null) {
+                span.error(failure);
+            }
+            span.end();
+        }
+    }
+
+    private static String truncate(String sql) {
+        return sql.length() <= MAX_STATEMENT_LENGTH ? sql : sql.substring(0, MAX_STATEMENT_LENGTH) + "...";
+    }
+}
@@ -1,7 +1,9 @@
 package com.example.emsp.interfaces.controllers;
 
 import com.example.emsp.application.ConnectorApplicationService;
+import com.example.emsp.application.ConnectorCreateCommand;
 import com.example.emsp.domain.location.Connector;
+import com.example.emsp.interfaces.dtos.ConnectorBatchRequestDto;
 import com.example.emsp.interfaces.dtos.ConnectorRequestDto;
 import com.example.emsp.interfaces.dtos.ConnectorResponseDto;
 import jakarta.validation.Valid;
@@ -10,9 +12,11 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * REST Controller for managing Connector entities.
- * Exposes API endpoints for adding Connectors to EVSEs.
+ * Exposes API endpoints for adding Connectors to EVSEs, one at a time or in batches.
  */
 @RestController
 @RequestMapping("/api/v1") // Base path for Connector specific operations
@@ -40,4 +44,26 @@ public class ConnectorController {
         );
         return new ResponseEntity<>(ConnectorResponseDto.fromEntity(connector), HttpStatus.CREATED);
     }
-}
\ No newline at end of file
+
+    /**
+     * Adds many Connectors to one or more EVSEs in a single transaction,
+     * e.g. to commission a whole site with one request.
+     *
+     * @param requestDto The request body listing, per EVSE, the connectors to add.
+     * @return ResponseEntity with the created ConnectorResponseDtos in request order and HTTP 201 Created status.
+     */
+    @PostMapping("/connectors/batch")
+    public ResponseEntity<List<ConnectorResponseDto>> addConnectorsToEVSEs(
+            @Valid @RequestBody ConnectorBatchRequestDto requestDto) {
+        List<ConnectorCreateCommand> commands = requestDto.getEvses().stream()
+                .flatMap(evse -> evse.getConnectors().stream()
+                        .map(connector -> new ConnectorCreateCommand(
+                                evse.getEvseId(),
+                                connector.getStandard(),
+                                connector.getPowerLevel(),
+                                connector.getVoltage())))
+                .toList();
+        List<Connector> connectors = connectorApplicationService.addConnectorsToEVSEs(commands);
+        return new ResponseEntity<>(connectors.stream().map(ConnectorResponseDto::fromEntity).toList(), HttpStatus.CREATED);
+    }
+}
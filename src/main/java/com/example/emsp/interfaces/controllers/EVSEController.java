@@ -1,19 +1,39 @@
 package com.example.emsp.interfaces.controllers;
 
+import com.example.emsp.application.CatalogQueryService;
 import com.example.emsp.application.EVSEApplicationService;
+import com.example.emsp.application.EVSEStatusIngestionService;
+import com.example.emsp.application.LocationApplicationService;
+import com.example.emsp.application.readmodel.EVSEView;
 import com.example.emsp.domain.evse.EVSE;
+import com.example.emsp.domain.evse.EVSEStatus;
+import com.example.emsp.infrastructure.exception.InvalidQueryParameterException;
+import com.example.emsp.infrastructure.journal.StatusJournalEntry;
+import com.example.emsp.infrastructure.streaming.EVSEStatusStream;
 import com.example.emsp.interfaces.dtos.EVSECreateRequestDto;
 import com.example.emsp.interfaces.dtos.EVSEResponseDto;
+import com.example.emsp.interfaces.dtos.EVSEStatusAcceptedResponseDto;
 import com.example.emsp.interfaces.dtos.EVSEStatusUpdateRequestDto;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * REST Controller for managing EVSE entities.
- * Exposes API endpoints for adding EVSEs to locations and changing EVSE status.
+ * Exposes API endpoints for adding EVSEs to locations, listing EVSEs per operator, changing EVSE status
+ * and streaming status changes.
  */
 @RestController
 @RequestMapping("/api/v1") // Base path for EVSE specific operations
@@ -21,6 +41,10 @@ import org.springframework.web.bind.annotation.*;
 public class EVSEController {
 
     private final EVSEApplicationService evseApplicationService;
+    private final CatalogQueryService catalogQueryService;
+    private final ObjectProvider<EVSEStatusIngestionService> statusIngestionService; // Present only in write-behind mode
+    private final LocationApplicationService locationApplicationService;
+    private final EVSEStatusStream evseStatusStream;
 
     /**
      * Adds a new EVSE to a specific Location.
@@ -40,22 +64,107 @@ public class EVSEController {
         return new ResponseEntity<>(EVSEResponseDto.fromEntity(evse), HttpStatus.CREATED);
     }
 
+    /**
+     * Lists the EVSEs of one operator, identified by the country code and party ID prefix of their EVSE IDs,
+     * ordered by local EVSE ID.
+     *
+     * @param countryCode The country code of the operator, e.g. "DE".
+     * @param partyId     The party ID of the operator, e.g. "ABC".
+     * @param status      Optional status to filter by.
+     * @param page        Page number (0-indexed, default 0).
+     * @param size        Page size (default 10).
+     * @return ResponseEntity with a Page of EVSEResponseDto and HTTP 200 OK status.
+     */
+    @GetMapping("/operators/{countryCode}/{partyId}/evses")
+    public ResponseEntity<Page<EVSEResponseDto>> getEVSEsByOperator(
+            @PathVariable String countryCode,
+            @PathVariable String partyId,
+            @RequestParam(required = false) EVSEStatus status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        Page<EVSEView> evses = catalogQueryService.findEVSEsByOperator(countryCode, partyId, status, pageable);
+        return new ResponseEntity<>(evses.map(EVSEResponseDto::fromView), HttpStatus.OK);
+    }
+
     /**
      * Changes the status of an existing EVSE.
      * This operation enforces the defined state transition rules.
+     * In write-behind ingestion mode the change is journaled and applied asynchronously instead.
      *
      * @param evseId      The OCPI-compliant EVSE ID string of the EVSE to update.
      * @param requestDto The request body containing the new status.
-     * @return ResponseEntity with the updated EVSEResponseDto and HTTP 200 OK status.
+     * @return ResponseEntity with the updated EVSEResponseDto and HTTP 200 OK status,
+     *         or with an EVSEStatusAcceptedResponseDto and HTTP 202 Accepted status in write-behind mode.
      */
     @PatchMapping("/evses/{evseId}/status")
-    public ResponseEntity<EVSEResponseDto> changeEVSEStatus(
+    public ResponseEntity<?> changeEVSEStatus(
             @PathVariable String evseId,
             @Valid @RequestBody EVSEStatusUpdateRequestDto requestDto) {
+        EVSEStatusIngestionService ingestionService = statusIngestionService.getIfAvailable();
+        if (ingestionService != null) {
+            StatusJournalEntry entry = ingestionService.submitStatusChange(evseId, requestDto.getNewStatus());
+            return new ResponseEntity<>(EVSEStatusAcceptedResponseDto.fromJournalEntry(entry), HttpStatus.ACCEPTED);
+        }
         EVSE evse = evseApplicationService.changeEVSEStatus(
                 evseId,
                 requestDto.getNewStatus()
         );
         return new ResponseEntity<>(EVSEResponseDto.fromEntity(evse), HttpStatus.OK);
     }
-}
\ No newline at end of file
+
+    /**
+     * Streams committed EVSE status changes as Server-Sent Events.
+     * Each change is sent as a {@code status} event; a {@code resync} event means changes were missed
+     * and the client should reload the current state. Both filters may be combined, in which case
+     * changes matching either are sent.
+     *
+     * @param locationIds Optional list of location IDs to restrict the stream to.
+     * @param bbox        Optional bounding box "minLon,minLat,maxLon,maxLat"; resolved to the locations
+     *                    inside it when the stream is opened.
+     * @param lastEventId The ID of the last event received, sent by reconnecting clients.
+     * @return The SSE emitter for the subscription.
+     */
+    @GetMapping(value = "/evses/status-stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEVSEStatusChanges(
+            @RequestParam(required = false) List<Long> locationIds,
+            @RequestParam(required = false) String bbox,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        Set<Long> filter = null;
+        if (locationIds != null || bbox != null) {
+            filter = new HashSet<>();
+            if (locationIds != null) {
+                filter.addAll(locationIds);
+            }
+            if (bbox != null) {
+                double[] box = parseBoundingBox(bbox);
+                filter.addAll(locationApplicationService.findLocationIdsWithin(box[1], box[0], box[3], box[2]));
+            }
+        }
+        return evseStatusStream.subscribe(filter, lastEventId);
+    }
+
+    /**
+     * Parses a bounding box of the form "minLon,minLat,maxLon,maxLat".
+     *
+     * @throws InvalidQueryParameterException if the box is malformed or out of range.
+     */
+    private static double[] parseBoundingBox(String bbox) {
+        String[] parts = bbox.split(",");
+        if (parts.length != 4) {
+            throw new InvalidQueryParameterException("bbox must be 'minLon,minLat,maxLon,maxLat'");
+        }
+        double[] box = new double[4];
+        try {
+            for (int i = 0; i < 4; i++) {
+                box[i] = Double.parseDouble(parts[i].trim());
+            }
+        } catch (NumberFormatException e) {
+            throw new InvalidQueryParameterException("bbox must contain four numbers: " + bbox);
+        }
+        if (box[0] < -180 || box[2] > 180 || box[1] < -90 || box[3] > 90 || box[0] > box[2] || box[1] > box[3]) {
+            throw new InvalidQueryParameterException("bbox is out of range or its minimum exceeds its maximum: " + bbox);
+        }
+        return box;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.emsp.interfaces.controllers;
+
+import com.example.emsp.application.EVSEStatusHistoryService;
+import com.example.emsp.infrastructure.history.StatusHistoryEntry;
+import com.example.emsp.interfaces.dtos.EVSEStatusHistoryResponseDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * REST Controller for querying the recorded status history of EVSEs.
+ */
+@RestController
+@RequestMapping("/api/v1/evses")
+@RequiredArgsConstructor
+public class EVSEStatusHistoryController {
+
+    private final EVSEStatusHistoryService evseStatusHistoryService;
+
+    /**
+     * Retrieves the status history of an EVSE within a time range.
+     *
+     * @param evseId The OCPI-compliant EVSE ID string.
+     * @param from   Start of the range (inclusive). Format: "yyyy-MM-dd'T'HH:mm:ss" (ISO 8601).
+     * @param to     End of the range (exclusive). Format: "yyyy-MM-dd'T'HH:mm:ss" (ISO 8601).
+     * @return ResponseEntity with the EVSEStatusHistoryResponseDto and HTTP 200 OK status.
+     */
+    @GetMapping("/{evseId}/status-history")
+    public ResponseEntity<EVSEStatusHistoryResponseDto> getStatusHistory(
+            @PathVariable String evseId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        List<StatusHistoryEntry> entries = evseStatusHistoryService.getStatusHistory(
+                evseId,
+                from.atZone(ZoneId.systemDefault()).toInstant(),
+                to.atZone(ZoneId.systemDefault()).toInstant()
+        );
+        return new ResponseEntity<>(EVSEStatusHistoryResponseDto.fromEntries(evseId, from, to, entries), HttpStatus.OK);
+    }
+}
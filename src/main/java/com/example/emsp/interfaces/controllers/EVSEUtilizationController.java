@@ -0,0 +1,66 @@
+package com.example.emsp.interfaces.controllers;
+
+import com.example.emsp.application.EVSEUtilizationService;
+import com.example.emsp.application.UtilizationReport;
+import com.example.emsp.interfaces.dtos.UtilizationResponseDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * REST Controller for time-in-status (uptime and utilization) reports of EVSEs and Locations.
+ */
+@RestController
+@RequestMapping("/api/v1")
+@RequiredArgsConstructor
+public class EVSEUtilizationController {
+
+    private final EVSEUtilizationService evseUtilizationService;
+
+    /**
+     * Reports the time an EVSE spent in each status within a time range.
+     *
+     * @param evseId The OCPI-compliant EVSE ID string.
+     * @param from   Start of the range (inclusive). Format: "yyyy-MM-dd'T'HH:mm:ss" (ISO 8601).
+     * @param to     End of the range (exclusive). Format: "yyyy-MM-dd'T'HH:mm:ss" (ISO 8601).
+     * @return ResponseEntity with the UtilizationResponseDto and HTTP 200 OK status.
+     */
+    @GetMapping("/evses/{evseId}/utilization")
+    public ResponseEntity<UtilizationResponseDto> getEvseUtilization(
+            @PathVariable String evseId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        UtilizationReport report = evseUtilizationService.getEvseUtilization(
+                evseId,
+                from.atZone(ZoneId.systemDefault()).toInstant(),
+                to.atZone(ZoneId.systemDefault()).toInstant()
+        );
+        return new ResponseEntity<>(UtilizationResponseDto.fromReport(report), HttpStatus.OK);
+    }
+
+    /**
+     * Reports the time each EVSE of a Location spent in each status within a time range, with totals.
+     *
+     * @param locationId The ID of the Location.
+     * @param from       Start of the range (inclusive). Format: "yyyy-MM-dd'T'HH:mm:ss" (ISO 8601).
+     * @param to         End of the range (exclusive). Format: "yyyy-MM-dd'T'HH:mm:ss" (ISO 8601).
+     * @return ResponseEntity with the UtilizationResponseDto and HTTP 200 OK status.
+     */
+    @GetMapping("/locations/{locationId}/utilization")
+    public ResponseEntity<UtilizationResponseDto> getLocationUtilization(
+            @PathVariable Long locationId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        UtilizationReport report = evseUtilizationService.getLocationUtilization(
+                locationId,
+                from.atZone(ZoneId.systemDefault()).toInstant(),
+                to.atZone(ZoneId.systemDefault()).toInstant()
+        );
+        return new ResponseEntity<>(UtilizationResponseDto.fromReport(report), HttpStatus.OK);
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.emsp.interfaces.controllers;
 
+import com.example.emsp.application.CatalogQueryService;
 import com.example.emsp.application.LocationApplicationService;
+import com.example.emsp.application.readmodel.LocationView;
 import com.example.emsp.domain.common.BusinessHours;
 import com.example.emsp.domain.common.Coordinates;
 import com.example.emsp.domain.location.Location;
@@ -13,7 +15,6 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -31,6 +32,7 @@ import java.time.LocalDateTime;
 public class LocationController {
 
     private final LocationApplicationService locationApplicationService;
+    private final CatalogQueryService catalogQueryService;
 
     /**
      * Creates a new charging Location.
@@ -72,6 +74,7 @@ public class LocationController {
 
     /**
      * Queries Locations and their EVSEs by "last_updated" timestamp with pagination.
+     * Served from the in-memory read model, ordered by "last_updated".
      *
      * @param lastUpdated Timestamp to filter locations by. Format: "yyyy-MM-dd'T'HH:mm:ss" (ISO 8601).
      * @param page        Page number (0-indexed, default 0).
@@ -88,24 +91,25 @@ public class LocationController {
         // In a real system, we might want to require this parameter or apply a different default logic.
         LocalDateTime filterTimestamp = (lastUpdated != null) ? lastUpdated : LocalDateTime.MIN;
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by("lastUpdated").ascending());
-        Page<Location> locationsPage = locationApplicationService.queryLocationsByLastUpdated(filterTimestamp, pageable);
+        Pageable pageable = PageRequest.of(page, size);
+        Page<LocationView> locationsPage = catalogQueryService.queryLocationsByLastUpdated(filterTimestamp, pageable);
 
         Page<LocationWithEVSEsResponseDto> responsePage = locationsPage
-                .map(LocationWithEVSEsResponseDto::fromEntity);
+                .map(LocationWithEVSEsResponseDto::fromView);
 
         return new ResponseEntity<>(responsePage, HttpStatus.OK);
     }
 
     /**
      * Retrieves a single Location by its ID, including its EVSEs and Connectors.
+     * Served from the in-memory read model.
      *
      * @param locationId The ID of the location to retrieve.
      * @return ResponseEntity with the LocationWithEVSEsResponseDto and HTTP 200 OK status.
      */
     @GetMapping("/{locationId}")
     public ResponseEntity<LocationWithEVSEsResponseDto> getLocationById(@PathVariable Long locationId) {
-        Location location = locationApplicationService.findLocationById(locationId);
-        return new ResponseEntity<>(LocationWithEVSEsResponseDto.fromEntity(location), HttpStatus.OK);
+        LocationView location = catalogQueryService.findLocationById(locationId);
+        return new ResponseEntity<>(LocationWithEVSEsResponseDto.fromView(location), HttpStatus.OK);
     }
 }
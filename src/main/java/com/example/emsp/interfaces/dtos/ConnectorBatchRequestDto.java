@@ -0,0 +1,20 @@
+package com.example.emsp.interfaces.dtos;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * DTO for requesting many Connectors to be added to one or more EVSEs at once.
+ * Uses @Value for immutability and automatic getters/equals/hashCode/toString.
+ */
+@Value // Generates immutable class with getters, equals, hashCode, toString
+public class ConnectorBatchRequestDto {
+    @Valid // Validates each nested EVSEConnectorsRequestDto
+    @NotEmpty(message = "EVSEs cannot be empty")
+    @Size(max = 1000, message = "At most 1000 EVSEs per batch")
+    List<EVSEConnectorsRequestDto> evses;
+}
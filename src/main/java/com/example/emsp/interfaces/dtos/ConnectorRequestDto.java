@@ -1,8 +1,9 @@
 package com.example.emsp.interfaces.dtos;
 
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.Positive;
 import lombok.Value;
 
 /**
@@ -14,9 +15,11 @@ public class ConnectorRequestDto {
     @NotBlank(message = "Standard cannot be blank")
     String standard;
     @NotNull(message = "Power level cannot be null")
-    @Positive(message = "Power level must be positive")
+    @DecimalMin(value = "0.001", message = "Power level must be at least 0.001 kW") // Stored in watts, see Connector.MIN_VALUE
+    @DecimalMax(value = "1000000", message = "Power level must not exceed 1000000 kW") // See Connector.MAX_VALUE
     Double powerLevel;
     @NotNull(message = "Voltage cannot be null")
-    @Positive(message = "Voltage must be positive")
+    @DecimalMin(value = "0.001", message = "Voltage must be at least 0.001 V") // Stored in millivolts, see Connector.MIN_VALUE
+    @DecimalMax(value = "1000000", message = "Voltage must not exceed 1000000 V") // See Connector.MAX_VALUE
     Double voltage;
 }
\ No newline at end of file
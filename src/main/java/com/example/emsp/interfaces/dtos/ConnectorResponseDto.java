@@ -1,5 +1,6 @@
 package com.example.emsp.interfaces.dtos;
 
+import com.example.emsp.application.readmodel.ConnectorView;
 import com.example.emsp.domain.location.Connector;
 import lombok.Builder;
 import lombok.Value;
@@ -16,8 +17,8 @@ import java.time.LocalDateTime;
 public class ConnectorResponseDto {
     Long id;
     String standard;
-    Double powerLevel;
-    Double voltage;
+    double powerLevel; // in kW
+    double voltage; // in Volts
     Long evseId; // ID of the parent EVSE
     LocalDateTime lastUpdated;
 
@@ -37,4 +38,21 @@ public class ConnectorResponseDto {
                 .lastUpdated(connector.getLastUpdated())
                 .build();
     }
+
+    /**
+     * Converts a read-model Connector view to a ConnectorResponseDto.
+     *
+     * @param view The Connector view.
+     * @return A new ConnectorResponseDto instance.
+     */
+    public static ConnectorResponseDto fromView(ConnectorView view) {
+        return ConnectorResponseDto.builder()
+                .id(view.id())
+                .standard(view.standard())
+                .powerLevel(view.powerLevel())
+                .voltage(view.voltage())
+                .evseId(view.evseId())
+                .lastUpdated(view.lastUpdated())
+                .build();
+    }
 }
\ No newline at end of file
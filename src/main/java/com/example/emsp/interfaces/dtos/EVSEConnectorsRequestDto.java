@@ -0,0 +1,23 @@
+package com.example.emsp.interfaces.dtos;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * DTO for the connectors to be added to one EVSE within a batch request.
+ * Uses @Value for immutability and automatic getters/equals/hashCode/toString.
+ */
+@Value // Generates immutable class with getters, equals, hashCode, toString
+public class EVSEConnectorsRequestDto {
+    @NotBlank(message = "EVSE ID cannot be blank")
+    String evseId; // OCPI compliant EVSE ID string
+    @Valid // Validates each nested ConnectorRequestDto
+    @NotEmpty(message = "Connectors cannot be empty")
+    @Size(max = 100, message = "At most 100 connectors per EVSE")
+    List<ConnectorRequestDto> connectors;
+}
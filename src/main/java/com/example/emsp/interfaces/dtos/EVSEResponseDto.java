@@ -1,5 +1,6 @@
 package com.example.emsp.interfaces.dtos;
 
+import com.example.emsp.application.readmodel.EVSEView;
 import com.example.emsp.domain.evse.EVSE;
 import com.example.emsp.domain.evse.EVSEStatus;
 import lombok.Builder;
@@ -43,4 +44,23 @@ public class EVSEResponseDto {
                 .lastUpdated(evse.getLastUpdated())
                 .build();
     }
+
+    /**
+     * Converts a read-model EVSE view to an EVSEResponseDto.
+     *
+     * @param view The EVSE view.
+     * @return A new EVSEResponseDto instance.
+     */
+    public static EVSEResponseDto fromView(EVSEView view) {
+        return EVSEResponseDto.builder()
+                .id(view.id())
+                .evseId(view.evseId())
+                .status(view.status())
+                .locationId(view.locationId())
+                .connectors(view.connectors().stream()
+                        .map(ConnectorResponseDto::fromView)
+                        .collect(Collectors.toList()))
+                .lastUpdated(view.lastUpdated())
+                .build();
+    }
 }
\ No newline at end of file
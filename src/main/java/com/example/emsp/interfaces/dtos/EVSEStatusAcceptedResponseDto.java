@@ -0,0 +1,38 @@
+package com.example.emsp.interfaces.dtos;
+
+import com.example.emsp.domain.evse.EVSEStatus;
+import com.example.emsp.infrastructure.journal.StatusJournalEntry;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * DTO for acknowledging a status change accepted by write-behind ingestion.
+ * The change is durable but has not necessarily been applied to the EVSE yet.
+ * Uses @Value for immutability and automatic getters/equals/hashCode/toString.
+ * Uses @Builder for convenient object creation.
+ */
+@Value // Generates immutable class with getters, equals, hashCode, toString
+@Builder // Generates a builder for constructing instances
+public class EVSEStatusAcceptedResponseDto {
+    String evseId; // OCPI compliant EVSE ID string
+    EVSEStatus newStatus;
+    Long sequence; // Journal sequence number of the accepted command
+    Instant acceptedAt;
+
+    /**
+     * Converts a status journal entry to an EVSEStatusAcceptedResponseDto.
+     *
+     * @param entry The accepted journal entry.
+     * @return A new EVSEStatusAcceptedResponseDto instance.
+     */
+    public static EVSEStatusAcceptedResponseDto fromJournalEntry(StatusJournalEntry entry) {
+        return EVSEStatusAcceptedResponseDto.builder()
+                .evseId(entry.evseIdText())
+                .newStatus(entry.newStatus())
+                .sequence(entry.sequence())
+                .acceptedAt(entry.acceptedAt())
+                .build();
+    }
+}
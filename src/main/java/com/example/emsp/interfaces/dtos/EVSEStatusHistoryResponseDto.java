@@ -0,0 +1,54 @@
+package com.example.emsp.interfaces.dtos;
+
+import com.example.emsp.domain.evse.EVSEStatus;
+import com.example.emsp.infrastructure.history.StatusHistoryEntry;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * DTO for responding with the status history of an EVSE within a time range.
+ * The first entry may lie before {@code from}: it is the status that was in effect at {@code from}.
+ * Uses @Value for immutability and automatic getters/equals/hashCode/toString.
+ * Uses @Builder for convenient object creation.
+ */
+@Value // Generates immutable class with getters, equals, hashCode, toString
+@Builder // Generates a builder for constructing instances
+public class EVSEStatusHistoryResponseDto {
+    String evseId; // OCPI compliant EVSE ID string
+    LocalDateTime from;
+    LocalDateTime to;
+    List<Entry> entries;
+
+    /**
+     * A status the EVSE entered, effective until the next entry.
+     */
+    @Value
+    public static class Entry {
+        LocalDateTime changedAt;
+        EVSEStatus status;
+    }
+
+    /**
+     * Converts recorded history entries to an EVSEStatusHistoryResponseDto.
+     *
+     * @param evseId  The OCPI compliant EVSE ID string.
+     * @param from    The start of the requested range.
+     * @param to      The end of the requested range.
+     * @param entries The recorded entries, oldest first.
+     * @return A new EVSEStatusHistoryResponseDto instance.
+     */
+    public static EVSEStatusHistoryResponseDto fromEntries(String evseId, LocalDateTime from, LocalDateTime to, List<StatusHistoryEntry> entries) {
+        return EVSEStatusHistoryResponseDto.builder()
+                .evseId(evseId)
+                .from(from)
+                .to(to)
+                .entries(entries.stream()
+                        .map(entry -> new Entry(LocalDateTime.ofInstant(entry.changedAt(), ZoneId.systemDefault()), entry.status()))
+                        .toList())
+                .build();
+    }
+}
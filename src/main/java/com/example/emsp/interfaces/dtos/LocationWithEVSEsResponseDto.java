@@ -1,5 +1,6 @@
 package com.example.emsp.interfaces.dtos;
 
+import com.example.emsp.application.readmodel.LocationView;
 import com.example.emsp.domain.location.Location;
 import lombok.Builder;
 import lombok.Value;
@@ -45,4 +46,24 @@ public class LocationWithEVSEsResponseDto {
                 .lastUpdated(location.getLastUpdated())
                 .build();
     }
+
+    /**
+     * Converts a read-model Location view to a LocationWithEVSEsResponseDto.
+     *
+     * @param view The Location view.
+     * @return A new LocationWithEVSEsResponseDto instance.
+     */
+    public static LocationWithEVSEsResponseDto fromView(LocationView view) {
+        return LocationWithEVSEsResponseDto.builder()
+                .id(view.id())
+                .name(view.name())
+                .address(view.address())
+                .coordinates(new CoordinatesDto(view.latitude(), view.longitude()))
+                .businessHours(new BusinessHoursDto(view.opensAt(), view.closesAt()))
+                .evses(view.evses().stream()
+                        .map(EVSEResponseDto::fromView)
+                        .collect(Collectors.toList()))
+                .lastUpdated(view.lastUpdated())
+                .build();
+    }
 }
\ No newline at end of file
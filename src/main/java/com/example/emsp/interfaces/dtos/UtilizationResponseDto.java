@@ -0,0 +1,85 @@
+package com.example.emsp.interfaces.dtos;
+
+import com.example.emsp.application.UtilizationReport;
+import com.example.emsp.domain.evse.EVSEStatus;
+import com.example.emsp.infrastructure.history.StatusDurations;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * DTO for responding with the time-in-status breakdown of one or more EVSEs within a time range.
+ * Percentages are relative to the evaluated period (times the number of EVSEs for the totals);
+ * time before an EVSE's first recorded status is reported as unrecorded.
+ * Uses @Value for immutability and automatic getters/equals/hashCode/toString.
+ * Uses @Builder for convenient object creation.
+ */
+@Value // Generates immutable class with getters, equals, hashCode, toString
+@Builder // Generates a builder for constructing instances
+public class UtilizationResponseDto {
+    LocalDateTime from;
+    LocalDateTime to; // The requested end, or the time of the request if that lies in the future
+    long periodSeconds;
+    List<StatusShare> statuses; // Totals over all EVSEs
+    long unrecordedSeconds;
+    List<EVSEUtilization> evses;
+
+    /**
+     * Time spent in one status.
+     */
+    @Value
+    public static class StatusShare {
+        EVSEStatus status;
+        long seconds;
+        double percentage;
+    }
+
+    /**
+     * Time-in-status breakdown of a single EVSE.
+     */
+    @Value
+    public static class EVSEUtilization {
+        String evseId; // OCPI compliant EVSE ID string
+        List<StatusShare> statuses;
+        long unrecordedSeconds;
+    }
+
+    /**
+     * Converts a utilization report to a UtilizationResponseDto.
+     *
+     * @param report The report computed by the application service.
+     * @return A new UtilizationResponseDto instance.
+     */
+    public static UtilizationResponseDto fromReport(UtilizationReport report) {
+        long periodSeconds = Math.max(0, Duration.between(report.from(), report.to()).getSeconds());
+        StatusDurations total = new StatusDurations();
+        report.evses().values().forEach(total::addAll);
+        long totalSeconds = periodSeconds * report.evses().size();
+        return UtilizationResponseDto.builder()
+                .from(LocalDateTime.ofInstant(report.from(), ZoneId.systemDefault()))
+                .to(LocalDateTime.ofInstant(report.to(), ZoneId.systemDefault()))
+                .periodSeconds(periodSeconds)
+                .statuses(shares(total, totalSeconds))
+                .unrecordedSeconds(totalSeconds - total.recordedSeconds())
+                .evses(report.evses().entrySet().stream()
+                        .map(entry -> new EVSEUtilization(entry.getKey(), shares(entry.getValue(), periodSeconds),
+                                periodSeconds - entry.getValue().recordedSeconds()))
+                        .toList())
+                .build();
+    }
+
+    private static List<StatusShare> shares(StatusDurations durations, long periodSeconds) {
+        return Arrays.stream(EVSEStatus.values())
+                .map(status -> new StatusShare(status, durations.seconds(status), percentage(durations.seconds(status), periodSeconds)))
+                .toList();
+    }
+
+    private static double percentage(long seconds, long periodSeconds) {
+        return periodSeconds == 0 ? 0 : Math.round(seconds * 10000.0 / periodSeconds) / 100.0;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.emsp.interfaces.reactive;
+
+import com.example.emsp.infrastructure.exception.GlobalExceptionHandler.ErrorResponse;
+import com.example.emsp.infrastructure.reactive.ReactiveLocationQueries;
+import com.example.emsp.interfaces.dtos.LocationWithEVSEsResponseDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Handler functions of the reactive read API, the non-blocking counterparts of the Location queries of
+ * {@link com.example.emsp.interfaces.controllers.LocationController}. They read the database through R2DBC
+ * rather than the in-memory read model, and respond with the same {@link LocationWithEVSEsResponseDto}.
+ */
+@Component
+@ConditionalOnProperty(name = "emsp.reactive-api.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ReactiveLocationHandler {
+
+    private final ReactiveLocationQueries queries;
+
+    /**
+     * Streams all Locations last updated after the optional {@code lastUpdated} parameter, ordered by last update,
+     * as newline-delimited JSON. There are no pages: the client reads the stream at its own pace, and Locations
+     * are read from the database as it does, so a slow client costs neither a thread nor a buffered feed.
+     *
+     * @return 200 OK with one LocationWithEVSEsResponseDto per line, or 400 Bad Request if lastUpdated is malformed.
+     */
+    public Mono<ServerResponse> streamLocations(ServerRequest request) {
+        LocalDateTime lastUpdated;
+        try {
+            lastUpdated = request.queryParam("lastUpdated").map(LocalDateTime::parse).orElse(null);
+        } catch (DateTimeParseException e) {
+            return error(HttpStatus.BAD_REQUEST, "Invalid lastUpdated: " + e.getParsedString()
+                    + ". Expected format: yyyy-MM-dd'T'HH:mm:ss (ISO 8601).");
+        }
+        Flux<LocationWithEVSEsResponseDto> locations = queries.findUpdatedAfter(lastUpdated)
+                .map(LocationWithEVSEsResponseDto::fromView);
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(locations, LocationWithEVSEsResponseDto.class);
+    }
+
+    /**
+     * Retrieves a single Location by its ID, including its EVSEs and Connectors.
+     *
+     * @return 200 OK with the LocationWithEVSEsResponseDto, 404 Not Found if there is no such Location,
+     * or 400 Bad Request if the ID is not a number.
+     */
+    public Mono<ServerResponse> getLocation(ServerRequest request) {
+        long locationId;
+        try {
+            locationId = Long.parseLong(request.pathVariable("locationId"));
+        } catch (NumberFormatException e) {
+            return error(HttpStatus.BAD_REQUEST, "Invalid location ID: " + request.pathVariable("locationId"));
+        }
+        return queries.findById(locationId)
+                .map(LocationWithEVSEsResponseDto::fromView)
+                .flatMap(location -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(location))
+                .switchIfEmpty(Mono.defer(() -> error(HttpStatus.NOT_FOUND, "Location not found with ID: " + locationId)));
+    }
+
+    /**
+     * Responds with the error body of the MVC API.
+     */
+    private static Mono<ServerResponse> error(HttpStatus status, String message) {
+        return ServerResponse.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ErrorResponse(status.value(), status.getReasonPhrase(), message, LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.emsp.interfaces.reactive;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * Routes of the reactive read API, served on {@code emsp.reactive-api.port} under the same paths as the MVC API:
+ * <ul>
+ *     <li>{@code GET /api/v1/locations?lastUpdated=...} - the feed, streamed as newline-delimited JSON</li>
+ *     <li>{@code GET /api/v1/locations/{locationId}} - a Location with its EVSEs and Connectors</li>
+ * </ul>
+ */
+@Configuration
+@ConditionalOnProperty(name = "emsp.reactive-api.enabled", havingValue = "true")
+public class ReactiveLocationRouter {
+
+    @Bean
+    public RouterFunction<ServerResponse> reactiveLocationRoutes(ReactiveLocationHandler handler) {
+        return RouterFunctions.route()
+                .GET("/api/v1/locations", handler::streamLocations)
+                .GET("/api/v1/locations/{locationId}", handler::getLocation)
+                .build();
+    }
+}
@@ -9,7 +9,10 @@ CREATE DATABASE IF NOT EXISTS emsp_system;
 USE emsp_system;
 
 -- Drop tables if they exist to ensure a clean slate
+DROP TABLE IF EXISTS outbox_messages;
+DROP TABLE IF EXISTS idempotency_records;
 DROP TABLE IF EXISTS connectors;
+DROP TABLE IF EXISTS connector_standards;
 DROP TABLE IF EXISTS evses;
 DROP TABLE IF EXISTS locations;
 
@@ -38,7 +41,10 @@ CREATE TABLE evses (
                        id BIGINT AUTO_INCREMENT PRIMARY KEY,
                        location_id BIGINT NOT NULL, -- Foreign key to locations table
                        evse_id_value VARCHAR(255) UNIQUE NOT NULL, -- OCPI-compliant EVSE ID, unique across all EVSEs
-                       status VARCHAR(50) NOT NULL, -- e.g., 'AVAILABLE', 'BLOCKED', 'INOPERATIVE', 'REMOVED'
+                       evse_country_code CHAR(2) NOT NULL, -- Parsed from evse_id_value, e.g. 'DE'
+                       evse_party_id CHAR(3) NOT NULL, -- Parsed from evse_id_value, e.g. 'ABC'
+                       evse_local_id VARCHAR(30) NOT NULL, -- Parsed from evse_id_value, scoped within the operator
+                       status TINYINT NOT NULL, -- 0 = AVAILABLE, 1 = BLOCKED, 2 = INOPERATIVE, 3 = REMOVED (see EVSEStatusConverter)
 
     -- Audit field: Automatically updated on creation and modification
                        last_updated TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP NOT NULL,
@@ -50,17 +56,24 @@ CREATE TABLE evses (
                                ON DELETE CASCADE,
 
                        INDEX idx_evses_location_id (location_id), -- Index for joining with locations
+                       INDEX idx_evses_operator (evse_country_code, evse_party_id, evse_local_id), -- Index for per-operator queries
                        INDEX idx_evses_status (status), -- Index for status-based queries
                        INDEX idx_evses_last_updated (last_updated) -- Index for time-based queries
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
+-- Dictionary of connector standards, referenced by key from connector rows
+CREATE TABLE connector_standards (
+                                     id SMALLINT AUTO_INCREMENT PRIMARY KEY,
+                                     name VARCHAR(100) UNIQUE NOT NULL -- e.g., 'IEC_62196_T2', 'CHADEMO'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
 -- Table for Connectors (Physical Charging Ports)
 CREATE TABLE connectors (
                             id BIGINT AUTO_INCREMENT PRIMARY KEY,
                             evse_id BIGINT NOT NULL, -- Foreign key to evses table
-                            standard VARCHAR(100) NOT NULL, -- e.g., 'IEC_62196_T2', 'CHADEMO'
-                            power_level DOUBLE NOT NULL, -- Power in kW
-                            voltage DOUBLE NOT NULL, -- Voltage in Volts
+                            standard_id SMALLINT NOT NULL, -- Foreign key to connector_standards table
+                            power_level_w INT NOT NULL, -- Power in watts (kW scaled by 1000)
+                            voltage_mv INT NOT NULL, -- Voltage in millivolts (Volts scaled by 1000)
 
     -- Audit field: Automatically updated on creation and modification
                             last_updated TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP NOT NULL,
@@ -71,6 +84,35 @@ CREATE TABLE connectors (
                                     REFERENCES evses(id)
                                     ON DELETE CASCADE,
 
+                            CONSTRAINT fk_connectors_standard_id
+                                FOREIGN KEY (standard_id)
+                                    REFERENCES connector_standards(id),
+
                             INDEX idx_connectors_evse_id (evse_id) -- Index for joining with evses
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
+
+-- Table for stored responses of requests carrying an Idempotency-Key header
+CREATE TABLE idempotency_records (
+                                     idempotency_key VARCHAR(255) PRIMARY KEY,
+                                     request_hash CHAR(64) NOT NULL, -- SHA-256 of method, path and body
+                                     response_status INT NOT NULL,
+                                     content_type VARCHAR(100),
+                                     response_body MEDIUMBLOB,
+                                     created_at TIMESTAMP(6) NOT NULL,
+
+                                     INDEX idx_idempotency_records_created_at (created_at) -- Index for expiry purges
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Table for the transactional outbox of domain events
+CREATE TABLE outbox_messages (
+                                 id BIGINT AUTO_INCREMENT PRIMARY KEY, -- Defines delivery order
+                                 event_type VARCHAR(100) NOT NULL,
+                                 aggregate_type VARCHAR(50) NOT NULL,
+                                 aggregate_id BIGINT,
+                                 payload LONGTEXT NOT NULL, -- JSON representation of the event
+                                 occurred_on TIMESTAMP(6) NOT NULL,
+                                 published_at TIMESTAMP(6) NULL, -- Null until relayed
+
+                                 INDEX idx_outbox_messages_published_at (published_at) -- Index for relay and purge queries
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -1,5 +1,7 @@
 package com.example.emsp.application;
 
+import com.example.emsp.domain.events.ConnectorAddedEvent;
+import com.example.emsp.domain.evse.EVSEId;
 import com.example.emsp.domain.evse.EVSERepository;
 import com.example.emsp.domain.location.Connector;
 import com.example.emsp.domain.location.ConnectorRepository;
@@ -12,11 +14,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 /**
@@ -30,6 +36,8 @@ class ConnectorApplicationServiceTest {
     private ConnectorRepository connectorRepository;
     @Mock
     private EVSERepository evseRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private ConnectorApplicationService connectorApplicationService;
@@ -89,4 +97,51 @@ class ConnectorApplicationServiceTest {
         verify(connectorRepository, never()).save(any(Connector.class));
         verify(testEVSE, never()).addConnector(any(Connector.class)); // Ensure EVSE's method is not called
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should add connectors to several EVSEs in one batch and publish one event per connector")
+    void shouldAddConnectorsInBatch() {
+        EVSE otherEVSE = mock(EVSE.class);
+        when(testEVSE.getEvseId()).thenReturn(new EVSEId(testEvseIdValue));
+        when(otherEVSE.getEvseId()).thenReturn(new EVSEId("US*ABC*EVSE456"));
+        when(evseRepository.findByEvseIdTextIn(anyCollection())).thenReturn(List.of(testEVSE, otherEVSE));
+        doAnswer(invocation -> {
+            List<Connector> connectors = invocation.getArgument(0);
+            long id = 1;
+            for (Connector connector : connectors) {
+                connector.setId(id++); // Simulate generated keys
+            }
+            return null;
+        }).when(connectorRepository).insertAll(anyList());
+
+        List<Connector> created = connectorApplicationService.addConnectorsToEVSEs(List.of(
+                new ConnectorCreateCommand(testEvseIdValue, "Type2", 22.0, 400.0),
+                new ConnectorCreateCommand(testEvseIdValue, "CHADEMO", 50.0, 500.0),
+                new ConnectorCreateCommand("US*ABC*EVSE456", "CCS", 150.0, 800.0)));
+
+        assertEquals(3, created.size());
+        assertEquals(testEVSE, created.get(0).getEvse());
+        assertEquals(otherEVSE, created.get(2).getEvse());
+        assertEquals(3L, created.get(2).getId());
+        verify(evseRepository, times(1)).findByEvseIdTextIn(anyCollection());
+        verify(connectorRepository, times(1)).insertAll(anyList());
+        verify(connectorRepository, never()).save(any(Connector.class));
+        verify(testEVSE, never()).addConnector(any(Connector.class)); // Existing connectors are not loaded
+        verify(eventPublisher, times(3)).publishEvent(any(ConnectorAddedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should reject the whole batch when one EVSE does not exist")
+    void shouldRejectBatchWithUnknownEvse() {
+        when(testEVSE.getEvseId()).thenReturn(new EVSEId(testEvseIdValue));
+        when(evseRepository.findByEvseIdTextIn(anyCollection())).thenReturn(List.of(testEVSE));
+
+        assertThrows(ResourceNotFoundException.class, () ->
+                connectorApplicationService.addConnectorsToEVSEs(List.of(
+                        new ConnectorCreateCommand(testEvseIdValue, "Type2", 22.0, 400.0),
+                        new ConnectorCreateCommand("US*XYZ*NONEXISTENT", "Type2", 22.0, 400.0))));
+
+        verify(connectorRepository, never()).insertAll(anyList());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+}
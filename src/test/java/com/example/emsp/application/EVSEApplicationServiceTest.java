@@ -6,21 +6,28 @@ import com.example.emsp.domain.evse.EVSEStatus;
 import com.example.emsp.domain.evse.EVSE;
 import com.example.emsp.domain.location.Location;
 import com.example.emsp.domain.location.LocationRepository;
+import com.example.emsp.infrastructure.cache.NegativeLookupCache;
 import com.example.emsp.infrastructure.exception.EVSEIdFormatException;
 import com.example.emsp.infrastructure.exception.InvalidEVSEStatusTransitionException;
 import com.example.emsp.infrastructure.exception.ResourceNotFoundException;
+import com.example.emsp.infrastructure.metrics.EVSEStatusMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.*;
 
 /**
@@ -34,6 +41,11 @@ class EVSEApplicationServiceTest {
     private EVSERepository evseRepository;
     @Mock
     private LocationRepository locationRepository;
+    @Spy
+    private NegativeLookupCache negativeLookupCache = new NegativeLookupCache(100, Duration.ofMinutes(1));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @Spy
+    private EVSEStatusMetrics evseStatusMetrics = new EVSEStatusMetrics(meterRegistry);
 
     @InjectMocks
     private EVSEApplicationService evseApplicationService;
@@ -198,6 +210,24 @@ class EVSEApplicationServiceTest {
         verify(evseRepository, never()).save(any(EVSE.class));
     }
 
+    @Test
+    @DisplayName("Should answer repeated status changes of a non-existent EVSE without querying again until it is created")
+    void shouldRememberNonExistentEvse() {
+        String nonExistentEvseId = "US*XYZ*NONEXISTENT";
+        when(evseRepository.findByEvseIdText(nonExistentEvseId)).thenReturn(Optional.empty());
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(ResourceNotFoundException.class, () ->
+                    evseApplicationService.changeEVSEStatus(nonExistentEvseId, EVSEStatus.INOPERATIVE));
+        }
+        verify(evseRepository, times(1)).findByEvseIdText(nonExistentEvseId);
+
+        negativeLookupCache.invalidate(nonExistentEvseId); // As on EVSEAddedEvent
+        assertThrows(ResourceNotFoundException.class, () ->
+                evseApplicationService.changeEVSEStatus(nonExistentEvseId, EVSEStatus.INOPERATIVE));
+        verify(evseRepository, times(2)).findByEvseIdText(nonExistentEvseId);
+    }
+
     @Test
     @DisplayName("Should throw InvalidEVSEStatusTransitionException for invalid status transition")
     void shouldThrowExceptionForInvalidStatusTransition() {
@@ -212,6 +242,7 @@ class EVSEApplicationServiceTest {
 
         verify(evseRepository, times(1)).findByEvseIdText(validEvseIdValue);
         verify(evseRepository, never()).save(any(EVSE.class)); // Ensure save is not called
+        assertEquals(1.0, meterRegistry.get("emsp.evse.status.rejected").tag("from", "BLOCKED").tag("to", "INOPERATIVE").counter().count());
     }
 
     @Test
@@ -237,4 +268,21 @@ class EVSEApplicationServiceTest {
         assertTrue(foundEVSE.isEmpty());
         verify(evseRepository, times(1)).findByEvseIdText(nonExistentEvseId);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should apply a batch of status changes and skip unknown EVSEs and invalid transitions")
+    void shouldApplyStatusChangeBatch() {
+        when(evseRepository.findByEvseIdTextIn(anyCollection())).thenReturn(List.of(testEVSE));
+
+        int applied = evseApplicationService.applyStatusChanges(List.of(
+                new EVSEStatusChangeCommand(validEvseIdValue, EVSEStatus.BLOCKED),
+                new EVSEStatusChangeCommand("US*XYZ*NONEXISTENT", EVSEStatus.BLOCKED),
+                new EVSEStatusChangeCommand(validEvseIdValue, EVSEStatus.INOPERATIVE), // BLOCKED to INOPERATIVE is invalid
+                new EVSEStatusChangeCommand(validEvseIdValue, EVSEStatus.AVAILABLE)));
+
+        assertEquals(2, applied);
+        assertEquals(EVSEStatus.AVAILABLE, testEVSE.getStatus());
+        verify(evseRepository, times(1)).findByEvseIdTextIn(anyCollection());
+        verify(evseRepository, times(1)).saveAll(anyCollection());
+    }
+}
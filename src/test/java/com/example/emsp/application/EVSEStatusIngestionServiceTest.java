@@ -0,0 +1,117 @@
+package com.example.emsp.application;
+
+import com.example.emsp.domain.evse.EVSEStatus;
+import com.example.emsp.infrastructure.journal.StatusJournal;
+import com.example.emsp.infrastructure.journal.StatusJournalEntry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for EVSEStatusIngestionService.
+ * Uses a real StatusJournal in a temporary directory and a mocked EVSEApplicationService.
+ * Focuses on draining the journal and isolating a command that cannot be applied.
+ */
+class EVSEStatusIngestionServiceTest {
+
+    private static final EVSEStatusChangeCommand POISON = new EVSEStatusChangeCommand("US*ABC*POISON", EVSEStatus.BLOCKED);
+
+    @TempDir
+    Path tempDir;
+
+    private StatusJournal journal;
+    private EVSEApplicationService evseApplicationService;
+    private EVSEStatusIngestionService ingestionService;
+
+    @BeforeEach
+    void setUp() {
+        journal = new StatusJournal(tempDir.resolve("journal.log"), 4096, false);
+        evseApplicationService = mock(EVSEApplicationService.class);
+        ingestionService = new EVSEStatusIngestionService(journal, evseApplicationService);
+        ReflectionTestUtils.setField(ingestionService, "applyBatchSize", 10);
+        ReflectionTestUtils.setField(ingestionService, "maxApplyAttempts", 2);
+        journal.append("US*ABC*EVSE1", EVSEStatus.BLOCKED, Instant.now());
+        journal.append(POISON.evseIdText(), POISON.newStatus(), Instant.now());
+        journal.append("US*ABC*EVSE3", EVSEStatus.INOPERATIVE, Instant.now());
+    }
+
+    @AfterEach
+    void tearDown() {
+        journal.close();
+    }
+
+    /**
+     * Makes every batch containing the poison command fail with the given exception.
+     */
+    private void failBatchesWithPoison(RuntimeException failure) {
+        when(evseApplicationService.applyStatusChanges(anyList())).thenAnswer(invocation -> {
+            List<EVSEStatusChangeCommand> commands = invocation.getArgument(0);
+            if (commands.contains(POISON)) {
+                throw failure;
+            }
+            return commands.size();
+        });
+    }
+
+    @Test
+    @DisplayName("Should apply pending commands in one batch and commit them")
+    void applyPendingStatusChanges_shouldDrainJournal() {
+        when(evseApplicationService.applyStatusChanges(anyList())).thenReturn(3);
+
+        ingestionService.applyPendingStatusChanges();
+
+        verify(evseApplicationService, times(1)).applyStatusChanges(anyList());
+        assertEquals(0, journal.pendingCount());
+    }
+
+    @Test
+    @DisplayName("Should apply the commands around a failing one and dead-letter it after the maximum attempts")
+    void applyPendingStatusChanges_shouldDeadLetterPoisonCommand() throws Exception {
+        failBatchesWithPoison(new DataIntegrityViolationException("Value too long"));
+
+        ingestionService.applyPendingStatusChanges();
+
+        List<StatusJournalEntry> pending = journal.readPending(10);
+        assertEquals(List.of("US*ABC*POISON", "US*ABC*EVSE3"), pending.stream().map(StatusJournalEntry::evseIdText).toList());
+        assertFalse(Files.exists(journal.deadLetterPath()));
+
+        ingestionService.applyPendingStatusChanges();
+
+        assertEquals(0, journal.pendingCount());
+        List<String> deadLetters = Files.readAllLines(journal.deadLetterPath());
+        assertEquals(1, deadLetters.size());
+        assertTrue(deadLetters.get(0).contains("US*ABC*POISON"));
+        assertTrue(deadLetters.get(0).contains("Value too long"));
+        verify(evseApplicationService).applyStatusChanges(List.of(new EVSEStatusChangeCommand("US*ABC*EVSE3", EVSEStatus.INOPERATIVE)));
+    }
+
+    @Test
+    @DisplayName("Should keep every command pending while the database is unavailable")
+    void applyPendingStatusChanges_shouldRetryWhenDatabaseIsUnavailable() {
+        when(evseApplicationService.applyStatusChanges(anyList()))
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+
+        for (int run = 0; run < 5; run++) {
+            ingestionService.applyPendingStatusChanges();
+        }
+
+        assertEquals(3, journal.pendingCount());
+        assertFalse(Files.exists(journal.deadLetterPath()));
+        verify(evseApplicationService, times(5)).applyStatusChanges(any());
+    }
+}
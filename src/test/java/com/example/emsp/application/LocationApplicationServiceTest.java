@@ -12,14 +12,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 
 import java.time.LocalTime;
-import java.time.LocalDateTime;
-import java.util.Arrays;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -138,57 +132,4 @@ class LocationApplicationServiceTest {
         verify(locationRepository, times(1)).findById(nonExistentId);
         verify(locationRepository, never()).save(any(Location.class));
     }
-
-    @Test
-    @DisplayName("Should successfully find a location by ID")
-    void shouldFindLocationById() {
-        Long locationId = 1L;
-        Location existingLocation = new Location("Found Location", "Found Address", testCoordinates, testBusinessHours);
-        try {
-            java.lang.reflect.Field idField = existingLocation.getClass().getDeclaredField("id");
-            idField.setAccessible(true);
-            idField.set(existingLocation, locationId);
-        } catch (NoSuchFieldException | IllegalAccessException e) {
-            throw new RuntimeException(e);
-        }
-
-        when(locationRepository.findById(locationId)).thenReturn(Optional.of(existingLocation));
-
-        Location foundLocation = locationApplicationService.findLocationById(locationId);
-
-        assertNotNull(foundLocation);
-        assertEquals(locationId, foundLocation.getId());
-        assertEquals("Found Location", foundLocation.getName());
-        verify(locationRepository, times(1)).findById(locationId);
-    }
-
-    @Test
-    @DisplayName("Should throw ResourceNotFoundException when finding non-existent location by ID")
-    void shouldThrowExceptionWhenFindingNonExistentLocationById() {
-        Long nonExistentId = 99L;
-        when(locationRepository.findById(nonExistentId)).thenReturn(Optional.empty());
-
-        assertThrows(ResourceNotFoundException.class, () ->
-                locationApplicationService.findLocationById(nonExistentId));
-        verify(locationRepository, times(1)).findById(nonExistentId);
-    }
-
-    @Test
-    @DisplayName("Should query locations by last updated timestamp with pagination")
-    void shouldQueryLocationsByLastUpdated() {
-        LocalDateTime timestamp = LocalDateTime.now().minusDays(1);
-        Pageable pageable = PageRequest.of(0, 10);
-        Location location1 = new Location("Loc1", "Addr1", testCoordinates, testBusinessHours);
-        Location location2 = new Location("Loc2", "Addr2", testCoordinates, testBusinessHours);
-        Page<Location> mockPage = new PageImpl<>(Arrays.asList(location1, location2), pageable, 2);
-
-        when(locationRepository.findByLastUpdatedAfter(timestamp, pageable)).thenReturn(mockPage);
-
-        Page<Location> resultPage = locationApplicationService.queryLocationsByLastUpdated(timestamp, pageable);
-
-        assertNotNull(resultPage);
-        assertEquals(2, resultPage.getTotalElements());
-        assertEquals(2, resultPage.getContent().size());
-        verify(locationRepository, times(1)).findByLastUpdatedAfter(timestamp, pageable);
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,228 @@
+package com.example.emsp.application.readmodel;
+
+import com.example.emsp.domain.common.BusinessHours;
+import com.example.emsp.domain.common.Coordinates;
+import com.example.emsp.domain.events.ConnectorAddedEvent;
+import com.example.emsp.domain.events.EVSEStatusChangedEvent;
+import com.example.emsp.domain.events.LocationUpdatedEvent;
+import com.example.emsp.domain.evse.EVSE;
+import com.example.emsp.domain.evse.EVSEId;
+import com.example.emsp.domain.evse.EVSERepository;
+import com.example.emsp.domain.evse.EVSEStatus;
+import com.example.emsp.domain.location.Connector;
+import com.example.emsp.domain.location.ConnectorRepository;
+import com.example.emsp.domain.location.Location;
+import com.example.emsp.domain.location.LocationRepository;
+import com.example.emsp.infrastructure.outbox.OutboxMessageRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CatalogReadModel.
+ * Uses Mockito to mock the repositories and the transaction manager.
+ */
+@ExtendWith(MockitoExtension.class)
+class CatalogReadModelTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Mock
+    private LocationRepository locationRepository;
+    @Mock
+    private EVSERepository evseRepository;
+    @Mock
+    private ConnectorRepository connectorRepository;
+    @Mock
+    private OutboxMessageRepository outboxMessageRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path tempDir;
+
+    private CatalogReadModel readModel;
+    private Location location;
+    private EVSE evse;
+
+    @BeforeEach
+    void setUp() {
+        readModel = new CatalogReadModel(locationRepository, evseRepository, connectorRepository, outboxMessageRepository,
+                transactionManager, Runnable::run, 100, 16, false, tempDir.resolve("catalog.snapshot"), Duration.ofMinutes(5));
+
+        location = new Location("Test Location", "123 Test St", new Coordinates(34.0, -118.0),
+                new BusinessHours(LocalTime.of(8, 0), LocalTime.of(22, 0)));
+        ReflectionTestUtils.setField(location, "id", 1L);
+        ReflectionTestUtils.setField(location, "lastUpdated", CREATED);
+        evse = new EVSE(new EVSEId("US*ABC*EVSE1"), location);
+        ReflectionTestUtils.setField(evse, "id", 10L);
+        Connector connector = new Connector("IEC_62196_T2", 22.0, 400.0, evse);
+        ReflectionTestUtils.setField(connector, "id", 100L);
+
+        when(locationRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(location)));
+        when(evseRepository.findByLocationIdIn(anyCollection())).thenReturn(List.of(evse));
+        when(connectorRepository.findByEvseIdIn(anyCollection())).thenReturn(List.of(connector));
+        readModel.afterSingletonsInstantiated();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should load locations with their EVSEs and connectors at startup")
+    void shouldLoadCatalogAtStartup() {
+        LocationView view = readModel.findLocation(1L);
+
+        assertNotNull(view);
+        assertEquals("Test Location", view.name());
+        assertEquals(1, view.evses().size());
+        assertEquals("US*ABC*EVSE1", view.evses().get(0).evseId());
+        assertEquals(22.0, view.evses().get(0).connectors().get(0).powerLevel());
+        assertEquals(1, readModel.findLocationsUpdatedAfter(CREATED.minusSeconds(1), PageRequest.of(0, 10)).getTotalElements());
+        assertEquals(0, readModel.findLocationsUpdatedAfter(CREATED, PageRequest.of(0, 10)).getTotalElements());
+        assertEquals(1, readModel.findEVSEsByPrefix("US*ABC*", null, PageRequest.of(0, 10)).getTotalElements());
+        assertEquals(0, readModel.findEVSEsByPrefix("US*XYZ*", null, PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Should replace the view of a location when it changes outside a transaction")
+    void shouldRefreshImmediatelyWithoutTransaction() {
+        LocalDateTime updated = CREATED.plusHours(1);
+        ReflectionTestUtils.setField(location, "lastUpdated", updated);
+        evse.changeStatus(EVSEStatus.BLOCKED);
+        when(locationRepository.findById(1L)).thenReturn(Optional.of(location));
+        long previousVersion = readModel.findLocation(1L).version();
+
+        readModel.on(new LocationUpdatedEvent(1L, "Test Location", "123 Test St"));
+
+        LocationView view = readModel.findLocation(1L);
+        assertTrue(view.version() > previousVersion);
+        assertEquals(EVSEStatus.BLOCKED, view.evses().get(0).status());
+        Page<LocationView> changedSince = readModel.findLocationsUpdatedAfter(CREATED, PageRequest.of(0, 10));
+        assertEquals(List.of(view), changedSince.getContent());
+        assertEquals(1, readModel.findEVSEsByPrefix("US*ABC*", EVSEStatus.BLOCKED, PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Should reload a location once after commit however many of its events a transaction publishes")
+    void shouldCoalesceRefreshesUntilCommit() {
+        when(locationRepository.findById(1L)).thenReturn(Optional.of(location));
+        TransactionSynchronizationManager.initSynchronization();
+
+        readModel.on(new EVSEStatusChangedEvent(10L, "US*ABC*EVSE1", 1L, EVSEStatus.AVAILABLE, EVSEStatus.BLOCKED));
+        readModel.on(new ConnectorAddedEvent(101L, 10L, "US*ABC*EVSE1", "CHADEMO", 50.0, 500.0));
+        verify(locationRepository, never()).findById(any());
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        verify(locationRepository, times(1)).findById(1L);
+        assertNull(TransactionSynchronizationManager.getResource(readModel));
+    }
+
+    @Test
+    @DisplayName("Should not reload a location whose transaction rolled back")
+    void shouldDiscardRefreshesOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        readModel.on(new LocationUpdatedEvent(1L, "Renamed", "123 Test St"));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verify(locationRepository, never()).findById(any());
+        assertEquals("Test Location", readModel.findLocation(1L).name());
+    }
+
+    @Test
+    @DisplayName("Should remove a location and its EVSEs once it no longer exists")
+    void shouldRemoveDeletedLocation() {
+        when(locationRepository.findById(1L)).thenReturn(Optional.empty());
+
+        readModel.refresh(1L);
+
+        assertNull(readModel.findLocation(1L));
+        assertEquals(0, readModel.findLocationsUpdatedAfter(LocalDateTime.MIN, PageRequest.of(0, 10)).getTotalElements());
+        assertEquals(0, readModel.findEVSEsByPrefix("US*ABC*", null, PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    private CatalogReadModel snapshottingReadModel() {
+        return new CatalogReadModel(locationRepository, evseRepository, connectorRepository, outboxMessageRepository,
+                transactionManager, Runnable::run, 100, 16, true, tempDir.resolve("catalog.snapshot"), Duration.ofMinutes(5));
+    }
+
+    @Test
+    @DisplayName("Should restore from a snapshot and reload only the locations changed after it")
+    void shouldRestoreFromSnapshotAndReplayChanges() {
+        CatalogReadModel original = snapshottingReadModel();
+        original.afterSingletonsInstantiated();
+        when(outboxMessageRepository.findMaxId()).thenReturn(42L);
+        original.writeSnapshot();
+        assertTrue(Files.exists(tempDir.resolve("catalog.snapshot")));
+
+        evse.changeStatus(EVSEStatus.BLOCKED);
+        when(outboxMessageRepository.findMinId()).thenReturn(40L);
+        when(outboxMessageRepository.findMaxId()).thenReturn(43L);
+        when(outboxMessageRepository.findAggregatesChangedAfter(eq(42L), any())).thenReturn(List.<Object[]>of(new Object[]{"EVSE", 10L}));
+        when(evseRepository.findLocationIdsByIdIn(List.of(10L))).thenReturn(List.of(1L));
+        when(locationRepository.findAllById(List.of(1L))).thenReturn(List.of(location));
+
+        CatalogReadModel restarted = snapshottingReadModel();
+        restarted.afterSingletonsInstantiated();
+
+        verify(locationRepository, times(2)).findAll(any(Pageable.class)); // The startup loads of readModel and original only
+        assertEquals("Test Location", restarted.findLocation(1L).name());
+        assertEquals(EVSEStatus.BLOCKED, restarted.findLocation(1L).evses().get(0).status());
+        assertEquals(1, restarted.findEVSEsByPrefix("US*ABC*", EVSEStatus.BLOCKED, PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Should load from the database when the outbox no longer reaches back to the snapshot")
+    void shouldIgnoreSnapshotOlderThanOutbox() {
+        CatalogReadModel original = snapshottingReadModel();
+        original.afterSingletonsInstantiated();
+        when(outboxMessageRepository.findMaxId()).thenReturn(42L);
+        original.writeSnapshot();
+
+        when(outboxMessageRepository.findMinId()).thenReturn(50L); // Messages 43 to 49 were already cleaned up
+        when(outboxMessageRepository.findMaxId()).thenReturn(60L);
+
+        CatalogReadModel restarted = snapshottingReadModel();
+        restarted.afterSingletonsInstantiated();
+
+        verify(locationRepository, times(3)).findAll(any(Pageable.class));
+        verify(outboxMessageRepository, never()).findAggregatesChangedAfter(anyLong(), any());
+        assertNotNull(restarted.findLocation(1L));
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.emsp.application.readmodel;
+
+import com.example.emsp.domain.evse.EVSEStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CatalogSnapshot.
+ */
+class CatalogSnapshotTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 12, 0, 0, 123_456_789);
+
+    @TempDir
+    private Path tempDir;
+
+    private static LocationView location(long id, EVSEView... evses) {
+        return new LocationView(id, "Location " + id, null, 52.37, 4.89,
+                LocalTime.of(8, 0), null, List.of(evses), T0.plusSeconds(id), id);
+    }
+
+    private static EVSEView evse(long id, long locationId, String evseId, EVSEStatus status) {
+        return new EVSEView(id, evseId, status, locationId,
+                List.of(new ConnectorView(id * 10, "IEC_62196_T2", 22.0, 400.0, id, T0)), T0);
+    }
+
+    @Test
+    @DisplayName("Should restore the header and every view, index and query result of the catalog")
+    void shouldRoundTripCatalog() throws IOException {
+        OffHeapCatalog catalog = new OffHeapCatalog(2, 2);
+        catalog.put(location(1L, evse(10L, 1L, "DE*ABC*E1", EVSEStatus.AVAILABLE)));
+        catalog.put(location(2L, evse(20L, 2L, "DE*ABC*E2", EVSEStatus.BLOCKED), evse(21L, 2L, "NL*XYZ*E1", EVSEStatus.AVAILABLE)));
+        catalog.put(location(3L));
+        catalog.remove(3L); // Leaves a free slot behind
+        Path path = tempDir.resolve("snapshots/catalog.snapshot");
+
+        CatalogSnapshot.write(path, catalog, 42L, T0, 7L);
+        CatalogSnapshot.Contents snapshot = CatalogSnapshot.read(path);
+
+        OffHeapCatalog restored = snapshot.catalog();
+        assertEquals(42L, snapshot.watermark());
+        assertEquals(T0, snapshot.takenAt());
+        assertEquals(7L, snapshot.version());
+        assertEquals(catalog.location(1L), restored.location(1L));
+        assertEquals(catalog.location(2L), restored.location(2L));
+        assertNull(restored.location(3L));
+        assertEquals(2L, restored.locationIdOfEvse(21L));
+        assertEquals(catalog.locationsUpdatedAfter(LocalDateTime.MIN, 0, 10), restored.locationsUpdatedAfter(LocalDateTime.MIN, 0, 10));
+        assertEquals(catalog.evsesByPrefix("DE*ABC*", null, 0, 10), restored.evsesByPrefix("DE*ABC*", null, 0, 10));
+        assertFalse(Files.exists(tempDir.resolve("snapshots/catalog.snapshot.tmp")));
+    }
+
+    @Test
+    @DisplayName("Should keep accepting changes after a restore without touching the snapshot file")
+    void shouldUpdateRestoredCatalog() throws IOException {
+        OffHeapCatalog catalog = new OffHeapCatalog(2, 2);
+        catalog.put(location(1L, evse(10L, 1L, "DE*ABC*E1", EVSEStatus.AVAILABLE)));
+        Path path = tempDir.resolve("catalog.snapshot");
+        CatalogSnapshot.write(path, catalog, 1L, T0, 1L);
+        byte[] written = Files.readAllBytes(path);
+
+        OffHeapCatalog restored = CatalogSnapshot.read(path).catalog();
+        LocationView changed = location(1L, evse(10L, 1L, "DE*ABC*E1", EVSEStatus.INOPERATIVE), evse(11L, 1L, "DE*ABC*E2", EVSEStatus.AVAILABLE));
+        restored.put(changed);
+        restored.put(location(2L));
+
+        assertEquals(changed, restored.location(1L));
+        assertEquals(2, restored.locationCount());
+        assertEquals(2, restored.evsesByPrefix("DE*ABC*", null, 0, 10).total());
+        assertArrayEquals(written, Files.readAllBytes(path));
+        assertEquals(catalog.location(1L), CatalogSnapshot.read(path).catalog().location(1L));
+    }
+
+    @Test
+    @DisplayName("Should reject a snapshot that was not written completely")
+    void shouldRejectTruncatedSnapshot() throws IOException {
+        OffHeapCatalog catalog = new OffHeapCatalog(2, 2);
+        catalog.put(location(1L, evse(10L, 1L, "DE*ABC*E1", EVSEStatus.AVAILABLE)));
+        Path path = tempDir.resolve("catalog.snapshot");
+        CatalogSnapshot.write(path, catalog, 1L, T0, 1L);
+        byte[] written = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(written, written.length / 2));
+
+        assertThrows(IllegalStateException.class, () -> CatalogSnapshot.read(path));
+    }
+}
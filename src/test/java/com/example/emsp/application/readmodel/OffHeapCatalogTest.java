@@ -0,0 +1,122 @@
+package com.example.emsp.application.readmodel;
+
+import com.example.emsp.domain.evse.EVSEStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for OffHeapCatalog.
+ */
+class OffHeapCatalogTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 12, 0, 0, 123_456_789);
+
+    private OffHeapCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new OffHeapCatalog(2, 2); // Small, so the tests also exercise growth
+    }
+
+    private static LocationView location(long id, LocalDateTime lastUpdated, EVSEView... evses) {
+        return new LocationView(id, "Location " + id, "Street " + id, 52.37, 4.89,
+                LocalTime.of(8, 0), LocalTime.of(22, 0), List.of(evses), lastUpdated, id);
+    }
+
+    private static EVSEView evse(long id, long locationId, String evseId, EVSEStatus status, ConnectorView... connectors) {
+        return new EVSEView(id, evseId, status, locationId, List.of(connectors), T0);
+    }
+
+    private static ConnectorView connector(long id, long evseId) {
+        return new ConnectorView(id, "IEC_62196_T2", 22.0, 400.0, evseId, T0);
+    }
+
+    @Test
+    @DisplayName("Should decode exactly the view that was stored, including nulls")
+    void shouldRoundTripViews() {
+        LocationView view = new LocationView(1L, "Hub", null, -33.86, 151.2, null, LocalTime.of(23, 59, 59, 1), List.of(
+                evse(10L, 1L, "DE*ABC*E1", EVSEStatus.AVAILABLE, connector(100L, 10L), connector(101L, 10L)),
+                evse(11L, 1L, "DE*ABC*E2", EVSEStatus.BLOCKED)), T0, 7L);
+
+        catalog.put(view);
+
+        assertEquals(view, catalog.location(1L));
+        assertEquals(1L, catalog.locationIdOfEvse(11L));
+        assertNull(catalog.location(2L));
+        assertNull(catalog.locationIdOfEvse(12L));
+    }
+
+    @Test
+    @DisplayName("Should drop EVSEs and connectors that are no longer part of a replaced location")
+    void shouldReplaceLocation() {
+        catalog.put(location(1L, T0,
+                evse(10L, 1L, "DE*ABC*E1", EVSEStatus.AVAILABLE, connector(100L, 10L)),
+                evse(11L, 1L, "DE*ABC*E2", EVSEStatus.AVAILABLE)));
+
+        LocationView replaced = location(1L, T0.plusMinutes(1),
+                evse(11L, 1L, "DE*ABC*E2", EVSEStatus.INOPERATIVE, connector(101L, 11L)));
+        catalog.put(replaced);
+
+        assertEquals(replaced, catalog.location(1L));
+        assertNull(catalog.locationIdOfEvse(10L));
+        assertEquals(1, catalog.evseCount());
+        assertEquals(List.of("DE*ABC*E2"), catalog.evsesByPrefix("DE*ABC*", null, 0, 10).content().stream().map(EVSEView::evseId).toList());
+        assertEquals(0, catalog.locationsUpdatedAfter(T0.plusMinutes(1), 0, 10).total());
+        assertEquals(1, catalog.locationsUpdatedAfter(T0, 0, 10).total());
+    }
+
+    @Test
+    @DisplayName("Should page locations updated after a timestamp in last-updated order")
+    void shouldPageLocationsByLastUpdated() {
+        for (long id = 1; id <= 5; id++) {
+            catalog.put(location(id, T0.plusSeconds(10 - id)));
+        }
+
+        OffHeapCatalog.Range<LocationView> page = catalog.locationsUpdatedAfter(T0.plusSeconds(5), 1, 2);
+
+        assertEquals(4, page.total()); // Locations 1 to 4, updated at +9s down to +6s
+        assertEquals(List.of(3L, 2L), page.content().stream().map(LocationView::id).toList());
+    }
+
+    @Test
+    @DisplayName("Should list the EVSEs of one operator in EVSE ID order, filtered by status")
+    void shouldFindEvsesByPrefix() {
+        catalog.put(location(1L, T0,
+                evse(10L, 1L, "DE*ABC*E3", EVSEStatus.AVAILABLE),
+                evse(11L, 1L, "NL*XYZ*E1", EVSEStatus.AVAILABLE)));
+        catalog.put(location(2L, T0,
+                evse(20L, 2L, "DE*ABC*E1", EVSEStatus.AVAILABLE),
+                evse(21L, 2L, "DE*ABC*E2", EVSEStatus.BLOCKED),
+                evse(22L, 2L, "DE*ABD*E1", EVSEStatus.AVAILABLE)));
+
+        OffHeapCatalog.Range<EVSEView> all = catalog.evsesByPrefix("DE*ABC*", null, 0, 10);
+        OffHeapCatalog.Range<EVSEView> available = catalog.evsesByPrefix("DE*ABC*", EVSEStatus.AVAILABLE, 1, 10);
+
+        assertEquals(List.of("DE*ABC*E1", "DE*ABC*E2", "DE*ABC*E3"), all.content().stream().map(EVSEView::evseId).toList());
+        assertEquals(2, available.total());
+        assertEquals(List.of("DE*ABC*E3"), available.content().stream().map(EVSEView::evseId).toList());
+    }
+
+    @Test
+    @DisplayName("Should remove a location with its EVSEs and reuse their slots")
+    void shouldRemoveLocation() {
+        catalog.put(location(1L, T0, evse(10L, 1L, "DE*ABC*E1", EVSEStatus.AVAILABLE, connector(100L, 10L))));
+        long offHeapBytes = catalog.offHeapBytes();
+
+        catalog.remove(1L);
+        catalog.put(location(2L, T0, evse(20L, 2L, "DE*ABC*E2", EVSEStatus.AVAILABLE, connector(200L, 20L))));
+
+        assertNull(catalog.location(1L));
+        assertEquals(1, catalog.locationCount());
+        assertEquals(1, catalog.locationsUpdatedAfter(LocalDateTime.MIN, 0, 10).total());
+        assertEquals(List.of("DE*ABC*E2"), catalog.evsesByPrefix("DE*", null, 0, 10).content().stream().map(EVSEView::evseId).toList());
+        assertEquals(offHeapBytes, catalog.offHeapBytes());
+    }
+}
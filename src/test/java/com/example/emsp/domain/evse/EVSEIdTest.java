@@ -8,7 +8,7 @@ import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * Unit tests for the EVSEId Value Object.
- * Focuses on testing the validation logic during construction.
+ * Focuses on testing the validation and parsing logic during construction.
  */
 class EVSEIdTest {
 
@@ -128,4 +128,22 @@ class EVSEIdTest {
         EVSEId id2 = new EVSEId("US*ABC*EVSE2");
         assertNotEquals(id1, id2);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should parse country code, party ID and local ID")
+    void shouldParseComponents() {
+        EVSEId evseId = new EVSEId("DE*AB1*Charger_07-b");
+        assertEquals("DE", evseId.getCountryCode());
+        assertEquals("AB1", evseId.getPartyId());
+        assertEquals("Charger_07-b", evseId.getLocalId());
+    }
+
+    @Test
+    @DisplayName("Should validate operator prefixes")
+    void shouldValidateOperator() {
+        assertTrue(EVSEId.isValidOperator("DE", "AB1"));
+        assertFalse(EVSEId.isValidOperator("de", "ABC"));
+        assertFalse(EVSEId.isValidOperator("DE", "AB"));
+        assertFalse(EVSEId.isValidOperator(null, "ABC"));
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.emsp.domain.location;
+
+import com.example.emsp.infrastructure.exception.InvalidConnectorValueException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the Connector entity.
+ * Focuses on scaling the electrical values and rejecting values that cannot be stored.
+ */
+class ConnectorTest {
+
+    @Test
+    @DisplayName("Should store power level and voltage scaled by 1000")
+    void shouldScaleElectricalValues() {
+        Connector connector = new Connector("IEC_62196_T2", 22.0, 0.001, null);
+        assertEquals(22_000, connector.getPowerLevelWatts());
+        assertEquals(1, connector.getVoltageMillivolts());
+        assertEquals(22.0, connector.getPowerLevel());
+        assertEquals(0.001, connector.getVoltage());
+    }
+
+    @Test
+    @DisplayName("Should accept the largest storable value")
+    void shouldAcceptMaxValue() {
+        Connector connector = new Connector("IEC_62196_T2", Connector.MAX_VALUE, 400.0, null);
+        assertEquals(1_000_000_000, connector.getPowerLevelWatts());
+    }
+
+    @Test
+    @DisplayName("Should reject values that would overflow or round to zero")
+    void shouldRejectValuesOutsideRange() {
+        assertThrows(InvalidConnectorValueException.class, () -> new Connector("IEC_62196_T2", 3_000_000.0, 400.0, null));
+        assertThrows(InvalidConnectorValueException.class, () -> new Connector("IEC_62196_T2", 22.0, 0.0004, null));
+        assertThrows(InvalidConnectorValueException.class, () -> new Connector("IEC_62196_T2", 22.0, -400.0, null));
+        assertThrows(InvalidConnectorValueException.class, () -> new Connector("IEC_62196_T2", Double.NaN, 400.0, null));
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.emsp.infrastructure.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for NegativeLookupCache.
+ */
+class NegativeLookupCacheTest {
+
+    @Test
+    @DisplayName("Should remember a miss until it is invalidated")
+    void shouldRememberMissUntilInvalidated() {
+        NegativeLookupCache cache = new NegativeLookupCache(10, Duration.ofMinutes(1));
+
+        cache.recordMiss("DE*ABC*E1", cache.beginLookup());
+
+        assertTrue(cache.isKnownMissing("DE*ABC*E1"));
+        assertFalse(cache.isKnownMissing("DE*ABC*E2"));
+        cache.invalidate("DE*ABC*E1");
+        assertFalse(cache.isKnownMissing("DE*ABC*E1"));
+    }
+
+    @Test
+    @DisplayName("Should not record a miss from a lookup that raced with a creation")
+    void shouldDropMissOfConcurrentLookup() {
+        NegativeLookupCache cache = new NegativeLookupCache(10, Duration.ofMinutes(1));
+
+        long lookup = cache.beginLookup();
+        cache.invalidate("DE*ABC*E1"); // Created and committed while the lookup ran
+        cache.recordMiss("DE*ABC*E1", lookup);
+
+        assertFalse(cache.isKnownMissing("DE*ABC*E1"));
+    }
+
+    @Test
+    @DisplayName("Should forget misses after the time-to-live and beyond the size bound")
+    void shouldExpireAndEvictMisses() {
+        NegativeLookupCache expired = new NegativeLookupCache(10, Duration.ZERO);
+        NegativeLookupCache bounded = new NegativeLookupCache(2, Duration.ofMinutes(1));
+
+        expired.recordMiss("DE*ABC*E1", expired.beginLookup());
+        for (String key : new String[]{"DE*ABC*E1", "DE*ABC*E2", "DE*ABC*E3"}) {
+            bounded.recordMiss(key, bounded.beginLookup());
+        }
+
+        assertFalse(expired.isKnownMissing("DE*ABC*E1"));
+        assertFalse(bounded.isKnownMissing("DE*ABC*E1"));
+        assertTrue(bounded.isKnownMissing("DE*ABC*E3"));
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.emsp.infrastructure.events;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EventExecutorFactory.
+ * Each test occupies the single worker thread with a blocking task so the queue can be filled deterministically.
+ */
+class EventExecutorFactoryTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ThreadPoolTaskExecutor executor;
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    private void createExecutor(EventRejectionPolicy policy) throws InterruptedException {
+        executor = new EventExecutorFactory(meterRegistry, 1, 2, policy, false).create("TestEvent");
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            awaitRelease();
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    @DisplayName("DROP_OLDEST should discard the oldest queued event and count the rejection")
+    void dropOldest_shouldDiscardOldestQueuedEvent() throws InterruptedException {
+        createExecutor(EventRejectionPolicy.DROP_OLDEST);
+        List<Integer> handled = new CopyOnWriteArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            int event = i;
+            executor.execute(() -> handled.add(event));
+        }
+
+        assertEquals(2.0, meterRegistry.get("emsp.events.queue.depth").tag("event", "TestEvent").gauge().value());
+        release.countDown();
+        executor.shutdown();
+
+        assertEquals(List.of(2, 3), handled);
+        assertEquals(1.0, meterRegistry.get("emsp.events.rejected").tag("policy", "DROP_OLDEST").counter().count());
+        assertEquals(4, meterRegistry.get("emsp.events.handler.latency").tag("event", "TestEvent").timer().count());
+    }
+
+    @Test
+    @DisplayName("CALLER_RUNS should run the handler on the publishing thread when the queue is full")
+    void callerRuns_shouldRunOnPublishingThread() throws InterruptedException {
+        createExecutor(EventRejectionPolicy.CALLER_RUNS);
+        executor.execute(() -> {});
+        executor.execute(() -> {});
+        List<Thread> handlerThreads = new CopyOnWriteArrayList<>();
+
+        executor.execute(() -> handlerThreads.add(Thread.currentThread()));
+
+        assertEquals(List.of(Thread.currentThread()), handlerThreads);
+        assertEquals(1.0, meterRegistry.get("emsp.events.rejected").tag("policy", "CALLER_RUNS").counter().count());
+    }
+
+    @Test
+    @DisplayName("Virtual threads should run handlers in order on one named virtual worker")
+    void virtualThreads_shouldRunHandlersInOrderOnVirtualWorker() throws InterruptedException {
+        executor = new EventExecutorFactory(meterRegistry, 1, 10, EventRejectionPolicy.BLOCK, true).create("TestEvent");
+        List<Integer> handled = new CopyOnWriteArrayList<>();
+        List<Thread> handlerThreads = new CopyOnWriteArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            int event = i;
+            executor.execute(() -> {
+                handled.add(event);
+                handlerThreads.add(Thread.currentThread());
+            });
+        }
+        executor.shutdown();
+
+        assertEquals(List.of(1, 2, 3, 4, 5), handled);
+        assertEquals(1, handlerThreads.stream().distinct().count());
+        assertTrue(handlerThreads.get(0).isVirtual());
+        assertEquals("TestEvent-1", handlerThreads.get(0).getName());
+    }
+
+    @Test
+    @DisplayName("BLOCK should make the publishing thread wait until the queue has room")
+    void block_shouldWaitForRoom() throws InterruptedException {
+        createExecutor(EventRejectionPolicy.BLOCK);
+        executor.execute(() -> {});
+        executor.execute(() -> {});
+        CountDownLatch handled = new CountDownLatch(1);
+        Thread publisher = new Thread(() -> executor.execute(handled::countDown));
+        publisher.start();
+
+        publisher.join(200);
+        assertTrue(publisher.isAlive(), "Publisher should be blocked while the queue is full");
+        release.countDown();
+
+        assertTrue(handled.await(5, TimeUnit.SECONDS));
+        publisher.join(5000);
+        assertFalse(publisher.isAlive());
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.emsp.infrastructure.exception;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ErrorBodyCache.
+ * Focuses on rendering the same JSON as serializing an ErrorResponse, with a fresh timestamp per response.
+ */
+class ErrorBodyCacheTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS) // As configured by Spring Boot
+            .build();
+
+    @Test
+    @DisplayName("Should render the same bytes as serializing the ErrorResponse")
+    void render_shouldMatchSerializedErrorResponse() throws Exception {
+        ErrorBodyCache cache = new ErrorBodyCache(objectMapper, 16);
+        String message = "EVSE not found with EVSE ID: \"DE*ABC*E1\" é";
+
+        byte[] body = cache.render(404, "Resource Not Found", message);
+
+        GlobalExceptionHandler.ErrorResponse parsed = objectMapper.readValue(body, GlobalExceptionHandler.ErrorResponse.class);
+        assertEquals(404, parsed.status());
+        assertEquals("Resource Not Found", parsed.error());
+        assertEquals(message, parsed.message());
+        assertNotNull(parsed.timestamp());
+        assertEquals(objectMapper.writeValueAsString(parsed), new String(body, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should reuse the rendered prefix but stamp each response with the current time")
+    void render_shouldStampEachResponse() throws Exception {
+        ErrorBodyCache cache = new ErrorBodyCache(objectMapper, 1);
+
+        GlobalExceptionHandler.ErrorResponse first = objectMapper.readValue(
+                cache.render(400, "Invalid EVSE ID Format", "Invalid EVSE ID format: x"), GlobalExceptionHandler.ErrorResponse.class);
+        Thread.sleep(5);
+        GlobalExceptionHandler.ErrorResponse second = objectMapper.readValue(
+                cache.render(400, "Invalid EVSE ID Format", "Invalid EVSE ID format: x"), GlobalExceptionHandler.ErrorResponse.class);
+        GlobalExceptionHandler.ErrorResponse other = objectMapper.readValue(
+                cache.render(404, "Resource Not Found", "Location not found with ID: 7"), GlobalExceptionHandler.ErrorResponse.class);
+
+        assertTrue(second.timestamp().isAfter(first.timestamp()));
+        assertEquals(first.message(), second.message());
+        assertEquals(404, other.status()); // Evicts the first entry without mixing up the bodies
+        assertEquals("Location not found with ID: 7", other.message());
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.emsp.infrastructure.fleet;
+
+import com.example.emsp.domain.evse.EVSE;
+import com.example.emsp.domain.evse.EVSEId;
+import com.example.emsp.domain.evse.EVSEStatus;
+import com.example.emsp.domain.location.Connector;
+import com.example.emsp.domain.location.Location;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the FleetGenerator.
+ * Focuses on determinism and on the generated graphs being valid input for the domain model and the schema.
+ */
+class FleetGeneratorTest {
+
+    private static final LocalDateTime GENERATED_AT = LocalDateTime.of(2026, 6, 1, 12, 0);
+    private static final Duration UPDATE_WINDOW = Duration.ofDays(30);
+
+    private static FleetGenerator generator(long seed, long firstLocationNumber) {
+        return new FleetGenerator(seed, 20, 4, UPDATE_WINDOW, GENERATED_AT, firstLocationNumber);
+    }
+
+    private static List<EVSE> evses(List<Location> locations) {
+        return locations.stream().flatMap(location -> location.getEvses().stream()).toList();
+    }
+
+    @Test
+    @DisplayName("Should generate the same fleet for the same seed")
+    void next_shouldBeDeterministic() {
+        List<Location> first = generator(7, 1).next(200);
+        List<Location> second = generator(7, 1).next(200);
+
+        assertEquals(first.stream().map(Location::getCoordinates).toList(), second.stream().map(Location::getCoordinates).toList());
+        assertEquals(evses(first).stream().map(EVSE::getEvseId).toList(), evses(second).stream().map(EVSE::getEvseId).toList());
+        assertEquals(evses(first).stream().map(EVSE::getStatus).toList(), evses(second).stream().map(EVSE::getStatus).toList());
+    }
+
+    @Test
+    @DisplayName("Should generate valid OCPI EVSE IDs that are unique across batches and continue after the first number")
+    void next_shouldGenerateUniqueValidEvseIds() {
+        FleetGenerator generator = generator(42, 1001);
+        List<EVSE> evses = evses(generator.next(500));
+        List<EVSE> more = evses(generator.next(500));
+
+        Set<String> ids = new HashSet<>();
+        for (EVSE evse : evses) {
+            assertTrue(EVSEId.isValid(evse.getEvseId().getText()), evse.getEvseId().getText());
+            assertTrue(ids.add(evse.getEvseId().getText()));
+        }
+        for (EVSE evse : more) {
+            assertTrue(ids.add(evse.getEvseId().getText()));
+        }
+        assertTrue(evses.get(0).getEvseId().getLocalId().startsWith("L1001E"));
+        assertEquals(2001, generator.nextLocationNumber());
+    }
+
+    @Test
+    @DisplayName("Should spread Locations over several countries and operators")
+    void next_shouldSpreadOverCountriesAndOperators() {
+        List<EVSE> evses = evses(generator(42, 1).next(2000));
+
+        Set<String> countries = new HashSet<>();
+        Set<String> operators = new HashSet<>();
+        for (EVSE evse : evses) {
+            countries.add(evse.getEvseId().getCountryCode());
+            operators.add(evse.getEvseId().getCountryCode() + "*" + evse.getEvseId().getPartyId());
+        }
+        assertTrue(countries.size() >= 10, "countries: " + countries);
+        assertTrue(operators.size() >= 100, "operators: " + operators.size());
+    }
+
+    @Test
+    @DisplayName("Should generate Locations in Europe with realistic EVSE counts, statuses and Connectors")
+    void next_shouldGenerateRealisticLocations() {
+        List<Location> locations = generator(42, 1).next(5000);
+        List<EVSE> evses = evses(locations);
+
+        double meanEvses = (double) evses.size() / locations.size();
+        assertTrue(meanEvses > 3 && meanEvses < 5, "mean EVSEs per location: " + meanEvses);
+        long available = evses.stream().filter(evse -> evse.getStatus() == EVSEStatus.AVAILABLE).count();
+        assertTrue(available > evses.size() * 0.7 && available < evses.size() * 0.8, "available: " + available);
+
+        for (Location location : locations) {
+            assertTrue(location.getCoordinates().getLatitude() > 30 && location.getCoordinates().getLatitude() < 65);
+            assertTrue(location.getCoordinates().getLongitude() > -15 && location.getCoordinates().getLongitude() < 30);
+            assertFalse(location.getLastUpdated().isAfter(GENERATED_AT));
+            assertFalse(location.getLastUpdated().isBefore(GENERATED_AT.minus(UPDATE_WINDOW)));
+            assertFalse(location.getEvses().isEmpty());
+        }
+        Set<String> standards = new HashSet<>();
+        for (EVSE evse : evses) {
+            assertNotEquals(EVSEStatus.REMOVED, evse.getStatus());
+            assertFalse(evse.getConnectors().isEmpty());
+            for (Connector connector : evse.getConnectors()) {
+                assertTrue(connector.getPowerLevel() > 0 && connector.getVoltage() > 0);
+                assertSame(evse, connector.getEvse());
+                standards.add(connector.getStandard());
+            }
+        }
+        assertEquals(Set.of(FleetGenerator.AC_TYPE_2, FleetGenerator.CCS_TYPE_2, FleetGenerator.CHADEMO, FleetGenerator.DOMESTIC_F), standards);
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.emsp.infrastructure.history;
+
+import com.example.emsp.domain.evse.EVSEStatus;
+import com.example.emsp.infrastructure.persistence.EVSEStatusConverter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the StatusHistoryStore.
+ * Focuses on range reads across months, compaction into sealed segments, rollups and crash recovery.
+ */
+class StatusHistoryStoreTest {
+
+    private static final Instant MAY_10 = Instant.parse("2026-05-10T08:00:00Z");
+    private static final Instant MAY_20 = Instant.parse("2026-05-20T12:30:00Z");
+    private static final Instant JUNE_2 = Instant.parse("2026-06-02T06:15:00Z");
+    private static final Instant JUNE_3 = Instant.parse("2026-06-03T18:45:10Z");
+
+    @TempDir
+    Path tempDir;
+
+    private static void appendHistory(StatusHistoryStore store) {
+        store.append(1L, EVSEStatus.AVAILABLE, MAY_10);
+        store.append(2L, EVSEStatus.AVAILABLE, MAY_10);
+        store.append(1L, EVSEStatus.INOPERATIVE, MAY_20);
+        store.append(1L, EVSEStatus.AVAILABLE, JUNE_2);
+        store.append(2L, EVSEStatus.BLOCKED, JUNE_3);
+        store.append(1L, EVSEStatus.BLOCKED, JUNE_3);
+    }
+
+    @Test
+    @DisplayName("Should return the status in effect at 'from' followed by the changes in range")
+    void read_shouldReturnEffectiveStatusAndChanges() {
+        try (StatusHistoryStore store = new StatusHistoryStore(tempDir)) {
+            appendHistory(store);
+
+            List<StatusHistoryEntry> history = store.read(1L, Instant.parse("2026-06-01T00:00:00Z"), Instant.parse("2026-07-01T00:00:00Z"));
+
+            assertEquals(List.of(
+                    new StatusHistoryEntry(MAY_20, EVSEStatus.INOPERATIVE),
+                    new StatusHistoryEntry(JUNE_2, EVSEStatus.AVAILABLE),
+                    new StatusHistoryEntry(JUNE_3, EVSEStatus.BLOCKED)), history);
+        }
+    }
+
+    @Test
+    @DisplayName("Should exclude changes at or after 'to'")
+    void read_shouldExcludeChangesAfterRange() {
+        try (StatusHistoryStore store = new StatusHistoryStore(tempDir)) {
+            appendHistory(store);
+
+            List<StatusHistoryEntry> history = store.read(2L, MAY_10, JUNE_3);
+
+            assertEquals(List.of(new StatusHistoryEntry(MAY_10, EVSEStatus.AVAILABLE)), history);
+            assertTrue(store.read(3L, MAY_10, JUNE_3).isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("Should compact past months into sealed segments without changing the results")
+    void compact_shouldSealPastMonths() {
+        try (StatusHistoryStore store = new StatusHistoryStore(tempDir)) {
+            appendHistory(store);
+            List<StatusHistoryEntry> before = store.read(1L, MAY_10, Instant.parse("2026-07-01T00:00:00Z"));
+
+            assertEquals(1, store.compact());
+
+            assertTrue(Files.exists(tempDir.resolve("2026-05.seg")));
+            assertFalse(Files.exists(tempDir.resolve("2026-05.log")));
+            assertEquals(before, store.read(1L, MAY_10, Instant.parse("2026-07-01T00:00:00Z")));
+            assertEquals(0, store.compact()); // The current month stays an append log
+        }
+    }
+
+    @Test
+    @DisplayName("Should recover the active log after a restart and drop a torn record")
+    void shouldRecoverAfterRestart() throws IOException {
+        try (StatusHistoryStore store = new StatusHistoryStore(tempDir)) {
+            appendHistory(store);
+            store.compact();
+        }
+        Files.write(tempDir.resolve("2026-06.log"), new byte[]{(byte) 0x81}, StandardOpenOption.APPEND); // Torn varint
+
+        try (StatusHistoryStore store = new StatusHistoryStore(tempDir)) {
+            Instant june4 = Instant.parse("2026-06-04T09:00:00Z");
+            store.append(1L, EVSEStatus.AVAILABLE, june4);
+
+            List<StatusHistoryEntry> history = store.read(1L, MAY_10, Instant.parse("2026-07-01T00:00:00Z"));
+
+            assertEquals(List.of(
+                    new StatusHistoryEntry(MAY_10, EVSEStatus.AVAILABLE),
+                    new StatusHistoryEntry(MAY_20, EVSEStatus.INOPERATIVE),
+                    new StatusHistoryEntry(JUNE_2, EVSEStatus.AVAILABLE),
+                    new StatusHistoryEntry(JUNE_3, EVSEStatus.BLOCKED),
+                    new StatusHistoryEntry(june4, EVSEStatus.AVAILABLE)), history);
+        }
+    }
+
+    @Test
+    @DisplayName("Should write the fixed status codes rather than enum ordinals")
+    void append_shouldWriteFixedStatusCodes() throws IOException {
+        try (StatusHistoryStore store = new StatusHistoryStore(tempDir)) {
+            store.append(1L, EVSEStatus.INOPERATIVE, MAY_10);
+        }
+
+        ByteBuffer log = ByteBuffer.wrap(Files.readAllBytes(tempDir.resolve("2026-05.log")));
+        assertEquals(1L, VarInts.get(log));
+        assertEquals(EVSEStatusConverter.codeOf(EVSEStatus.INOPERATIVE), VarInts.get(log) & 0x3);
+    }
+
+    @Test
+    @DisplayName("Should use only a few bytes per change once sealed")
+    void compact_shouldEncodeCompactly() throws IOException {
+        try (StatusHistoryStore store = new StatusHistoryStore(tempDir)) {
+            Instant time = MAY_10;
+            for (int i = 0; i < 1000; i++) {
+                time = time.plusSeconds(600);
+                store.append(1L, i % 2 == 0 ? EVSEStatus.BLOCKED : EVSEStatus.AVAILABLE, time);
+            }
+            store.append(1L, EVSEStatus.AVAILABLE, JUNE_2);
+            store.compact();
+
+            assertTrue(Files.size(tempDir.resolve("2026-05.seg")) < 1000 * 3 + 100);
+            assertEquals(1000, store.read(1L, MAY_10, JUNE_2).size());
+        }
+    }
+
+    @Test
+    @DisplayName("Should compute the same durations from rollups as from the raw entries")
+    void durations_shouldMatchBeforeAndAfterRollup() {
+        try (StatusHistoryStore store = new StatusHistoryStore(tempDir)) {
+            appendHistory(store);
+            store.append(3L, EVSEStatus.AVAILABLE, Instant.parse("2026-07-01T10:00:00Z")); // Makes June a past month
+            Instant from = Instant.parse("2026-05-15T10:20:30Z");
+            Instant to = Instant.parse("2026-07-01T05:00:00Z");
+            StatusDurations evse1 = store.durations(1L, from, to);
+            StatusDurations evse2 = store.durations(2L, from, to);
+
+            assertEquals(2, store.compact());
+
+            assertTrue(Files.exists(tempDir.resolve("2026-05.rollup")));
+            assertTrue(Files.exists(tempDir.resolve("2026-06.rollup")));
+            assertEquals(evse1, store.durations(1L, from, to));
+            assertEquals(evse2, store.durations(2L, from, to));
+            StatusDurations june = store.durations(2L, Instant.parse("2026-06-01T00:00:00Z"), Instant.parse("2026-07-01T00:00:00Z"));
+            assertEquals(2 * 86400 + 18 * 3600 + 45 * 60 + 10, june.seconds(EVSEStatus.AVAILABLE));
+            assertEquals(30 * 86400, june.recordedSeconds());
+        }
+    }
+
+    @Test
+    @DisplayName("Should carry a status over months without changes and not count time before the first record")
+    void durations_shouldCarryStatusAcrossRolledUpMonths() {
+        try (StatusHistoryStore store = new StatusHistoryStore(tempDir)) {
+            store.append(9L, EVSEStatus.AVAILABLE, MAY_10);
+            store.append(9L, EVSEStatus.BLOCKED, Instant.parse("2026-05-31T23:30:00Z"));
+            store.append(3L, EVSEStatus.AVAILABLE, Instant.parse("2026-06-15T10:00:00Z")); // EVSE 9 has no entry in June
+            store.append(3L, EVSEStatus.BLOCKED, Instant.parse("2026-07-01T10:00:00Z"));
+            assertEquals(2, store.compact());
+
+            StatusDurations june = store.durations(9L, Instant.parse("2026-06-01T00:00:00Z"), Instant.parse("2026-07-01T00:00:00Z"));
+            assertEquals(30 * 86400, june.seconds(EVSEStatus.BLOCKED));
+
+            StatusDurations acrossMonths = store.durations(9L, Instant.parse("2026-05-31T23:00:00Z"), Instant.parse("2026-06-01T01:00:00Z"));
+            assertEquals(1800, acrossMonths.seconds(EVSEStatus.AVAILABLE));
+            assertEquals(5400, acrossMonths.seconds(EVSEStatus.BLOCKED));
+
+            StatusDurations beforeFirstRecord = store.durations(9L, Instant.parse("2026-05-01T00:00:00Z"), Instant.parse("2026-05-11T00:00:00Z"));
+            assertEquals(16 * 3600, beforeFirstRecord.seconds(EVSEStatus.AVAILABLE));
+            assertEquals(16 * 3600, beforeFirstRecord.recordedSeconds());
+        }
+    }
+
+    @Test
+    @DisplayName("Should read the active log across written and buffered records without writing the buffer")
+    void read_shouldCombineWrittenAndBufferedRecords() throws IOException {
+        try (StatusHistoryStore store = new StatusHistoryStore(tempDir)) {
+            store.append(1L, EVSEStatus.AVAILABLE, JUNE_2);
+            store.append(2L, EVSEStatus.AVAILABLE, JUNE_2);
+            store.flush();
+            long flushed = Files.size(tempDir.resolve("2026-06.log"));
+            store.append(1L, EVSEStatus.BLOCKED, JUNE_3);
+
+            List<StatusHistoryEntry> history = store.read(1L, JUNE_2, Instant.parse("2026-07-01T00:00:00Z"));
+
+            assertEquals(List.of(
+                    new StatusHistoryEntry(JUNE_2, EVSEStatus.AVAILABLE),
+                    new StatusHistoryEntry(JUNE_3, EVSEStatus.BLOCKED)), history);
+            assertEquals(flushed, Files.size(tempDir.resolve("2026-06.log")));
+            assertTrue(store.read(3L, JUNE_2, JUNE_3).isEmpty());
+
+            store.flush();
+            assertTrue(Files.size(tempDir.resolve("2026-06.log")) > flushed);
+        }
+    }
+}
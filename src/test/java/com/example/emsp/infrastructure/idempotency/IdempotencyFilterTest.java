@@ -0,0 +1,175 @@
+package com.example.emsp.infrastructure.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for IdempotencyFilter.
+ * Uses a real IdempotencyStore with a mocked IdempotencyRecordRepository.
+ */
+class IdempotencyFilterTest {
+
+    private IdempotencyRecordRepository repository;
+    private IdempotencyFilter filter;
+    private AtomicInteger executions;
+    private FilterChain createLocationChain;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(IdempotencyRecordRepository.class);
+        when(repository.findById(anyString())).thenReturn(Optional.empty());
+        IdempotencyStore store = new IdempotencyStore(repository, 100, Duration.ofHours(1));
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        filter = new IdempotencyFilter(store, objectMapper, List.of("/api/v1/locations", "/api/v1/evses/*/connectors"));
+
+        executions = new AtomicInteger();
+        createLocationChain = (request, response) -> {
+            request.getInputStream().readAllBytes(); // The controller still sees the body
+            HttpServletResponse httpResponse = (HttpServletResponse) response;
+            httpResponse.setStatus(201);
+            httpResponse.setContentType("application/json");
+            httpResponse.getWriter().write("{\"id\":" + executions.incrementAndGet() + "}");
+        };
+    }
+
+    private MockHttpServletRequest createLocationRequest(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/locations");
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        }
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    @Test
+    @DisplayName("Should replay the stored response for a retried request without re-executing it")
+    void shouldReplayStoredResponse() throws Exception {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        filter.doFilter(createLocationRequest("key-1", "{\"name\":\"A\"}"), first, createLocationChain);
+
+        MockHttpServletResponse retry = new MockHttpServletResponse();
+        filter.doFilter(createLocationRequest("key-1", "{\"name\":\"A\"}"), retry, createLocationChain);
+
+        assertEquals(1, executions.get());
+        assertEquals(201, first.getStatus());
+        assertEquals(201, retry.getStatus());
+        assertEquals(first.getContentAsString(), retry.getContentAsString());
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        verify(repository, times(1)).insert(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    @DisplayName("Should return 422 when a key is reused for a different request")
+    void shouldRejectKeyReuseWithDifferentBody() throws Exception {
+        filter.doFilter(createLocationRequest("key-1", "{\"name\":\"A\"}"), new MockHttpServletResponse(), createLocationChain);
+
+        MockHttpServletResponse reuse = new MockHttpServletResponse();
+        filter.doFilter(createLocationRequest("key-1", "{\"name\":\"B\"}"), reuse, createLocationChain);
+
+        assertEquals(1, executions.get());
+        assertEquals(422, reuse.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should execute every request without an Idempotency-Key header")
+    void shouldPassThroughRequestsWithoutKey() throws Exception {
+        filter.doFilter(createLocationRequest(null, "{}"), new MockHttpServletResponse(), createLocationChain);
+        filter.doFilter(createLocationRequest(null, "{}"), new MockHttpServletResponse(), createLocationChain);
+
+        assertEquals(2, executions.get());
+        verify(repository, never()).insert(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    @DisplayName("Should not store failed responses so the request can be retried")
+    void shouldNotStoreFailedResponses() throws Exception {
+        FilterChain failingChain = (request, response) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(404);
+        };
+        filter.doFilter(createLocationRequest("key-1", "{}"), new MockHttpServletResponse(), failingChain);
+        filter.doFilter(createLocationRequest("key-1", "{}"), new MockHttpServletResponse(), failingChain);
+
+        assertEquals(2, executions.get());
+        verify(repository, never()).insert(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    @DisplayName("Should replay from the database after the in-memory cache is lost")
+    void shouldFallBackToDatabase() throws Exception {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        filter.doFilter(createLocationRequest("key-1", "{}"), first, createLocationChain);
+        ArgumentCaptor<IdempotencyRecord> saved = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(repository).insert(saved.capture());
+        when(repository.findById("key-1")).thenReturn(Optional.of(saved.getValue()));
+
+        // A fresh store simulates a restart: nothing is cached, only the database has the record
+        IdempotencyFilter restarted = new IdempotencyFilter(new IdempotencyStore(repository, 100, Duration.ofHours(1)),
+                new ObjectMapper(), List.of("/api/v1/locations"));
+        MockHttpServletResponse retry = new MockHttpServletResponse();
+        restarted.doFilter(createLocationRequest("key-1", "{}"), retry, createLocationChain);
+
+        assertEquals(1, executions.get());
+        assertEquals(201, retry.getStatus());
+        assertEquals(first.getContentAsString(), retry.getContentAsString());
+    }
+
+    @Test
+    @DisplayName("Should hand the cached body to an asynchronous reader")
+    void shouldSupportAsynchronousReads() throws Exception {
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        AtomicInteger allDataRead = new AtomicInteger();
+        FilterChain asyncChain = (request, response) -> {
+            ServletInputStream input = request.getInputStream();
+            input.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    byte[] buffer = new byte[4];
+                    while (input.isReady() && !input.isFinished()) {
+                        read.write(buffer, 0, input.read(buffer));
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    allDataRead.incrementAndGet();
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    fail(t);
+                }
+            });
+            ((HttpServletResponse) response).setStatus(201);
+        };
+
+        filter.doFilter(createLocationRequest("key-1", "{\"name\":\"A\"}"), new MockHttpServletResponse(), asyncChain);
+
+        assertEquals("{\"name\":\"A\"}", read.toString(StandardCharsets.UTF_8));
+        assertEquals(1, allDataRead.get());
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.emsp.infrastructure.idempotency;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for storing idempotency records, against the application's in-memory database.
+ * Focuses on two instances completing the same key: the first stored response must win.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:idempotency-store;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "emsp.outbox.sink=memory"
+})
+class IdempotencyStoreIntegrationTest {
+
+    @Autowired
+    private IdempotencyRecordRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+    }
+
+    private static IdempotencyStore.StoredResponse response(String body) {
+        return new IdempotencyStore.StoredResponse("hash", 201, "application/json",
+                body.getBytes(StandardCharsets.UTF_8), LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS));
+    }
+
+    @Test
+    @DisplayName("Should refuse to insert a second record for the same key")
+    void insert_shouldRejectDuplicateKey() {
+        IdempotencyRecord record = new IdempotencyRecord("key-1", "hash", 201, "application/json",
+                "{}".getBytes(StandardCharsets.UTF_8), LocalDateTime.now());
+        assertEquals(1, repository.insert(record));
+
+        assertThrows(DataIntegrityViolationException.class, () -> repository.insert(record));
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    @DisplayName("Should keep the response stored first when another instance completes the same key")
+    void complete_shouldKeepFirstStoredResponse() {
+        IdempotencyStore one = new IdempotencyStore(repository, 100, Duration.ofHours(1));
+        IdempotencyStore other = new IdempotencyStore(repository, 100, Duration.ofHours(1));
+        assertTrue(one.tryBegin("key-1"));
+        assertTrue(other.tryBegin("key-1"));
+
+        one.complete("key-1", response("{\"id\":1}"));
+        other.complete("key-1", response("{\"id\":2}"));
+
+        assertEquals("{\"id\":1}", new String(repository.findById("key-1").orElseThrow().getResponseBody(), StandardCharsets.UTF_8));
+        assertEquals("{\"id\":1}", new String(other.find("key-1").orElseThrow().body(), StandardCharsets.UTF_8));
+        assertTrue(other.tryBegin("key-1"), "The key should be released");
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.emsp.infrastructure.jfr;
+
+import com.example.emsp.domain.evse.EVSEStatus;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the FlightRecorderEndpoint and the eMSP JFR events.
+ * Focuses on a recording started and stopped through the endpoint containing the committed events.
+ */
+class FlightRecorderEndpointTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should write a recording containing the eMSP events when stopped")
+    void stop_shouldWriteRecordingWithEvents() throws Exception {
+        FlightRecorderEndpoint endpoint = new FlightRecorderEndpoint(tempDir, Duration.ofMinutes(30), DataSize.ofMegabytes(64), Duration.ofMinutes(30));
+        FlightRecorderEndpoint.RecordingDescriptor started = endpoint.start("default", null);
+        assertEquals("RUNNING", started.state());
+        assertTrue(endpoint.recordings().stream().anyMatch(recording -> recording.id() == started.id()));
+
+        EVSEStatusChangeEvent statusChange = new EVSEStatusChangeEvent();
+        statusChange.begin();
+        statusChange.complete("DE*ABC*E1", EVSEStatus.AVAILABLE, EVSEStatus.BLOCKED, EVSEStatusChangeEvent.APPLIED);
+        BulkOperationEvent bulk = new BulkOperationEvent();
+        bulk.begin();
+        bulk.complete("applyStatusChanges", 10, 8, 7);
+
+        FlightRecorderEndpoint.RecordingDescriptor stopped = endpoint.stop(started.id());
+
+        assertEquals("STOPPED", stopped.state());
+        Path file = Path.of(stopped.destination());
+        assertTrue(Files.exists(file));
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        RecordedEvent recordedStatusChange = events.stream()
+                .filter(event -> event.getEventType().getName().equals("com.example.emsp.EVSEStatusChange"))
+                .findFirst().orElseThrow();
+        assertEquals("DE*ABC*E1", recordedStatusChange.getString("evseId"));
+        assertEquals("AVAILABLE", recordedStatusChange.getString("fromStatus"));
+        assertEquals("BLOCKED", recordedStatusChange.getString("toStatus"));
+        assertEquals(EVSEStatusChangeEvent.APPLIED, recordedStatusChange.getString("outcome"));
+        RecordedEvent recordedBulk = events.stream()
+                .filter(event -> event.getEventType().getName().equals("com.example.emsp.BulkOperation"))
+                .findFirst().orElseThrow();
+        assertEquals(10, recordedBulk.getInt("items"));
+        assertEquals(8, recordedBulk.getInt("applied"));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown settings and return null for an unknown recording")
+    void shouldRejectUnknownSettingsAndRecordings() {
+        FlightRecorderEndpoint endpoint = new FlightRecorderEndpoint(tempDir, Duration.ofMinutes(30), DataSize.ofMegabytes(64), Duration.ofMinutes(30));
+
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.start("no-such-settings", null));
+        assertNull(endpoint.stop(Long.MAX_VALUE));
+    }
+
+    @Test
+    @DisplayName("Should only create the endpoint when it is explicitly enabled")
+    void config_shouldRequireOptIn() {
+        ApplicationContextRunner runner = new ApplicationContextRunner()
+                .withInitializer(context -> context.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance())) // As SpringApplication does
+                .withUserConfiguration(FlightRecorderConfig.class)
+                .withPropertyValues("emsp.jfr.path=" + tempDir);
+
+        runner.run(context -> assertTrue(context.getBeansOfType(FlightRecorderEndpoint.class).isEmpty()));
+        runner.withPropertyValues("management.endpoint.jfr.enabled=true")
+                .run(context -> assertNotNull(context.getBean(FlightRecorderEndpoint.class)));
+    }
+
+    @Test
+    @DisplayName("Should bound every recording's duration, size and age, and reject a longer duration")
+    void start_shouldBoundRecordings() {
+        FlightRecorderEndpoint endpoint = new FlightRecorderEndpoint(tempDir, Duration.ofMinutes(30), DataSize.ofMegabytes(64), Duration.ofMinutes(10));
+
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.start("default", Duration.ofHours(1)));
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.start("default", Duration.ZERO));
+
+        FlightRecorderEndpoint.RecordingDescriptor started = endpoint.start("default", null);
+        Recording recording = FlightRecorder.getFlightRecorder().getRecordings().stream()
+                .filter(candidate -> candidate.getId() == started.id())
+                .findFirst().orElseThrow();
+        try {
+            assertEquals(Duration.ofMinutes(30), recording.getDuration());
+            assertEquals(DataSize.ofMegabytes(64).toBytes(), recording.getMaxSize());
+            assertEquals(Duration.ofMinutes(10), recording.getMaxAge());
+        } finally {
+            recording.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should not commit events while nothing is recording")
+    void events_shouldBeDisabledWithoutRecording() {
+        EVSEStatusChangeEvent statusChange = new EVSEStatusChangeEvent();
+        statusChange.begin();
+        statusChange.complete("DE*ABC*E1", null, EVSEStatus.BLOCKED, EVSEStatusChangeEvent.NOT_FOUND);
+
+        assertFalse(statusChange.shouldCommit());
+        assertNull(statusChange.evseId); // Fields are only filled in when the event is recorded
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.emsp.infrastructure.journal;
+
+import com.example.emsp.domain.evse.EVSEStatus;
+import com.example.emsp.infrastructure.exception.StatusJournalFullException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the StatusJournal.
+ * Focuses on append/read ordering, committed offsets, wrapping around, dead letters and crash recovery.
+ */
+class StatusJournalTest {
+
+    private static final int CAPACITY = 4096;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should read appended commands in order")
+    void shouldReadAppendedCommandsInOrder() {
+        try (StatusJournal journal = new StatusJournal(tempDir.resolve("journal.log"), CAPACITY, true)) {
+            long first = journal.append("US*ABC*EVSE1", EVSEStatus.BLOCKED, Instant.now());
+            long second = journal.append("US*ABC*EVSE2", EVSEStatus.INOPERATIVE, Instant.now());
+            journal.awaitDurable(second);
+
+            List<StatusJournalEntry> entries = journal.readPending(10);
+
+            assertEquals(2, entries.size());
+            assertEquals(first, entries.get(0).sequence());
+            assertEquals("US*ABC*EVSE1", entries.get(0).evseIdText());
+            assertEquals(EVSEStatus.BLOCKED, entries.get(0).newStatus());
+            assertEquals("US*ABC*EVSE2", entries.get(1).evseIdText());
+            assertEquals(EVSEStatus.INOPERATIVE, entries.get(1).newStatus());
+            assertEquals(2, journal.pendingCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Should not return committed commands again")
+    void shouldNotReturnCommittedCommands() {
+        try (StatusJournal journal = new StatusJournal(tempDir.resolve("journal.log"), CAPACITY, true)) {
+            journal.append("US*ABC*EVSE1", EVSEStatus.BLOCKED, Instant.now());
+            journal.append("US*ABC*EVSE2", EVSEStatus.BLOCKED, Instant.now());
+
+            journal.commitApplied(journal.readPending(1).get(0));
+            List<StatusJournalEntry> remaining = journal.readPending(10);
+
+            assertEquals(1, remaining.size());
+            assertEquals("US*ABC*EVSE2", remaining.get(0).evseIdText());
+        }
+    }
+
+    @Test
+    @DisplayName("Should replay uncommitted commands after reopening")
+    void shouldReplayUncommittedCommandsAfterReopening() {
+        Path path = tempDir.resolve("journal.log");
+        try (StatusJournal journal = new StatusJournal(path, CAPACITY, true)) {
+            journal.append("US*ABC*EVSE1", EVSEStatus.BLOCKED, Instant.now());
+            journal.append("US*ABC*EVSE2", EVSEStatus.INOPERATIVE, Instant.now());
+            journal.commitApplied(journal.readPending(1).get(0));
+        }
+
+        try (StatusJournal reopened = new StatusJournal(path, CAPACITY, true)) {
+            List<StatusJournalEntry> pending = reopened.readPending(10);
+
+            assertEquals(1, pending.size());
+            assertEquals("US*ABC*EVSE2", pending.get(0).evseIdText());
+            assertEquals(2, pending.get(0).sequence());
+
+            long next = reopened.append("US*ABC*EVSE3", EVSEStatus.AVAILABLE, Instant.now());
+            assertEquals(3, next);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reclaim space once drained and ignore stale records on recovery")
+    void shouldReclaimSpaceOnceDrained() {
+        Path path = tempDir.resolve("journal.log");
+        try (StatusJournal journal = new StatusJournal(path, CAPACITY, true)) {
+            int appended = 0;
+            while (true) {
+                try {
+                    journal.append("US*ABC*EVSE" + appended, EVSEStatus.BLOCKED, Instant.now());
+                    appended++;
+                } catch (StatusJournalFullException ex) {
+                    break;
+                }
+            }
+            List<StatusJournalEntry> all = journal.readPending(appended);
+            assertEquals(appended, all.size());
+            journal.commitApplied(all.get(all.size() - 1));
+
+            journal.append("US*ABC*AFTER", EVSEStatus.AVAILABLE, Instant.now());
+        }
+
+        try (StatusJournal reopened = new StatusJournal(path, CAPACITY, true)) {
+            List<StatusJournalEntry> pending = reopened.readPending(100);
+
+            assertEquals(1, pending.size());
+            assertEquals("US*ABC*AFTER", pending.get(0).evseIdText());
+        }
+    }
+
+    @Test
+    @DisplayName("Should throw StatusJournalFullException when the journal has no room left")
+    void shouldThrowWhenFull() {
+        try (StatusJournal journal = new StatusJournal(tempDir.resolve("journal.log"), CAPACITY, false)) {
+            assertThrows(StatusJournalFullException.class, () -> {
+                for (int i = 0; i < CAPACITY; i++) {
+                    journal.append("US*ABC*EVSE" + i, EVSEStatus.BLOCKED, Instant.now());
+                }
+            });
+        }
+    }
+
+    @Test
+    @DisplayName("Should wrap around into the space of applied commands while others are still pending")
+    void shouldWrapAroundOnPartialProgress() {
+        Path path = tempDir.resolve("journal.log");
+        List<String> expectedPending = new ArrayList<>();
+        try (StatusJournal journal = new StatusJournal(path, CAPACITY, true)) {
+            int appended = 0;
+            while (true) {
+                try {
+                    journal.append("US*ABC*EVSE" + appended, EVSEStatus.BLOCKED, Instant.now());
+                    appended++;
+                } catch (StatusJournalFullException ex) {
+                    break;
+                }
+            }
+            List<StatusJournalEntry> all = journal.readPending(appended);
+            journal.commitApplied(all.get(appended / 2 - 1));
+            all.subList(appended / 2, appended).forEach(entry -> expectedPending.add(entry.evseIdText()));
+
+            for (int i = 0; i < appended / 4; i++) {
+                long sequence = journal.append("US*ABC*WRAP" + i, EVSEStatus.AVAILABLE, Instant.now());
+                journal.awaitDurable(sequence);
+                expectedPending.add("US*ABC*WRAP" + i);
+            }
+            assertEquals(expectedPending, journal.readPending(appended).stream().map(StatusJournalEntry::evseIdText).toList());
+        }
+
+        try (StatusJournal reopened = new StatusJournal(path, CAPACITY, true)) {
+            List<StatusJournalEntry> pending = reopened.readPending(CAPACITY);
+
+            assertEquals(expectedPending, pending.stream().map(StatusJournalEntry::evseIdText).toList());
+            for (int i = 1; i < pending.size(); i++) {
+                assertEquals(pending.get(i - 1).sequence() + 1, pending.get(i).sequence());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep appending across many laps when commands are applied as they come")
+    void shouldReuseSpaceAcrossLaps() {
+        Path path = tempDir.resolve("journal.log");
+        long last = 0;
+        try (StatusJournal journal = new StatusJournal(path, CAPACITY, true)) {
+            for (int i = 0; i < 2000; i++) {
+                last = journal.append("US*ABC*EVSE" + i, EVSEStatus.BLOCKED, Instant.now());
+                journal.awaitDurable(last);
+                if (i % 7 == 6) { // Applies all but the last three, so some are always pending across the wrap
+                    List<StatusJournalEntry> pending = journal.readPending(CAPACITY);
+                    journal.commitApplied(pending.get(pending.size() - 4));
+                }
+            }
+        }
+
+        try (StatusJournal reopened = new StatusJournal(path, CAPACITY, true)) {
+            List<StatusJournalEntry> pending = reopened.readPending(CAPACITY);
+
+            assertEquals(reopened.pendingCount(), pending.size());
+            assertEquals(last, pending.get(pending.size() - 1).sequence());
+            assertEquals("US*ABC*EVSE1999", pending.get(pending.size() - 1).evseIdText());
+            assertEquals(last + 1, reopened.append("US*ABC*NEXT", EVSEStatus.AVAILABLE, Instant.now()));
+        }
+    }
+
+    @Test
+    @DisplayName("Should park a dead-lettered command in the dead-letter file and move past it")
+    void shouldDeadLetterFirstPendingCommand() throws Exception {
+        try (StatusJournal journal = new StatusJournal(tempDir.resolve("journal.log"), CAPACITY, true)) {
+            journal.append("US*ABC*POISON", EVSEStatus.BLOCKED, Instant.now());
+            journal.append("US*ABC*EVSE2", EVSEStatus.INOPERATIVE, Instant.now());
+            List<StatusJournalEntry> pending = journal.readPending(10);
+
+            assertThrows(IllegalArgumentException.class, () -> journal.deadLetter(pending.get(1), "out of order"));
+            journal.deadLetter(pending.get(0), "Constraint violated\nsecond line");
+
+            List<String> lines = Files.readAllLines(journal.deadLetterPath());
+            assertEquals(1, lines.size());
+            assertTrue(lines.get(0).startsWith("1\tUS*ABC*POISON\tBLOCKED\t"));
+            assertTrue(lines.get(0).endsWith("\tConstraint violated second line"));
+            assertEquals(List.of("US*ABC*EVSE2"), journal.readPending(10).stream().map(StatusJournalEntry::evseIdText).toList());
+        }
+    }
+}
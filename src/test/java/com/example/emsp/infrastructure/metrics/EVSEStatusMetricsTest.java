@@ -0,0 +1,44 @@
+package com.example.emsp.infrastructure.metrics;
+
+import com.example.emsp.domain.events.EVSEStatusChangedEvent;
+import com.example.emsp.domain.evse.EVSEStatus;
+import com.example.emsp.infrastructure.exception.InvalidEVSEStatusTransitionException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EVSEStatusMetrics.
+ */
+class EVSEStatusMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final EVSEStatusMetrics metrics = new EVSEStatusMetrics(meterRegistry);
+
+    private double count(String name, EVSEStatus from, EVSEStatus to) {
+        return meterRegistry.get(name).tag("from", from.name()).tag("to", to.name()).counter().count();
+    }
+
+    @Test
+    @DisplayName("Should count committed transitions by from/to pair")
+    void shouldCountTransitions() {
+        metrics.handleEVSEStatusChanged(new EVSEStatusChangedEvent(1L, "DE*ABC*E1", 1L, EVSEStatus.AVAILABLE, EVSEStatus.BLOCKED));
+        metrics.handleEVSEStatusChanged(new EVSEStatusChangedEvent(2L, "DE*ABC*E2", 1L, EVSEStatus.AVAILABLE, EVSEStatus.BLOCKED));
+
+        assertEquals(2.0, count("emsp.evse.status.transitions", EVSEStatus.AVAILABLE, EVSEStatus.BLOCKED));
+        assertEquals(0.0, count("emsp.evse.status.transitions", EVSEStatus.BLOCKED, EVSEStatus.AVAILABLE));
+    }
+
+    @Test
+    @DisplayName("Should count rejected transitions only when both statuses are known")
+    void shouldCountRejectedTransitions() {
+        metrics.recordRejected(new InvalidEVSEStatusTransitionException(EVSEStatus.REMOVED, EVSEStatus.AVAILABLE, "Invalid"));
+        metrics.recordRejected(new InvalidEVSEStatusTransitionException("Invalid"));
+
+        assertEquals(1.0, count("emsp.evse.status.rejected", EVSEStatus.REMOVED, EVSEStatus.AVAILABLE));
+        assertEquals(EVSEStatus.values().length * EVSEStatus.values().length,
+                meterRegistry.get("emsp.evse.status.rejected").counters().size());
+    }
+}
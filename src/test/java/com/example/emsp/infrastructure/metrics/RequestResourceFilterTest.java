@@ -0,0 +1,96 @@
+package com.example.emsp.infrastructure.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RequestResourceFilter.
+ * Focuses on recording allocation and CPU time per route and on the opt-in debug header.
+ */
+class RequestResourceFilterTest {
+
+    private static final int ALLOCATION = 4 * 1024 * 1024;
+
+    private SimpleMeterRegistry meterRegistry;
+    private byte[] retained; // Keeps the allocation from being optimized away
+    private FilterChain allocatingChain;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        allocatingChain = (request, response) -> {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/locations/{locationId}");
+            retained = new byte[ALLOCATION];
+            response.getOutputStream().write("{}".getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private static MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/api/v1/locations/1");
+    }
+
+    @Test
+    @DisplayName("Should record the allocation and CPU time of a request under its route")
+    void doFilter_shouldRecordPerRoute() throws Exception {
+        RequestResourceFilter filter = new RequestResourceFilter(meterRegistry, false);
+
+        filter.doFilter(request(), new MockHttpServletResponse(), allocatingChain);
+        filter.doFilter(request(), new MockHttpServletResponse(), allocatingChain);
+
+        DistributionSummary allocated = meterRegistry.get("emsp.http.allocated")
+                .tag("method", "GET").tag("uri", "/api/v1/locations/{locationId}").summary();
+        assertEquals(2, allocated.count());
+        assertTrue(allocated.totalAmount() >= 2.0 * ALLOCATION, "allocated: " + allocated.totalAmount());
+        Timer cpu = meterRegistry.get("emsp.http.cpu").tag("uri", "/api/v1/locations/{locationId}").timer();
+        assertEquals(2, cpu.count());
+    }
+
+    @Test
+    @DisplayName("Should return the figures in a header only when enabled and asked for")
+    void doFilter_shouldAddDebugHeaderOnRequest() throws Exception {
+        RequestResourceFilter filter = new RequestResourceFilter(meterRegistry, true);
+        MockHttpServletRequest debugRequest = request();
+        debugRequest.addHeader(RequestResourceFilter.DEBUG_REQUEST_HEADER, "true");
+        MockHttpServletResponse debugResponse = new MockHttpServletResponse();
+        MockHttpServletResponse plainResponse = new MockHttpServletResponse();
+
+        filter.doFilter(debugRequest, debugResponse, allocatingChain);
+        filter.doFilter(request(), plainResponse, allocatingChain);
+
+        String resources = debugResponse.getHeader(RequestResourceFilter.RESOURCES_HEADER);
+        assertNotNull(resources);
+        assertTrue(resources.matches("allocated=\\d+; cpu-ms=\\d+\\.\\d{2}"), resources);
+        assertTrue(Long.parseLong(resources.substring("allocated=".length(), resources.indexOf(';'))) >= ALLOCATION);
+        assertEquals("{}", debugResponse.getContentAsString());
+        assertNull(plainResponse.getHeader(RequestResourceFilter.RESOURCES_HEADER));
+
+        RequestResourceFilter disabled = new RequestResourceFilter(meterRegistry, false);
+        MockHttpServletResponse disabledResponse = new MockHttpServletResponse();
+        disabled.doFilter(debugRequest, disabledResponse, allocatingChain);
+        assertNull(disabledResponse.getHeader(RequestResourceFilter.RESOURCES_HEADER));
+    }
+
+    @Test
+    @DisplayName("Should record requests that matched no route as NOT_FOUND")
+    void doFilter_shouldRecordUnmatchedRequests() throws Exception {
+        RequestResourceFilter filter = new RequestResourceFilter(meterRegistry, false);
+
+        filter.doFilter(request(), new MockHttpServletResponse(), (request, response) ->
+                ((HttpServletResponse) response).setStatus(404));
+
+        assertEquals(1, meterRegistry.get("emsp.http.allocated").tag("uri", "NOT_FOUND").summary().count());
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.emsp.infrastructure.outbox;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for claiming outbox batches, against the application's in-memory database.
+ * Focuses on concurrent relays skipping each other's claimed messages instead of delivering them twice.
+ * The scheduled relay is switched off, so only the relays of the tests claim messages.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox-relay;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "emsp.outbox.sink=memory",
+        "emsp.outbox.relay.enabled=false"
+})
+class OutboxRelayIntegrationTest {
+
+    @Autowired
+    private OutboxMessageRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        for (long aggregateId = 1; aggregateId <= 4; aggregateId++) {
+            repository.save(new OutboxMessage("EVSEStatusChangedEvent", "EVSE", aggregateId, "{}", LocalDateTime.now()));
+        }
+    }
+
+    private static List<Long> ids(List<OutboxMessage> messages) {
+        return messages.stream().map(OutboxMessage::getId).toList();
+    }
+
+    @Test
+    @DisplayName("Should skip the messages claimed by a concurrent transaction")
+    void claimUnpublished_shouldSkipLockedMessages() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<Long> candidates = repository.findUnpublishedIds(PageRequest.of(0, 4));
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<List<Long>> first = CompletableFuture.supplyAsync(() -> transaction.execute(status -> {
+            List<Long> batch = ids(repository.claimUnpublished(candidates.subList(0, 2)));
+            claimed.countDown();
+            try {
+                assertTrue(release.await(10, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return batch;
+        }));
+        assertTrue(claimed.await(10, TimeUnit.SECONDS));
+
+        List<Long> second = transaction.execute(status -> ids(repository.claimUnpublished(candidates)));
+        release.countDown();
+
+        assertEquals(candidates.subList(0, 2), first.get(10, TimeUnit.SECONDS));
+        assertEquals(candidates.subList(2, 4), second);
+    }
+
+    @Test
+    @DisplayName("Should deliver every message exactly once with two relays running concurrently")
+    void relayPendingMessages_shouldNotDeliverTwiceWithConcurrentRelays() throws Exception {
+        InMemoryOutboxSink sink = new InMemoryOutboxSink(100);
+        OutboxRelay one = new OutboxRelay(repository, sink, transactionManager, 1, Duration.ofDays(7));
+        OutboxRelay other = new OutboxRelay(repository, sink, transactionManager, 1, Duration.ofDays(7));
+
+        CompletableFuture<Integer> delivered = CompletableFuture.supplyAsync(one::relayPendingMessages);
+        int deliveredByOther = other.relayPendingMessages();
+
+        assertEquals(4, delivered.get(10, TimeUnit.SECONDS) + deliveredByOther);
+        List<Long> deliveredIds = ids(sink.getDeliveredMessages());
+        assertEquals(4, deliveredIds.size());
+        assertEquals(4, deliveredIds.stream().distinct().count());
+        assertTrue(repository.findAll().stream().allMatch(message -> message.getPublishedAt() != null));
+    }
+}
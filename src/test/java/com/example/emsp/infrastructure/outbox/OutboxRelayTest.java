@@ -0,0 +1,99 @@
+package com.example.emsp.infrastructure.outbox;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OutboxRelay.
+ * Uses a mocked OutboxMessageRepository and transaction manager, and a real InMemoryOutboxSink.
+ */
+class OutboxRelayTest {
+
+    private OutboxMessageRepository repository;
+    private PlatformTransactionManager transactionManager;
+    private InMemoryOutboxSink sink;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(OutboxMessageRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        sink = new InMemoryOutboxSink(100);
+        relay = new OutboxRelay(repository, sink, transactionManager, 2, Duration.ofDays(7));
+    }
+
+    private OutboxMessage message(long id) {
+        OutboxMessage message = new OutboxMessage("EVSEStatusChangedEvent", "EVSE", 1L, "{}", LocalDateTime.now());
+        ReflectionTestUtils.setField(message, "id", id);
+        return message;
+    }
+
+    @Test
+    @DisplayName("Should deliver pending messages in batches, each claimed and marked as published in a transaction")
+    void relayPendingMessages_shouldDeliverInOrderedBatches() {
+        when(repository.findUnpublishedIds(any(Pageable.class)))
+                .thenReturn(List.of(1L, 2L))
+                .thenReturn(List.of(3L));
+        when(repository.claimUnpublished(List.of(1L, 2L))).thenReturn(List.of(message(1), message(2)));
+        when(repository.claimUnpublished(List.of(3L))).thenReturn(List.of(message(3)));
+
+        int delivered = relay.relayPendingMessages();
+
+        assertEquals(3, delivered);
+        assertEquals(List.of(1L, 2L, 3L), sink.getDeliveredMessages().stream().map(OutboxMessage::getId).toList());
+        verify(repository).markPublished(eq(List.of(1L, 2L)), any(LocalDateTime.class));
+        verify(repository).markPublished(eq(List.of(3L)), any(LocalDateTime.class));
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should leave a batch unpublished when the sink fails")
+    void relayPendingMessages_shouldStopOnSinkFailure() {
+        OutboxSink failingSink = messages -> { throw new IllegalStateException("Sink unavailable"); };
+        relay = new OutboxRelay(repository, failingSink, transactionManager, 2, Duration.ofDays(7));
+        when(repository.findUnpublishedIds(any(Pageable.class))).thenReturn(List.of(1L, 2L));
+        when(repository.claimUnpublished(anyCollection())).thenReturn(List.of(message(1), message(2)));
+
+        int delivered = relay.relayPendingMessages();
+
+        assertEquals(0, delivered);
+        verify(repository, times(1)).claimUnpublished(anyCollection());
+        verify(repository, never()).markPublished(anyCollection(), any(LocalDateTime.class));
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    @DisplayName("Should do nothing when the outbox is empty")
+    void relayPendingMessages_shouldDoNothingWhenEmpty() {
+        when(repository.findUnpublishedIds(any(Pageable.class))).thenReturn(List.of());
+
+        assertEquals(0, relay.relayPendingMessages());
+        assertTrue(sink.getDeliveredMessages().isEmpty());
+        verify(repository, never()).claimUnpublished(anyCollection());
+        verify(repository, never()).markPublished(anyCollection(), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Should end the run when another relay claimed the candidates")
+    void relayPendingMessages_shouldStopWhenCandidatesAreClaimedElsewhere() {
+        when(repository.findUnpublishedIds(any(Pageable.class))).thenReturn(List.of(1L, 2L));
+        when(repository.claimUnpublished(anyCollection())).thenReturn(List.of());
+
+        assertEquals(0, relay.relayPendingMessages());
+        assertTrue(sink.getDeliveredMessages().isEmpty());
+        verify(repository, times(1)).findUnpublishedIds(any(Pageable.class));
+        verify(repository, never()).markPublished(anyCollection(), any(LocalDateTime.class));
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.emsp.infrastructure.persistence;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ConnectorStandardConverter, with a dictionary on an in-memory H2 database.
+ * Focuses on round-tripping names through their keys and resolving the dictionary only when needed.
+ */
+class ConnectorStandardConverterTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private ConnectorStandardDictionary dictionary;
+    private final AtomicInteger resolutions = new AtomicInteger();
+    private ConnectorStandardConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:connector-standard-converter;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE connector_standards (id SMALLINT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(100) UNIQUE NOT NULL)");
+        dictionary = new ConnectorStandardDictionary(jdbcTemplate, new DataSourceTransactionManager(dataSource));
+        converter = new ConnectorStandardConverter(new ObjectProvider<>() { // Counts resolutions of the dictionary
+            @Override
+            public ConnectorStandardDictionary getObject() {
+                resolutions.incrementAndGet();
+                return dictionary;
+            }
+
+            @Override
+            public ConnectorStandardDictionary getObject(Object... args) {
+                return getObject();
+            }
+
+            @Override
+            public ConnectorStandardDictionary getIfAvailable() {
+                return getObject();
+            }
+
+            @Override
+            public ConnectorStandardDictionary getIfUnique() {
+                return getObject();
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE connector_standards");
+    }
+
+    @Test
+    @DisplayName("Should store a standard as its dictionary key and read the name back")
+    void shouldRoundTripThroughDictionaryKey() {
+        Short id = converter.convertToDatabaseColumn("IEC_62196_T2");
+
+        assertEquals(dictionary.idOf("IEC_62196_T2"), id);
+        assertEquals("IEC_62196_T2", converter.convertToEntityAttribute(id));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM connector_standards", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Should convert null both ways without resolving the dictionary")
+    void shouldPassNullThrough() {
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(null));
+        assertEquals(0, resolutions.get());
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.emsp.infrastructure.persistence;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ConnectorStandardDictionary, against an in-memory H2 database.
+ * Two dictionaries on the same database stand in for two application instances.
+ * Focuses on registration, a concurrent registration of the same name and reloading keys registered elsewhere.
+ */
+class ConnectorStandardDictionaryTest {
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:connector-standards;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE connector_standards (id SMALLINT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(100) UNIQUE NOT NULL)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE connector_standards");
+    }
+
+    private ConnectorStandardDictionary dictionary(JdbcTemplate template) {
+        return new ConnectorStandardDictionary(template, new DataSourceTransactionManager(dataSource));
+    }
+
+    private int rows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM connector_standards", Integer.class);
+    }
+
+    /**
+     * A JdbcTemplate that counts the key lookups by name and hands each result to a hook before returning it.
+     */
+    private static final class ObservedJdbcTemplate extends JdbcTemplate {
+        private final AtomicInteger lookups = new AtomicInteger();
+        private final Consumer<List<?>> afterLookup;
+
+        ObservedJdbcTemplate(DriverManagerDataSource dataSource, Consumer<List<?>> afterLookup) {
+            super(dataSource);
+            this.afterLookup = afterLookup;
+        }
+
+        @Override
+        public <T> List<T> queryForList(String sql, Class<T> elementType, Object... args) {
+            List<T> result = super.queryForList(sql, elementType, args);
+            lookups.incrementAndGet();
+            afterLookup.accept(result);
+            return result;
+        }
+    }
+
+    @Test
+    @DisplayName("Should register a new standard once and answer later lookups from memory")
+    void idOf_shouldRegisterOnce() {
+        ObservedJdbcTemplate template = new ObservedJdbcTemplate(dataSource, result -> {});
+        ConnectorStandardDictionary dictionary = dictionary(template);
+
+        short type2 = dictionary.idOf("IEC_62196_T2");
+        short chademo = dictionary.idOf("CHADEMO");
+        int lookups = template.lookups.get();
+
+        assertEquals(type2, dictionary.idOf("IEC_62196_T2"));
+        assertNotEquals(type2, chademo);
+        assertEquals("CHADEMO", dictionary.nameOf(chademo));
+        assertEquals(lookups, template.lookups.get());
+        assertEquals(2, rows());
+    }
+
+    @Test
+    @DisplayName("Should use the key inserted by another instance that registered the same standard concurrently")
+    void idOf_shouldReadKeyAfterDuplicateInsert() {
+        ConnectorStandardDictionary other = dictionary(jdbcTemplate);
+        AtomicInteger otherId = new AtomicInteger(-1);
+        // The other instance registers the standard right after this one found it missing, so this insert collides
+        ObservedJdbcTemplate template = new ObservedJdbcTemplate(dataSource, result -> {
+            if (result.isEmpty() && otherId.get() < 0) {
+                otherId.set(CompletableFuture.supplyAsync(() -> other.idOf("CCS_TYPE_2")).join());
+            }
+        });
+        ConnectorStandardDictionary dictionary = dictionary(template);
+
+        short id = dictionary.idOf("CCS_TYPE_2");
+
+        assertEquals(otherId.get(), id);
+        assertEquals(2, template.lookups.get()); // Missing, then the other instance's key after the failed insert
+        assertEquals(1, rows());
+    }
+
+    @Test
+    @DisplayName("Should reload on an unknown key registered by another instance and reject keys that do not exist")
+    void nameOf_shouldReloadUnknownKey() {
+        short id = dictionary(jdbcTemplate).idOf("CHADEMO");
+        ConnectorStandardDictionary dictionary = dictionary(jdbcTemplate);
+
+        assertEquals("CHADEMO", dictionary.nameOf(id));
+        assertEquals(id, dictionary.idOf("CHADEMO"));
+        assertThrows(IllegalStateException.class, () -> dictionary.nameOf((short) (id + 100)));
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.emsp.infrastructure.persistence;
+
+import com.example.emsp.domain.evse.EVSEStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the EVSEStatusConverter.
+ * Focuses on the stability of the stored codes.
+ */
+class EVSEStatusConverterTest {
+
+    private final EVSEStatusConverter converter = new EVSEStatusConverter();
+
+    @Test
+    @DisplayName("Should round-trip every status through its one-byte code")
+    void shouldRoundTripEveryStatus() {
+        for (EVSEStatus status : EVSEStatus.values()) {
+            assertEquals(status, converter.convertToEntityAttribute(converter.convertToDatabaseColumn(status)));
+        }
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(null));
+    }
+
+    @Test
+    @DisplayName("Should keep the stored codes fixed and reject unknown codes")
+    void shouldUseFixedCodes() {
+        assertEquals((byte) 0, converter.convertToDatabaseColumn(EVSEStatus.AVAILABLE));
+        assertEquals((byte) 3, converter.convertToDatabaseColumn(EVSEStatus.REMOVED));
+        assertThrows(IllegalStateException.class, () -> converter.convertToEntityAttribute((byte) 9));
+    }
+}
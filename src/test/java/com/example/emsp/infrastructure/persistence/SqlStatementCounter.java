@@ -0,0 +1,56 @@
+package com.example.emsp.infrastructure.persistence;
+
+import com.example.emsp.infrastructure.jdbc.StatementListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test utility recording the SQL statements that a piece of code executes, to guard endpoints against N+1 queries.
+ * <p>
+ * Import it into a Spring Boot test: as a {@link StatementListener} it sees every DataSource, so statements issued
+ * through Hibernate and through JdbcTemplate are both seen. Only statements of the calling thread are recorded,
+ * so scheduled jobs and asynchronous event handlers running meanwhile do not disturb the counts.
+ * A batch is recorded once, as it is one round trip to the database.
+ */
+public class SqlStatementCounter implements StatementListener {
+
+    private final ThreadLocal<List<String>> recording = new ThreadLocal<>();
+
+    /**
+     * Code to record, typically a MockMvc request.
+     */
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    /**
+     * Runs an action and records the statements it executes on the calling thread.
+     *
+     * @return The recorded statements, in execution order.
+     */
+    public SqlStatements record(Action action) throws Exception {
+        List<String> statements = new ArrayList<>();
+        recording.set(statements);
+        try {
+            action.run();
+        } finally {
+            recording.remove();
+        }
+        return new SqlStatements(List.copyOf(statements));
+    }
+
+    private void recordStatement(String sql) {
+        List<String> statements = recording.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+    }
+
+    @Override
+    public Object beforeExecute(Execution execution) {
+        recordStatement(execution.sql() != null ? execution.sql() : "<batch>");
+        return null;
+    }
+}
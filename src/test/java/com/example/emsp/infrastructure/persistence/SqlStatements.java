@@ -0,0 +1,89 @@
+package com.example.emsp.infrastructure.persistence;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SQL statements recorded by {@link SqlStatementCounter}, with counts by kind and assertions for tests.
+ *
+ * @param statements The statements in execution order.
+ */
+public record SqlStatements(List<String> statements) {
+
+    public long selects() {
+        return countOf("select");
+    }
+
+    public long inserts() {
+        return countOf("insert");
+    }
+
+    public long updates() {
+        return countOf("update");
+    }
+
+    public long deletes() {
+        return countOf("delete");
+    }
+
+    /**
+     * @return The number of statements containing the given text, ignoring case, e.g. {@code "insert into connectors"}.
+     */
+    public long containing(String text) {
+        String lowerCase = text.toLowerCase(Locale.ROOT);
+        return statements.stream()
+                .filter(sql -> sql.toLowerCase(Locale.ROOT).contains(lowerCase))
+                .count();
+    }
+
+    /**
+     * Asserts upper bounds on the number of statements of each kind; no statement may delete.
+     */
+    public void assertAtMost(long selects, long inserts, long updates) {
+        assertAll(
+                () -> assertTrue(selects() <= selects, () -> "Expected at most " + selects + " SELECTs but got " + this),
+                () -> assertTrue(inserts() <= inserts, () -> "Expected at most " + inserts + " INSERTs but got " + this),
+                () -> assertTrue(updates() <= updates, () -> "Expected at most " + updates + " UPDATEs but got " + this),
+                () -> assertEquals(0, deletes(), () -> "Expected no DELETEs but got " + this));
+    }
+
+    /**
+     * Asserts that another recording of the same request, made against more or larger data, executed
+     * as many statements of each kind, i.e. that the statement count does not grow with the data.
+     */
+    public void assertSameCountsAs(SqlStatements other) {
+        assertAll(
+                () -> assertEquals(selects(), other.selects(), () -> "SELECTs differ between " + this + " and " + other),
+                () -> assertEquals(inserts(), other.inserts(), () -> "INSERTs differ between " + this + " and " + other),
+                () -> assertEquals(updates(), other.updates(), () -> "UPDATEs differ between " + this + " and " + other),
+                () -> assertEquals(deletes(), other.deletes(), () -> "DELETEs differ between " + this + " and " + other));
+    }
+
+    private long countOf(String kind) {
+        return statements.stream()
+                .filter(sql -> kind.equals(kindOf(sql)))
+                .count();
+    }
+
+    /**
+     * @return The first keyword of a statement in lower case, counting common table expressions as selects.
+     */
+    private static String kindOf(String sql) {
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        String keyword = trimmed.substring(0, end).toLowerCase(Locale.ROOT);
+        return keyword.equals("with") ? "select" : keyword;
+    }
+
+    @Override
+    public String toString() {
+        return statements.size() + " statements:\n  " + String.join("\n  ", statements);
+    }
+}
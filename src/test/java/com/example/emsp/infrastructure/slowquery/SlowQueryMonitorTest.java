@@ -0,0 +1,124 @@
+package com.example.emsp.infrastructure.slowquery;
+
+import com.example.emsp.infrastructure.jdbc.StatementInterceptionPostProcessor;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the SlowQueryMonitor and its DataSource wrapper, against an in-memory H2 database.
+ * Focuses on statistics per query shape, capture of bind parameters and caller, and plan collection.
+ */
+class SlowQueryMonitorTest {
+
+    private static final String SELECT_SQL = "SELECT name FROM stations WHERE id = ?";
+
+    private JdbcDataSource h2;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:slow-query-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        try (Connection connection = h2.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE stations (id BIGINT PRIMARY KEY, name VARCHAR(100))");
+            statement.execute("INSERT INTO stations VALUES (1, 'Berlin'), (2, 'Paris')");
+        }
+    }
+
+    private static DataSource monitored(DataSource dataSource, SlowQueryMonitor monitor) {
+        return (DataSource) new StatementInterceptionPostProcessor(List.of(new SlowQueryStatementListener(monitor)))
+                .postProcessAfterInitialization(dataSource, "dataSource");
+    }
+
+    private static void select(DataSource dataSource, long id) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_SQL)) {
+            statement.setLong(1, id);
+            try (ResultSet rows = statement.executeQuery()) {
+                assertTrue(rows.next());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should report slow statements with parameters, caller and plan")
+    void record_shouldReportSlowStatements() throws Exception {
+        try (SlowQueryMonitor monitor = new SlowQueryMonitor(Duration.ZERO, 100, 100, true)) {
+            DataSource dataSource = monitored(h2, monitor);
+
+            select(dataSource, 1);
+            select(dataSource, 2);
+            monitor.awaitReports();
+
+            SlowQueryMonitor.QueryShape shape = monitor.slowestShapes(10).stream()
+                    .filter(candidate -> candidate.sql().equals(SlowQueryMonitor.shapeOf(SELECT_SQL)))
+                    .findFirst().orElseThrow();
+            assertEquals(2, shape.count());
+            assertEquals(2, shape.slowCount());
+            assertTrue(shape.maxMillis() >= shape.p50Millis());
+            assertEquals(List.of("2"), shape.lastSlow().parameters());
+            assertEquals("SlowQueryMonitorTest.select", shape.lastSlow().caller());
+            assertNotNull(shape.plan());
+            assertTrue(shape.plan().toUpperCase().contains("STATIONS"), shape.plan());
+        }
+    }
+
+    @Test
+    @DisplayName("Should count fast statements without reporting them")
+    void record_shouldOnlyCountFastStatements() throws Exception {
+        try (SlowQueryMonitor monitor = new SlowQueryMonitor(Duration.ofMinutes(1), 100, 100, true)) {
+            DataSource dataSource = monitored(h2, monitor);
+
+            select(dataSource, 1);
+            monitor.awaitReports();
+
+            SlowQueryMonitor.QueryShape shape = monitor.slowestShapes(10).get(0);
+            assertEquals(1, shape.count());
+            assertEquals(0, shape.slowCount());
+            assertNull(shape.lastSlow());
+            assertNull(shape.plan());
+        }
+    }
+
+    @Test
+    @DisplayName("Should group statements differing in literals or IN list length into one shape")
+    void shapeOf_shouldNormalizeLiteralsAndInLists() {
+        assertEquals("select * from stations where id = ? and name = ?",
+                SlowQueryMonitor.shapeOf("SELECT * FROM stations WHERE id = 42 AND name = 'O''Hare'"));
+        assertEquals(SlowQueryMonitor.shapeOf("select * from evses where id in (?, ?, ?)"),
+                SlowQueryMonitor.shapeOf("select * from evses where id in (?,?)"));
+        assertEquals("select * from t1 where c2 = ?", SlowQueryMonitor.shapeOf("select * from t1 where c2 = 7"));
+    }
+
+    @Test
+    @DisplayName("Should count statements beyond the tracked maximum together and forget everything on reset")
+    void record_shouldBoundTrackedStatements() throws Exception {
+        try (SlowQueryMonitor monitor = new SlowQueryMonitor(Duration.ofMinutes(1), 100, 1, false)) {
+            DataSource dataSource = monitored(h2, monitor);
+            try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+                statement.executeQuery("SELECT COUNT(*) FROM stations").close();
+                statement.executeQuery("SELECT MAX(id) FROM stations").close();
+                statement.executeQuery("SELECT MIN(id) FROM stations").close();
+            }
+
+            List<SlowQueryMonitor.QueryShape> shapes = monitor.slowestShapes(10);
+            assertEquals(2, shapes.size());
+            assertEquals(2, shapes.stream().filter(shape -> shape.sql().equals(SlowQueryMonitor.OTHER_STATEMENTS))
+                    .findFirst().orElseThrow().count());
+
+            monitor.reset();
+            assertTrue(monitor.slowestShapes(10).isEmpty());
+        }
+    }
+}
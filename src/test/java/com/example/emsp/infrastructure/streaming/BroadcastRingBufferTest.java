@@ -0,0 +1,70 @@
+package com.example.emsp.infrastructure.streaming;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BroadcastRingBuffer.
+ */
+class BroadcastRingBufferTest {
+
+    @Test
+    @DisplayName("Should round the capacity up to a power of two")
+    void constructor_shouldRoundCapacity() {
+        assertEquals(8, new BroadcastRingBuffer<String>(5).capacity());
+        assertEquals(8, new BroadcastRingBuffer<String>(8).capacity());
+    }
+
+    @Test
+    @DisplayName("Independent readers should each see every element in order")
+    void read_shouldFanOutToIndependentCursors() {
+        BroadcastRingBuffer<String> ring = new BroadcastRingBuffer<>(8);
+        ring.publish("a");
+        ring.publish("b");
+        ring.publish("c");
+
+        List<String> first = new ArrayList<>();
+        long firstCursor = ring.read(0, 2, first);
+        List<String> second = new ArrayList<>();
+        long secondCursor = ring.read(0, 10, second);
+
+        assertEquals(List.of("a", "b"), first);
+        assertEquals(2, firstCursor);
+        assertEquals(List.of("a", "b", "c"), second);
+        assertEquals(3, secondCursor);
+
+        List<String> rest = new ArrayList<>();
+        assertEquals(3, ring.read(firstCursor, 10, rest));
+        assertEquals(List.of("c"), rest);
+    }
+
+    @Test
+    @DisplayName("A reader at the head should get nothing and keep its cursor")
+    void read_shouldReturnNothingAtHead() {
+        BroadcastRingBuffer<String> ring = new BroadcastRingBuffer<>(4);
+        ring.publish("a");
+
+        List<String> out = new ArrayList<>();
+        assertEquals(1, ring.read(ring.head(), 10, out));
+        assertTrue(out.isEmpty());
+    }
+
+    @Test
+    @DisplayName("A reader lapped by producers should be told it overran")
+    void read_shouldReportOverrun() {
+        BroadcastRingBuffer<Integer> ring = new BroadcastRingBuffer<>(4);
+        for (int i = 0; i < 6; i++) {
+            ring.publish(i);
+        }
+
+        List<Integer> out = new ArrayList<>();
+        assertEquals(BroadcastRingBuffer.OVERRUN, ring.read(0, 10, out));
+        assertEquals(6, ring.read(2, 10, out));
+        assertEquals(List.of(2, 3, 4, 5), out);
+    }
+}
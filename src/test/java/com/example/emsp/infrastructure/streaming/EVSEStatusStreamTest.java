@@ -0,0 +1,170 @@
+package com.example.emsp.infrastructure.streaming;
+
+import com.example.emsp.application.CatalogQueryService;
+import com.example.emsp.application.EVSEApplicationService;
+import com.example.emsp.application.LocationApplicationService;
+import com.example.emsp.domain.events.EVSEStatusChangedEvent;
+import com.example.emsp.domain.evse.EVSEStatus;
+import com.example.emsp.interfaces.controllers.EVSEController;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Unit tests for EVSEStatusStream.
+ * Subscriptions are opened through the EVSEController endpoint on a standalone MockMvc, so events are written
+ * to a real response; dispatching is triggered by the tests instead of the scheduler.
+ * Focuses on filtering, resyncing a subscriber that was lapped, and resuming from a Last-Event-ID.
+ */
+class EVSEStatusStreamTest {
+
+    private static final int BUFFER_SIZE = 4;
+
+    private EVSEStatusStream stream;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        stream = new EVSEStatusStream(new SimpleMeterRegistry(), BUFFER_SIZE, 1, 60_000, 60_000, 256);
+        EVSEController controller = new EVSEController(mock(EVSEApplicationService.class), mock(CatalogQueryService.class),
+                mock(ObjectProvider.class), mock(LocationApplicationService.class), stream);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        stream.shutdown();
+    }
+
+    private static EVSEStatusChangedEvent change(int number, long locationId) {
+        return new EVSEStatusChangedEvent((long) number, "DE*ABC*E" + number, locationId, EVSEStatus.AVAILABLE, EVSEStatus.BLOCKED);
+    }
+
+    private MockHttpServletResponse subscribe(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andExpect(request().asyncStarted()).andReturn();
+        return result.getResponse();
+    }
+
+    /**
+     * Dispatches until the response holds the expected number of events, then parses them.
+     *
+     * @return The events, each as its SSE fields ("id", "event", "data").
+     */
+    private List<Map<String, String>> awaitEvents(MockHttpServletResponse response, int expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        List<Map<String, String>> events = parse(response.getContentAsString());
+        while (events.size() < expected && System.currentTimeMillis() < deadline) {
+            stream.dispatch();
+            Thread.sleep(10);
+            events = parse(response.getContentAsString());
+        }
+        Thread.sleep(50); // Lets a writer that sent too many events finish, so the size check below sees them
+        String content = response.getContentAsString();
+        events = parse(content);
+        assertEquals(expected, events.size(), () -> "Unexpected events: " + content);
+        return events;
+    }
+
+    private static List<Map<String, String>> parse(String content) {
+        List<Map<String, String>> events = new ArrayList<>();
+        for (String block : content.split("\n\n")) {
+            if (block.isBlank() || block.startsWith(":")) { // Heartbeats are comments
+                continue;
+            }
+            Map<String, String> fields = new HashMap<>();
+            for (String line : block.split("\n")) {
+                int colon = line.indexOf(':');
+                if (colon > 0) {
+                    fields.put(line.substring(0, colon), line.substring(colon + 1));
+                }
+            }
+            events.add(fields);
+        }
+        return events;
+    }
+
+    @Test
+    @DisplayName("Should send the changes of the subscribed locations, with their sequence as event ID")
+    void subscribe_shouldSendMatchingChanges() throws Exception {
+        MockHttpServletResponse response = subscribe(get("/api/v1/evses/status-stream").param("locationIds", "1"));
+        assertEquals(1, stream.subscriberCount());
+
+        stream.publish(change(1, 1L));
+        stream.publish(change(2, 2L));
+        stream.publish(change(3, 1L));
+
+        List<Map<String, String>> events = awaitEvents(response, 2);
+        assertEquals(List.of("0", "2"), events.stream().map(event -> event.get("id")).toList());
+        assertTrue(events.stream().allMatch(event -> EVSEStatusStream.STATUS_EVENT.equals(event.get("event"))));
+        assertTrue(events.get(0).get("data").contains("\"evseOcpiId\":\"DE*ABC*E1\""));
+        assertTrue(events.get(1).get("data").contains("\"evseOcpiId\":\"DE*ABC*E3\""));
+    }
+
+    @Test
+    @DisplayName("Should send one resync event to a subscriber that was lapped, then continue from the newest change")
+    void dispatch_shouldResyncLappedSubscriber() throws Exception {
+        MockHttpServletResponse response = subscribe(get("/api/v1/evses/status-stream"));
+        for (int i = 0; i < BUFFER_SIZE * 2 + 1; i++) {
+            stream.publish(change(i, 1L));
+        }
+
+        List<Map<String, String>> events = awaitEvents(response, 1);
+        assertEquals(EVSEStatusStream.RESYNC_EVENT, events.get(0).get("event"));
+        assertEquals(Integer.toString(BUFFER_SIZE * 2), events.get(0).get("id"));
+
+        stream.publish(change(99, 1L));
+        events = awaitEvents(response, 2);
+        assertEquals(EVSEStatusStream.STATUS_EVENT, events.get(1).get("event"));
+        assertEquals(Integer.toString(BUFFER_SIZE * 2 + 1), events.get(1).get("id"));
+        assertTrue(events.get(1).get("data").contains("\"evseOcpiId\":\"DE*ABC*E99\""));
+    }
+
+    @Test
+    @DisplayName("Should replay the changes after the Last-Event-ID of a reconnecting client")
+    void subscribe_shouldResumeAfterLastEventId() throws Exception {
+        stream.publish(change(1, 1L));
+        stream.publish(change(2, 1L));
+        stream.publish(change(3, 1L));
+
+        MockHttpServletResponse response = subscribe(get("/api/v1/evses/status-stream").header("Last-Event-ID", "0"));
+
+        List<Map<String, String>> events = awaitEvents(response, 2);
+        assertEquals(List.of("1", "2"), events.stream().map(event -> event.get("id")).toList());
+    }
+
+    @Test
+    @DisplayName("Should resync a reconnecting client whose Last-Event-ID is no longer buffered or is malformed")
+    void subscribe_shouldResyncWhenLastEventIdIsUnavailable() throws Exception {
+        for (int i = 0; i < BUFFER_SIZE * 2; i++) {
+            stream.publish(change(i, 1L));
+        }
+
+        MockHttpServletResponse overwritten = subscribe(get("/api/v1/evses/status-stream").header("Last-Event-ID", "0"));
+        MockHttpServletResponse malformed = subscribe(get("/api/v1/evses/status-stream").header("Last-Event-ID", "latest"));
+
+        for (MockHttpServletResponse response : List.of(overwritten, malformed)) {
+            List<Map<String, String>> events = awaitEvents(response, 1);
+            assertEquals(EVSEStatusStream.RESYNC_EVENT, events.get(0).get("event"));
+            assertEquals(Integer.toString(BUFFER_SIZE * 2 - 1), events.get(0).get("id"));
+        }
+    }
+}
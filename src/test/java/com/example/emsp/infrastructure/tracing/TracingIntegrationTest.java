@@ -0,0 +1,111 @@
+package com.example.emsp.infrastructure.tracing;
+
+import com.example.emsp.interfaces.dtos.BusinessHoursDto;
+import com.example.emsp.interfaces.dtos.CoordinatesDto;
+import com.example.emsp.interfaces.dtos.LocationRequestDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for request tracing, against the full application with every request sampled.
+ * Focuses on one request producing a single trace that breaks down into controller, service, repository,
+ * SQL and JSON spans, and on the trace being found through the response header and the actuator endpoint.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:tracing;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "emsp.outbox.sink=memory",
+        "management.tracing.sampling.probability=1.0",
+        "emsp.tracing.exporter=memory"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(metrics = false)
+class TracingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SdkTracerProvider sdkTracerProvider;
+
+    @Autowired
+    private InMemorySpanExporter inMemorySpanExporter;
+
+    @Autowired
+    private TracesEndpoint tracesEndpoint;
+
+    private List<SpanData> trace(String traceId) {
+        sdkTracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+        return inMemorySpanExporter.getTrace(traceId);
+    }
+
+    private static boolean hasSpan(List<SpanData> spans, String layer, String nameFragment) {
+        return spans.stream().anyMatch(span -> layer.equals(span.getAttributes().asMap().entrySet().stream()
+                .filter(tag -> tag.getKey().getKey().equals(TracingAspect.LAYER_TAG))
+                .map(tag -> String.valueOf(tag.getValue()))
+                .findFirst().orElse(null)) && span.getName().contains(nameFragment));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/locations - Should trace the controller, service, repository, SQL and JSON writing in one trace")
+    void createLocation_ShouldBreakDownIntoLayers() throws Exception {
+        LocationRequestDto request = new LocationRequestDto("Traced Location", "1 Trace Street",
+                new CoordinatesDto(52.52, 13.405), new BusinessHoursDto(LocalTime.of(8, 0), LocalTime.of(20, 0)));
+
+        String traceId = mockMvc.perform(post("/api/v1/locations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getHeader(TraceIdResponseFilter.TRACE_ID_HEADER);
+
+        assertNotNull(traceId);
+        List<SpanData> spans = trace(traceId);
+        assertTrue(hasSpan(spans, "controller", "LocationController."), () -> "spans: " + spans);
+        assertTrue(hasSpan(spans, "service", "LocationApplicationService."), () -> "spans: " + spans);
+        assertTrue(hasSpan(spans, "repository", "LocationRepository."), () -> "spans: " + spans);
+        assertTrue(hasSpan(spans, "sql", "sql "), () -> "spans: " + spans);
+        assertTrue(hasSpan(spans, "json", "json.write"), () -> "spans: " + spans);
+        assertTrue(spans.stream().anyMatch(span -> span.getAttributes().asMap().entrySet().stream()
+                .anyMatch(tag -> tag.getKey().getKey().equals(TracingStatementListener.STATEMENT_TAG)
+                        && String.valueOf(tag.getValue()).toLowerCase().startsWith("insert into locations"))));
+    }
+
+    @Test
+    @DisplayName("GET /actuator/traces/{traceId} - Should list the spans of a request with their offsets and durations")
+    void tracesEndpoint_ShouldBreakDownTrace() throws Exception {
+        String traceId = mockMvc.perform(get("/api/v1/locations"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(TraceIdResponseFilter.TRACE_ID_HEADER);
+        trace(traceId);
+
+        List<TracesEndpoint.SpanSummary> spans = tracesEndpoint.trace(traceId);
+
+        assertNotNull(spans);
+        assertTrue(spans.get(0).name().startsWith("http"), () -> "root: " + spans.get(0));
+        assertTrue(spans.stream().anyMatch(span -> span.name().startsWith("  controller LocationController.")));
+        assertTrue(spans.stream().allMatch(span -> span.offsetMicros() >= 0 && span.durationMicros() >= 0));
+        assertTrue(tracesEndpoint.traces().stream().anyMatch(trace -> trace.traceId().equals(traceId)));
+        assertNull(tracesEndpoint.trace("00000000000000000000000000000000"));
+    }
+}
@@ -7,7 +7,9 @@ import com.example.emsp.domain.location.Connector;
 import com.example.emsp.domain.evse.EVSE;
 import com.example.emsp.domain.location.Location;
 import com.example.emsp.infrastructure.exception.ResourceNotFoundException;
+import com.example.emsp.interfaces.dtos.ConnectorBatchRequestDto;
 import com.example.emsp.interfaces.dtos.ConnectorRequestDto;
+import com.example.emsp.interfaces.dtos.EVSEConnectorsRequestDto;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.junit.jupiter.api.BeforeEach;
@@ -24,8 +26,11 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -133,6 +138,18 @@ class ConnectorControllerIntegrationTest {
                 .andExpect(jsonPath("$.error").value("Validation Failed"));
     }
 
+    @Test
+    @DisplayName("POST /api/v1/evses/{evseId}/connectors - Should return 400 for values that cannot be stored in milli-units")
+    void addConnectorToEVSE_ValueOutOfRange() throws Exception {
+        ConnectorRequestDto invalidRequest = new ConnectorRequestDto("Type2", 3_000_000.0, 0.0004); // Overflows an int, rounds to zero
+
+        mockMvc.perform(post("/api/v1/evses/{evseId}/connectors", validEvseId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(invalidRequest)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Validation Failed"));
+    }
+
     @Test
     @DisplayName("POST /api/v1/evses/{evseId}/connectors - Should return 404 if EVSE not found")
     void addConnectorToEVSE_EvseNotFound() throws Exception {
@@ -148,4 +165,33 @@ class ConnectorControllerIntegrationTest {
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.error").value("Resource Not Found"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("POST /api/v1/connectors/batch - Should add connectors in batch successfully")
+    void addConnectorsToEVSEs_Success() throws Exception {
+        ConnectorBatchRequestDto requestDto = new ConnectorBatchRequestDto(List.of(
+                new EVSEConnectorsRequestDto(validEvseId, List.of(new ConnectorRequestDto("Type2", 22.0, 400.0)))));
+
+        when(connectorApplicationService.addConnectorsToEVSEs(anyList())).thenReturn(List.of(mockConnector));
+
+        mockMvc.perform(post("/api/v1/connectors/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDto)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$[0].id").value(1L))
+                .andExpect(jsonPath("$[0].standard").value("Type2"))
+                .andExpect(jsonPath("$[0].evseId").value(200L));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/connectors/batch - Should return 400 for an empty batch")
+    void addConnectorsToEVSEs_BadRequest() throws Exception {
+        ConnectorBatchRequestDto invalidRequest = new ConnectorBatchRequestDto(Collections.emptyList());
+
+        mockMvc.perform(post("/api/v1/connectors/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(invalidRequest)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Validation Failed"));
+    }
+}
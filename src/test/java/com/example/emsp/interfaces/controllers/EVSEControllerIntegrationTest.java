@@ -1,12 +1,17 @@
 package com.example.emsp.interfaces.controllers;
 
+import com.example.emsp.application.CatalogQueryService;
 import com.example.emsp.application.EVSEApplicationService;
+import com.example.emsp.application.LocationApplicationService;
+import com.example.emsp.application.readmodel.EVSEView;
 import com.example.emsp.domain.evse.EVSEStatus;
 import com.example.emsp.domain.evse.EVSE;
 import com.example.emsp.domain.location.Location;
 import com.example.emsp.infrastructure.exception.EVSEIdFormatException;
 import com.example.emsp.infrastructure.exception.InvalidEVSEStatusTransitionException;
+import com.example.emsp.infrastructure.exception.InvalidQueryParameterException;
 import com.example.emsp.infrastructure.exception.ResourceNotFoundException;
+import com.example.emsp.infrastructure.streaming.EVSEStatusStream;
 import com.example.emsp.interfaces.dtos.EVSECreateRequestDto;
 import com.example.emsp.interfaces.dtos.EVSEStatusUpdateRequestDto;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -19,16 +24,24 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -46,6 +59,9 @@ class EVSEControllerIntegrationTest {
     private MockMvc mockMvc;
 
     private static EVSEApplicationService evseApplicationService;
+    private static CatalogQueryService catalogQueryService;
+    private static LocationApplicationService locationApplicationService;
+    private static EVSEStatusStream evseStatusStream;
     @TestConfiguration // Marks this as a configuration specific to tests
     static class TestConfig {
         @Bean
@@ -54,6 +70,24 @@ class EVSEControllerIntegrationTest {
             evseApplicationService = Mockito.mock(EVSEApplicationService.class);
             return evseApplicationService;
         }
+
+        @Bean
+        public CatalogQueryService catalogQueryService() {
+            catalogQueryService = Mockito.mock(CatalogQueryService.class);
+            return catalogQueryService;
+        }
+
+        @Bean
+        public LocationApplicationService locationApplicationService() {
+            locationApplicationService = Mockito.mock(LocationApplicationService.class);
+            return locationApplicationService;
+        }
+
+        @Bean
+        public EVSEStatusStream evseStatusStream() {
+            evseStatusStream = Mockito.mock(EVSEStatusStream.class);
+            return evseStatusStream;
+        }
     }
 
     @Autowired
@@ -194,4 +228,54 @@ class EVSEControllerIntegrationTest {
                 .andExpect(status().isConflict())
                 .andExpect(jsonPath("$.error").value("Invalid EVSE Status Transition"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("GET /api/v1/evses/status-stream - Should subscribe with the locations inside the bounding box")
+    void streamEVSEStatusChanges_WithBoundingBox() throws Exception {
+        when(locationApplicationService.findLocationIdsWithin(52.0, 13.0, 53.0, 14.0)).thenReturn(Set.of(7L));
+        // doReturn: the scheduler keeps calling dispatch() on this mock, which would race with when(...)
+        doReturn(new SseEmitter()).when(evseStatusStream).subscribe(Set.of(3L, 7L), null);
+
+        mockMvc.perform(get("/api/v1/evses/status-stream")
+                        .param("locationIds", "3")
+                        .param("bbox", "13.0,52.0,14.0,53.0")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isOk());
+
+        verify(evseStatusStream).subscribe(Set.of(3L, 7L), null);
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/evses/status-stream - Should return 400 for a malformed bounding box")
+    void streamEVSEStatusChanges_InvalidBoundingBox() throws Exception {
+        mockMvc.perform(get("/api/v1/evses/status-stream")
+                        .param("bbox", "14.0,52.0,13.0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid Query Parameter"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/operators/{countryCode}/{partyId}/evses - Should list the EVSEs of an operator")
+    void getEVSEsByOperator_Success() throws Exception {
+        EVSEView view = new EVSEView(1L, validEvseId, EVSEStatus.AVAILABLE, 1L, List.of(), LocalDateTime.now());
+        when(catalogQueryService.findEVSEsByOperator(eq("US"), eq("ABC"), eq(EVSEStatus.AVAILABLE), any()))
+                .thenReturn(new PageImpl<>(List.of(view), PageRequest.of(0, 10), 1));
+
+        mockMvc.perform(get("/api/v1/operators/{countryCode}/{partyId}/evses", "US", "ABC")
+                        .param("status", "AVAILABLE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].evseId").value(validEvseId))
+                .andExpect(jsonPath("$.totalElements").value(1));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/operators/{countryCode}/{partyId}/evses - Should return 400 for a malformed operator")
+    void getEVSEsByOperator_InvalidOperator() throws Exception {
+        when(catalogQueryService.findEVSEsByOperator(eq("us"), eq("ABC"), any(), any()))
+                .thenThrow(new InvalidQueryParameterException("Invalid operator: us*ABC"));
+
+        mockMvc.perform(get("/api/v1/operators/{countryCode}/{partyId}/evses", "us", "ABC"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid Query Parameter"));
+    }
+}
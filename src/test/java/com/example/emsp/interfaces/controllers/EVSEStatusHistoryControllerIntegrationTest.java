@@ -0,0 +1,103 @@
+package com.example.emsp.interfaces.controllers;
+
+import com.example.emsp.application.EVSEStatusHistoryService;
+import com.example.emsp.domain.evse.EVSEStatus;
+import com.example.emsp.infrastructure.exception.InvalidQueryParameterException;
+import com.example.emsp.infrastructure.exception.ResourceNotFoundException;
+import com.example.emsp.infrastructure.history.StatusHistoryEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for EVSEStatusHistoryController using MockMvc.
+ * @WebMvcTest slices the Spring Boot context to only include web layer components.
+ */
+@WebMvcTest(EVSEStatusHistoryController.class)
+class EVSEStatusHistoryControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private static EVSEStatusHistoryService evseStatusHistoryService;
+
+    @TestConfiguration // Marks this as a configuration specific to tests
+    static class TestConfig {
+        @Bean
+        public EVSEStatusHistoryService evseStatusHistoryService() {
+            evseStatusHistoryService = Mockito.mock(EVSEStatusHistoryService.class);
+            return evseStatusHistoryService;
+        }
+    }
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    private final String validEvseId = "US*ABC*EVSE123";
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/evses/{evseId}/status-history - Should return the recorded history")
+    void getStatusHistory_Success() throws Exception {
+        LocalDateTime changedAt = LocalDateTime.of(2026, 5, 20, 12, 30);
+        when(evseStatusHistoryService.getStatusHistory(eq(validEvseId), any(), any()))
+                .thenReturn(List.of(new StatusHistoryEntry(changedAt.atZone(ZoneId.systemDefault()).toInstant(), EVSEStatus.INOPERATIVE)));
+
+        mockMvc.perform(get("/api/v1/evses/{evseId}/status-history", validEvseId)
+                        .param("from", "2026-05-01T00:00:00")
+                        .param("to", "2026-06-01T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.evseId").value(validEvseId))
+                .andExpect(jsonPath("$.entries[0].status").value("INOPERATIVE"))
+                .andExpect(jsonPath("$.entries[0].changedAt").value("2026-05-20T12:30:00"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/evses/{evseId}/status-history - Should return 404 if EVSE not found")
+    void getStatusHistory_EvseNotFound() throws Exception {
+        when(evseStatusHistoryService.getStatusHistory(eq("US*XYZ*NONEXISTENT"), any(), any()))
+                .thenThrow(new ResourceNotFoundException("EVSE not found with EVSE ID: US*XYZ*NONEXISTENT"));
+
+        mockMvc.perform(get("/api/v1/evses/{evseId}/status-history", "US*XYZ*NONEXISTENT")
+                        .param("from", "2026-05-01T00:00:00")
+                        .param("to", "2026-06-01T00:00:00"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Resource Not Found"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/evses/{evseId}/status-history - Should return 400 for an empty range")
+    void getStatusHistory_EmptyRange() throws Exception {
+        when(evseStatusHistoryService.getStatusHistory(eq(validEvseId), any(), any()))
+                .thenThrow(new InvalidQueryParameterException("'from' must be before 'to'"));
+
+        mockMvc.perform(get("/api/v1/evses/{evseId}/status-history", validEvseId)
+                        .param("from", "2026-06-01T00:00:00")
+                        .param("to", "2026-05-01T00:00:00"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid Query Parameter"));
+    }
+}
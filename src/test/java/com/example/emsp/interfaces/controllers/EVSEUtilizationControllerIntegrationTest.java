@@ -0,0 +1,138 @@
+package com.example.emsp.interfaces.controllers;
+
+import com.example.emsp.application.EVSEUtilizationService;
+import com.example.emsp.application.UtilizationReport;
+import com.example.emsp.domain.evse.EVSEStatus;
+import com.example.emsp.infrastructure.exception.InvalidQueryParameterException;
+import com.example.emsp.infrastructure.exception.ResourceNotFoundException;
+import com.example.emsp.infrastructure.history.StatusDurations;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for EVSEUtilizationController using MockMvc.
+ * @WebMvcTest slices the Spring Boot context to only include web layer components.
+ */
+@WebMvcTest(EVSEUtilizationController.class)
+class EVSEUtilizationControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private static EVSEUtilizationService evseUtilizationService;
+
+    @TestConfiguration // Marks this as a configuration specific to tests
+    static class TestConfig {
+        @Bean
+        public EVSEUtilizationService evseUtilizationService() {
+            evseUtilizationService = Mockito.mock(EVSEUtilizationService.class);
+            return evseUtilizationService;
+        }
+    }
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    private final String validEvseId = "US*ABC*EVSE123";
+    private final Instant from = LocalDateTime.of(2026, 5, 1, 0, 0).atZone(ZoneId.systemDefault()).toInstant();
+    private final Instant to = from.plusSeconds(10 * 3600);
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    private static StatusDurations durations(long availableSeconds, long inoperativeSeconds) {
+        StatusDurations durations = new StatusDurations();
+        durations.add(EVSEStatus.AVAILABLE, availableSeconds);
+        durations.add(EVSEStatus.INOPERATIVE, inoperativeSeconds);
+        return durations;
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/evses/{evseId}/utilization - Should return the time-in-status breakdown")
+    void getEvseUtilization_Success() throws Exception {
+        when(evseUtilizationService.getEvseUtilization(eq(validEvseId), any(), any()))
+                .thenReturn(new UtilizationReport(from, to, Map.of(validEvseId, durations(27000, 9000))));
+
+        mockMvc.perform(get("/api/v1/evses/{evseId}/utilization", validEvseId)
+                        .param("from", "2026-05-01T00:00:00")
+                        .param("to", "2026-05-01T10:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.periodSeconds").value(36000))
+                .andExpect(jsonPath("$.statuses[0].status").value("AVAILABLE"))
+                .andExpect(jsonPath("$.statuses[0].percentage").value(75.0))
+                .andExpect(jsonPath("$.statuses[2].status").value("INOPERATIVE"))
+                .andExpect(jsonPath("$.statuses[2].seconds").value(9000))
+                .andExpect(jsonPath("$.unrecordedSeconds").value(0))
+                .andExpect(jsonPath("$.evses[0].evseId").value(validEvseId));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/locations/{locationId}/utilization - Should return totals and per-EVSE breakdowns")
+    void getLocationUtilization_Success() throws Exception {
+        Map<String, StatusDurations> evses = new LinkedHashMap<>();
+        evses.put("US*ABC*EVSE1", durations(36000, 0));
+        evses.put("US*ABC*EVSE2", durations(9000, 0)); // Added to the location 7.5 hours into the range
+        when(evseUtilizationService.getLocationUtilization(eq(1L), any(), any()))
+                .thenReturn(new UtilizationReport(from, to, evses));
+
+        mockMvc.perform(get("/api/v1/locations/{locationId}/utilization", 1L)
+                        .param("from", "2026-05-01T00:00:00")
+                        .param("to", "2026-05-01T10:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.statuses[0].seconds").value(45000))
+                .andExpect(jsonPath("$.statuses[0].percentage").value(62.5))
+                .andExpect(jsonPath("$.unrecordedSeconds").value(27000))
+                .andExpect(jsonPath("$.evses[1].evseId").value("US*ABC*EVSE2"))
+                .andExpect(jsonPath("$.evses[1].statuses[0].percentage").value(25.0));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/locations/{locationId}/utilization - Should return 404 if location not found")
+    void getLocationUtilization_LocationNotFound() throws Exception {
+        when(evseUtilizationService.getLocationUtilization(eq(99L), any(), any()))
+                .thenThrow(new ResourceNotFoundException("Location not found with ID: 99"));
+
+        mockMvc.perform(get("/api/v1/locations/{locationId}/utilization", 99L)
+                        .param("from", "2026-05-01T00:00:00")
+                        .param("to", "2026-06-01T00:00:00"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Resource Not Found"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/evses/{evseId}/utilization - Should return 400 for an empty range")
+    void getEvseUtilization_EmptyRange() throws Exception {
+        when(evseUtilizationService.getEvseUtilization(eq(validEvseId), any(), any()))
+                .thenThrow(new InvalidQueryParameterException("'from' must be before 'to'"));
+
+        mockMvc.perform(get("/api/v1/evses/{evseId}/utilization", validEvseId)
+                        .param("from", "2026-06-01T00:00:00")
+                        .param("to", "2026-05-01T00:00:00"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid Query Parameter"));
+    }
+}
@@ -1,7 +1,9 @@
 package com.example.emsp.interfaces.controllers;
 
+import com.example.emsp.application.CatalogQueryService;
 import com.example.emsp.application.EVSEApplicationService;
 import com.example.emsp.application.LocationApplicationService;
+import com.example.emsp.application.readmodel.LocationView;
 import com.example.emsp.domain.common.BusinessHours;
 import com.example.emsp.domain.common.Coordinates;
 import com.example.emsp.domain.location.Location;
@@ -47,6 +49,7 @@ class LocationControllerIntegrationTest {
     private MockMvc mockMvc;
 
     private static LocationApplicationService locationApplicationService;
+    private static CatalogQueryService catalogQueryService;
     @TestConfiguration // Marks this as a configuration specific to tests
     static class TestConfig {
         @Bean
@@ -55,6 +58,12 @@ class LocationControllerIntegrationTest {
             locationApplicationService = Mockito.mock(LocationApplicationService.class);
             return locationApplicationService;
         }
+
+        @Bean
+        public CatalogQueryService catalogQueryService() {
+            catalogQueryService = Mockito.mock(CatalogQueryService.class);
+            return catalogQueryService;
+        }
     }
 
     @Autowired
@@ -62,6 +71,7 @@ class LocationControllerIntegrationTest {
 
     private ObjectMapper objectMapper;
     private Location mockLocation;
+    private LocationView mockLocationView;
     private LocationRequestDto createRequestDto;
     private LocationUpdateRequestDto updateRequestDto;
 
@@ -87,7 +97,8 @@ class LocationControllerIntegrationTest {
         } catch (NoSuchFieldException | IllegalAccessException e) {
             throw new RuntimeException(e);
         }
-
+        mockLocationView = new LocationView(1L, "Test Location", "123 Main St", 34.05, -118.25,
+                LocalTime.of(8, 0), LocalTime.of(22, 0), Collections.emptyList(), mockLocation.getLastUpdated(), 1L);
 
         createRequestDto = new LocationRequestDto(
                 "New Charging Hub", "456 Oak Ave",
@@ -158,7 +169,7 @@ class LocationControllerIntegrationTest {
     @Test
     @DisplayName("GET /api/v1/locations/{locationId} - Should retrieve a location by ID successfully")
     void getLocationById_Success() throws Exception {
-        when(locationApplicationService.findLocationById(eq(1L))).thenReturn(mockLocation);
+        when(catalogQueryService.findLocationById(eq(1L))).thenReturn(mockLocationView);
 
         mockMvc.perform(get("/api/v1/locations/{locationId}", 1L))
                 .andExpect(status().isOk())
@@ -169,7 +180,7 @@ class LocationControllerIntegrationTest {
     @Test
     @DisplayName("GET /api/v1/locations/{locationId} - Should return 404 Not Found for non-existent location")
     void getLocationById_NotFound() throws Exception {
-        when(locationApplicationService.findLocationById(eq(99L)))
+        when(catalogQueryService.findLocationById(eq(99L)))
                 .thenThrow(new ResourceNotFoundException("Location not found with ID: 99"));
 
         mockMvc.perform(get("/api/v1/locations/{locationId}", 99L))
@@ -180,8 +191,8 @@ class LocationControllerIntegrationTest {
     @Test
     @DisplayName("GET /api/v1/locations - Should query locations by last updated timestamp with pagination")
     void queryLocations_Success() throws Exception {
-        org.springframework.data.domain.Page<Location> mockPage = new org.springframework.data.domain.PageImpl<>(Collections.singletonList(mockLocation));
-        when(locationApplicationService.queryLocationsByLastUpdated(any(LocalDateTime.class), any()))
+        org.springframework.data.domain.Page<LocationView> mockPage = new org.springframework.data.domain.PageImpl<>(Collections.singletonList(mockLocationView));
+        when(catalogQueryService.queryLocationsByLastUpdated(any(LocalDateTime.class), any()))
                 .thenReturn(mockPage);
 
         mockMvc.perform(get("/api/v1/locations")
@@ -0,0 +1,302 @@
+package com.example.emsp.interfaces.controllers;
+
+import com.example.emsp.application.readmodel.CatalogReadModel;
+import com.example.emsp.domain.evse.EVSEStatus;
+import com.example.emsp.infrastructure.persistence.SqlStatementCounter;
+import com.example.emsp.infrastructure.persistence.SqlStatements;
+import com.example.emsp.interfaces.dtos.BusinessHoursDto;
+import com.example.emsp.interfaces.dtos.ConnectorBatchRequestDto;
+import com.example.emsp.interfaces.dtos.ConnectorRequestDto;
+import com.example.emsp.interfaces.dtos.CoordinatesDto;
+import com.example.emsp.interfaces.dtos.EVSEConnectorsRequestDto;
+import com.example.emsp.interfaces.dtos.EVSECreateRequestDto;
+import com.example.emsp.interfaces.dtos.EVSEStatusUpdateRequestDto;
+import com.example.emsp.interfaces.dtos.LocationRequestDto;
+import com.example.emsp.interfaces.dtos.LocationUpdateRequestDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * SQL statement-count regression tests for every endpoint, against the full application and an in-memory database.
+ * Each endpoint has an upper bound on its SELECTs, INSERTs and UPDATEs, and is called for a small and a large
+ * amount of data (page size, EVSEs per Location, Connectors per EVSE) to show that its statement count does not grow
+ * with it, as it would with lazy loading in a loop.
+ * <p>
+ * The bounds include the outbox insert, which runs on the request thread. The read-model refresh after commit runs
+ * on the catalog refresh executor and is not counted; reads wait for it to catch up first.
+ * The Server-Sent Events stream is not covered: it holds its request open.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sql-statement-count;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "emsp.outbox.sink=memory"
+})
+@AutoConfigureMockMvc
+@Import(SqlStatementCounter.class)
+class SqlStatementCountIntegrationTest {
+
+    private static final AtomicInteger EVSE_SEQUENCE = new AtomicInteger();
+    private static final String STANDARD = "IEC_62196_T2";
+    private static final String RANGE = "from=2024-01-01T00:00:00&to=2024-01-02T00:00:00";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @Autowired
+    private CatalogReadModel catalogReadModel;
+
+    @Test
+    @DisplayName("GET /api/v1/locations - Should be served without SQL whatever the page size")
+    void queryLocations_NoStatements() throws Exception {
+        long locationId = createLocation();
+        addEvses(locationId, 4, 2);
+
+        SqlStatements small = record(get("/api/v1/locations").param("size", "1"), status().isOk());
+        SqlStatements large = record(get("/api/v1/locations").param("size", "100"), status().isOk());
+
+        small.assertAtMost(0, 0, 0);
+        large.assertAtMost(0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/locations/{locationId} - Should be served without SQL whatever the number of EVSEs")
+    void getLocationById_NoStatements() throws Exception {
+        long small = createLocation();
+        addEvses(small, 1, 1);
+        long large = createLocation();
+        addEvses(large, 8, 3);
+
+        record(get("/api/v1/locations/{locationId}", small), status().isOk()).assertAtMost(0, 0, 0);
+        record(get("/api/v1/locations/{locationId}", large), status().isOk()).assertAtMost(0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/operators/{countryCode}/{partyId}/evses - Should be served without SQL whatever the page size")
+    void getEVSEsByOperator_NoStatements() throws Exception {
+        addEvses(createLocation(), 4, 1);
+
+        record(get("/api/v1/operators/DE/SQL/evses").param("size", "1"), status().isOk()).assertAtMost(0, 0, 0);
+        record(get("/api/v1/operators/DE/SQL/evses").param("size", "100"), status().isOk()).assertAtMost(0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/locations - Should insert the Location and its outbox message only")
+    void createLocation_BoundedStatements() throws Exception {
+        SqlStatements statements = record(post("/api/v1/locations")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(locationRequest())), status().isCreated());
+
+        statements.assertAtMost(0, 2, 0);
+    }
+
+    @Test
+    @DisplayName("PUT /api/v1/locations/{locationId} - Should not grow with the EVSEs and Connectors of the Location")
+    void updateLocation_DoesNotGrowWithEvses() throws Exception {
+        long small = createLocation();
+        addEvses(small, 1, 1);
+        long large = createLocation();
+        addEvses(large, 6, 2);
+
+        SqlStatements smallStatements = record(updateLocation(small), status().isOk());
+        SqlStatements largeStatements = record(updateLocation(large), status().isOk());
+
+        smallStatements.assertAtMost(1, 1, 1);
+        smallStatements.assertSameCountsAs(largeStatements);
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/locations/{locationId}/evses - Should not grow with the EVSEs already at the Location")
+    void addEVSE_DoesNotGrowWithEvses() throws Exception {
+        long small = createLocation();
+        long large = createLocation();
+        addEvses(large, 6, 2);
+
+        SqlStatements smallStatements = record(addEvse(small, nextEvseId()), status().isCreated());
+        SqlStatements largeStatements = record(addEvse(large, nextEvseId()), status().isCreated());
+
+        smallStatements.assertAtMost(2, 2, 0);
+        smallStatements.assertSameCountsAs(largeStatements);
+    }
+
+    @Test
+    @DisplayName("PATCH /api/v1/evses/{evseId}/status - Should not grow with the Connectors of the EVSE")
+    void changeEVSEStatus_DoesNotGrowWithConnectors() throws Exception {
+        String small = addEvses(createLocation(), 1, 1).get(0);
+        String large = addEvses(createLocation(), 1, 6).get(0);
+
+        SqlStatements smallStatements = record(changeStatus(small), status().isOk());
+        SqlStatements largeStatements = record(changeStatus(large), status().isOk());
+
+        smallStatements.assertAtMost(2, 1, 1);
+        smallStatements.assertSameCountsAs(largeStatements);
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/evses/{evseId}/connectors - Should not grow with the Connectors already on the EVSE")
+    void addConnector_DoesNotGrowWithConnectors() throws Exception {
+        String small = addEvses(createLocation(), 1, 1).get(0);
+        String large = addEvses(createLocation(), 1, 6).get(0);
+
+        SqlStatements smallStatements = record(addConnector(small), status().isCreated());
+        SqlStatements largeStatements = record(addConnector(large), status().isCreated());
+
+        smallStatements.assertAtMost(1, 2, 0);
+        smallStatements.assertSameCountsAs(largeStatements);
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/connectors/batch - Should insert Connectors in one batch and not select per Connector")
+    void addConnectorsBatch_DoesNotGrowWithConnectors() throws Exception {
+        List<String> small = addEvses(createLocation(), 2, 0);
+        List<String> large = addEvses(createLocation(), 2, 0);
+
+        SqlStatements smallStatements = record(addConnectorBatch(small, 1), status().isCreated());
+        SqlStatements largeStatements = record(addConnectorBatch(large, 10), status().isCreated());
+
+        smallStatements.assertAtMost(1, 3, 0);
+        assertEquals(smallStatements.selects(), largeStatements.selects(), () -> "SELECTs differ between " + smallStatements + " and " + largeStatements);
+        assertEquals(smallStatements.updates(), largeStatements.updates(), () -> "UPDATEs differ between " + smallStatements + " and " + largeStatements);
+        assertEquals(1, largeStatements.containing("insert into connectors"), largeStatements::toString);
+        // Each ConnectorAddedEvent is still written to the outbox with an insert of its own
+        assertEquals(20, largeStatements.containing("insert into outbox_messages"), largeStatements::toString);
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/locations/{locationId}/utilization - Should not grow with the EVSEs of the Location")
+    void getLocationUtilization_DoesNotGrowWithEvses() throws Exception {
+        long small = createLocation();
+        addEvses(small, 1, 1);
+        long large = createLocation();
+        addEvses(large, 8, 1);
+
+        SqlStatements smallStatements = record(get("/api/v1/locations/{locationId}/utilization?" + RANGE, small), status().isOk());
+        SqlStatements largeStatements = record(get("/api/v1/locations/{locationId}/utilization?" + RANGE, large), status().isOk());
+
+        smallStatements.assertAtMost(2, 0, 0);
+        smallStatements.assertSameCountsAs(largeStatements);
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/evses/{evseId}/utilization and status-history - Should look up the EVSE once")
+    void getEvseUtilizationAndHistory_BoundedStatements() throws Exception {
+        String evseId = addEvses(createLocation(), 1, 1).get(0);
+
+        record(get("/api/v1/evses/{evseId}/utilization?" + RANGE, evseId), status().isOk()).assertAtMost(1, 0, 0);
+        record(get("/api/v1/evses/{evseId}/status-history?" + RANGE, evseId), status().isOk()).assertAtMost(1, 0, 0);
+    }
+
+    /**
+     * Records the statements of one request, once the read model has caught up with the earlier writes.
+     */
+    private SqlStatements record(MockHttpServletRequestBuilder request, ResultMatcher expectedStatus) throws Exception {
+        awaitReadModel();
+        return sqlStatementCounter.record(() -> mockMvc.perform(request).andExpect(expectedStatus));
+    }
+
+    private void awaitReadModel() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (catalogReadModel.pendingRefreshes() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(0, catalogReadModel.pendingRefreshes(), "Read model still refreshing");
+    }
+
+    private static LocationRequestDto locationRequest() {
+        return new LocationRequestDto("SQL Count Location", "1 Statement Street",
+                new CoordinatesDto(52.37, 4.89), new BusinessHoursDto(LocalTime.of(8, 0), LocalTime.of(22, 0)));
+    }
+
+    private static String nextEvseId() {
+        return "DE*SQL*E" + EVSE_SEQUENCE.incrementAndGet();
+    }
+
+    private long createLocation() throws Exception {
+        String response = mockMvc.perform(post("/api/v1/locations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(locationRequest())))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").asLong();
+    }
+
+    /**
+     * Adds EVSEs with the given number of Connectors each to a Location.
+     *
+     * @return The EVSE IDs.
+     */
+    private List<String> addEvses(long locationId, int evses, int connectorsPerEvse) throws Exception {
+        List<String> evseIds = new ArrayList<>();
+        for (int i = 0; i < evses; i++) {
+            String evseId = nextEvseId();
+            mockMvc.perform(addEvse(locationId, evseId)).andExpect(status().isCreated());
+            for (int j = 0; j < connectorsPerEvse; j++) {
+                mockMvc.perform(addConnector(evseId)).andExpect(status().isCreated());
+            }
+            evseIds.add(evseId);
+        }
+        return evseIds;
+    }
+
+    private MockHttpServletRequestBuilder updateLocation(long locationId) throws Exception {
+        return put("/api/v1/locations/{locationId}", locationId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LocationUpdateRequestDto("Updated SQL Count Location", "2 Statement Street",
+                        new CoordinatesDto(52.38, 4.90), new BusinessHoursDto(LocalTime.of(7, 0), LocalTime.of(23, 0)))));
+    }
+
+    private MockHttpServletRequestBuilder addEvse(long locationId, String evseId) throws Exception {
+        return post("/api/v1/locations/{locationId}/evses", locationId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new EVSECreateRequestDto(evseId, EVSEStatus.AVAILABLE)));
+    }
+
+    private MockHttpServletRequestBuilder changeStatus(String evseId) throws Exception {
+        return patch("/api/v1/evses/{evseId}/status", evseId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new EVSEStatusUpdateRequestDto(EVSEStatus.INOPERATIVE)));
+    }
+
+    private MockHttpServletRequestBuilder addConnector(String evseId) throws Exception {
+        return post("/api/v1/evses/{evseId}/connectors", evseId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new ConnectorRequestDto(STANDARD, 22.0, 400.0)));
+    }
+
+    private MockHttpServletRequestBuilder addConnectorBatch(List<String> evseIds, int connectorsPerEvse) throws Exception {
+        List<EVSEConnectorsRequestDto> evses = new ArrayList<>();
+        for (String evseId : evseIds) {
+            List<ConnectorRequestDto> connectors = new ArrayList<>();
+            for (int i = 0; i < connectorsPerEvse; i++) {
+                connectors.add(new ConnectorRequestDto(STANDARD, 22.0, 400.0));
+            }
+            evses.add(new EVSEConnectorsRequestDto(evseId, connectors));
+        }
+        return post("/api/v1/connectors/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new ConnectorBatchRequestDto(evses)));
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.emsp.interfaces.reactive;
+
+import com.example.emsp.application.ConnectorApplicationService;
+import com.example.emsp.application.EVSEApplicationService;
+import com.example.emsp.application.LocationApplicationService;
+import com.example.emsp.domain.common.BusinessHours;
+import com.example.emsp.domain.common.Coordinates;
+import com.example.emsp.domain.location.Location;
+import com.example.emsp.infrastructure.reactive.ReactiveApiServer;
+import com.example.emsp.infrastructure.reactive.ReactiveLocationQueries;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Integration tests for the reactive read API, against the full application with its Netty server on a random port.
+ * The JPA services create the data and the API reads it back through R2DBC from the same in-memory database.
+ * The chunk size is smaller than the number of Locations, so the feed is streamed across several chunks.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactive-api;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "emsp.outbox.sink=memory",
+        "emsp.reactive-api.enabled=true",
+        "emsp.reactive-api.port=0",
+        "emsp.reactive-api.r2dbc.url=r2dbc:h2:mem:///reactive-api?options=DB_CLOSE_DELAY=-1",
+        "emsp.reactive-api.chunk-size=2"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReactiveLocationApiIntegrationTest {
+
+    private static final int LOCATIONS = 5;
+
+    @Autowired
+    private LocationApplicationService locationApplicationService;
+
+    @Autowired
+    private EVSEApplicationService evseApplicationService;
+
+    @Autowired
+    private ConnectorApplicationService connectorApplicationService;
+
+    @Autowired
+    private ReactiveApiServer reactiveApiServer;
+
+    @Autowired
+    private ReactiveLocationQueries reactiveLocationQueries;
+
+    private final List<Long> locationIds = new ArrayList<>();
+    private WebTestClient client;
+
+    @BeforeAll
+    void setUp() {
+        for (int i = 0; i < LOCATIONS; i++) {
+            Location location = locationApplicationService.createLocation("Reactive Location " + i, i + " Stream Street",
+                    new Coordinates(52.52, 13.405), new BusinessHours(LocalTime.of(8, 0), LocalTime.of(20, 0)));
+            locationIds.add(location.getId());
+        }
+        // The last Location, so it stays last if adding EVSEs updates it
+        evseApplicationService.addEVSEToLocation(locationIds.get(LOCATIONS - 1), "DE*RCT*E00001");
+        evseApplicationService.addEVSEToLocation(locationIds.get(LOCATIONS - 1), "DE*RCT*E00002");
+        connectorApplicationService.addConnectorToEVSE("DE*RCT*E00001", "IEC_62196_T2", 22.0, 400.0);
+        client = WebTestClient.bindToServer().baseUrl("http://localhost:" + reactiveApiServer.getPort()).build();
+    }
+
+    private List<JsonNode> stream(String uri) {
+        return client.get().uri(uri)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(JsonNode.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/locations - Should stream every Location with its EVSEs and Connectors in last-updated order")
+    void streamLocations_ShouldStreamAllLocationsAcrossChunks() {
+        List<JsonNode> locations = stream("/api/v1/locations");
+
+        assertEquals(locationIds, locations.stream().map(location -> location.get("id").asLong()).toList());
+        assertEquals("Reactive Location 0", locations.get(0).get("name").asText());
+        assertEquals(0, locations.get(0).get("evses").size());
+        JsonNode last = locations.get(LOCATIONS - 1);
+        assertEquals(2, last.get("evses").size());
+        JsonNode evse = last.get("evses").get(0);
+        assertEquals("DE*RCT*E00001", evse.get("evseId").asText());
+        assertEquals("AVAILABLE", evse.get("status").asText());
+        assertEquals("IEC_62196_T2", evse.get("connectors").get(0).get("standard").asText());
+        assertEquals(22.0, evse.get("connectors").get(0).get("powerLevel").asDouble());
+        assertEquals(0, last.get("evses").get(1).get("connectors").size());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/locations?lastUpdated=... - Should stream only the Locations updated after the timestamp")
+    void streamLocations_ShouldFilterByLastUpdated() {
+        String thirdUpdated = stream("/api/v1/locations").get(2).get("lastUpdated").asText();
+
+        List<JsonNode> locations = stream("/api/v1/locations?lastUpdated=" + thirdUpdated);
+
+        assertEquals(locationIds.subList(3, LOCATIONS), locations.stream().map(location -> location.get("id").asLong()).toList());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/locations?lastUpdated=... - Should return 400 Bad Request for a malformed timestamp")
+    void streamLocations_ShouldRejectMalformedTimestamp() {
+        client.get().uri("/api/v1/locations?lastUpdated=yesterday")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.status").isEqualTo(400);
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/locations/{locationId} - Should return the Location with its EVSEs")
+    void getLocation_ShouldReturnLocation() {
+        client.get().uri("/api/v1/locations/{locationId}", locationIds.get(LOCATIONS - 1))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(locationIds.get(LOCATIONS - 1).intValue())
+                .jsonPath("$.evses.length()").isEqualTo(2)
+                .jsonPath("$.evses[0].connectors[0].voltage").isEqualTo(400.0);
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/locations/{locationId} - Should return 404 Not Found for an unknown Location")
+    void getLocation_ShouldReturnNotFound() {
+        client.get().uri("/api/v1/locations/{locationId}", Long.MAX_VALUE)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.message").isEqualTo("Location not found with ID: " + Long.MAX_VALUE);
+    }
+
+    @Test
+    @DisplayName("The feed should only emit as many Locations as requested, chunk boundaries included")
+    void findUpdatedAfter_ShouldHonourDemand() {
+        StepVerifier.create(reactiveLocationQueries.findUpdatedAfter(null), 0)
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenRequest(1)
+                .expectNextMatches(location -> location.id().equals(locationIds.get(0)))
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenRequest(2)
+                .expectNextCount(2)
+                .thenRequest(Long.MAX_VALUE)
+                .expectNextCount(LOCATIONS - 3)
+                .verifyComplete();
+    }
+}